@@ -0,0 +1,30 @@
+package hometask.geometry.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа {@code benchmarks.jar}.
+ * <p>
+ * Принимает обычные аргументы командной строки JMH (фильтр бенчмарков, {@code -p vertexCount=...},
+ * {@code -rf json} и т.д.) и всегда подключает профилировщик {@link GCProfiler}, чтобы в отчёте
+ * были скорость выделения памяти ({@code gc.alloc.rate.norm}) и число сборок мусора.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,91 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки операций {@link Circle}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CircleBenchmark {
+    private static final int QUERY_MASK = 1023;
+
+    private Circle circle;
+    private Circle other;
+    private Point[] queries;
+    private int cursor;
+
+    private final Point center = new Point(3, -2);
+    private final Line axis = new Line(0.5, 1);
+
+    @Setup
+    public void setUp() {
+        circle = new Circle(new Point(1, 2), 50);
+        other = new Circle(new Point(-7, 4), 50);
+        queries = Shapes.queries(QUERY_MASK + 1, 60);
+    }
+
+    @Benchmark
+    public double perimeter() {
+        return circle.perimeter();
+    }
+
+    @Benchmark
+    public double area() {
+        return circle.area();
+    }
+
+    @Benchmark
+    public boolean containsPoint() {
+        return circle.containsPoint(queries[cursor++ & QUERY_MASK]);
+    }
+
+    @Benchmark
+    public boolean isCongruentTo() {
+        return circle.isCongruentTo(other);
+    }
+
+    @Benchmark
+    public boolean isSimilarTo() {
+        return circle.isSimilarTo(other);
+    }
+
+    @Benchmark
+    public Shape rotate() {
+        return circle.rotate(center, 37);
+    }
+
+    @Benchmark
+    public Shape reflectPoint() {
+        return circle.reflect(center);
+    }
+
+    @Benchmark
+    public Shape reflectLine() {
+        return circle.reflect(axis);
+    }
+
+    @Benchmark
+    public Shape scale() {
+        return circle.scale(center, 2.5);
+    }
+}
@@ -0,0 +1,96 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.collision.CollisionDetector;
+import hometask.geometry.shape.collision.Intersections;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link CollisionDetector}: шаг движения всех фигур в сравнении с попарной проверкой.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionDetectorBenchmark {
+    private static final double EXTENT = 1000;
+
+    @Param({"1000", "10000"})
+    private int shapeCount;
+
+    private Shape[] shapes;
+    private Shape[][] frames; // Положения фигур на двух чередующихся шагах
+    private CollisionDetector detector;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        // Фигуры примерно одного размера, в среднем у каждой несколько соседей
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        double size = 2 * EXTENT / Math.sqrt(shapeCount);
+        shapes = new Shape[shapeCount];
+        for (int i = 0; i < shapeCount; i++) {
+            double x = random.nextDouble(-EXTENT, EXTENT);
+            double y = random.nextDouble(-EXTENT, EXTENT);
+            shapes[i] = switch (i % 4) {
+                case 0 -> new Circle(new Point(x, y), size / 2);
+                case 1 -> new Ellipse(new Point(x - size / 3, y), new Point(x + size / 3, y - size / 4), size);
+                case 2 -> new Rectangle(new Point(x, y), new Point(x + size / 2, y + size / 2), 1.5);
+                default -> new Polygon(new Point(x, y), new Point(x + size, y + size / 4),
+                        new Point(x + size / 2, y + size / 2), new Point(x - size / 4, y + size));
+            };
+        }
+        AffineTransform step = AffineTransform.translation(size / 20, -size / 30);
+        frames = new Shape[2][shapeCount];
+        detector = new CollisionDetector();
+        for (int i = 0; i < shapeCount; i++) {
+            frames[0][i] = shapes[i];
+            frames[1][i] = shapes[i].transform(step);
+            detector.add(shapes[i]);
+        }
+    }
+
+    @Benchmark
+    public List<CollisionDetector.Collision> tick() {
+        Shape[] frame = frames[tick++ & 1];
+        for (int i = 0; i < frame.length; i++) {
+            detector.update(i, frame[i]);
+        }
+        return detector.collisions();
+    }
+
+    @Benchmark
+    public int pairwise() {
+        int count = 0;
+        for (int i = 0; i < shapes.length; i++) {
+            for (int j = i + 1; j < shapes.length; j++) {
+                if (Intersections.intersects(shapes[i], shapes[j])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
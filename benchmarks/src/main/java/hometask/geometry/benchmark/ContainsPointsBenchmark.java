@@ -0,0 +1,90 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.PreparedPolygon;
+import hometask.geometry.shape.impl.Rectangle;
+import hometask.geometry.shape.impl.Triangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение поточечной проверки {@link Shape#containsPoint(Point)} с пакетной
+ * {@link Shape#containsPoints(double[], double[], int, int, long[])}. Время указано в пересчете на одну точку.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainsPointsBenchmark {
+    private static final int BATCH = 4096;
+
+    public enum Kind {
+        CIRCLE, ELLIPSE, RECTANGLE, TRIANGLE, CONVEX_POLYGON, STAR_POLYGON, PREPARED_STAR_POLYGON
+    }
+
+    @Param
+    private Kind kind;
+
+    private Shape shape;
+    private double[] xs;
+    private double[] ys;
+    private long[] bits;
+
+    @Setup
+    public void setUp() {
+        shape = switch (kind) {
+            case CIRCLE -> new Circle(new Point(1, 2), 50);
+            case ELLIPSE -> new Ellipse(new Point(-20, 3), new Point(25, -4), 90);
+            case RECTANGLE -> new Rectangle(new Point(-40, -30), new Point(40, 30), 0.75);
+            case TRIANGLE -> new Triangle(new Point(-40, -30), new Point(45, -10), new Point(5, 40));
+            case CONVEX_POLYGON -> new Polygon(Shapes.outline(Outline.CONVEX, 256, 50));
+            case STAR_POLYGON -> new Polygon(Shapes.outline(Outline.STAR, 256, 50));
+            case PREPARED_STAR_POLYGON -> new PreparedPolygon(new Polygon(Shapes.outline(Outline.STAR, 256, 50)));
+        };
+        Point[] queries = Shapes.queries(BATCH, 60);
+        xs = new double[BATCH];
+        ys = new double[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            xs[i] = queries[i].x();
+            ys[i] = queries[i].y();
+        }
+        bits = new long[BATCH / 64];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int containsPoint() {
+        int count = 0;
+        for (int i = 0; i < BATCH; i++) {
+            if (shape.containsPoint(new Point(xs[i], ys[i]))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] containsPoints() {
+        shape.containsPoints(xs, ys, 0, BATCH, bits);
+        return bits;
+    }
+}
@@ -0,0 +1,55 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.shape.impl.ConvexHull;
+import hometask.geometry.shape.impl.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк {@link ConvexHull}: построение оболочки облака точек с нормальным распределением.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvexHullBenchmark {
+
+    @Param({"100000", "10000000"})
+    private int pointCount;
+
+    private double[] xs;
+    private double[] ys;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        xs = new double[pointCount];
+        ys = new double[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            // Преобразование Бокса — Мюллера
+            double radius = Math.sqrt(-2 * Math.log(1 - random.nextDouble()));
+            double angle = 2 * Math.PI * random.nextDouble();
+            xs[i] = radius * Math.cos(angle);
+            ys[i] = radius * Math.sin(angle);
+        }
+    }
+
+    @Benchmark
+    public Polygon hull() {
+        return ConvexHull.of(xs, ys);
+    }
+}
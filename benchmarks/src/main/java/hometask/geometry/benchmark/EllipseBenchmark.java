@@ -0,0 +1,106 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Ellipse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки операций {@link Ellipse}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EllipseBenchmark {
+    private static final int QUERY_MASK = 1023;
+
+    private Ellipse ellipse;
+    private Ellipse other;
+    private Point[] queries;
+    private int cursor;
+
+    private final Point center = new Point(3, -2);
+    private final Line axis = new Line(0.5, 1);
+
+    @Setup
+    public void setUp() {
+        ellipse = new Ellipse(new Point(-30, -10), new Point(30, 10), 100);
+        other = new Ellipse(new Point(5, -30), new Point(5, 33.2455532), 100);
+        queries = Shapes.queries(QUERY_MASK + 1, 60);
+    }
+
+    @Benchmark
+    public double perimeter() {
+        return ellipse.perimeter();
+    }
+
+    @Benchmark
+    public double area() {
+        return ellipse.area();
+    }
+
+    @Benchmark
+    public boolean containsPoint() {
+        return ellipse.containsPoint(queries[cursor++ & QUERY_MASK]);
+    }
+
+    @Benchmark
+    public boolean isCongruentTo() {
+        return ellipse.isCongruentTo(other);
+    }
+
+    @Benchmark
+    public boolean isSimilarTo() {
+        return ellipse.isSimilarTo(other);
+    }
+
+    @Benchmark
+    public Ellipse.Directrices directrices() {
+        return ellipse.directrices();
+    }
+
+    @Benchmark
+    public double eccentricity() {
+        return ellipse.eccentricity();
+    }
+
+    @Benchmark
+    public Point center() {
+        return ellipse.center();
+    }
+
+    @Benchmark
+    public Shape rotate() {
+        return ellipse.rotate(center, 37);
+    }
+
+    @Benchmark
+    public Shape reflectPoint() {
+        return ellipse.reflect(center);
+    }
+
+    @Benchmark
+    public Shape reflectLine() {
+        return ellipse.reflect(axis);
+    }
+
+    @Benchmark
+    public Shape scale() {
+        return ellipse.scale(center, 2.5);
+    }
+}
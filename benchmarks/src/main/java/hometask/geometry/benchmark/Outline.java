@@ -0,0 +1,15 @@
+package hometask.geometry.benchmark;
+
+/**
+ * Форма контура многоугольника, генерируемого для бенчмарков.
+ */
+public enum Outline {
+    /**
+     * Правильный многоугольник (выпуклый).
+     */
+    CONVEX,
+    /**
+     * Звезда с чередующимися радиусами (невыпуклый, простой).
+     */
+    STAR
+}
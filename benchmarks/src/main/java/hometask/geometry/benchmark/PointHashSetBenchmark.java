@@ -0,0 +1,126 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.base.PointHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link PointHashSet} в сравнении с {@code HashSet<Point>}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointHashSetBenchmark {
+    private static final int COUNT = 1 << 20;
+
+    /**
+     * Расположение точек.
+     */
+    public enum Layout {
+        GRID, // Узлы целочисленной сетки: биты координат различаются только в старших разрядах
+        RANDOM
+    }
+
+    @Param
+    private Layout layout;
+
+    private Point[] points;
+    private double[] coords;
+    private Set<Point> hashSet;
+    private PointHashSet pointSet;
+
+    @Setup
+    public void setUp() {
+        if (layout == Layout.GRID) {
+            int side = (int) Math.sqrt(COUNT);
+            points = new Point[COUNT];
+            for (int i = 0; i < COUNT; i++) {
+                points[i] = new Point(i % side, i / side);
+            }
+        } else {
+            points = Shapes.queries(COUNT, 1000);
+        }
+        hashSet = new HashSet<>();
+        pointSet = new PointHashSet();
+        for (int i = 0; i < COUNT; i += 2) {
+            // В множествах только половина точек, чтобы поиск проверял и промахи
+            hashSet.add(points[i]);
+            pointSet.add(points[i]);
+        }
+
+        // Запросы в случайном порядке: иначе узлы HashSet, созданные подряд, читались бы последовательно
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        for (int i = COUNT - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Point point = points[i];
+            points[i] = points[j];
+            points[j] = point;
+        }
+        coords = new double[2 * COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            coords[2 * i] = points[i].x();
+            coords[2 * i + 1] = points[i].y();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int hashSetAdd() {
+        Set<Point> set = new HashSet<>();
+        for (Point point : points) {
+            set.add(point);
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int pointHashSetAdd() {
+        PointHashSet set = new PointHashSet();
+        double[] c = coords;
+        for (int i = 0; i < c.length; i += 2) {
+            set.add(c[i], c[i + 1]);
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int hashSetContains() {
+        int found = 0;
+        for (Point point : points) {
+            found += hashSet.contains(point) ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int pointHashSetContains() {
+        int found = 0;
+        double[] c = coords;
+        for (int i = 0; i < c.length; i += 2) {
+            found += pointSet.contains(c[i], c[i + 1]) ? 1 : 0;
+        }
+        return found;
+    }
+}
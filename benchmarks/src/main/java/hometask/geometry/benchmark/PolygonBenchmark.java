@@ -0,0 +1,123 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.impl.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки операций {@link Polygon} в зависимости от количества вершин и формы контура.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonBenchmark {
+    private static final int QUERY_MASK = 1023;
+
+    @Param({"3", "16", "256", "4096", "65536", "1048576"})
+    private int vertexCount;
+
+    @Param({"CONVEX", "STAR"})
+    private Outline outline;
+
+    private Point[] points;
+    private Polygon polygon;
+    private Polygon congruent;
+    private Polygon similar;
+    private Point[] queries;
+    private int cursor;
+
+    private final Point center = new Point(3, -2);
+    private final Line axis = new Line(0.5, 1);
+    private final AffineTransform chain = AffineTransform.rotation(center, 37).scale(center, 2.5).reflect(axis);
+
+    @Setup
+    public void setUp() {
+        points = Shapes.outline(outline, vertexCount, 100);
+        polygon = new Polygon(points);
+        congruent = polygon.rotate(center, 37);
+        similar = polygon.scale(center, 2.5);
+        queries = Shapes.queries(QUERY_MASK + 1, 110);
+    }
+
+    @Benchmark
+    public Polygon construct() {
+        return new Polygon(points);
+    }
+
+    @Benchmark
+    public boolean containsPoint() {
+        return polygon.containsPoint(queries[cursor++ & QUERY_MASK]);
+    }
+
+    @Benchmark
+    public double area() {
+        return polygon.area();
+    }
+
+    @Benchmark
+    public double perimeter() {
+        return polygon.perimeter();
+    }
+
+    @Benchmark
+    public boolean isConvex() {
+        return polygon.isConvex();
+    }
+
+    @Benchmark
+    public boolean isCongruentTo() {
+        return polygon.isCongruentTo(congruent);
+    }
+
+    @Benchmark
+    public boolean isSimilarTo() {
+        return polygon.isSimilarTo(similar);
+    }
+
+    @Benchmark
+    public Polygon rotate() {
+        return polygon.rotate(center, 37);
+    }
+
+    @Benchmark
+    public Polygon reflectPoint() {
+        return polygon.reflect(center);
+    }
+
+    @Benchmark
+    public Polygon reflectLine() {
+        return polygon.reflect(axis);
+    }
+
+    @Benchmark
+    public Polygon scale() {
+        return polygon.scale(center, 2.5);
+    }
+
+    @Benchmark
+    public Polygon chainSteps() {
+        return polygon.rotate(center, 37).scale(center, 2.5).reflect(axis);
+    }
+
+    @Benchmark
+    public Polygon chainTransform() {
+        return polygon.transform(chain);
+    }
+}
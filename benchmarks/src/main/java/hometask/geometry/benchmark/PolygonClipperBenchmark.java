@@ -0,0 +1,62 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.PolygonClipper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link PolygonClipper}: площадь пересечения и контуры пересечения двух сдвинутых
+ * друг относительно друга многоугольников.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonClipperBenchmark {
+
+    @Param({"CONVEX", "STAR"})
+    private Outline outline;
+
+    @Param({"8", "256"})
+    private int vertexCount;
+
+    private Polygon first;
+    private Polygon second;
+
+    @Setup
+    public void setUp() {
+        first = new Polygon(Shapes.outline(outline, vertexCount, 100));
+        second = first.rotate(new Point(30, 20), 17);
+    }
+
+    @Benchmark
+    public double overlapArea() {
+        return PolygonClipper.overlapArea(first, second);
+    }
+
+    @Benchmark
+    public List<PolygonClipper.Region> intersection() {
+        return PolygonClipper.intersection(first, second);
+    }
+
+    @Benchmark
+    public List<PolygonClipper.Region> union() {
+        return PolygonClipper.union(first, second);
+    }
+}
@@ -0,0 +1,87 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Predicates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки точного предиката ориентации {@link Predicates#orient2d} в сравнении с прямой формулой.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PredicatesBenchmark {
+    private static final int COUNT = 1 << 10;
+
+    /**
+     * Расположение троек точек.
+     */
+    public enum Layout {
+        RANDOM, // Точки в общем положении: срабатывает быстрый фильтр
+        NEAR_COLLINEAR // Третья точка на отрезке с точностью до ulp: вычисление уходит в точную ветку
+    }
+
+    @Param
+    private Layout layout;
+
+    private double[] coords;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        coords = new double[6 * COUNT];
+        for (int i = 0; i < coords.length; i += 6) {
+            for (int j = 0; j < 4; j++) {
+                coords[i + j] = random.nextDouble(-100, 100);
+            }
+            if (layout == Layout.RANDOM) {
+                coords[i + 4] = random.nextDouble(-100, 100);
+                coords[i + 5] = random.nextDouble(-100, 100);
+            } else {
+                double t = random.nextDouble();
+                coords[i + 4] = Math.nextUp(coords[i] + t * (coords[i + 2] - coords[i]));
+                coords[i + 5] = coords[i + 1] + t * (coords[i + 3] - coords[i + 1]);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int orient2d() {
+        int positive = 0;
+        double[] c = coords;
+        for (int i = 0; i < c.length; i += 6) {
+            positive += Predicates.orient2d(c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5]) > 0 ? 1 : 0;
+        }
+        return positive;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int naive() {
+        // Для сравнения: прямая формула без гарантии знака
+        int positive = 0;
+        double[] c = coords;
+        for (int i = 0; i < c.length; i += 6) {
+            double det = (c[i] - c[i + 4]) * (c[i + 3] - c[i + 5]) - (c[i + 1] - c[i + 5]) * (c[i + 2] - c[i + 4]);
+            positive += det > 0 ? 1 : 0;
+        }
+        return positive;
+    }
+}
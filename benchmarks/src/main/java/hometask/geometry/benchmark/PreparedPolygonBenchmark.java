@@ -0,0 +1,57 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.PreparedPolygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link PreparedPolygon}: стоимость подготовки и проверки принадлежности точек
+ * для невыпуклых контуров.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreparedPolygonBenchmark {
+    private static final int QUERY_MASK = 1023;
+
+    @Param({"16", "256", "4096", "65536", "1048576"})
+    private int vertexCount;
+
+    private Polygon polygon;
+    private PreparedPolygon prepared;
+    private Point[] queries;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        polygon = new Polygon(Shapes.outline(Outline.STAR, vertexCount, 100));
+        prepared = new PreparedPolygon(polygon);
+        queries = Shapes.queries(QUERY_MASK + 1, 110);
+    }
+
+    @Benchmark
+    public PreparedPolygon prepare() {
+        return new PreparedPolygon(polygon);
+    }
+
+    @Benchmark
+    public boolean containsPoint() {
+        return prepared.containsPoint(queries[cursor++ & QUERY_MASK]);
+    }
+}
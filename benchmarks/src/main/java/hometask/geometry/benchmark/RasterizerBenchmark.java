@@ -0,0 +1,109 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.raster.Rasterizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link Rasterizer} в сравнении с проверкой каждой точки выборки каждой фигурой.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RasterizerBenchmark {
+    private static final int SIZE = 256;
+    private static final Bounds AREA = new Bounds(-500, -500, 500, 500);
+
+    @Param({"100", "1000"})
+    private int shapeCount;
+
+    @Param({"1", "4"})
+    private int samples;
+
+    private List<Shape> shapes;
+    private Rasterizer rasterizer;
+    private byte[] bitmap;
+    private int[] counts;
+
+    @Setup
+    public void setUp() {
+        // Круги, повернутые эллипсы и звезды по 64 вершины вперемешку
+        Point[] centers = Shapes.queries(shapeCount, 450);
+        Point[] star = Shapes.outline(Outline.STAR, 64, 40);
+        shapes = new ArrayList<>(shapeCount);
+        for (int i = 0; i < shapeCount; i++) {
+            double x = centers[i].x();
+            double y = centers[i].y();
+            shapes.add(switch (i % 3) {
+                case 0 -> new Circle(centers[i], 30);
+                case 1 -> new Ellipse(new Point(x - 20, y - 10), new Point(x + 20, y + 10), 70);
+                default -> new Polygon(star).transform(AffineTransform.translation(x, y));
+            });
+        }
+        rasterizer = new Rasterizer(AREA, SIZE, SIZE, samples);
+        bitmap = new byte[SIZE * SIZE];
+        counts = new int[SIZE * SIZE];
+    }
+
+    @Benchmark
+    public byte[] fill() {
+        rasterizer.fill(shapes, bitmap);
+        return bitmap;
+    }
+
+    @Benchmark
+    public int[] accumulate() {
+        rasterizer.accumulate(shapes, counts);
+        return counts;
+    }
+
+    @Benchmark
+    public byte[] containsPoint() {
+        int columns = SIZE * samples;
+        double stepX = AREA.width() / columns;
+        double stepY = AREA.height() / columns;
+        int area = samples * samples;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                int covered = 0;
+                for (int k = 0; k < samples; k++) {
+                    for (int j = 0; j < samples; j++) {
+                        Point point = new Point(AREA.minX() + (col * samples + j + 0.5) * stepX,
+                                AREA.minY() + (row * samples + k + 0.5) * stepY);
+                        for (Shape shape : shapes) {
+                            if (shape.containsPoint(point)) {
+                                covered++;
+                                break;
+                            }
+                        }
+                    }
+                }
+                bitmap[row * SIZE + col] = (byte) ((covered * 255 + area / 2) / area);
+            }
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,118 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Rectangle;
+import hometask.geometry.shape.impl.Square;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки переопределённых операций {@link Rectangle} и {@link Square}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RectangleBenchmark {
+    private static final int QUERY_MASK = 1023;
+
+    private Rectangle rectangle;
+    private Square square;
+    private Point[] queries;
+    private int cursor;
+
+    private final Point center = new Point(3, -2);
+    private final Line axis = new Line(0.5, 1);
+
+    @Setup
+    public void setUp() {
+        rectangle = new Rectangle(new Point(-40, -20), new Point(40, 20), 0.5);
+        square = new Square(new Point(-30, -30), new Point(30, 30));
+        queries = Shapes.queries(QUERY_MASK + 1, 50);
+    }
+
+    @Benchmark
+    public double rectanglePerimeter() {
+        return rectangle.perimeter();
+    }
+
+    @Benchmark
+    public double rectangleArea() {
+        return rectangle.area();
+    }
+
+    @Benchmark
+    public boolean rectangleContainsPoint() {
+        return rectangle.containsPoint(queries[cursor++ & QUERY_MASK]);
+    }
+
+    @Benchmark
+    public Point rectangleCenter() {
+        return rectangle.center();
+    }
+
+    @Benchmark
+    public Rectangle.Diagonals rectangleDiagonals() {
+        return rectangle.diagonals();
+    }
+
+    @Benchmark
+    public Rectangle rectangleRotate() {
+        return rectangle.rotate(center, 37);
+    }
+
+    @Benchmark
+    public Rectangle rectangleReflectPoint() {
+        return rectangle.reflect(center);
+    }
+
+    @Benchmark
+    public Rectangle rectangleReflectLine() {
+        return rectangle.reflect(axis);
+    }
+
+    @Benchmark
+    public Shape rectangleScale() {
+        return rectangle.scale(center, 2.5);
+    }
+
+    @Benchmark
+    public double squarePerimeter() {
+        return square.perimeter();
+    }
+
+    @Benchmark
+    public double squareArea() {
+        return square.area();
+    }
+
+    @Benchmark
+    public boolean squareContainsPoint() {
+        return square.containsPoint(queries[cursor++ & QUERY_MASK]);
+    }
+
+    @Benchmark
+    public Circle squareCircumscribedCircle() {
+        return square.circumscribedCircle();
+    }
+
+    @Benchmark
+    public Circle squareInscribedCircle() {
+        return square.inscribedCircle();
+    }
+}
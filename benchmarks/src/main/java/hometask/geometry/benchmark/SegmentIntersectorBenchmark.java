@@ -0,0 +1,107 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+import hometask.geometry.base.SegmentIntersector;
+import hometask.geometry.shape.impl.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link SegmentIntersector} и {@link Polygon#isSimple()} в сравнении с попарной проверкой граней.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentIntersectorBenchmark {
+    private static final int SEGMENT_COUNT = 5_000;
+
+    @Param({"1000", "10000"})
+    private int vertexCount;
+
+    private Point[] points;
+    private Polygon polygon;
+    private double[] segments;
+
+    @Setup(Level.Trial)
+    public void setUpData() {
+        points = Shapes.outline(Outline.STAR, vertexCount, 1000);
+
+        // Короткие отрезки в квадрате: пересечений порядка числа отрезков
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        segments = new double[4 * SEGMENT_COUNT];
+        for (int i = 0; i < segments.length; i += 4) {
+            double x = random.nextDouble(0, 1000);
+            double y = random.nextDouble(0, 1000);
+            double angle = random.nextDouble(2 * Math.PI);
+            double length = random.nextDouble(1, 30);
+            segments[i] = x;
+            segments[i + 1] = y;
+            segments[i + 2] = x + length * Math.cos(angle);
+            segments[i + 3] = y + length * Math.sin(angle);
+        }
+    }
+
+    // Результат isSimple кешируется, поэтому многоугольник создается заново перед каждым вызовом
+    @Setup(Level.Invocation)
+    public void setUpPolygon() {
+        polygon = new Polygon(points);
+    }
+
+    @Benchmark
+    public boolean isSimple() {
+        return polygon.isSimple();
+    }
+
+    @Benchmark
+    public boolean bruteForceIsSimple() {
+        // Для сравнения: проверка всех пар несоседних граней, O(n^2)
+        int n = polygon.verticeCount();
+        for (int i = 0; i < n; i++) {
+            double ax = polygon.vertexX(i);
+            double ay = polygon.vertexY(i);
+            double bx = polygon.vertexX((i + 1) % n);
+            double by = polygon.vertexY((i + 1) % n);
+            for (int j = i + 2; j < n; j++) {
+                if (i == 0 && j == n - 1) {
+                    continue;
+                }
+                double cx = polygon.vertexX(j);
+                double cy = polygon.vertexY(j);
+                double dx = polygon.vertexX((j + 1) % n);
+                double dy = polygon.vertexY((j + 1) % n);
+                if (Predicates.orientation(ax, ay, bx, by, cx, cy) * Predicates.orientation(ax, ay, bx, by, dx, dy) <= 0
+                        && Predicates.orientation(cx, cy, dx, dy, ax, ay) * Predicates.orientation(cx, cy, dx, dy, bx, by) <= 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public int randomSegments() {
+        int[] count = new int[1];
+        SegmentIntersector.forEachIntersection(segments, (first, second, x, y) -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+}
@@ -0,0 +1,86 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.Rectangle;
+import hometask.geometry.shape.impl.ShapeCodec;
+import hometask.geometry.shape.impl.Triangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link ShapeCodec}: запись и чтение набора фигур разных типов в буфере вне кучи.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeCodecBenchmark {
+
+    @Param({"1000", "100000"})
+    private int shapeCount;
+
+    private Shape[] shapes;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        Point[] star = Shapes.outline(Outline.STAR, 16, 10);
+        shapes = new Shape[shapeCount];
+        int size = 0;
+        for (int i = 0; i < shapeCount; i++) {
+            Point p = new Point(random.nextDouble(-100, 100), random.nextDouble(-100, 100));
+            Point q = new Point(p.x() + random.nextDouble(1, 10), p.y() + random.nextDouble(-5, 5));
+            shapes[i] = switch (i % 5) {
+                case 0 -> new Circle(p, random.nextDouble(1, 10));
+                case 1 -> new Ellipse(p, q, 20);
+                case 2 -> new Rectangle(p, q, 0.5);
+                case 3 -> new Triangle(p, q, new Point(p.x(), p.y() + 3));
+                default -> new Polygon(star);
+            };
+            size += ShapeCodec.encodedSize(shapes[i]);
+        }
+        buffer = ByteBuffer.allocateDirect(ShapeCodec.HEADER_SIZE + size).order(ByteOrder.LITTLE_ENDIAN);
+        encode();
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        buffer.clear();
+        ShapeCodec.writeHeader(buffer);
+        for (Shape shape : shapes) {
+            ShapeCodec.encode(shape, buffer);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        buffer.rewind();
+        ShapeCodec.readHeader(buffer);
+        for (int i = 0; i < shapeCount; i++) {
+            blackhole.consume(ShapeCodec.decode(buffer));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.index.ShapeIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link ShapeIndex}: построение индекса, поиск фигур, содержащих точку, в сравнении
+ * с перебором всех фигур, и поиск ближайших соседей.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeIndexBenchmark {
+    private static final int QUERY_MASK = 1023;
+    private static final double EXTENT = 1000;
+
+    @Param({"1000", "100000"})
+    private int shapeCount;
+
+    private List<Shape> shapes;
+    private ShapeIndex index;
+    private Point[] queries;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        // Зоны примерно одного размера, равномерно разбросанные по квадрату; в среднем точка попадает в несколько зон
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        double size = 2 * EXTENT / Math.sqrt(shapeCount);
+        shapes = new ArrayList<>(shapeCount);
+        for (int i = 0; i < shapeCount; i++) {
+            double x = random.nextDouble(-EXTENT, EXTENT);
+            double y = random.nextDouble(-EXTENT, EXTENT);
+            shapes.add(switch (i % 3) {
+                case 0 -> new Circle(new Point(x, y), size);
+                case 1 -> new Ellipse(new Point(x - size / 2, y), new Point(x + size / 2, y - size / 3), 2 * size);
+                default -> new Polygon(new Point(x, y), new Point(x + 2 * size, y + size / 2),
+                        new Point(x + size, y + 2 * size), new Point(x - size / 2, y + size));
+            });
+        }
+        index = new ShapeIndex(shapes);
+        queries = Shapes.queries(QUERY_MASK + 1, EXTENT);
+    }
+
+    @Benchmark
+    public ShapeIndex build() {
+        return new ShapeIndex(shapes);
+    }
+
+    @Benchmark
+    public List<Shape> containing() {
+        return index.containing(queries[cursor++ & QUERY_MASK]);
+    }
+
+    @Benchmark
+    public List<Shape> linearScan() {
+        Point point = queries[cursor++ & QUERY_MASK];
+        List<Shape> result = new ArrayList<>();
+        for (Shape shape : shapes) {
+            if (shape.containsPoint(point)) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Shape> nearest() {
+        return index.nearest(queries[cursor++ & QUERY_MASK], 8);
+    }
+}
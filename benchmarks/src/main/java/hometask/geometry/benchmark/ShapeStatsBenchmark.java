@@ -0,0 +1,110 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.ShapeStats;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link ShapeStats} и площади и периметра большого многоугольника в сравнении с обычным суммированием.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeStatsBenchmark {
+    private static final int SHAPE_COUNT = 1_000_000;
+    private static final int VERTEX_COUNT = 2_000_000;
+
+    private List<Shape> shapes;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        Point[] star = Shapes.outline(Outline.STAR, 16, 10);
+        shapes = new ArrayList<>(SHAPE_COUNT);
+        for (int i = 0; i < SHAPE_COUNT; i++) {
+            Point center = new Point(random.nextDouble(-100, 100), random.nextDouble(-100, 100));
+            // Площадь и периметр кешируются в фигурах, поэтому после прогрева измеряется сам обход и суммирование
+            shapes.add(i % 2 == 0 ? new Circle(center, random.nextDouble(1, 10))
+                    : new Polygon(star).rotate(center, random.nextDouble(360)));
+        }
+    }
+
+    // Большой многоугольник создается заново перед каждым вызовом, чтобы площадь не бралась из кеша
+    @State(Scope.Thread)
+    public static class LargePolygon {
+        private Point[] points;
+        private Polygon polygon;
+
+        @Setup(Level.Trial)
+        public void setUpPoints() {
+            points = Shapes.outline(Outline.STAR, VERTEX_COUNT, 1000);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUpPolygon() {
+            polygon = new Polygon(points);
+        }
+    }
+
+    @Benchmark
+    public ShapeStats stats() {
+        return ShapeStats.of(shapes);
+    }
+
+    @Benchmark
+    public double plainSum() {
+        // Для сравнения: последовательный обход с обычным суммированием
+        double sum = 0;
+        for (Shape shape : shapes) {
+            sum += shape.area() + shape.perimeter();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double largePolygonArea(LargePolygon state) {
+        return state.polygon.area();
+    }
+
+    @Benchmark
+    public double largePolygonPerimeter(LargePolygon state) {
+        return state.polygon.perimeter();
+    }
+
+    @Benchmark
+    public double largePolygonPlainArea(LargePolygon state) {
+        // Для сравнения: формула Гаусса с обычным суммированием в одном потоке
+        Point[] points = state.points;
+        Point last = points[points.length - 1];
+        double x1 = last.x();
+        double y1 = last.y();
+        double sum = 0;
+        for (Point point : points) {
+            sum += x1 * point.y() - point.x() * y1;
+            x1 = point.x();
+            y1 = point.y();
+        }
+        return Math.abs(sum) / 2;
+    }
+}
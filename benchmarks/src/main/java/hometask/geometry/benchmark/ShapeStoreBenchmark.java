@@ -0,0 +1,110 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.ShapeCodec;
+import hometask.geometry.shape.store.ShapeStore;
+import hometask.geometry.shape.store.ShapeStoreWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link ShapeStore}: открытие хранилища в сравнении с чтением того же набора через
+ * {@link ShapeCodec} и суммирование площадей по отображенной памяти и по копиям фигур в куче.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeStoreBenchmark {
+    private static final int SHAPE_COUNT = 100_000;
+
+    private Path storePath;
+    private Path codecPath;
+    private ShapeStore store;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        Point[] star = Shapes.outline(Outline.STAR, 32, 10);
+        List<Shape> shapes = new ArrayList<>(SHAPE_COUNT);
+        for (int i = 0; i < SHAPE_COUNT; i++) {
+            Polygon polygon = new Polygon(star);
+            shapes.add(polygon.rotate(new Point(random.nextDouble(-100, 100), random.nextDouble(-100, 100)),
+                    random.nextDouble(360)));
+        }
+        storePath = Files.createTempFile("shapes", ".store");
+        try (ShapeStoreWriter writer = new ShapeStoreWriter(storePath)) {
+            for (Shape shape : shapes) {
+                writer.add(shape);
+            }
+        }
+        codecPath = Files.createTempFile("shapes", ".codec");
+        try (FileChannel channel = FileChannel.open(codecPath, StandardOpenOption.WRITE)) {
+            ShapeCodec.write(shapes, channel);
+        }
+        store = new ShapeStore(storePath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(codecPath);
+        // Отображенный файл удаляется после завершения JVM (на некоторых системах его нельзя удалить сразу)
+        storePath.toFile().deleteOnExit();
+    }
+
+    @Benchmark
+    public ShapeStore open() throws IOException {
+        return new ShapeStore(storePath);
+    }
+
+    @Benchmark
+    public List<Shape> decode() throws IOException {
+        List<Shape> result = new ArrayList<>(SHAPE_COUNT);
+        try (FileChannel channel = FileChannel.open(codecPath, StandardOpenOption.READ)) {
+            ShapeCodec.read(channel, result::add);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double storeArea() {
+        double sum = 0;
+        for (int i = 0; i < store.size(); i++) {
+            sum += store.area(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double loadArea() {
+        // Для сравнения: каждая фигура сначала копируется в кучу
+        double sum = 0;
+        for (int i = 0; i < store.size(); i++) {
+            sum += store.load(i).area();
+        }
+        return sum;
+    }
+}
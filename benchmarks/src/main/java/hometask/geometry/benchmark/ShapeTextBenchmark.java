@@ -0,0 +1,101 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.GeoJsonReader;
+import hometask.geometry.shape.impl.GeoJsonWriter;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.WktReader;
+import hometask.geometry.shape.impl.WktWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link WktReader}, {@link GeoJsonReader} и {@link WktWriter} на наборе многоугольников
+ * с координатами в семь знаков после запятой.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeTextBenchmark {
+    private static final int SHAPE_COUNT = 10_000;
+
+    private Polygon[] shapes;
+    private char[] wkt;
+    private char[] geoJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(Shapes.SEED);
+        shapes = new Polygon[SHAPE_COUNT];
+        for (int i = 0; i < SHAPE_COUNT; i++) {
+            Point[] outline = Shapes.outline(Outline.STAR, 16, 0.01);
+            double x = random.nextDouble(-180, 180);
+            double y = random.nextDouble(-90, 90);
+            for (int j = 0; j < outline.length; j++) {
+                // Округление до семи знаков, как в типичных файлах с географическими координатами
+                outline[j] = new Point(Math.round((outline[j].x() + x) * 1e7) / 1e7,
+                        Math.round((outline[j].y() + y) * 1e7) / 1e7);
+            }
+            shapes[i] = new Polygon(outline);
+        }
+        CharArrayWriter wktOut = new CharArrayWriter();
+        try (WktWriter writer = new WktWriter(wktOut)) {
+            for (Shape shape : shapes) {
+                writer.write(shape);
+            }
+        }
+        wkt = wktOut.toCharArray();
+        CharArrayWriter geoJsonOut = new CharArrayWriter();
+        try (GeoJsonWriter writer = new GeoJsonWriter(geoJsonOut)) {
+            for (Shape shape : shapes) {
+                writer.write(shape);
+            }
+        }
+        geoJson = geoJsonOut.toCharArray();
+    }
+
+    @Benchmark
+    public void readWkt(Blackhole blackhole) throws IOException {
+        WktReader reader = new WktReader(CharBuffer.wrap(wkt));
+        for (Shape shape = reader.next(); shape != null; shape = reader.next()) {
+            blackhole.consume(shape);
+        }
+    }
+
+    @Benchmark
+    public void readGeoJson(Blackhole blackhole) throws IOException {
+        GeoJsonReader reader = new GeoJsonReader(CharBuffer.wrap(geoJson));
+        for (Shape shape = reader.next(); shape != null; shape = reader.next()) {
+            blackhole.consume(shape);
+        }
+    }
+
+    @Benchmark
+    public void writeWkt() throws IOException {
+        try (WktWriter writer = new WktWriter(Writer.nullWriter())) {
+            for (Shape shape : shapes) {
+                writer.write(shape);
+            }
+        }
+    }
+}
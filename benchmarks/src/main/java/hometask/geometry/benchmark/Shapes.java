@@ -0,0 +1,51 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+
+import java.util.SplittableRandom;
+
+/**
+ * Генераторы входных данных для бенчмарков.
+ * <p>
+ * Все данные детерминированы (фиксированное зерно), чтобы прогоны были сравнимы между собой.
+ */
+final class Shapes {
+    static final long SEED = 0x5EED_6E0L;
+
+    private Shapes() {
+    }
+
+    /**
+     * Строит вершины многоугольника с центром в начале координат.
+     *
+     * @param outline форма контура
+     * @param count   количество вершин
+     * @param radius  внешний радиус
+     * @return массив вершин в порядке обхода против часовой стрелки
+     */
+    static Point[] outline(Outline outline, int count, double radius) {
+        Point[] points = new Point[count];
+        double step = 2 * Math.PI / count;
+        for (int i = 0; i < count; i++) {
+            double r = outline == Outline.STAR && (i & 1) == 1 ? radius * 0.6 : radius;
+            points[i] = new Point(r * Math.cos(i * step), r * Math.sin(i * step));
+        }
+        return points;
+    }
+
+    /**
+     * Строит набор случайных точек запроса в квадрате [-extent, extent]^2.
+     *
+     * @param count  количество точек (степень двойки)
+     * @param extent полуширина квадрата
+     * @return массив точек
+     */
+    static Point[] queries(int count, double extent) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Point[] points = new Point[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = new Point(random.nextDouble(-extent, extent), random.nextDouble(-extent, extent));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,72 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Triangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки переопределённых операций {@link Triangle}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriangleBenchmark {
+    private static final int QUERY_MASK = 1023;
+
+    private Triangle triangle;
+    private Triangle congruent;
+    private Point[] queries;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        triangle = new Triangle(new Point(-40, -20), new Point(35, -10), new Point(5, 45));
+        congruent = new Triangle(new Point(60, -20), new Point(135, -10), new Point(105, 45));
+        queries = Shapes.queries(QUERY_MASK + 1, 50);
+    }
+
+    @Benchmark
+    public double area() {
+        return triangle.area();
+    }
+
+    @Benchmark
+    public double perimeter() {
+        return triangle.perimeter();
+    }
+
+    @Benchmark
+    public boolean containsPoint() {
+        return triangle.containsPoint(queries[cursor++ & QUERY_MASK]);
+    }
+
+    @Benchmark
+    public boolean isCongruentTo() {
+        return triangle.isCongruentTo(congruent);
+    }
+
+    @Benchmark
+    public Circle circumscribedCircle() {
+        return triangle.circumscribedCircle();
+    }
+
+    @Benchmark
+    public Circle inscribedCircle() {
+        return triangle.inscribedCircle();
+    }
+}
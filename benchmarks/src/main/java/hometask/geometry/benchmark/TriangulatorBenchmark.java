@@ -0,0 +1,98 @@
+package hometask.geometry.benchmark;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.Triangulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки разбиения многоугольников на треугольники ({@link Polygon#triangles()}, {@link Triangulator}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriangulatorBenchmark {
+    private static final int BULK_COUNT = 1_000;
+    private static final int BULK_VERTICES = 100;
+
+    @Param({"16", "1000", "100000"})
+    private int vertexCount;
+
+    private Point[] points;
+    private Polygon cached;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        points = Shapes.outline(Outline.STAR, vertexCount, 1000);
+        cached = new Polygon(points);
+        cached.triangles();
+    }
+
+    /**
+     * Новый многоугольник перед каждым вызовом: разбиение кешируется. Проверка простоты, которая тоже
+     * кешируется, выполняется заранее и в замер не входит.
+     */
+    @State(Scope.Thread)
+    public static class Fresh {
+        private Polygon polygon;
+
+        @Setup(Level.Invocation)
+        public void setUp(TriangulatorBenchmark benchmark) {
+            polygon = new Polygon(benchmark.points);
+            polygon.isSimple();
+        }
+    }
+
+    /**
+     * Тысяча новых звезд по сто вершин перед каждым вызовом.
+     */
+    @State(Scope.Thread)
+    public static class Bulk {
+        private final Point[] points = Shapes.outline(Outline.STAR, BULK_VERTICES, 1000);
+        private List<Polygon> polygons;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            polygons = new ArrayList<>(BULK_COUNT);
+            for (int i = 0; i < BULK_COUNT; i++) {
+                Polygon polygon = new Polygon(points);
+                polygon.isSimple();
+                polygons.add(polygon);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] triangulate(Fresh fresh) {
+        return fresh.polygon.triangles();
+    }
+
+    @Benchmark
+    public int[] cachedTriangles() {
+        return cached.triangles();
+    }
+
+    @Benchmark
+    public int[][] triangulateAll(Bulk bulk) {
+        // Не зависит от vertexCount
+        return Triangulator.triangulateAll(bulk.polygons);
+    }
+}
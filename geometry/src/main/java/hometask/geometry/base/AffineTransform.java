@@ -0,0 +1,270 @@
+package hometask.geometry.base;
+
+/**
+ * Класс AffineTransform представляет преобразование подобия плоскости в виде матрицы 3x3
+ * (последняя строка матрицы всегда равна (0, 0, 1)):
+ * <pre>
+ *     x' = m00 * x + m01 * y + m02
+ *     y' = m10 * x + m11 * y + m12
+ * </pre>
+ * Преобразования строятся из переносов, поворотов, отражений и масштабирований и объединяются в цепочку
+ * методом {@link #then(AffineTransform)} или методами с теми же именами, что и у фигур:
+ * {@code AffineTransform.rotation(center, 30).scale(center, 2).reflect(axis)}. Цепочка применяется
+ * к фигуре за один проход, а синусы и косинусы углов поворота вычисляются один раз при ее построении.
+ * <p>
+ * Другие аффинные преобразования (сдвиг, растяжение по одной оси) не поддерживаются: только подобие
+ * переводит круги в круги, а эллипсы — в эллипсы.
+ * </p>
+ */
+public final class AffineTransform {
+
+    /**
+     * Тождественное преобразование.
+     */
+    public static final AffineTransform IDENTITY = new AffineTransform(1, 0, 0, 0, 1, 0);
+
+    private final double m00;
+    private final double m01;
+    private final double m02;
+    private final double m10;
+    private final double m11;
+    private final double m12;
+
+    private AffineTransform(double m00, double m01, double m02, double m10, double m11, double m12) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+    }
+
+    /**
+     * Создает перенос на вектор (dx, dy).
+     *
+     * @param dx смещение по оси X
+     * @param dy смещение по оси Y
+     * @return преобразование переноса
+     */
+    public static AffineTransform translation(double dx, double dy) {
+        return new AffineTransform(1, 0, dx, 0, 1, dy);
+    }
+
+    /**
+     * Создает поворот вокруг заданного центра. Для углов, кратных 90°, синус и косинус берутся точными
+     * (0 и ±1), поэтому такие повороты не вносят погрешности в коэффициенты матрицы.
+     *
+     * @param center центр поворота
+     * @param angle  угол поворота в градусах (против часовой стрелки)
+     * @return преобразование поворота
+     */
+    public static AffineTransform rotation(Point center, double angle) {
+        double cos;
+        double sin;
+        if (angle % 90 == 0) {
+            int quarter = (int) Math.floorMod((long) (angle / 90), 4L);
+            cos = quarter == 0 ? 1 : quarter == 2 ? -1 : 0;
+            sin = quarter == 1 ? 1 : quarter == 3 ? -1 : 0;
+        } else {
+            double radians = Math.toRadians(angle);
+            cos = Math.cos(radians);
+            sin = Math.sin(radians);
+        }
+
+        double cx = center.x();
+        double cy = center.y();
+        return new AffineTransform(cos, -sin, cx - cos * cx + sin * cy, sin, cos, cy - sin * cx - cos * cy);
+    }
+
+    /**
+     * Создает отражение относительно точки (поворот на 180°).
+     *
+     * @param center центр симметрии
+     * @return преобразование центральной симметрии
+     */
+    public static AffineTransform reflection(Point center) {
+        return new AffineTransform(-1, 0, 2 * center.x(), 0, -1, 2 * center.y());
+    }
+
+    /**
+     * Создает отражение относительно прямой.
+     *
+     * @param axis ось симметрии
+     * @return преобразование осевой симметрии
+     */
+    public static AffineTransform reflection(Line axis) {
+        double k = axis.k();
+        double c = axis.c();
+        if (Double.isInfinite(k)) {
+            return new AffineTransform(-1, 0, 2 * c, 0, 1, 0); // Вертикальная прямая x = c
+        }
+
+        // Отражение относительно прямой y = kx + c, выраженное через проекцию точки на прямую
+        double s = 1 / (1 + k * k);
+        return new AffineTransform((1 - k * k) * s, 2 * k * s, -2 * k * c * s,
+                2 * k * s, (k * k - 1) * s, 2 * c * s);
+    }
+
+    /**
+     * Создает масштабирование относительно заданного центра.
+     *
+     * @param center      центр масштабирования
+     * @param coefficient коэффициент масштабирования
+     * @return преобразование гомотетии
+     */
+    public static AffineTransform scaling(Point center, double coefficient) {
+        double cx = center.x();
+        double cy = center.y();
+        return new AffineTransform(coefficient, 0, cx - coefficient * cx, 0, coefficient, cy - coefficient * cy);
+    }
+
+    /**
+     * Возвращает преобразование, которое сначала применяет текущее, а затем заданное.
+     *
+     * @param next преобразование, применяемое вторым
+     * @return композиция преобразований
+     */
+    public AffineTransform then(AffineTransform next) {
+        return new AffineTransform(
+                next.m00 * m00 + next.m01 * m10,
+                next.m00 * m01 + next.m01 * m11,
+                next.m00 * m02 + next.m01 * m12 + next.m02,
+                next.m10 * m00 + next.m11 * m10,
+                next.m10 * m01 + next.m11 * m11,
+                next.m10 * m02 + next.m11 * m12 + next.m12);
+    }
+
+    /**
+     * Добавляет в цепочку перенос на вектор (dx, dy).
+     *
+     * @param dx смещение по оси X
+     * @param dy смещение по оси Y
+     * @return композиция текущего преобразования и переноса
+     */
+    public AffineTransform translate(double dx, double dy) {
+        return then(translation(dx, dy));
+    }
+
+    /**
+     * Добавляет в цепочку поворот вокруг заданного центра.
+     *
+     * @param center центр поворота
+     * @param angle  угол поворота в градусах (против часовой стрелки)
+     * @return композиция текущего преобразования и поворота
+     */
+    public AffineTransform rotate(Point center, double angle) {
+        return then(rotation(center, angle));
+    }
+
+    /**
+     * Добавляет в цепочку отражение относительно точки.
+     *
+     * @param center центр симметрии
+     * @return композиция текущего преобразования и отражения
+     */
+    public AffineTransform reflect(Point center) {
+        return then(reflection(center));
+    }
+
+    /**
+     * Добавляет в цепочку отражение относительно прямой.
+     *
+     * @param axis ось симметрии
+     * @return композиция текущего преобразования и отражения
+     */
+    public AffineTransform reflect(Line axis) {
+        return then(reflection(axis));
+    }
+
+    /**
+     * Добавляет в цепочку масштабирование относительно заданного центра.
+     *
+     * @param center      центр масштабирования
+     * @param coefficient коэффициент масштабирования
+     * @return композиция текущего преобразования и масштабирования
+     */
+    public AffineTransform scale(Point center, double coefficient) {
+        return then(scaling(center, coefficient));
+    }
+
+    /**
+     * Применяет преобразование к точке.
+     *
+     * @param point исходная точка
+     * @return образ точки
+     */
+    public Point apply(Point point) {
+        double x = point.x();
+        double y = point.y();
+        return new Point(m00 * x + m01 * y + m02, m10 * x + m11 * y + m12);
+    }
+
+    /**
+     * Применяет преобразование к массиву координат вида x0, y0, x1, y1, ...
+     * Массивы могут совпадать.
+     *
+     * @param source      исходные координаты
+     * @param destination массив для координат образов, не короче исходного
+     */
+    public void apply(double[] source, double[] destination) {
+        if (destination.length < source.length) {
+            throw new IllegalArgumentException("Destination array is shorter than the source array.");
+        }
+        for (int i = 0; i + 1 < source.length; i += 2) {
+            double x = source[i];
+            double y = source[i + 1];
+            destination[i] = m00 * x + m01 * y + m02;
+            destination[i + 1] = m10 * x + m11 * y + m12;
+        }
+    }
+
+    /**
+     * Возвращает коэффициент подобия: во сколько раз преобразование меняет расстояния.
+     *
+     * @return неотрицательный коэффициент подобия
+     */
+    public double scaleFactor() {
+        return Math.hypot(m00, m10);
+    }
+
+    /**
+     * Проверяет, меняет ли преобразование ориентацию плоскости (содержит нечетное число осевых отражений).
+     *
+     * @return true, если обход против часовой стрелки переходит в обход по часовой стрелке
+     */
+    public boolean isReflection() {
+        return m00 * m11 - m01 * m10 < 0;
+    }
+
+    /**
+     * Сравнивает преобразование с другим по коэффициентам матрицы.
+     *
+     * @param obj объект для сравнения
+     * @return true, если матрицы совпадают; false в противном случае
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        AffineTransform other = (AffineTransform) obj;
+        return Double.compare(m00, other.m00) == 0 && Double.compare(m01, other.m01) == 0
+                && Double.compare(m02, other.m02) == 0 && Double.compare(m10, other.m10) == 0
+                && Double.compare(m11, other.m11) == 0 && Double.compare(m12, other.m12) == 0;
+    }
+
+    /**
+     * Возвращает хеш-код на основе коэффициентов матрицы.
+     *
+     * @return хеш-код
+     */
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(m00);
+        result = 31 * result + Double.hashCode(m01);
+        result = 31 * result + Double.hashCode(m02);
+        result = 31 * result + Double.hashCode(m10);
+        result = 31 * result + Double.hashCode(m11);
+        result = 31 * result + Double.hashCode(m12);
+        return result;
+    }
+}
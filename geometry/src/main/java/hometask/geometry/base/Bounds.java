@@ -0,0 +1,51 @@
+package hometask.geometry.base;
+
+/**
+ * Класс Bounds представляет ограничивающий прямоугольник со сторонами, параллельными осям координат.
+ *
+ * @param minX минимальная координата x
+ * @param minY минимальная координата y
+ * @param maxX максимальная координата x
+ * @param maxY максимальная координата y
+ */
+public record Bounds(double minX, double minY, double maxX, double maxY) {
+
+    /**
+     * Проверяет, лежит ли точка (x, y) внутри прямоугольника или на его границе.
+     *
+     * @param x координата x точки
+     * @param y координата y точки
+     * @return true, если точка принадлежит прямоугольнику; false в противном случае
+     */
+    public boolean contains(double x, double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * Проверяет, пересекается ли прямоугольник с другим (касание границами считается пересечением).
+     *
+     * @param other другой прямоугольник
+     * @return true, если прямоугольники имеют общие точки; false в противном случае
+     */
+    public boolean intersects(Bounds other) {
+        return minX <= other.maxX && other.minX <= maxX && minY <= other.maxY && other.minY <= maxY;
+    }
+
+    /**
+     * Возвращает ширину прямоугольника.
+     *
+     * @return размер по оси X
+     */
+    public double width() {
+        return maxX - minX;
+    }
+
+    /**
+     * Возвращает высоту прямоугольника.
+     *
+     * @return размер по оси Y
+     */
+    public double height() {
+        return maxY - minY;
+    }
+}
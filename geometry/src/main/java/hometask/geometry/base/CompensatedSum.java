@@ -0,0 +1,57 @@
+package hometask.geometry.base;
+
+/**
+ * Класс {@code CompensatedSum} — сумматор с компенсацией погрешности округления (алгоритм Ноймайера).
+ * <p>
+ * Кроме самой суммы хранится поправка — накопленная часть слагаемых, потерянная при округлении.
+ * Погрешность результата не растет с числом слагаемых, как при обычном {@code +=}, а остается порядка
+ * одной единицы последнего разряда суммы модулей. В отличие от алгоритма Кэхэна, слагаемые могут быть
+ * больше текущей суммы по модулю. Частичные суммы, накопленные в разных потоках, объединяются
+ * методом {@link #add(CompensatedSum)} без потери поправок.
+ * </p>
+ * <p>
+ * Объект изменяем и не потокобезопасен.
+ * </p>
+ */
+public final class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    /**
+     * Прибавляет слагаемое.
+     *
+     * @param value слагаемое
+     * @return этот сумматор
+     */
+    public CompensatedSum add(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+        return this;
+    }
+
+    /**
+     * Прибавляет частичную сумму другого сумматора вместе с ее поправкой.
+     *
+     * @param other другой сумматор
+     * @return этот сумматор
+     */
+    public CompensatedSum add(CompensatedSum other) {
+        add(other.sum);
+        compensation += other.compensation;
+        return this;
+    }
+
+    /**
+     * Возвращает сумму с учетом поправки.
+     *
+     * @return сумма слагаемых
+     */
+    public double sum() {
+        return sum + compensation;
+    }
+}
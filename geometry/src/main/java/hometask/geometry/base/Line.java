@@ -65,29 +65,46 @@ public class Line {
         if (first.k == second.k) {
             return Point.EMPTY;
         }
+        double x = intersectionX(first, second);
+        return new Point(x, intersectionY(first, second, x));
+    }
 
-        // Обработка случая, если первая прямая вертикальная
-        if (Double.isInfinite(first.k)) {
-            // Пересечение по фиксированному x = first.c
-            double x = first.c;
-            double y = second.k * x + second.c;
-            return new Point(x, y);
+    /**
+     * Находит точку пересечения двух прямых без создания объектов: координаты записываются в out[offset]
+     * и out[offset + 1]. Подходит для циклов по большому числу прямых.
+     *
+     * @param first  первая прямая
+     * @param second вторая прямая
+     * @param out    массив для результата
+     * @param offset индекс, по которому записывается координата x (координата y — следующей)
+     * @return true, если прямые пересекаются; false, если параллельны (массив не изменяется)
+     */
+    public static boolean intersect(Line first, Line second, double[] out, int offset) {
+        if (first.k == second.k) {
+            return false;
         }
+        double x = intersectionX(first, second);
+        out[offset] = x;
+        out[offset + 1] = intersectionY(first, second, x);
+        return true;
+    }
 
-        // Обработка случая, если вторая прямая вертикальная
+    // Координата x точки пересечения непараллельных прямых
+    private static double intersectionX(Line first, Line second) {
+        if (Double.isInfinite(first.k)) {
+            return first.c; // Пересечение по фиксированному x = first.c
+        }
         if (Double.isInfinite(second.k)) {
-            // Пересечение по фиксированному x = second.c
-            double x = second.c;
-            double y = first.k * x + first.c;
-            return new Point(x, y);
+            return second.c;
         }
-
         // Стандартный случай для двух наклонных прямых
-        double x = (second.c - first.c) / (first.k - second.k);
-        double y = first.k * x + first.c;
-        return new Point(x, y);
+        return (second.c - first.c) / (first.k - second.k);
     }
 
+    // Координата y точки пересечения по уравнению невертикальной из прямых
+    private static double intersectionY(Line first, Line second, double x) {
+        return Double.isInfinite(first.k) ? second.k * x + second.c : first.k * x + first.c;
+    }
 
     /**
      * Возвращает коэффициент наклона прямой.
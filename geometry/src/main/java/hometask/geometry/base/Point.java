@@ -42,14 +42,14 @@ public record Point(double x, double y) {
      */
     public Point reflect(Line axis) {
         if (Double.isInfinite(axis.k())) {
-            return new Point(axis.c(), this.y);
+            return new Point(2 * axis.c() - this.x, this.y); // Вертикальная прямая x = c
         }
 
         double k = axis.k();
         double c = axis.c();
 
         // Вычисление координат новой точки после отражения
-        double d = (this.x + (this.y - c - k * this.x) * k) / (1 + k * k); // координата x проекции на ось
+        double d = (this.x + (this.y - c) * k) / (1 + k * k); // координата x проекции на ось
         double reflectedX = 2 * d - this.x;
         double reflectedY = 2 * (k * d + c) - this.y;
 
@@ -107,12 +107,15 @@ public record Point(double x, double y) {
     }
 
     /**
-     * Возвращает хеш-код для этой точки.
+     * Возвращает хеш-код для этой точки. Биты координат перемешиваются так же, как в {@link PointHashSet}:
+     * у точек целочисленной сетки различаются только старшие биты, и формула {@code 31 * h(x) + h(y)}
+     * давала для них много совпадений.
      *
      * @return хеш-код, основанный на координатах точки
      */
     @Override
     public int hashCode() {
-        return 31 * Double.hashCode(x) + Double.hashCode(y);
+        long h = PointTable.mix(Double.doubleToLongBits(x), Double.doubleToLongBits(y));
+        return (int) (h ^ (h >>> 32));
     }
 }
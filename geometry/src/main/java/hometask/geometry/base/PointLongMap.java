@@ -0,0 +1,151 @@
+package hometask.geometry.base;
+
+/**
+ * Отображение точек в числа long без упаковки в объекты: замена {@code HashMap<Point, Long>} (или
+ * {@code Integer}) для подсчета и индексации точек в больших наборах.
+ * <p>
+ * Устроено так же, как {@link PointHashSet}, со значениями в параллельном массиве. Отсутствие
+ * значения обозначается числом missingValue, которое задается при создании (по умолчанию 0): его
+ * возвращают {@link #get} и {@link #put} для отсутствующих точек. Поддерживается только добавление
+ * и изменение значений.
+ * </p>
+ */
+public final class PointLongMap extends PointTable {
+    private final long missingValue;
+
+    /**
+     * Получатель пар при обходе отображения.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(double x, double y, long value);
+    }
+
+    /**
+     * Создает пустое отображение с точным сравнением координат и missingValue = 0.
+     */
+    public PointLongMap() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Создает пустое отображение с точным сравнением координат.
+     *
+     * @param expectedSize ожидаемое число точек, до которого отображение не расширяется
+     * @param missingValue значение, обозначающее отсутствие точки
+     */
+    public PointLongMap(int expectedSize, long missingValue) {
+        this(expectedSize, missingValue, 0);
+    }
+
+    /**
+     * Создает пустое отображение, в котором координаты округляются до узлов сетки.
+     *
+     * @param expectedSize ожидаемое число точек, до которого отображение не расширяется
+     * @param missingValue значение, обозначающее отсутствие точки
+     * @param tolerance    шаг сетки; 0 — координаты сравниваются точно
+     */
+    public PointLongMap(int expectedSize, long missingValue, double tolerance) {
+        super(expectedSize, tolerance, true);
+        this.missingValue = missingValue;
+    }
+
+    /**
+     * Возвращает значение точки.
+     *
+     * @param x координата x
+     * @param y координата y
+     * @return значение или missingValue, если точки нет
+     */
+    public long get(double x, double y) {
+        int slot = find(key(x), key(y));
+        return isEmpty(slot) ? missingValue : values[slot];
+    }
+
+    /**
+     * Возвращает значение точки.
+     *
+     * @param point точка
+     * @return значение или missingValue, если точки нет
+     */
+    public long get(Point point) {
+        return get(point.x(), point.y());
+    }
+
+    /**
+     * Проверяет наличие точки.
+     *
+     * @param x координата x
+     * @param y координата y
+     * @return true, если точка (или точка того же узла сетки) есть в отображении
+     */
+    public boolean containsKey(double x, double y) {
+        return !isEmpty(find(key(x), key(y)));
+    }
+
+    /**
+     * Задает значение точки.
+     *
+     * @param x     координата x
+     * @param y     координата y
+     * @param value значение
+     * @return прежнее значение или missingValue, если точки не было
+     */
+    public long put(double x, double y, long value) {
+        long keyX = key(x);
+        long keyY = key(y);
+        int slot = find(keyX, keyY);
+        if (!isEmpty(slot)) {
+            long previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        slot = insert(slot, keyX, keyY);
+        values[slot] = value;
+        return missingValue;
+    }
+
+    /**
+     * Задает значение точки.
+     *
+     * @param point точка
+     * @param value значение
+     * @return прежнее значение или missingValue, если точки не было
+     */
+    public long put(Point point, long value) {
+        return put(point.x(), point.y(), value);
+    }
+
+    /**
+     * Прибавляет число к значению точки; отсутствующая точка добавляется со значением missingValue + delta.
+     * Удобно для подсчета повторов.
+     *
+     * @param x     координата x
+     * @param y     координата y
+     * @param delta прибавляемое число
+     * @return новое значение
+     */
+    public long addTo(double x, double y, long delta) {
+        long keyX = key(x);
+        long keyY = key(y);
+        int slot = find(keyX, keyY);
+        if (isEmpty(slot)) {
+            slot = insert(slot, keyX, keyY);
+            values[slot] = missingValue;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * Передает получателю все пары (точки — узлы сетки, если задан ее шаг) в порядке хранения.
+     *
+     * @param consumer получатель
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < capacity(); i++) {
+            if (!isEmpty(i)) {
+                consumer.accept(x(i), y(i), values[i]);
+            }
+        }
+    }
+}
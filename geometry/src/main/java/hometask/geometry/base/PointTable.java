@@ -0,0 +1,162 @@
+package hometask.geometry.base;
+
+import java.util.Arrays;
+
+/**
+ * Общая часть {@link PointHashSet} и {@link PointLongMap}: хеш-таблица с открытой адресацией и линейным
+ * пробированием, ключи которой — биты координат точек в массиве long (x и y ячейки рядом).
+ * <p>
+ * Точки не упаковываются в объекты, поэтому на точку приходится 16 байт ключа (и 8 байт значения
+ * в отображении) вместо записи Point, узла и ссылки в таблице {@code HashMap}, а поиск проходит подряд
+ * по массиву без переходов по ссылкам. Ключ координаты — {@link Double#doubleToLongBits}, как
+ * в {@link Point#equals}: 0.0 и -0.0 различаются, все NaN равны. Если задан шаг сетки (tolerance),
+ * координаты сначала округляются до ближайшего узла сетки, и точки одной ячейки считаются равными.
+ * </p>
+ */
+abstract class PointTable {
+    // Битовый шаблон NaN, который doubleToLongBits не возвращает никогда: метка пустой ячейки
+    static final long EMPTY = 0x7ff0_0000_0000_0001L;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 29; // Ключи занимают 2 * емкость элементов массива
+
+    private final double tolerance;
+    long[] keys;   // Биты координат x и y ячейки i — в keys[2 * i] и keys[2 * i + 1]
+    long[] values; // null у множества
+    int size;
+    private int mask;      // Емкость (степень двойки) - 1
+    private int shift;     // 64 - log2(емкость): номер ячейки — старшие биты хеша
+    private int threshold; // Наибольшее число точек до расширения (заполнение 3/4)
+
+    PointTable(int expectedSize, double tolerance, boolean withValues) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be non-negative.");
+        }
+        if (!(tolerance >= 0) || Double.isInfinite(tolerance)) {
+            throw new IllegalArgumentException("Tolerance must be finite and non-negative.");
+        }
+        this.tolerance = tolerance;
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity - capacity / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity, withValues);
+    }
+
+    /**
+     * Перемешивает биты двух координат в 64-битный хеш (умножения на нечетные константы и финальное
+     * перемешивание MurmurHash3), так что точки целочисленной сетки, у которых различаются только
+     * старшие биты, распределяются равномерно.
+     *
+     * @param x биты координаты x
+     * @param y биты координаты y
+     * @return хеш
+     */
+    static long mix(long x, long y) {
+        long h = x * 0x9E3779B97F4A7C15L + Long.rotateLeft(y * 0xC2B2AE3D27D4EB4FL, 32);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Возвращает число точек.
+     *
+     * @return число точек
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуста ли таблица.
+     *
+     * @return true, если точек нет
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Удаляет все точки, сохраняя емкость.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    // Ключ координаты: биты самой координаты или ближайшего узла сетки
+    final long key(double coordinate) {
+        if (tolerance > 0) {
+            coordinate = Math.rint(coordinate / tolerance) * tolerance + 0.0; // + 0.0 превращает -0.0 в 0.0
+        }
+        return Double.doubleToLongBits(coordinate);
+    }
+
+    // Ячейка с ключом (x, y) или первая пустая ячейка на пути пробирования. Обе координаты ячейки лежат
+    // рядом, поэтому проверка ячейки стоит одного обращения к памяти
+    final int find(long x, long y) {
+        int slot = (int) (mix(x, y) >>> shift);
+        while (true) {
+            long slotX = keys[2 * slot];
+            if (slotX == EMPTY || slotX == x && keys[2 * slot + 1] == y) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    final boolean isEmpty(int slot) {
+        return keys[2 * slot] == EMPTY;
+    }
+
+    final int capacity() {
+        return mask + 1;
+    }
+
+    final double x(int slot) {
+        return Double.longBitsToDouble(keys[2 * slot]);
+    }
+
+    final double y(int slot) {
+        return Double.longBitsToDouble(keys[2 * slot + 1]);
+    }
+
+    // Занимает пустую ячейку slot ключом (x, y); возвращает ячейку ключа, которая меняется при расширении
+    final int insert(int slot, long x, long y) {
+        keys[2 * slot] = x;
+        keys[2 * slot + 1] = y;
+        if (++size <= threshold) {
+            return slot;
+        }
+        if (capacity() == MAX_CAPACITY) {
+            size--;
+            keys[2 * slot] = EMPTY;
+            throw new IllegalStateException("Point table cannot hold more than " + threshold + " points.");
+        }
+
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(2 * capacity(), oldValues != null);
+        for (int i = 0; i < oldKeys.length; i += 2) {
+            if (oldKeys[i] != EMPTY) {
+                int to = find(oldKeys[i], oldKeys[i + 1]);
+                keys[2 * to] = oldKeys[i];
+                keys[2 * to + 1] = oldKeys[i + 1];
+                if (oldValues != null) {
+                    values[to] = oldValues[i / 2];
+                }
+            }
+        }
+        return find(x, y);
+    }
+
+    private void allocate(int capacity, boolean withValues) {
+        keys = new long[2 * capacity];
+        Arrays.fill(keys, EMPTY);
+        values = withValues ? new long[capacity] : null;
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        threshold = capacity - capacity / 4;
+    }
+}
@@ -0,0 +1,306 @@
+package hometask.geometry.base;
+
+import java.util.Arrays;
+
+/**
+ * Точные геометрические предикаты с адаптивной точностью (по Шевчуку).
+ * <p>
+ * Знак ориентации тройки точек вычисляется сначала обычной арифметикой double. Вместе с результатом
+ * оценивается его погрешность, и если результат по модулю больше оценки, знак заведомо верен — так
+ * проходит почти любой вызов, и стоит он всего на одно сравнение дороже прямой формулы. Иначе (точки
+ * почти на одной прямой) определитель вычисляется точно: произведения раскладываются в сумму двух
+ * double через {@link Math#fma}, а суммы — в неперекрывающиеся разложения без потери разрядов.
+ * </p>
+ * <p>
+ * Входные координаты считаются точными; переполнение и потеря значимости не учитываются.
+ * </p>
+ */
+public final class Predicates {
+    // Половина машинного эпсилона: граница относительной погрешности округления
+    private static final double EPSILON = Math.ulp(1.0) / 2;
+    // Оценки погрешности определителя из работы Шевчука для быстрого и промежуточного шагов
+    private static final double CCW_BOUND_A = (3 + 16 * EPSILON) * EPSILON;
+    private static final double CCW_BOUND_B = (2 + 12 * EPSILON) * EPSILON;
+
+    private Predicates() {
+    }
+
+    /**
+     * Вычисляет удвоенную ориентированную площадь треугольника abc, то есть (b - a) x (c - a).
+     * Знак результата всегда точный: положительный, если точки a, b, c обходятся против часовой стрелки,
+     * отрицательный — если по часовой, ноль — если точки лежат на одной прямой. Модуль результата
+     * приближенный.
+     *
+     * @param ax координата x точки a
+     * @param ay координата y точки a
+     * @param bx координата x точки b
+     * @param by координата y точки b
+     * @param cx координата x точки c
+     * @param cy координата y точки c
+     * @return значение определителя с точным знаком
+     */
+    public static double orient2d(double ax, double ay, double bx, double by, double cx, double cy) {
+        double detLeft = (ax - cx) * (by - cy);
+        double detRight = (ay - cy) * (bx - cx);
+        double det = detLeft - detRight;
+
+        // Если слагаемые разных знаков, вычитание не сокращает разрядов и условие выполняется всегда
+        double detSum = Math.abs(detLeft) + Math.abs(detRight);
+        if (Math.abs(det) >= CCW_BOUND_A * detSum) {
+            return det;
+        }
+        return orient2dAdaptive(ax, ay, bx, by, cx, cy, detSum);
+    }
+
+    /**
+     * Определяет ориентацию тройки точек.
+     *
+     * @param ax координата x точки a
+     * @param ay координата y точки a
+     * @param bx координата x точки b
+     * @param by координата y точки b
+     * @param cx координата x точки c
+     * @param cy координата y точки c
+     * @return 1, если точки обходятся против часовой стрелки; -1, если по часовой; 0, если лежат на одной прямой
+     */
+    public static int orientation(double ax, double ay, double bx, double by, double cx, double cy) {
+        double det = orient2d(ax, ay, bx, by, cx, cy);
+        return det > 0 ? 1 : det < 0 ? -1 : 0;
+    }
+
+    /**
+     * Проверяет, пересекает ли отрезок (x1, y1)-(x2, y2) луч, выпущенный из точки (px, py) вправо, —
+     * шаг подсчета четности пересечений при проверке принадлежности точки многоугольнику. Отрезок
+     * учитывается, если его концы лежат по разные стороны от прямой y = py (конец на прямой считается
+     * лежащим ниже), а точка лежит строго левее отрезка; сторона определяется точно.
+     *
+     * @param x1 координата x начала отрезка
+     * @param y1 координата y начала отрезка
+     * @param x2 координата x конца отрезка
+     * @param y2 координата y конца отрезка
+     * @param px координата x точки
+     * @param py координата y точки
+     * @return true, если луч пересекает отрезок
+     */
+    public static boolean crossesRay(double x1, double y1, double x2, double y2, double px, double py) {
+        if ((y1 > py) == (y2 > py)) {
+            return false;
+        }
+        // Левее отрезка, идущего вверх, — значит слева от направления обхода
+        double det = orient2d(x1, y1, x2, y2, px, py);
+        return y2 > y1 ? det > 0 : det < 0;
+    }
+
+    /**
+     * Возвращает границу погрешности определителя из {@link #orient2d}, вычисленного обычной арифметикой
+     * в той же форме, {@code (ax - cx) * (by - cy) - (ay - cy) * (bx - cx)}, когда все три точки лежат
+     * в прямоугольнике bounds. Если модуль определителя больше границы, его знак верен. Граница одна на
+     * весь прямоугольник, поэтому в циклах по граням фильтр стоит одного сравнения.
+     *
+     * @param bounds прямоугольник, содержащий точки
+     * @return граница погрешности
+     */
+    public static double orient2dErrorBound(Bounds bounds) {
+        // Каждое из двух произведений по модулю не больше width * height (с учетом округления разностей — с запасом)
+        return 3 * CCW_BOUND_A * bounds.width() * bounds.height();
+    }
+
+    /**
+     * Проверяет принадлежность точки многоугольнику по правилу четности числа пересечений луча, выпущенного
+     * из точки вправо, с гранями — то же, что {@link #crossesRay} для каждой грани. В цикле по граням
+     * знаки определяются обычной арифметикой с общей границей погрешности ({@link #orient2dErrorBound});
+     * если хотя бы один знак сомнителен, подсчет повторяется точно.
+     *
+     * @param coords координаты вершин подряд: x0, y0, x1, y1, ...
+     * @param bounds ограничивающий прямоугольник вершин
+     * @param px     координата x точки
+     * @param py     координата y точки
+     * @return true, если точка лежит в прямоугольнике и число пересечений нечетно
+     */
+    public static boolean ringContains(double[] coords, Bounds bounds, double px, double py) {
+        if (!bounds.contains(px, py)) {
+            return false;
+        }
+        double errorBound = orient2dErrorBound(bounds);
+        boolean result = false;
+        boolean uncertain = false;
+        double x1 = coords[coords.length - 2];
+        double y1 = coords[coords.length - 1];
+        for (int i = 0; i < coords.length; i += 2) {
+            double x2 = coords[i];
+            double y2 = coords[i + 1];
+            if ((y1 > py) != (y2 > py)) {
+                double det = (x1 - px) * (y2 - py) - (y1 - py) * (x2 - px);
+                uncertain |= Math.abs(det) <= errorBound;
+                // Точка левее грани: знак определителя совпадает с направлением грани по y
+                result ^= det * (y2 - y1) > 0;
+            }
+            x1 = x2;
+            y1 = y2;
+        }
+        if (!uncertain) {
+            return result;
+        }
+
+        result = false;
+        x1 = coords[coords.length - 2];
+        y1 = coords[coords.length - 1];
+        for (int i = 0; i < coords.length; i += 2) {
+            double x2 = coords[i];
+            double y2 = coords[i + 1];
+            if (crossesRay(x1, y1, x2, y2, px, py)) {
+                result = !result;
+            }
+            x1 = x2;
+            y1 = y2;
+        }
+        return result;
+    }
+
+    /**
+     * Определяет направление обхода замкнутой ломаной по точному знаку ее ориентированной площади
+     * (формула Гаусса). Площадь сначала суммируется обычной арифметикой с оценкой погрешности,
+     * точное суммирование выполняется только для почти вырожденных ломаных.
+     *
+     * @param coords координаты вершин подряд: x0, y0, x1, y1, ...
+     * @return 1 — против часовой стрелки; -1 — по часовой; 0 — площадь равна нулю (в том числе у ломаной
+     * менее чем из трех вершин)
+     */
+    public static int ringOrientation(double[] coords) {
+        int n = coords.length / 2;
+        if (n < 3) {
+            return 0;
+        }
+        double sum = 0;
+        double magnitude = 0;
+        double x1 = coords[2 * n - 2];
+        double y1 = coords[2 * n - 1];
+        for (int i = 0; i < 2 * n; i += 2) {
+            double x2 = coords[i];
+            double y2 = coords[i + 1];
+            double left = x1 * y2;
+            double right = x2 * y1;
+            sum += left - right;
+            magnitude += Math.abs(left) + Math.abs(right);
+            x1 = x2;
+            y1 = y2;
+        }
+        // Каждое слагаемое и каждое сложение вносят не больше EPSILON от суммы модулей; запас вдвое
+        // покрывает погрешность самой оценки
+        double bound = 2 * (n + 2) * EPSILON * magnitude;
+        if (sum > bound) {
+            return 1;
+        }
+        if (sum < -bound) {
+            return -1;
+        }
+
+        Expansion exact = new Expansion(4 * n);
+        for (int i = 0; i < 2 * n; i += 2) {
+            int previous = i == 0 ? 2 * n - 2 : i - 2;
+            exact.addProduct(coords[previous], coords[i + 1]);
+            exact.addProduct(-coords[i], coords[previous + 1]);
+        }
+        return exact.signum();
+    }
+
+    // Шаги Шевчука после неудачи быстрой оценки: сначала определитель по округленным разностям
+    // вычисляется точно, затем, если разности сами были неточными, — полностью точно
+    private static double orient2dAdaptive(double ax, double ay, double bx, double by, double cx, double cy,
+                                           double detSum) {
+        double acx = ax - cx;
+        double bcx = bx - cx;
+        double acy = ay - cy;
+        double bcy = by - cy;
+
+        Expansion exact = new Expansion(16);
+        exact.addProduct(acx, bcy);
+        exact.addProduct(-acy, bcx);
+        double det = exact.estimate();
+        double bound = CCW_BOUND_B * detSum;
+        if (det >= bound || -det >= bound) {
+            return det;
+        }
+
+        double acxTail = differenceTail(ax, cx, acx);
+        double bcxTail = differenceTail(bx, cx, bcx);
+        double acyTail = differenceTail(ay, cy, acy);
+        double bcyTail = differenceTail(by, cy, bcy);
+        if (acxTail == 0 && bcxTail == 0 && acyTail == 0 && bcyTail == 0) {
+            return det;
+        }
+
+        // (acx + acxTail)(bcy + bcyTail) - (acy + acyTail)(bcx + bcxTail): оставшиеся шесть произведений
+        exact.addProduct(acx, bcyTail);
+        exact.addProduct(acxTail, bcy);
+        exact.addProduct(acxTail, bcyTail);
+        exact.addProduct(-acy, bcxTail);
+        exact.addProduct(-acyTail, bcx);
+        exact.addProduct(-acyTail, bcxTail);
+        return exact.estimate();
+    }
+
+    // Ошибка округления разности a - b, вычисленной как difference
+    private static double differenceTail(double a, double b, double difference) {
+        double virtualB = a - difference;
+        double virtualA = difference + virtualB;
+        return (a - virtualA) + (virtualB - b);
+    }
+
+    /**
+     * Неперекрывающееся разложение числа в сумму double, упорядоченных по возрастанию модуля,
+     * без нулевых слагаемых. Сумма слагаемых равна числу точно.
+     */
+    private static final class Expansion {
+        private double[] components;
+        private int size;
+
+        Expansion(int capacity) {
+            components = new double[Math.max(capacity, 4)];
+        }
+
+        // Прибавляет точное произведение a * b
+        void addProduct(double a, double b) {
+            double product = a * b;
+            add(Math.fma(a, b, -product));
+            add(product);
+        }
+
+        // Прибавляет число (алгоритм Grow-Expansion с удалением нулей)
+        void add(double value) {
+            double q = value;
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                double component = components[i];
+                double sum = q + component;
+                double virtual = sum - q;
+                double tail = (q - (sum - virtual)) + (component - virtual);
+                q = sum;
+                if (tail != 0) {
+                    components[count++] = tail;
+                }
+            }
+            if (q != 0 || count == 0) {
+                if (count == components.length) {
+                    components = Arrays.copyOf(components, 2 * count);
+                }
+                components[count++] = q;
+            }
+            size = count;
+        }
+
+        // Приближенное значение с верным знаком: старшее слагаемое больше суммы остальных по модулю
+        double estimate() {
+            double result = 0;
+            for (int i = 0; i < size; i++) {
+                result += components[i];
+            }
+            return result;
+        }
+
+        int signum() {
+            double top = components[size - 1];
+            return top > 0 ? 1 : top < 0 ? -1 : 0;
+        }
+    }
+}
@@ -0,0 +1,602 @@
+package hometask.geometry.base;
+
+import java.math.BigDecimal;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Поиск всех пар пересекающихся отрезков заметающей прямой (алгоритм Бентли — Оттмана) за
+ * O((n + k) log n), где n — число отрезков, k — число пересечений.
+ * <p>
+ * Вертикальная прямая движется слева направо (точки упорядочены по x, затем по y) и останавливается
+ * в концах отрезков и в точках их пересечения. Отрезки, которые пересекает прямая, хранятся в порядке
+ * снизу вверх в декартовом дереве, и на пересечение проверяются только пары, ставшие соседними.
+ * </p>
+ * <p>
+ * Все решения о порядке точные: сторона точки относительно отрезка определяется предикатом
+ * {@link Predicates#orient2d}, а точки пересечения, вычисленные приближенно, сравниваются с учетом оценки
+ * погрешности и только при сомнении — в рациональной арифметике {@link BigDecimal}. Поэтому общие концы,
+ * касания, точки, через которые проходит много отрезков, вертикальные и перекрывающиеся отрезки
+ * обрабатываются правильно. Пока не найдено ни одного пересечения, точки пересечения не вычисляются
+ * вовсе, так что проверка набора отрезков на отсутствие пересечений с остановкой на первом найденном
+ * стоит O(n log n).
+ * </p>
+ */
+public final class SegmentIntersector {
+    // Половина машинного эпсилона: граница относительной погрешности округления
+    private static final double EPSILON = Math.ulp(1.0) / 2;
+
+    /**
+     * Получатель найденных пересечений.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * Вызывается ровно один раз для каждой пары отрезков, имеющих общие точки.
+         *
+         * @param first  меньший номер отрезка
+         * @param second больший номер отрезка
+         * @param x      координата x общей точки (у перекрывающихся отрезков — самой левой), приближенная,
+         *               если это не конец отрезка
+         * @param y      координата y общей точки
+         * @return true, чтобы продолжить поиск; false, чтобы остановить его
+         */
+        boolean intersection(int first, int second, double x, double y);
+    }
+
+    private final double[] segments; // x1, y1, x2, y2 для каждого отрезка; первый конец левее (или ниже)
+    private final int[] endpoints;   // Концы в порядке заметания: 2 * отрезок + (0 — начало, 1 — конец)
+
+    // Декартово дерево отрезков, пересекающих заметающую прямую: узел — номер отрезка
+    private final int[] left;
+    private final int[] right;
+    private final int[] parent;
+    private final int[] priority;
+    private int root = -1;
+
+    private final PriorityQueue<SweepPoint> crossings = new PriorityQueue<>();
+    private final SweepPoint current = new SweepPoint(); // Текущая точка, если это конец отрезка
+    private SweepPoint currentCrossing;                  // Текущая точка, если это только пересечение
+
+    // Рабочие массивы обработки одной точки
+    private final int[] starts;
+    private final int[] block;
+    private final int[] marks;
+    private int stamp;
+
+    private SegmentIntersector(double[] segments) {
+        int count = segments.length / 4;
+        this.segments = new double[4 * count];
+        for (int i = 0; i < 4 * count; i += 4) {
+            boolean reversed = compare(segments[i + 2], segments[i + 3], segments[i], segments[i + 1]) < 0;
+            int from = reversed ? i + 2 : i;
+            int to = reversed ? i : i + 2;
+            this.segments[i] = segments[from];
+            this.segments[i + 1] = segments[from + 1];
+            this.segments[i + 2] = segments[to];
+            this.segments[i + 3] = segments[to + 1];
+        }
+
+        endpoints = new int[2 * count];
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i] = i;
+        }
+        sort(0, endpoints.length);
+
+        left = new int[count];
+        right = new int[count];
+        parent = new int[count];
+        priority = new int[count];
+        SplittableRandom random = new SplittableRandom(count);
+        for (int i = 0; i < count; i++) {
+            priority[i] = random.nextInt();
+        }
+        starts = new int[count];
+        block = new int[count];
+        marks = new int[count];
+    }
+
+    /**
+     * Находит все пары пересекающихся (касающихся, перекрывающихся) замкнутых отрезков и передает их
+     * получателю в порядке заметания.
+     *
+     * @param segments координаты отрезков подряд: x1, y1, x2, y2 для каждого отрезка
+     * @param handler  получатель пересечений
+     * @return true, если просмотрены все пересечения; false, если получатель остановил поиск
+     */
+    public static boolean forEachIntersection(double[] segments, Handler handler) {
+        if (segments.length % 4 != 0) {
+            throw new IllegalArgumentException("Segment coordinates must come in groups of four.");
+        }
+        return new SegmentIntersector(segments).run(handler);
+    }
+
+    private boolean run(Handler handler) {
+        int next = 0;
+        while (next < endpoints.length || !crossings.isEmpty()) {
+            SweepPoint crossing = crossings.peek();
+            if (next < endpoints.length && (crossing == null
+                    || crossing.compareTo(endpointX(endpoints[next]), endpointY(endpoints[next])) >= 0)) {
+                // Точка — конец отрезка; пересечения в ней найдутся по дереву
+                double x = endpointX(endpoints[next]);
+                double y = endpointY(endpoints[next]);
+                int startCount = 0;
+                for (; next < endpoints.length && endpointX(endpoints[next]) == x
+                        && endpointY(endpoints[next]) == y; next++) {
+                    if ((endpoints[next] & 1) == 0) {
+                        starts[startCount++] = endpoints[next] >> 1;
+                    }
+                }
+                while (!crossings.isEmpty() && crossings.peek().compareTo(x, y) == 0) {
+                    crossings.poll();
+                }
+                current.set(x, y);
+                currentCrossing = null;
+                if (!handleEndpoint(x, y, startCount, handler)) {
+                    return false;
+                }
+            } else {
+                currentCrossing = crossings.poll();
+                if (!handleCrossing(currentCrossing, handler)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Точка (x, y), в которой начинаются отрезки starts[0, startCount) и, возможно, заканчиваются
+    // или проходят через нее отрезки из дерева
+    private boolean handleEndpoint(double x, double y, int startCount, Handler handler) {
+        int below = -1;
+        for (int node = root; node >= 0; ) {
+            if (side(node, x, y) > 0) {
+                below = node;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        int blockCount = 0;
+        int above = below < 0 ? first() : next(below);
+        for (; above >= 0 && side(above, x, y) == 0; above = next(above)) {
+            block[blockCount++] = above;
+        }
+
+        // Все отрезки, содержащие точку, попарно пересекаются в ней. Пары коллинеарных отрезков, которые
+        // оба были в дереве, перекрываются и левее, поэтому уже переданы
+        for (int i = 0; i < blockCount + startCount; i++) {
+            int first = i < blockCount ? block[i] : starts[i - blockCount];
+            for (int j = i + 1; j < blockCount + startCount; j++) {
+                int second = j < blockCount ? block[j] : starts[j - blockCount];
+                if (j < blockCount && collinear(first, second)) {
+                    continue;
+                }
+                if (!handler.intersection(Math.min(first, second), Math.max(first, second), x, y)) {
+                    return false;
+                }
+            }
+        }
+
+        // Отрезки, продолжающиеся правее точки, упорядочиваются заново по направлению
+        int size = 0;
+        for (int i = 0; i < blockCount; i++) {
+            int segment = block[i];
+            delete(segment);
+            if (segments[4 * segment + 2] != x || segments[4 * segment + 3] != y) {
+                block[size++] = segment;
+            }
+        }
+        for (int i = 0; i < startCount; i++) {
+            int segment = starts[i];
+            if (segments[4 * segment + 2] != x || segments[4 * segment + 3] != y) {
+                block[size++] = segment;
+            }
+        }
+        reinsert(below, above, size);
+        return true;
+    }
+
+    // Точка пересечения, не являющаяся концом ни одного отрезка: отрезки через нее идут в дереве подряд
+    // и после нее меняют порядок
+    private boolean handleCrossing(SweepPoint crossing, Handler handler) {
+        stamp++;
+        marks[crossing.first] = stamp;
+        marks[crossing.second] = stamp;
+        while (!crossings.isEmpty() && crossings.peek().compareTo(crossing) == 0) {
+            SweepPoint same = crossings.poll();
+            marks[same.first] = stamp;
+            marks[same.second] = stamp;
+        }
+
+        // Соседи, лежащие на одной прямой с отрезками блока, тоже проходят через точку, хотя пересечение
+        // с ними и не планировалось
+        int lowest = crossing.first;
+        while (prev(lowest) >= 0 && (marks[prev(lowest)] == stamp || collinear(prev(lowest), lowest))) {
+            lowest = prev(lowest);
+        }
+        int highest = crossing.first;
+        while (next(highest) >= 0 && (marks[next(highest)] == stamp || collinear(next(highest), highest))) {
+            highest = next(highest);
+        }
+        int below = prev(lowest);
+        int above = next(highest);
+        int size = 0;
+        for (int segment = lowest; segment != above; segment = next(segment)) {
+            block[size++] = segment;
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                int first = block[i];
+                int second = block[j];
+                if (!collinear(first, second)
+                        && !handler.intersection(Math.min(first, second), Math.max(first, second), crossing.x, crossing.y)) {
+                    return false;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            delete(block[i]);
+        }
+        reinsert(below, above, size);
+        return true;
+    }
+
+    // Вставляет отрезки block[0, size) между соседями below и above в порядке направлений и проверяет
+    // новые пары соседей
+    private void reinsert(int below, int above, int size) {
+        for (int i = 1; i < size; i++) {
+            int segment = block[i];
+            int j = i - 1;
+            while (j >= 0 && compareAfter(block[j], segment) > 0) {
+                block[j + 1] = block[j];
+                j--;
+            }
+            block[j + 1] = segment;
+        }
+        int previous = below;
+        for (int i = 0; i < size; i++) {
+            insertAfter(previous, block[i]);
+            previous = block[i];
+        }
+        if (size == 0) {
+            checkCrossing(below, above);
+        } else {
+            checkCrossing(below, block[0]);
+            checkCrossing(block[size - 1], above);
+        }
+    }
+
+    // Планирует точку пересечения соседних отрезков, если они пересекаются во внутренних точках обоих.
+    // Касания приходятся на концы отрезков и находятся при обработке концов
+    private void checkCrossing(int first, int second) {
+        if (first < 0 || second < 0) {
+            return;
+        }
+        double[] s = segments;
+        int a = 4 * first;
+        int b = 4 * second;
+        if (Predicates.orientation(s[a], s[a + 1], s[a + 2], s[a + 3], s[b], s[b + 1])
+                * Predicates.orientation(s[a], s[a + 1], s[a + 2], s[a + 3], s[b + 2], s[b + 3]) >= 0
+                || Predicates.orientation(s[b], s[b + 1], s[b + 2], s[b + 3], s[a], s[a + 1])
+                * Predicates.orientation(s[b], s[b + 1], s[b + 2], s[b + 3], s[a + 2], s[a + 3]) >= 0) {
+            return;
+        }
+        SweepPoint crossing = new SweepPoint(s, first, second);
+        if (currentCrossing == null ? crossing.compareTo(current) > 0 : crossing.compareTo(currentCrossing) > 0) {
+            crossings.add(crossing);
+        }
+    }
+
+    // Сторона точки относительно отрезка: положительная — точка выше
+    private double side(int segment, double x, double y) {
+        int i = 4 * segment;
+        return Predicates.orient2d(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], x, y);
+    }
+
+    private boolean collinear(int first, int second) {
+        int b = 4 * second;
+        return side(first, segments[b], segments[b + 1]) == 0 && side(first, segments[b + 2], segments[b + 3]) == 0;
+    }
+
+    // Порядок снизу вверх сразу правее общей точки двух отрезков: по направлению, затем по номеру
+    private int compareAfter(int first, int second) {
+        double side = side(first, segments[4 * second + 2], segments[4 * second + 3]);
+        return side > 0 ? -1 : side < 0 ? 1 : Integer.compare(first, second);
+    }
+
+    private double endpointX(int endpoint) {
+        return segments[2 * endpoint];
+    }
+
+    private double endpointY(int endpoint) {
+        return segments[2 * endpoint + 1];
+    }
+
+    private static int compare(double x1, double y1, double x2, double y2) {
+        return x1 < x2 ? -1 : x1 > x2 ? 1 : Double.compare(y1 + 0.0, y2 + 0.0);
+    }
+
+    // Быстрая сортировка концов endpoints[from, to) в порядке заметания
+    private void sort(int from, int to) {
+        while (to - from > 16) {
+            int middle = (from + to) >>> 1;
+            if (less(middle, from)) swap(middle, from);
+            if (less(to - 1, from)) swap(to - 1, from);
+            if (less(to - 1, middle)) swap(to - 1, middle);
+            double pivotX = endpointX(endpoints[middle]);
+            double pivotY = endpointY(endpoints[middle]);
+
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (compare(endpointX(endpoints[i]), endpointY(endpoints[i]), pivotX, pivotY) < 0) i++;
+                while (compare(endpointX(endpoints[j]), endpointY(endpoints[j]), pivotX, pivotY) > 0) j--;
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // Рекурсия по меньшей части ограничивает глубину стека логарифмом
+            if (j + 1 - from < to - i) {
+                sort(from, j + 1);
+                from = i;
+            } else {
+                sort(i, to);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && less(j, j - 1); j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private boolean less(int i, int j) {
+        return compare(endpointX(endpoints[i]), endpointY(endpoints[i]),
+                endpointX(endpoints[j]), endpointY(endpoints[j])) < 0;
+    }
+
+    private void swap(int i, int j) {
+        int tmp = endpoints[i];
+        endpoints[i] = endpoints[j];
+        endpoints[j] = tmp;
+    }
+
+    // Вставляет узел сразу после узла after (в начало, если after < 0)
+    private void insertAfter(int after, int node) {
+        left[node] = -1;
+        right[node] = -1;
+        if (root < 0) {
+            root = node;
+            parent[node] = -1;
+            return;
+        }
+        int place;
+        if (after < 0) {
+            place = leftmost(root);
+            left[place] = node;
+        } else if (right[after] < 0) {
+            place = after;
+            right[place] = node;
+        } else {
+            place = leftmost(right[after]);
+            left[place] = node;
+        }
+        parent[node] = place;
+        while (parent[node] >= 0 && priority[node] > priority[parent[node]]) {
+            rotateUp(node);
+        }
+    }
+
+    private void delete(int node) {
+        while (left[node] >= 0 || right[node] >= 0) {
+            boolean leftUp = right[node] < 0 || left[node] >= 0 && priority[left[node]] > priority[right[node]];
+            rotateUp(leftUp ? left[node] : right[node]);
+        }
+        int up = parent[node];
+        if (up < 0) {
+            root = -1;
+        } else if (left[up] == node) {
+            left[up] = -1;
+        } else {
+            right[up] = -1;
+        }
+    }
+
+    // Поворот, поднимающий узел на место родителя
+    private void rotateUp(int node) {
+        int up = parent[node];
+        int grand = parent[up];
+        if (left[up] == node) {
+            left[up] = right[node];
+            if (right[node] >= 0) {
+                parent[right[node]] = up;
+            }
+            right[node] = up;
+        } else {
+            right[up] = left[node];
+            if (left[node] >= 0) {
+                parent[left[node]] = up;
+            }
+            left[node] = up;
+        }
+        parent[up] = node;
+        parent[node] = grand;
+        if (grand < 0) {
+            root = node;
+        } else if (left[grand] == up) {
+            left[grand] = node;
+        } else {
+            right[grand] = node;
+        }
+    }
+
+    private int first() {
+        return root < 0 ? -1 : leftmost(root);
+    }
+
+    private int leftmost(int node) {
+        while (left[node] >= 0) {
+            node = left[node];
+        }
+        return node;
+    }
+
+    private int next(int node) {
+        if (right[node] >= 0) {
+            return leftmost(right[node]);
+        }
+        while (parent[node] >= 0 && right[parent[node]] == node) {
+            node = parent[node];
+        }
+        return parent[node];
+    }
+
+    private int prev(int node) {
+        if (left[node] >= 0) {
+            node = left[node];
+            while (right[node] >= 0) {
+                node = right[node];
+            }
+            return node;
+        }
+        while (parent[node] >= 0 && left[parent[node]] == node) {
+            node = parent[node];
+        }
+        return parent[node];
+    }
+
+    /**
+     * Точка заметания: конец отрезка или точка пересечения двух отрезков. Координаты пересечения хранятся
+     * приближенно вместе с границей погрешности; точное рациональное значение вычисляется только для
+     * сравнения с близкими точками.
+     */
+    private static final class SweepPoint implements Comparable<SweepPoint> {
+        private final double[] segments;
+        private final int first;
+        private final int second;
+        private double x;
+        private double y;
+        private double error;
+        // Точные координаты: exactX / denominator, exactY / denominator, знаменатель положительный
+        private BigDecimal exactX;
+        private BigDecimal exactY;
+        private BigDecimal denominator;
+
+        // Конец отрезка; координаты задаются через set
+        SweepPoint() {
+            this.segments = null;
+            this.first = -1;
+            this.second = -1;
+        }
+
+        // Точка пересечения внутренних точек отрезков first и second: s(t) = a + t * (b - a)
+        SweepPoint(double[] segments, int first, int second) {
+            this.segments = segments;
+            this.first = Math.min(first, second);
+            this.second = Math.max(first, second);
+            int a = 4 * this.first;
+            int b = 4 * this.second;
+            double d1x = segments[a + 2] - segments[a];
+            double d1y = segments[a + 3] - segments[a + 1];
+            double d2x = segments[b + 2] - segments[b];
+            double d2y = segments[b + 3] - segments[b + 1];
+            double wx = segments[b] - segments[a];
+            double wy = segments[b + 1] - segments[a + 1];
+            double denominator = d1x * d2y - d1y * d2x;
+            double numerator = wx * d2y - wy * d2x;
+            double t = numerator / denominator;
+            x = segments[a] + t * d1x;
+            y = segments[a + 1] + t * d1y;
+
+            // Погрешности разностей, произведений и вычитания; |t| < 1, так как пересечение внутреннее
+            double denominatorError = 5 * EPSILON * (Math.abs(d1x * d2y) + Math.abs(d1y * d2x));
+            double numeratorError = 5 * EPSILON * (Math.abs(wx * d2y) + Math.abs(wy * d2x));
+            if (2 * denominatorError >= Math.abs(denominator)) {
+                error = Double.POSITIVE_INFINITY; // Почти параллельные отрезки: сравнивать только точно
+            } else {
+                double tError = (numeratorError + denominatorError) / Math.abs(denominator) + EPSILON * Math.abs(t);
+                double length = Math.max(Math.abs(d1x), Math.abs(d1y));
+                error = 2 * (tError * length + 3 * EPSILON * length + EPSILON * Math.max(Math.abs(x), Math.abs(y)));
+            }
+        }
+
+        void set(double x, double y) {
+            this.x = x;
+            this.y = y;
+            exactX = null;
+        }
+
+        // Сравнение с концом отрезка
+        int compareTo(double otherX, double otherY) {
+            if (x - otherX > error) return 1;
+            if (otherX - x > error) return -1;
+            if (error == 0) {
+                return compare(x, y, otherX, otherY);
+            }
+            exact();
+            int result = exactX.compareTo(denominator.multiply(new BigDecimal(otherX)));
+            if (result != 0) {
+                return result;
+            }
+            if (y - otherY > error) return 1;
+            if (otherY - y > error) return -1;
+            return exactY.compareTo(denominator.multiply(new BigDecimal(otherY)));
+        }
+
+        @Override
+        public int compareTo(SweepPoint other) {
+            if (first == other.first && second == other.second) {
+                return 0; // Пара, которая снова стала соседней, запланирована повторно
+            }
+            double bound = error + other.error;
+            if (x - other.x > bound) return 1;
+            if (other.x - x > bound) return -1;
+            if (bound == 0) {
+                return compare(x, y, other.x, other.y);
+            }
+            exact();
+            other.exact();
+            int result = exactX.multiply(other.denominator).compareTo(other.exactX.multiply(denominator));
+            if (result != 0) {
+                return result;
+            }
+            if (y - other.y > bound) return 1;
+            if (other.y - y > bound) return -1;
+            return exactY.multiply(other.denominator).compareTo(other.exactY.multiply(denominator));
+        }
+
+        private void exact() {
+            if (exactX != null) {
+                return;
+            }
+            if (segments == null) {
+                exactX = new BigDecimal(x);
+                exactY = new BigDecimal(y);
+                denominator = BigDecimal.ONE;
+                return;
+            }
+            int a = 4 * first;
+            int b = 4 * second;
+            BigDecimal ax = new BigDecimal(segments[a]);
+            BigDecimal ay = new BigDecimal(segments[a + 1]);
+            BigDecimal d1x = new BigDecimal(segments[a + 2]).subtract(ax);
+            BigDecimal d1y = new BigDecimal(segments[a + 3]).subtract(ay);
+            BigDecimal cx = new BigDecimal(segments[b]);
+            BigDecimal cy = new BigDecimal(segments[b + 1]);
+            BigDecimal d2x = new BigDecimal(segments[b + 2]).subtract(cx);
+            BigDecimal d2y = new BigDecimal(segments[b + 3]).subtract(cy);
+            BigDecimal d = d1x.multiply(d2y).subtract(d1y.multiply(d2x));
+            BigDecimal n = cx.subtract(ax).multiply(d2y).subtract(cy.subtract(ay).multiply(d2x));
+            if (d.signum() < 0) {
+                d = d.negate();
+                n = n.negate();
+            }
+            exactX = ax.multiply(d).add(n.multiply(d1x));
+            exactY = ay.multiply(d).add(n.multiply(d1y));
+            denominator = d;
+        }
+    }
+}
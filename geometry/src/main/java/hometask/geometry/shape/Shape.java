@@ -0,0 +1,173 @@
+package hometask.geometry.shape;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+
+import java.util.Objects;
+
+/**
+ * Интерфейс для геометрических фигур на плоскости.
+ * <p>
+ * Определяет основные методы для работы с фигурами
+ */
+public interface Shape {
+
+    /**
+     * Вычисляет периметр фигуры.
+     *
+     * @return периметр фигуры в виде числа типа double.
+     */
+    double perimeter();
+
+    /**
+     * Вычисляет площадь фигуры.
+     *
+     * @return площадь фигуры в виде числа типа double.
+     */
+    double area();
+
+    /**
+     * Проверяет, равна ли текущая фигура другой фигуре.
+     *
+     * @param another другая фигура для сравнения.
+     * @return true, если фигуры совпадают как множества точек, иначе false.
+     */
+    boolean equals(Shape another);
+
+    /**
+     * Проверяет, является ли текущая фигура конгруэнтной другой фигуре.
+     * <p>
+     * Конгруэнтные фигуры равны в геометрическом смысле, что означает,
+     * что их можно совместить движением плоскости.
+     *
+     * @param another другая фигура для проверки на конгруэнтность.
+     * @return true, если фигуры конгруэнтны, иначе false.
+     */
+    boolean isCongruentTo(Shape another);
+
+    /**
+     * Проверяет, является ли текущая фигура подобной другой фигуре.
+     * <p>
+     * Подобные фигуры имеют одинаковую форму, но могут иметь разные размеры.
+     *
+     * @param another другая фигура для проверки наподобие.
+     * @return true, если фигуры подобны, иначе false.
+     */
+    boolean isSimilarTo(Shape another);
+
+    /**
+     * Возвращает канонический отпечаток фигуры, не зависящий от ее положения на плоскости.
+     * <p>
+     * Конгруэнтные фигуры имеют равные отпечатки (с точностью до округления, см. {@link ShapeSignature}),
+     * поэтому отпечаток можно использовать как ключ хеш-таблицы при поиске конгруэнтных фигур.
+     *
+     * @return отпечаток, инвариантный относительно переносов, поворотов и отражений.
+     */
+    ShapeSignature congruenceSignature();
+
+    /**
+     * Возвращает канонический отпечаток фигуры, не зависящий от ее положения и размера.
+     *
+     * @return отпечаток, инвариантный относительно переносов, поворотов, отражений и масштабирования.
+     */
+    ShapeSignature similaritySignature();
+
+    /**
+     * Возвращает ограничивающий прямоугольник фигуры со сторонами, параллельными осям координат.
+     * <p>
+     * Прямоугольник точный (касается фигуры) и вычисляется один раз. Точки вне него заведомо не принадлежат
+     * фигуре, поэтому реализации {@link #containsPoint(Point)} начинают с этой проверки.
+     *
+     * @return ограничивающий прямоугольник фигуры.
+     */
+    Bounds bounds();
+
+    /**
+     * Проверяет, содержит ли фигура заданную точку.
+     *
+     * @param point точка для проверки на принадлежность фигуре.
+     * @return true, если точка находится внутри фигуры, иначе false.
+     */
+    boolean containsPoint(Point point);
+
+    /**
+     * Проверяет принадлежность фигуре точек (xs[i], ys[i]) для всех i из диапазона [from, to).
+     * <p>
+     * Результат записывается в битовую маску: бит i (слово {@code bitsOut[i >>> 6]}, разряд {@code i & 63})
+     * устанавливается, если точка i принадлежит фигуре, и сбрасывается в противном случае. Биты вне
+     * диапазона не изменяются. Результат совпадает с {@link #containsPoint(Point)} для каждой точки,
+     * но реализации фигур проверяют точки без создания объектов {@code Point}.
+     *
+     * @param xs      координаты x точек.
+     * @param ys      координаты y точек.
+     * @param from    индекс первой точки (включительно).
+     * @param to      индекс последней точки (исключительно).
+     * @param bitsOut битовая маска для результатов, длиной не менее {@code (to + 63) / 64} слов.
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массивов.
+     */
+    default void containsPoints(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        Objects.checkFromToIndex(from, to, Math.min(xs.length, ys.length));
+        if (from < to) {
+            Objects.checkIndex((to - 1) >>> 6, bitsOut.length);
+        }
+        for (int i = from; i < to; i++) {
+            if (containsPoint(new Point(xs[i], ys[i]))) {
+                bitsOut[i >>> 6] |= 1L << i;
+            } else {
+                bitsOut[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+
+    /**
+     * Поворачивает фигуру на заданный угол вокруг указанной точки.
+     *
+     * @param center точка, вокруг которой будет осуществляться поворот.
+     * @param angle угол поворота в градусах (положительное значение —
+     * против часовой стрелки).
+     * @return новая фигура, представляющая результат поворота.
+     */
+    Shape rotate(Point center, double angle);
+
+    /**
+     * Отражает фигуру относительно заданной точки.
+     *
+     * @param center точка, относительно которой будет осуществлено
+     * отражение.
+     * @return новая фигура, представляющая результат отражения.
+     */
+    Shape reflect(Point center);
+
+    /**
+     * Отражает фигуру относительно заданной прямой.
+     *
+     * @param axis прямая, относительно которой будет осуществлено
+     * отражение.
+     * @return новая фигура, представляющая результат отражения.
+     */
+    Shape reflect(Line axis);
+
+    /**
+     * Масштабирует фигуру относительно заданной точки с заданным коэффициентом.
+     *
+     * @param center точка, относительно которой будет происходить масштабирование.
+     * @param coefficient коэффициент масштабирования (например, 2.0 для увеличения
+     * в 2 раза).
+     * @return новая фигура, представляющая результат масштабирования.
+     */
+    Shape scale(Point center, double coefficient);
+
+    /**
+     * Применяет к фигуре преобразование подобия за один проход.
+     * <p>
+     * Цепочка {@code shape.rotate(...).scale(...).reflect(...)} создает промежуточную фигуру на каждом шаге;
+     * то же преобразование, собранное в {@link AffineTransform}, строит только итоговую фигуру.
+     *
+     * @param transform преобразование (композиция переносов, поворотов, отражений и масштабирований).
+     * @return новая фигура, представляющая результат преобразования.
+     */
+    Shape transform(AffineTransform transform);
+}
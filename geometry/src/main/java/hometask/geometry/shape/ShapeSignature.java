@@ -0,0 +1,128 @@
+package hometask.geometry.shape;
+
+import java.util.Arrays;
+
+/**
+ * Класс {@code ShapeSignature} — канонический отпечаток фигуры с точностью до движения плоскости
+ * (переноса, поворота и отражения) или, в варианте для подобия, еще и масштаба.
+ * <p>
+ * Отпечаток состоит из вида фигуры и последовательности параметров, округленных до {@link #QUANTUM}
+ * и приведенных к канонической форме (например, для многоугольника — к лексикографически наименьшему
+ * циклическому сдвигу последовательности граней с учетом обратного обхода). Конгруэнтные фигуры имеют равные
+ * отпечатки, поэтому каталог фигур можно разбить на группы через {@code HashMap<ShapeSignature, ...>}
+ * и сравнивать фигуры методом {@link Shape#isCongruentTo(Shape)} только внутри группы.
+ * </p>
+ * <p>
+ * Отпечаток — только предварительный фильтр: равные отпечатки не гарантируют конгруэнтности (или подобия),
+ * поэтому каждое совпадение нужно подтверждать методом {@link Shape#isCongruentTo(Shape)}
+ * ({@link Shape#isSimilarTo(Shape)}). В отпечатке подобия длины приводятся к масштабу самой фигуры,
+ * не зависящему от числа ее сторон (для многоугольника — к средней длине грани), поэтому
+ * относительная точность округления не падает с ростом числа вершин.
+ * </p>
+ * <p>
+ * Округление делает отпечаток устойчивым к погрешностям вычислений, но не идеальным: если параметр
+ * фигуры лежит почти точно на границе между двумя значениями сетки, его образ после преобразования
+ * может попасть в соседнее значение. Для параметров порядка единицы и погрешностей порядка 1e-12
+ * это случается с вероятностью около 1e-6 на параметр.
+ * </p>
+ */
+public final class ShapeSignature {
+
+    /**
+     * Шаг округления параметров (длин, углов в радианах, отношений).
+     */
+    public static final double QUANTUM = 1e-6;
+
+    /**
+     * Вид фигуры: фигуры разных видов не считаются конгруэнтными.
+     */
+    public enum Kind {
+        CIRCLE,
+        ELLIPSE,
+        POLYGON
+    }
+
+    private final Kind kind;
+    private final long[] values;
+    private final long hash;
+
+    /**
+     * Конструктор создает отпечаток по уже приведенным к канонической форме параметрам.
+     *
+     * @param kind   вид фигуры
+     * @param values округленные параметры (см. {@link #quantize(double)}) в канонической форме
+     */
+    public ShapeSignature(Kind kind, long... values) {
+        this.kind = kind;
+        this.values = values.clone();
+        this.hash = computeHash(kind, this.values);
+    }
+
+    /**
+     * Округляет параметр фигуры до шага {@link #QUANTUM}.
+     *
+     * @param value значение параметра
+     * @return номер ближайшего значения сетки
+     */
+    public static long quantize(double value) {
+        return Math.round(value / QUANTUM);
+    }
+
+    /**
+     * Возвращает вид фигуры.
+     *
+     * @return вид фигуры
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Возвращает 64-битный хеш отпечатка. Он вычисляется один раз и хорошо перемешан,
+     * поэтому годится для хеш-таблиц с открытой адресацией и внешних индексов.
+     *
+     * @return 64-битный хеш
+     */
+    public long hash64() {
+        return hash;
+    }
+
+    // Перемешивание по схеме финализатора MurmurHash3: каждый бит входа влияет на все биты результата
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static long computeHash(Kind kind, long[] values) {
+        long h = mix(kind.ordinal() + 1L);
+        for (long value : values) {
+            h = Long.rotateLeft(h ^ mix(value), 27) * 0x9e3779b97f4a7c15L + 0x632be59bd9b4e019L;
+        }
+        return mix(h ^ values.length);
+    }
+
+    /**
+     * Сравнивает отпечатки по виду фигуры и параметрам.
+     *
+     * @param obj объект для сравнения
+     * @return true, если отпечатки совпадают; false в противном случае
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ShapeSignature other = (ShapeSignature) obj;
+        return hash == other.hash && kind == other.kind && Arrays.equals(values, other.values);
+    }
+
+    /**
+     * Возвращает хеш-код отпечатка (свертку 64-битного хеша).
+     *
+     * @return хеш-код
+     */
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,194 @@
+package hometask.geometry.shape;
+
+import hometask.geometry.base.CompensatedSum;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Класс {@code ShapeStats} — сводная статистика по набору фигур: число фигур, суммарные площадь
+ * и периметр и число фигур каждого класса.
+ * <p>
+ * Набор обходится через {@link Spliterator}, который делится на части, обрабатываемые параллельно
+ * в общем пуле fork/join. Площади и периметры суммируются с компенсацией ({@link CompensatedSum}), поэтому
+ * результат для миллионов фигур не теряет точности и почти не зависит от того, как набор был разделен.
+ * </p>
+ */
+public final class ShapeStats {
+    // Число фигур, которые обрабатываются одним потоком без дальнейшего деления
+    private static final int LEAF_SIZE = 1 << 12;
+
+    private final long count;
+    private final double totalArea;
+    private final double totalPerimeter;
+    private final Map<Class<? extends Shape>, Long> typeCounts;
+
+    private ShapeStats(Partial partial) {
+        this.count = partial.count;
+        this.totalArea = partial.area.sum();
+        this.totalPerimeter = partial.perimeter.sum();
+        this.typeCounts = partial.typeCounts();
+    }
+
+    /**
+     * Вычисляет статистику по коллекции фигур.
+     *
+     * @param shapes фигуры
+     * @return статистика
+     */
+    public static ShapeStats of(Collection<? extends Shape> shapes) {
+        return of(shapes.spliterator());
+    }
+
+    /**
+     * Вычисляет статистику по фигурам, которые перечисляет {@link Spliterator}. Небольшие наборы
+     * обрабатываются в текущем потоке.
+     *
+     * @param shapes фигуры
+     * @return статистика
+     */
+    public static ShapeStats of(Spliterator<? extends Shape> shapes) {
+        StatsTask task = new StatsTask(shapes);
+        return new ShapeStats(shapes.estimateSize() <= LEAF_SIZE ? task.invoke() : ForkJoinPool.commonPool().invoke(task));
+    }
+
+    /**
+     * Возвращает число фигур.
+     *
+     * @return число фигур
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Возвращает суммарную площадь фигур.
+     *
+     * @return сумма площадей
+     */
+    public double totalArea() {
+        return totalArea;
+    }
+
+    /**
+     * Возвращает суммарный периметр фигур.
+     *
+     * @return сумма периметров
+     */
+    public double totalPerimeter() {
+        return totalPerimeter;
+    }
+
+    /**
+     * Возвращает среднюю площадь фигуры.
+     *
+     * @return средняя площадь; NaN для пустого набора
+     */
+    public double meanArea() {
+        return count == 0 ? Double.NaN : totalArea / count;
+    }
+
+    /**
+     * Возвращает число фигур каждого класса (гистограмму по типам).
+     *
+     * @return неизменяемое отображение класса фигуры в число фигур этого класса
+     */
+    public Map<Class<? extends Shape>, Long> typeCounts() {
+        return typeCounts;
+    }
+
+    /**
+     * Возвращает число фигур данного класса.
+     *
+     * @param type класс фигуры
+     * @return число фигур ровно этого класса (без учета подклассов)
+     */
+    public long count(Class<? extends Shape> type) {
+        return typeCounts.getOrDefault(type, 0L);
+    }
+
+    @Override
+    public String toString() {
+        return "ShapeStats[count=" + count + ", totalArea=" + totalArea + ", totalPerimeter=" + totalPerimeter
+                + ", typeCounts=" + typeCounts + "]";
+    }
+
+    // Частичная статистика одной части набора. Классов фигур обычно единицы, поэтому счетчики хранятся
+    // в массиве с поиском класса перебором по ссылке: это быстрее хеш-таблицы
+    private static final class Partial {
+        private long count;
+        private final CompensatedSum area = new CompensatedSum();
+        private final CompensatedSum perimeter = new CompensatedSum();
+        private Class<?>[] types = new Class<?>[4];
+        private long[] typeCounts = new long[4];
+        private int typeCount;
+
+        void accept(Shape shape) {
+            count++;
+            area.add(shape.area());
+            perimeter.add(shape.perimeter());
+            typeCounts[typeIndex(shape.getClass())]++;
+        }
+
+        Partial merge(Partial other) {
+            count += other.count;
+            area.add(other.area);
+            perimeter.add(other.perimeter);
+            for (int i = 0; i < other.typeCount; i++) {
+                typeCounts[typeIndex(other.types[i])] += other.typeCounts[i];
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Class<? extends Shape>, Long> typeCounts() {
+            Map<Class<? extends Shape>, Long> result = new HashMap<>();
+            for (int i = 0; i < typeCount; i++) {
+                result.put((Class<? extends Shape>) types[i], typeCounts[i]);
+            }
+            return Map.copyOf(result);
+        }
+
+        private int typeIndex(Class<?> type) {
+            for (int i = 0; i < typeCount; i++) {
+                if (types[i] == type) {
+                    return i;
+                }
+            }
+            if (typeCount == types.length) {
+                types = Arrays.copyOf(types, 2 * typeCount);
+                typeCounts = Arrays.copyOf(typeCounts, 2 * typeCount);
+            }
+            types[typeCount] = type;
+            return typeCount++;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class StatsTask extends RecursiveTask<Partial> {
+        private final Spliterator<? extends Shape> shapes;
+
+        StatsTask(Spliterator<? extends Shape> shapes) {
+            this.shapes = shapes;
+        }
+
+        @Override
+        protected Partial compute() {
+            Spliterator<? extends Shape> prefix;
+            if (shapes.estimateSize() > LEAF_SIZE && (prefix = shapes.trySplit()) != null) {
+                StatsTask left = new StatsTask(prefix);
+                left.fork();
+                Partial result = compute();
+                return left.join().merge(result);
+            }
+            Partial result = new Partial();
+            shapes.forEachRemaining(result::accept);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package hometask.geometry.shape.collision;
+
+import hometask.geometry.base.Bounds;
+import hometask.geometry.shape.Shape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Класс {@code CollisionDetector} находит все пересекающиеся пары в наборе движущихся фигур.
+ * <p>
+ * Фигуры добавляются один раз и получают постоянный номер; на каждом шаге движения фигура по номеру
+ * заменяется новой ({@link #update(int, Shape)}), после чего {@link #collisions()} возвращает пары.
+ * </p>
+ * <p>
+ * Широкая фаза — sweep-and-prune: номера фигур упорядочены по левому краю ограничивающего прямоугольника,
+ * и для каждой фигуры перебираются только следующие за ней, пока их левый край не правее ее правого.
+ * Порядок сохраняется между шагами и досортировывается вставками: за шаг фигуры сдвигаются мало,
+ * поэтому почти упорядоченный массив сортируется за время, близкое к линейному.
+ * </p>
+ * <p>
+ * Узкая фаза проверяет пары-кандидаты точно (см. {@link Intersections}) и при большом числе кандидатов
+ * выполняется параллельно в общем пуле fork/join.
+ * </p>
+ */
+public final class CollisionDetector {
+    // Число кандидатов, которое проверяется одним потоком без дальнейшего деления
+    private static final int LEAF_SIZE = 1 << 10;
+
+    /**
+     * Пара пересекающихся фигур.
+     *
+     * @param first  меньший номер фигуры
+     * @param second больший номер фигуры
+     */
+    public record Collision(int first, int second) {
+    }
+
+    private Shape[] shapes = new Shape[16];
+    private double[] boxes = new double[64]; // minX, minY, maxX, maxY для каждого номера
+    private int capacity;                    // Число выданных номеров
+    private int[] freeIds = new int[16];     // Освобожденные номера для повторного использования
+    private int freeCount;
+    private int[] order = new int[16];       // Живые номера в порядке левого края
+    private int orderSize;
+    private boolean removed;                 // В order есть удаленные номера
+
+    /**
+     * Добавляет фигуру.
+     *
+     * @param shape фигура
+     * @return номер фигуры, постоянный до ее удаления
+     */
+    public int add(Shape shape) {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = capacity++;
+            if (id == shapes.length) {
+                shapes = Arrays.copyOf(shapes, 2 * id);
+                boxes = Arrays.copyOf(boxes, 8 * id);
+            }
+        }
+        shapes[id] = shape;
+        storeBounds(id, shape);
+        if (orderSize == order.length) {
+            order = Arrays.copyOf(order, 2 * orderSize);
+        }
+        order[orderSize++] = id;
+        return id;
+    }
+
+    /**
+     * Заменяет фигуру с заданным номером, например, ее новым положением.
+     *
+     * @param id    номер фигуры
+     * @param shape новая фигура
+     * @throws IllegalArgumentException если фигуры с таким номером нет
+     */
+    public void update(int id, Shape shape) {
+        checkId(id);
+        shapes[id] = shape;
+        storeBounds(id, shape);
+    }
+
+    /**
+     * Удаляет фигуру; ее номер может быть выдан следующей добавленной фигуре.
+     *
+     * @param id номер фигуры
+     * @throws IllegalArgumentException если фигуры с таким номером нет
+     */
+    public void remove(int id) {
+        checkId(id);
+        shapes[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, 2 * freeCount);
+        }
+        freeIds[freeCount++] = id;
+        removed = true;
+    }
+
+    /**
+     * Возвращает число фигур.
+     *
+     * @return число фигур
+     */
+    public int size() {
+        return capacity - freeCount;
+    }
+
+    /**
+     * Находит все пары пересекающихся фигур (касание границами считается пересечением).
+     *
+     * @return пары в порядке возрастания первого, затем второго номера
+     */
+    public List<Collision> collisions() {
+        if (removed) {
+            compactOrder();
+        }
+        sortOrder();
+        long[] candidates = sweep();
+        int count = (int) candidates[candidates.length - 1];
+
+        boolean[] hits = new boolean[count];
+        NarrowTask task = new NarrowTask(candidates, hits, 0, count);
+        if (count <= LEAF_SIZE) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        long[] found = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (hits[i]) {
+                found[size++] = candidates[i];
+            }
+        }
+        // Ключ пары — first * 2^32 + second, поэтому сортировка ключей упорядочивает пары
+        Arrays.sort(found, 0, size);
+        List<Collision> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new Collision((int) (found[i] >>> 32), (int) found[i]));
+        }
+        return result;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= capacity || shapes[id] == null) {
+            throw new IllegalArgumentException("No shape with id " + id + ".");
+        }
+    }
+
+    private void storeBounds(int id, Shape shape) {
+        Bounds bounds = shape.bounds();
+        boxes[4 * id] = bounds.minX();
+        boxes[4 * id + 1] = bounds.minY();
+        boxes[4 * id + 2] = bounds.maxX();
+        boxes[4 * id + 3] = bounds.maxY();
+    }
+
+    // Удаляет из порядка номера удаленных фигур; номер, выданный повторно, остается на своем месте
+    private void compactOrder() {
+        boolean[] seen = new boolean[capacity];
+        int size = 0;
+        for (int i = 0; i < orderSize; i++) {
+            int id = order[i];
+            if (shapes[id] != null && !seen[id]) {
+                seen[id] = true;
+                order[size++] = id;
+            }
+        }
+        orderSize = size;
+        removed = false;
+    }
+
+    // Сортировка вставками: с прошлого шага порядок почти не изменился
+    private void sortOrder() {
+        for (int i = 1; i < orderSize; i++) {
+            int id = order[i];
+            double key = boxes[4 * id];
+            int j = i - 1;
+            while (j >= 0 && boxes[4 * order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = id;
+        }
+    }
+
+    // Пары с перекрывающимися прямоугольниками; последний элемент массива — число пар
+    private long[] sweep() {
+        long[] candidates = new long[Math.max(16, orderSize)];
+        int count = 0;
+        for (int i = 0; i < orderSize; i++) {
+            int id = order[i];
+            double maxX = boxes[4 * id + 2];
+            double minY = boxes[4 * id + 1];
+            double maxY = boxes[4 * id + 3];
+            for (int j = i + 1; j < orderSize; j++) {
+                int other = order[j];
+                if (boxes[4 * other] > maxX) {
+                    break;
+                }
+                if (boxes[4 * other + 1] <= maxY && minY <= boxes[4 * other + 3]) {
+                    if (count + 1 == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, 2 * candidates.length);
+                    }
+                    int low = Math.min(id, other);
+                    int high = Math.max(id, other);
+                    candidates[count++] = (long) low << 32 | high;
+                }
+            }
+        }
+        candidates[candidates.length - 1] = count;
+        return candidates;
+    }
+
+    // Точная проверка диапазона кандидатов; результаты пишутся в общий массив по непересекающимся индексам
+    @SuppressWarnings("serial")
+    private final class NarrowTask extends RecursiveAction {
+        private final long[] candidates;
+        private final boolean[] hits;
+        private final int from;
+        private final int to;
+
+        NarrowTask(long[] candidates, boolean[] hits, int from, int to) {
+            this.candidates = candidates;
+            this.hits = hits;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    long pair = candidates[i];
+                    hits[i] = Intersections.intersects(shapes[(int) (pair >>> 32)], shapes[(int) pair]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new NarrowTask(candidates, hits, from, middle), new NarrowTask(candidates, hits, middle, to));
+        }
+    }
+}
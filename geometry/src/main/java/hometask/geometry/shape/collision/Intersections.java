@@ -0,0 +1,317 @@
+package hometask.geometry.shape.collision;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+import hometask.geometry.base.SegmentIntersector;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.PreparedPolygon;
+
+/**
+ * Точные проверки пересечения пар фигур (узкая фаза обнаружения столкновений).
+ * <p>
+ * Фигуры считаются замкнутыми множествами: касание границами — тоже пересечение. Проверки:
+ * <ul>
+ *     <li>круг — круг: сравнение расстояния между центрами с суммой радиусов;</li>
+ *     <li>круг — многоугольник: центр внутри многоугольника или расстояние от центра до ближайшей
+ *     грани не больше радиуса;</li>
+ *     <li>выпуклые многоугольники: теорема о разделяющей оси (SAT) по нормалям граней обоих многоугольников;
+ *     невыпуклые — пересечение граней (заметающей прямой, {@link SegmentIntersector}) или вложенность;</li>
+ *     <li>эллипс — многоугольник: аффинное преобразование переводит эллипс в единичный круг, а многоугольник
+ *     в многоугольник, после чего применяется проверка круга;</li>
+ *     <li>эллипс — круг и эллипс — эллипс: расстояние от точки до эллипса находится итеративно
+ *     (бисекцией по параметру нормали, метод Эберли).</li>
+ * </ul>
+ * </p>
+ */
+public final class Intersections {
+    // Число шагов бисекции: после него отрезок поиска корня вырождается до соседних чисел double
+    private static final int MAX_ITERATIONS = 1100;
+
+    private Intersections() {
+    }
+
+    /**
+     * Проверяет, пересекаются ли фигуры.
+     *
+     * @param first  первая фигура
+     * @param second вторая фигура
+     * @return true, если у фигур есть общие точки, включая точки границы
+     * @throws IllegalArgumentException если тип фигуры не поддерживается
+     */
+    public static boolean intersects(Shape first, Shape second) {
+        if (!first.bounds().intersects(second.bounds())) {
+            return false;
+        }
+        Shape a = unwrap(first);
+        Shape b = unwrap(second);
+        if (a instanceof Circle circle) {
+            return intersects(circle, b);
+        }
+        if (b instanceof Circle circle) {
+            return intersects(circle, a);
+        }
+        if (a instanceof Ellipse ellipse) {
+            return intersects(ellipse, b);
+        }
+        if (b instanceof Ellipse ellipse) {
+            return intersects(ellipse, a);
+        }
+        if (a instanceof Polygon p && b instanceof Polygon q) {
+            return p.isConvex() && q.isConvex() ? separatingAxisTest(p, q) : polygonsIntersect(p, q);
+        }
+        throw new IllegalArgumentException("Unsupported shape type: " + (a instanceof Polygon ? b : a).getClass());
+    }
+
+    private static Shape unwrap(Shape shape) {
+        return shape instanceof PreparedPolygon prepared ? prepared.polygon() : shape;
+    }
+
+    private static boolean intersects(Circle circle, Shape other) {
+        double cx = circle.center().x();
+        double cy = circle.center().y();
+        double r = circle.radius();
+        if (other instanceof Circle another) {
+            double dx = another.center().x() - cx;
+            double dy = another.center().y() - cy;
+            double sum = r + another.radius();
+            return dx * dx + dy * dy <= sum * sum;
+        }
+        if (other instanceof Polygon polygon) {
+            return unitDiscMeetsPolygon(polygon, cx, cy, 1, 0, r, r);
+        }
+        if (other instanceof Ellipse ellipse) {
+            return ellipseMeetsDisc(ellipse, cx, cy, r);
+        }
+        throw new IllegalArgumentException("Unsupported shape type: " + other.getClass());
+    }
+
+    private static boolean intersects(Ellipse ellipse, Shape other) {
+        double[] frame = frame(ellipse);
+        if (other instanceof Polygon polygon) {
+            return unitDiscMeetsPolygon(polygon, frame[0], frame[1], frame[2], frame[3], frame[4], frame[5]);
+        }
+        if (other instanceof Ellipse another) {
+            return ellipsesIntersect(frame, frame(another));
+        }
+        throw new IllegalArgumentException("Unsupported shape type: " + other.getClass());
+    }
+
+    // Собственная система координат эллипса: центр, направление большой оси и полуоси a >= b > 0
+    private static double[] frame(Ellipse ellipse) {
+        Point left = ellipse.focusLeft();
+        Point right = ellipse.focusRight();
+        double dx = right.x() - left.x();
+        double dy = right.y() - left.y();
+        double length = Math.hypot(dx, dy);
+        double ux = length == 0 ? 1 : dx / length;
+        double uy = length == 0 ? 0 : dy / length;
+        double a = ellipse.semiMajorAxis();
+        // Вырожденный эллипс (отрезок между фокусами) заменяется очень узким, чтобы преобразование было обратимым
+        double b = Math.max(ellipse.semiMinorAxis(), a * 1e-12);
+        return new double[]{ellipse.center().x(), ellipse.center().y(), ux, uy, a, b};
+    }
+
+    /**
+     * Пересекает ли многоугольник эллипс с центром (cx, cy), осями вдоль (ux, uy) и (-uy, ux) и полуосями
+     * sx, sy. В координатах q = ((p - c) · u / sx, (p - c) · u⊥ / sy) эллипс — единичный круг.
+     */
+    private static boolean unitDiscMeetsPolygon(Polygon polygon, double cx, double cy,
+                                                double ux, double uy, double sx, double sy) {
+        int n = polygon.verticeCount();
+        boolean inside = false;
+        double previousX = polygon.vertexX(n - 1) - cx;
+        double previousY = polygon.vertexY(n - 1) - cy;
+        double x1 = (previousX * ux + previousY * uy) / sx;
+        double y1 = (previousY * ux - previousX * uy) / sy;
+        for (int i = 0; i < n; i++) {
+            double px = polygon.vertexX(i) - cx;
+            double py = polygon.vertexY(i) - cy;
+            double x2 = (px * ux + py * uy) / sx;
+            double y2 = (py * ux - px * uy) / sy;
+
+            // Квадрат расстояния от начала координат до отрезка
+            double ex = x2 - x1;
+            double ey = y2 - y1;
+            double lengthSquared = ex * ex + ey * ey;
+            double t = lengthSquared == 0 ? 0 : Math.min(1, Math.max(0, -(x1 * ex + y1 * ey) / lengthSquared));
+            double nearestX = x1 + t * ex;
+            double nearestY = y1 + t * ey;
+            if (nearestX * nearestX + nearestY * nearestY <= 1) {
+                return true;
+            }
+            // Четность числа пересечений луча из начала координат вправо
+            if ((y1 > 0) != (y2 > 0) && x1 + (0 - y1) * ex / ey > 0) {
+                inside = !inside;
+            }
+            x1 = x2;
+            y1 = y2;
+        }
+        return inside;
+    }
+
+    // Круг пересекает эллипс, если его центр внутри эллипса или ближе радиуса к границе эллипса
+    private static boolean ellipseMeetsDisc(Ellipse ellipse, double cx, double cy, double r) {
+        double[] frame = frame(ellipse);
+        double dx = cx - frame[0];
+        double dy = cy - frame[1];
+        double u = dx * frame[2] + dy * frame[3];
+        double v = dy * frame[2] - dx * frame[3];
+        return distanceToEllipse(frame[4], frame[5], u, v) <= r;
+    }
+
+    /**
+     * Эллипсы пересекаются, если в системе координат, где первый — единичный круг, расстояние от начала
+     * координат до второго (тоже эллипса после преобразования) не больше 1.
+     */
+    private static boolean ellipsesIntersect(double[] first, double[] second) {
+        // Отображение q -> w из координат первого эллипса (единичный круг) в координаты второго (единичный круг):
+        // w = A q + t, где A = S2^-1 R2^T R1 S1, t = S2^-1 R2^T (c1 - c2)
+        double cos = first[2] * second[2] + first[3] * second[3];
+        double sin = first[3] * second[2] - first[2] * second[3];
+        double a11 = cos * first[4] / second[4];
+        double a12 = -sin * first[5] / second[4];
+        double a21 = sin * first[4] / second[5];
+        double a22 = cos * first[5] / second[5];
+        double cx = first[0] - second[0];
+        double cy = first[1] - second[1];
+        double t1 = (cx * second[2] + cy * second[3]) / second[4];
+        double t2 = (cy * second[2] - cx * second[3]) / second[5];
+
+        // Второй эллипс в координатах q: (q - d)^T N (q - d) <= 1, где N = A^T A и d = -A^-1 t
+        double determinant = a11 * a22 - a12 * a21;
+        double dx = -(a22 * t1 - a12 * t2) / determinant;
+        double dy = -(a11 * t2 - a21 * t1) / determinant;
+        double p = a11 * a11 + a21 * a21;
+        double q = a11 * a12 + a21 * a22;
+        double s = a12 * a12 + a22 * a22;
+
+        // Собственные векторы N задают оси второго эллипса, собственные значения — 1 / полуось^2
+        double angle = 0.5 * Math.atan2(2 * q, p - s);
+        double ex = Math.cos(angle);
+        double ey = Math.sin(angle);
+        double lambda1 = p * ex * ex + 2 * q * ex * ey + s * ey * ey;
+        double lambda2 = p * ey * ey - 2 * q * ex * ey + s * ex * ex;
+        double u = -dx * ex - dy * ey;
+        double v = dx * ey - dy * ex;
+        if (lambda1 > lambda2) {
+            // Большая ось соответствует меньшему собственному значению
+            double swap = u;
+            u = v;
+            v = swap;
+            swap = lambda1;
+            lambda1 = lambda2;
+            lambda2 = swap;
+        }
+        return distanceToEllipse(1 / Math.sqrt(lambda1), 1 / Math.sqrt(lambda2), u, v) <= 1;
+    }
+
+    /**
+     * Расстояние от точки (u, v) до эллипса x^2 / a^2 + y^2 / b^2 <= 1 при a >= b > 0; 0 для точек внутри.
+     * Ближайшая точка границы — x = a^2 u / (a^2 + s), y = b^2 v / (b^2 + s), где s — единственный
+     * неотрицательный корень монотонной функции, который находится бисекцией (D. Eberly, "Distance from
+     * a point to an ellipse").
+     */
+    static double distanceToEllipse(double a, double b, double u, double v) {
+        // Симметрия позволяет перейти в первую четверть
+        double y0 = Math.abs(u);
+        double y1 = Math.abs(v);
+        double z0 = y0 / a;
+        double z1 = y1 / b;
+        double g = z0 * z0 + z1 * z1 - 1;
+        if (g <= 0) {
+            return 0;
+        }
+        if (y1 == 0) {
+            // На продолжении большой оси снаружи эллипса ближайшая точка — вершина
+            return y0 - a;
+        }
+        if (y0 == 0) {
+            return y1 - b;
+        }
+
+        // Функция G(s) = (r0 z0 / (s + r0))^2 + (z1 / (s + 1))^2 - 1 убывает, корень в [z1 - 1, |(r0 z0, z1)| - 1]
+        double r0 = (a / b) * (a / b);
+        double n0 = r0 * z0;
+        double low = z1 - 1;
+        double high = Math.hypot(n0, z1) - 1;
+        double s = low;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            s = (low + high) / 2;
+            if (s == low || s == high) {
+                break;
+            }
+            double ratio0 = n0 / (s + r0);
+            double ratio1 = z1 / (s + 1);
+            double value = ratio0 * ratio0 + ratio1 * ratio1 - 1;
+            if (value > 0) {
+                low = s;
+            } else if (value < 0) {
+                high = s;
+            } else {
+                break;
+            }
+        }
+        double x0 = r0 * y0 / (s + r0);
+        double x1 = y1 / (s + 1);
+        return Math.hypot(x0 - y0, x1 - y1);
+    }
+
+    // Теорема о разделяющей оси: выпуклые многоугольники не пересекаются, только если проекции на нормаль
+    // какой-нибудь грани не перекрываются
+    private static boolean separatingAxisTest(Polygon first, Polygon second) {
+        return !hasSeparatingEdge(first, second) && !hasSeparatingEdge(second, first);
+    }
+
+    private static boolean hasSeparatingEdge(Polygon owner, Polygon other) {
+        int n = owner.verticeCount();
+        int m = other.verticeCount();
+        for (int i = 0; i < n; i++) {
+            int next = i + 1 < n ? i + 1 : 0;
+            double x = owner.vertexX(i);
+            double y = owner.vertexY(i);
+            double nextX = owner.vertexX(next);
+            double nextY = owner.vertexY(next);
+            if (x == nextX && y == nextY) {
+                continue;
+            }
+            // Вершины обходятся против часовой стрелки, поэтому owner лежит слева от грани целиком:
+            // ось разделяющая, если все вершины other строго справа
+            boolean separated = true;
+            for (int j = 0; j < m && separated; j++) {
+                separated = Predicates.orient2d(x, y, nextX, nextY, other.vertexX(j), other.vertexY(j)) < 0;
+            }
+            if (separated) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Невыпуклые многоугольники пересекаются, если пересекаются их границы или один содержит другой.
+    // Грани обоих многоугольников проверяются одной заметающей прямой за O((n + m) log(n + m)): грани
+    // первого имеют номера [0, n), второго — [n, n + m); касания граней одного многоугольника пропускаются,
+    // а первая же пара граней разных многоугольников останавливает поиск
+    private static boolean polygonsIntersect(Polygon first, Polygon second) {
+        int n = first.verticeCount();
+        double[] segments = new double[4 * (n + second.verticeCount())];
+        storeEdges(first, segments, 0);
+        storeEdges(second, segments, n);
+        boolean disjoint = SegmentIntersector.forEachIntersection(segments,
+                (edge, other, x, y) -> edge >= n || other < n);
+        return !disjoint || first.containsPoint(second.vertex(0)) || second.containsPoint(first.vertex(0));
+    }
+
+    // Записывает грани многоугольника в массив отрезков, начиная с отрезка с номером offset
+    private static void storeEdges(Polygon polygon, double[] segments, int offset) {
+        polygon.forEachEdge((index, startX, startY, endX, endY) -> {
+            int i = 4 * (offset + index);
+            segments[i] = startX;
+            segments[i + 1] = startY;
+            segments[i + 2] = endX;
+            segments[i + 3] = endY;
+        });
+    }
+}
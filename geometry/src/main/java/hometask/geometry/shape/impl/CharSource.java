@@ -0,0 +1,388 @@
+package hometask.geometry.shape.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Буферизованный источник символов для потоковых парсеров текстовых форматов фигур.
+ * <p>
+ * Символы читаются блоками в собственный массив (или берутся прямо из массива {@link CharBuffer}),
+ * числа разбираются без создания строк, поэтому объем памяти не зависит от размера входа.
+ * </p>
+ */
+final class CharSource {
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Наибольшее число значащих десятичных цифр и степень 10, при которых double вычисляется точно
+    private static final int EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Reader reader;       // null, если символы берутся из CharBuffer
+    private final CharBuffer chars;
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private long offset;               // Номер первого символа буфера во входе
+    private char[] token = new char[32]; // Символы числа для медленного разбора
+
+    CharSource(Reader reader) {
+        this.reader = reader;
+        this.chars = null;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    CharSource(CharBuffer chars) {
+        this.reader = null;
+        if (chars.hasArray()) {
+            // Массив буфера читается без копирования
+            this.chars = null;
+            this.buffer = chars.array();
+            this.position = chars.arrayOffset() + chars.position();
+            this.limit = chars.arrayOffset() + chars.limit();
+            this.offset = -position;
+            chars.position(chars.limit());
+        } else {
+            this.chars = chars;
+            this.buffer = new char[BUFFER_SIZE];
+        }
+    }
+
+    // Следующий символ без продвижения; -1 в конце входа
+    int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    // Следующий символ с продвижением; -1 в конце входа
+    int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    // Пропускает пробельные символы и возвращает следующий (без продвижения); -1 в конце входа
+    int skipWhitespace() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[position];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+    }
+
+    // Ожидает символ (после пробелов)
+    void expect(char expected) throws IOException {
+        int c = skipWhitespace();
+        if (c != expected) {
+            throw error("Expected '" + expected + "'", c);
+        }
+        position++;
+    }
+
+    // Номер следующего символа во входе, для сообщений об ошибках
+    long offset() {
+        return offset + position;
+    }
+
+    IllegalArgumentException error(String message, int found) {
+        String actual = found < 0 ? "end of input" : "'" + (char) found + "'";
+        return new IllegalArgumentException(message + " at offset " + offset() + ", found " + actual + ".");
+    }
+
+    /**
+     * Разбирает десятичное число (после пробелов). Если число целиком лежит в буфере, оно разбирается прямо
+     * из буфера, иначе его символы сначала собираются в отдельный массив.
+     */
+    double readNumber() throws IOException {
+        skipWhitespace();
+        int end = position;
+        while (end < limit && isNumberChar(buffer[end])) {
+            end++;
+        }
+        if (end < limit) {
+            int start = position;
+            position = end;
+            return parseNumber(buffer, start, end);
+        }
+        // Число обрывается на конце буфера: символы копируются, пока буфер дочитывается
+        int length = 0;
+        int c = peek();
+        while (c >= 0 && isNumberChar((char) c)) {
+            length = append(length, (char) c);
+            position++;
+            c = peek();
+        }
+        return parseNumber(token, 0, length);
+    }
+
+    private static boolean isNumberChar(char c) {
+        return c >= '0' && c <= '9' || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E';
+    }
+
+    /**
+     * Разбирает число из символов [from, to). Числа до 15 значащих цифр с небольшим порядком вычисляются
+     * одним умножением или делением точных double (быстрый путь Клингера); остальные —
+     * через {@link Double#parseDouble(String)}.
+     */
+    private double parseNumber(char[] chars, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;   // Значащие цифры
+        int scale = 0;    // Поправка порядка за отброшенные цифры и дробную часть
+        int digitsStart = i;
+        for (; i < to && chars[i] >= '0' && chars[i] <= '9'; i++) {
+            if (digits < 18) {
+                mantissa = 10 * mantissa + (chars[i] - '0');
+            } else {
+                scale++;
+            }
+            if (mantissa != 0) {
+                digits++;
+            }
+        }
+        int integerDigits = i - digitsStart;
+        int fractionDigits = 0;
+        if (i < to && chars[i] == '.') {
+            int fractionStart = ++i;
+            for (; i < to && chars[i] >= '0' && chars[i] <= '9'; i++) {
+                if (digits < 18) {
+                    mantissa = 10 * mantissa + (chars[i] - '0');
+                    scale--;
+                }
+                if (mantissa != 0) {
+                    digits++;
+                }
+            }
+            fractionDigits = i - fractionStart;
+        }
+        if (integerDigits + fractionDigits == 0) {
+            throw error("Expected a number", i < to ? chars[i] : peekQuietly());
+        }
+        int exponent = 0;
+        if (i < to && (chars[i] == 'e' || chars[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (chars[i] == '-' || chars[i] == '+')) {
+                negativeExponent = chars[i] == '-';
+                i++;
+            }
+            int exponentStart = i;
+            for (; i < to && chars[i] >= '0' && chars[i] <= '9'; i++) {
+                exponent = Math.min(10 * exponent + (chars[i] - '0'), 100_000);
+            }
+            if (i == exponentStart) {
+                throw error("Expected an exponent", i < to ? chars[i] : peekQuietly());
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        if (i != to) {
+            throw error("Malformed number", chars[i]);
+        }
+
+        int power = scale + exponent;
+        if (digits <= EXACT_DIGITS && Math.abs(power) <= 22) {
+            double value = power >= 0 ? mantissa * POWERS_OF_TEN[power] : mantissa / POWERS_OF_TEN[-power];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(chars, from, to - from));
+    }
+
+    // Следующий символ для сообщения об ошибке, без чтения входа
+    private int peekQuietly() {
+        return position < limit ? buffer[position] : -1;
+    }
+
+    // Читает слово из латинских букв (после пробелов) и сравнивает его с образцом без учета регистра
+    boolean readKeyword(String expected) throws IOException {
+        skipWhitespace();
+        int matched = 0;
+        boolean equal = true;
+        int c = peek();
+        while (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z') {
+            equal &= matched < expected.length() && Character.toUpperCase((char) c) == expected.charAt(matched);
+            matched++;
+            position++;
+            c = peek();
+        }
+        return equal && matched == expected.length();
+    }
+
+    // Читает слово из латинских букв (после пробелов) в верхнем регистре; пустая строка, если слова нет
+    String readWord() throws IOException {
+        skipWhitespace();
+        int length = 0;
+        int c = peek();
+        while (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z') {
+            length = append(length, Character.toUpperCase((char) c));
+            position++;
+            c = peek();
+        }
+        return new String(token, 0, length);
+    }
+
+    // Сравнивает строку JSON в кавычках с образцом; экранированные символы сравниваются после раскрытия
+    boolean readStringEquals(String expected) throws IOException {
+        expect('"');
+        int matched = 0;
+        boolean equal = true;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw error("Unterminated string", c);
+            }
+            if (c == '"') {
+                return equal && matched == expected.length();
+            }
+            if (c == '\\') {
+                c = readEscape();
+            }
+            equal &= matched < expected.length() && c == expected.charAt(matched);
+            matched++;
+        }
+    }
+
+    // Читает строку JSON в кавычках; используется для коротких значений вроде типа геометрии
+    String readString() throws IOException {
+        expect('"');
+        int length = 0;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw error("Unterminated string", c);
+            }
+            if (c == '"') {
+                return new String(token, 0, length);
+            }
+            if (c == '\\') {
+                c = readEscape();
+            }
+            length = append(length, (char) c);
+        }
+    }
+
+    private int readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'u': {
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw error("Invalid unicode escape", peek());
+                    }
+                    code = 16 * code + digit;
+                }
+                return code;
+            }
+            case '"', '\\', '/':
+                return c;
+            default:
+                throw error("Invalid escape", c);
+        }
+    }
+
+    // Пропускает значение JSON любого вида, не сохраняя его
+    void skipValue() throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            position++;
+            while (true) {
+                c = read();
+                if (c < 0) {
+                    throw error("Unterminated string", c);
+                }
+                if (c == '\\') {
+                    read();
+                } else if (c == '"') {
+                    return;
+                }
+            }
+        }
+        if (c == '{' || c == '[') {
+            // Вложенность отслеживается счетчиком, строки внутри пропускаются целиком
+            int depth = 0;
+            do {
+                c = skipWhitespace();
+                if (c == '"') {
+                    skipValue();
+                    continue;
+                }
+                if (c < 0) {
+                    throw error("Unterminated value", c);
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                position++;
+            } while (depth > 0);
+            return;
+        }
+        if (c == '-' || c >= '0' && c <= '9') {
+            readNumber();
+            return;
+        }
+        // Остаются литералы true, false и null
+        String literal = c == 't' ? "TRUE" : c == 'f' ? "FALSE" : "NULL";
+        if (!readKeyword(literal)) {
+            throw error("Unexpected value", peek());
+        }
+    }
+
+    private int append(int length, char c) {
+        if (length == token.length) {
+            token = Arrays.copyOf(token, 2 * length);
+        }
+        token[length] = c;
+        return length + 1;
+    }
+
+    private boolean fill() throws IOException {
+        offset += limit;
+        position = 0;
+        limit = 0;
+        int count;
+        if (reader != null) {
+            count = reader.read(buffer);
+        } else if (chars != null && chars.hasRemaining()) {
+            count = Math.min(buffer.length, chars.remaining());
+            chars.get(buffer, 0, count);
+        } else {
+            count = -1;
+        }
+        if (count <= 0) {
+            return false;
+        }
+        limit = count;
+        return true;
+    }
+}
@@ -1,8 +1,11 @@
 package hometask.geometry.shape.impl;
 
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
 import hometask.geometry.base.Line;
 import hometask.geometry.base.Point;
 import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.ShapeSignature;
 
 /**
  * Класс {@code Circle} представляет собой круг, определяемый центром и радиусом.
@@ -14,6 +17,8 @@ import hometask.geometry.shape.Shape;
 public class Circle implements Shape {
     private final Point center; // Центр круга
     private final double radius; // Радиус круга
+    private final double squaredRadius; // Квадрат радиуса для проверки принадлежности без корня
+    private final Bounds bounds; // Ограничивающий квадрат
 
     /**
      * Конструктор для создания объекта {@code Circle} с заданным центром и радиусом.
@@ -28,6 +33,8 @@ public class Circle implements Shape {
         }
         this.center = center;
         this.radius = radius;
+        this.squaredRadius = radius * radius;
+        this.bounds = new Bounds(center.x() - radius, center.y() - radius, center.x() + radius, center.y() + radius);
     }
 
     /**
@@ -79,29 +86,73 @@ public class Circle implements Shape {
         return another instanceof Circle;
     }
 
+    @Override
+    public ShapeSignature congruenceSignature() {
+        return new ShapeSignature(ShapeSignature.Kind.CIRCLE, ShapeSignature.quantize(radius));
+    }
+
+    @Override
+    public ShapeSignature similaritySignature() {
+        return new ShapeSignature(ShapeSignature.Kind.CIRCLE); // Все круги подобны
+    }
+
+    @Override
+    public Bounds bounds() {
+        return bounds;
+    }
+
     @Override
     public boolean containsPoint(Point point) {
-        double distance = Math.hypot(point.x() - center.x(), point.y() - center.y());
-        return distance <= radius; // Проверка на принадлежность точки кругу
+        if (!bounds.contains(point.x(), point.y())) {
+            return false;
+        }
+        // Сравниваем квадраты расстояний, чтобы не вычислять корень
+        double dx = point.x() - center.x();
+        double dy = point.y() - center.y();
+        return dx * dx + dy * dy <= squaredRadius; // Проверка на принадлежность точки кругу
+    }
+
+    @Override
+    public void containsPoints(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        PointBatch.checkRange(xs, ys, from, to, bitsOut);
+        double cx = center.x();
+        double cy = center.y();
+        for (int start = from; start < to; ) {
+            int end = PointBatch.blockEnd(start, to);
+            long bits = 0;
+            for (int i = start; i < end; i++) {
+                double dx = xs[i] - cx;
+                double dy = ys[i] - cy;
+                bits |= (bounds.contains(xs[i], ys[i]) & dx * dx + dy * dy <= squaredRadius ? 1L : 0L) << i;
+            }
+            PointBatch.store(bitsOut, start, end, bits);
+            start = end;
+        }
+    }
+
+    @Override
+    public Circle rotate(Point center, double angle) {
+        return transform(AffineTransform.rotation(center, angle));
     }
 
     @Override
-    public Shape rotate(Point center, double angle) {
-        return new Circle(this.center.rotate(center, angle), radius);
+    public Circle reflect(Point center) {
+        return transform(AffineTransform.reflection(center));
     }
 
     @Override
-    public Shape reflect(Point center) {
-        return new Circle(this.center.reflect(center), radius);
+    public Circle reflect(Line axis) {
+        return transform(AffineTransform.reflection(axis));
     }
 
     @Override
-    public Shape reflect(Line axis) {
-        return new Circle(this.center.reflect(axis), radius);
+    public Circle scale(Point center, double coefficient) {
+        return transform(AffineTransform.scaling(center, coefficient));
     }
 
     @Override
-    public Shape scale(Point center, double coefficient) {
-        return new Circle(this.center.scale(center, coefficient), radius * coefficient);
+    public Circle transform(AffineTransform transform) {
+        // Подобие переводит круг в круг: достаточно преобразовать центр и умножить радиус на коэффициент
+        return new Circle(transform.apply(center), radius * transform.scaleFactor());
     }
 }
@@ -0,0 +1,189 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Predicates;
+
+import java.util.Arrays;
+
+/**
+ * Веер треугольников выпуклого многоугольника с общей вершиной в первой (самой левой и нижней) вершине.
+ * <p>
+ * Остальные вершины хранятся в порядке обхода против часовой стрелки, поэтому их полярные углы
+ * относительно корня монотонно возрастают в пределах полуплоскости x &gt;= x0. Проверка принадлежности
+ * точки сводится к бинарному поиску клина, в который она попадает, и одной проверке стороны относительно
+ * противолежащей грани: O(log n) без выделения памяти. Стороны определяются точными предикатами
+ * ({@link Predicates#orient2d}), поэтому точки вблизи лучей веера и граней не классифицируются неверно.
+ * Точки границы классифицируются так же, как в {@link Predicates#ringContains}: правая и верхняя границы
+ * многоугольнику не принадлежат, левая и нижняя — принадлежат.
+ * </p>
+ */
+final class ConvexFan {
+    /**
+     * Признак того, что многоугольник невыпуклый и веер построить нельзя.
+     */
+    static final ConvexFan NONE = new ConvexFan(0, 0, new double[0], 0, 0);
+
+    private final double rootX;
+    private final double rootY;
+    private final double[] points; // Вершины, кроме корня: x1, y1, x2, y2, ...
+    // Самые дальние от корня вершины на первом и последнем лучах: подряд идущие вершины
+    // могут лежать на одной прямой с корнем, и тогда клинья между ними вырождены
+    private final int firstEnd;
+    private final int lastEnd;
+
+    private ConvexFan(double rootX, double rootY, double[] points, int firstEnd, int lastEnd) {
+        this.rootX = rootX;
+        this.rootY = rootY;
+        this.points = points;
+        this.firstEnd = firstEnd;
+        this.lastEnd = lastEnd;
+    }
+
+    /**
+     * Строит веер по нормализованным координатам многоугольника.
+     *
+     * @param coords координаты вершин подряд, первая вершина — самая левая и нижняя, обход против часовой стрелки
+     * @return веер или {@link #NONE}, если многоугольник не является выпуклым и невырожденным
+     */
+    static ConvexFan build(double[] coords) {
+        double rootX = coords[0];
+        double rootY = coords[1];
+
+        // Отбрасываем вершины, совпадающие с корнем и повторяющиеся подряд
+        double[] points = new double[coords.length - 2];
+        int size = 0;
+        for (int i = 2; i < coords.length; i += 2) {
+            double x = coords[i];
+            double y = coords[i + 1];
+            boolean isRoot = x == rootX && y == rootY;
+            boolean isRepeat = size > 0 && x == points[size - 2] && y == points[size - 1];
+            if (!isRoot && !isRepeat) {
+                points[size++] = x;
+                points[size++] = y;
+            }
+        }
+        if (size < 4) {
+            return NONE;
+        }
+
+        // Все повороты должны быть левыми (или нулевыми), а полярные углы вершин — неубывающими,
+        // иначе это не выпуклый многоугольник (например, самопересекающаяся звезда)
+        boolean hasTurn = false;
+        double previousX = rootX;
+        double previousY = rootY;
+        for (int i = 0; i < size; i += 2) {
+            double x = points[i];
+            double y = points[i + 1];
+            double nextX = i + 2 < size ? points[i + 2] : rootX;
+            double nextY = i + 2 < size ? points[i + 3] : rootY;
+            int turn = Predicates.orientation(previousX, previousY, x, y, nextX, nextY);
+            if (turn < 0) {
+                return NONE;
+            }
+            hasTurn |= turn > 0;
+            if (i + 2 < size && Predicates.orientation(rootX, rootY, x, y, nextX, nextY) < 0) {
+                return NONE;
+            }
+            previousX = x;
+            previousY = y;
+        }
+        if (!hasTurn) {
+            return NONE;
+        }
+
+        int firstEnd = 0;
+        while (firstEnd + 2 < size
+                && Predicates.orientation(rootX, rootY, points[0], points[1], points[firstEnd + 2], points[firstEnd + 3]) == 0) {
+            firstEnd += 2;
+        }
+        int lastEnd = size - 2;
+        while (lastEnd > 0 && Predicates.orientation(rootX, rootY, points[size - 2], points[size - 1],
+                points[lastEnd - 2], points[lastEnd - 1]) == 0) {
+            lastEnd -= 2;
+        }
+        return new ConvexFan(rootX, rootY, size == points.length ? points : Arrays.copyOf(points, size),
+                firstEnd, lastEnd);
+    }
+
+    /**
+     * Проверяет принадлежность точки многоугольнику по правилу {@link Predicates#ringContains}.
+     *
+     * @param x координата x точки
+     * @param y координата y точки
+     * @return true, если точка лежит внутри или на левой или нижней границе
+     */
+    boolean contains(double x, double y) {
+        if (x < rootX) {
+            return false; // Корень — самая левая вершина
+        }
+
+        // Точка должна лежать между первым и последним лучами веера
+        int last = points.length - 2;
+        double first = Predicates.orient2d(rootX, rootY, points[0], points[1], x, y);
+        double closing = Predicates.orient2d(rootX, rootY, points[last], points[last + 1], x, y);
+        if (first < 0 || closing > 0) {
+            return false;
+        }
+
+        // Крайние лучи идут по граням: точка на одном из них лежит на границе, если не дальше крайней вершины.
+        // Дальше она решается так же, как в Predicates.ringContains: внутри, только если каждая содержащая ее
+        // грань идет вниз или горизонтально вправо, то есть лежит на левой или нижней части контура
+        if (first == 0 || closing == 0) {
+            boolean inside = true;
+            if (first == 0) {
+                int end = firstEnd;
+                inside = isBetween(x, y, points[end], points[end + 1])
+                        && isLeftOrBottom(rootX, rootY, points[0], points[1]);
+                if (x == points[end] && y == points[end + 1]) {
+                    // Крайняя вершина луча лежит и на следующей грани
+                    inside &= isLeftOrBottom(points[end], points[end + 1], points[end + 2], points[end + 3]);
+                }
+            }
+            if (closing == 0) {
+                int end = lastEnd;
+                inside &= isBetween(x, y, points[end], points[end + 1])
+                        && isLeftOrBottom(points[last], points[last + 1], rootX, rootY);
+                if (x == points[end] && y == points[end + 1]) {
+                    inside &= isLeftOrBottom(points[end - 2], points[end - 1], points[end], points[end + 1]);
+                }
+            }
+            return inside;
+        }
+
+        // Ищем последний луч, слева от которого (или на котором) лежит точка. Точка строго между крайними
+        // лучами, поэтому следующий луч лежит строго левее нее и клин не вырожден
+        int low = 0;
+        int high = last / 2 - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            int i = 2 * middle;
+            if (Predicates.orient2d(rootX, rootY, points[i], points[i + 1], x, y) >= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        // Точка внутри клина; проверяем, что она не дальше грани, замыкающей клин
+        int i = 2 * low;
+        double side = Predicates.orient2d(points[i], points[i + 1], points[i + 2], points[i + 3], x, y);
+        if (side != 0) {
+            return side > 0;
+        }
+        boolean inside = isLeftOrBottom(points[i], points[i + 1], points[i + 2], points[i + 3]);
+        if (x == points[i] && y == points[i + 1]) {
+            // Вершина клина лежит и на предыдущей грани
+            inside &= isLeftOrBottom(points[i - 2], points[i - 1], points[i], points[i + 1]);
+        }
+        return inside;
+    }
+
+    // Точка на луче из корня лежит не дальше вершины (endX, endY) того же луча
+    private boolean isBetween(double x, double y, double endX, double endY) {
+        return x <= Math.max(rootX, endX) && y >= Math.min(rootY, endY) && y <= Math.max(rootY, endY);
+    }
+
+    // Грань, обходимая против часовой стрелки, лежит на левой или нижней части контура
+    private static boolean isLeftOrBottom(double x1, double y1, double x2, double y2) {
+        return y2 < y1 || (y2 == y1 && x2 > x1);
+    }
+}
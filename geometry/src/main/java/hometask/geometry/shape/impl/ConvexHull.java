@@ -0,0 +1,341 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Построение выпуклой оболочки больших наборов точек.
+ * <p>
+ * Алгоритм в три шага:
+ * <ol>
+ *     <li>Находятся крайние точки в восьми направлениях (по x, y, x + y и x - y). Точки строго внутри
+ *     образованного ими восьмиугольника не могут быть вершинами оболочки и отбрасываются (эвристика
+ *     Акла — Туссена); для равномерных облаков точек остается доля процента исходного набора.</li>
+ *     <li>Набор делится на части, для оставшихся точек каждой части строится оболочка алгоритмом
+ *     Эндрю (монотонные цепочки), а оболочки соседних частей попарно объединяются.</li>
+ *     <li>Оба шага выполняются параллельно в общем пуле fork/join.</li>
+ * </ol>
+ * Алгоритм Эндрю выдает вершины против часовой стрелки начиная с самой левой и нижней — ровно в том
+ * порядке, к которому {@link Polygon} приводит вершины, поэтому результат не копируется и не переупорядочивается.
+ * Точки, лежащие на сторонах оболочки, вершинами не считаются.
+ * </p>
+ */
+public final class ConvexHull {
+    // Размер части, которая обрабатывается одним потоком без дальнейшего деления
+    private static final int LEAF_SIZE = 1 << 15;
+
+    private ConvexHull() {
+    }
+
+    /**
+     * Строит выпуклую оболочку набора точек.
+     *
+     * @param points точки
+     * @return выпуклый многоугольник
+     * @throws IllegalArgumentException если все точки лежат на одной прямой
+     */
+    public static Polygon of(Point... points) {
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].x();
+            ys[i] = points[i].y();
+        }
+        return of(xs, ys);
+    }
+
+    /**
+     * Строит выпуклую оболочку точек (xs[i], ys[i]).
+     *
+     * @param xs координаты x точек
+     * @param ys координаты y точек
+     * @return выпуклый многоугольник
+     * @throws IllegalArgumentException если массивы разной длины или все точки лежат на одной прямой
+     */
+    public static Polygon of(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length.");
+        }
+        int n = xs.length;
+        if (n < 3) {
+            throw new IllegalArgumentException("Convex hull requires at least 3 points.");
+        }
+
+        int[] extremes = run(new ExtremesTask(xs, ys, 0, n), n);
+        Octagon filter = Octagon.of(octagon(xs, ys, extremes));
+        double[] hull = run(new HullTask(xs, ys, filter, 0, n), n);
+        if (hull.length < 6) {
+            throw new IllegalArgumentException("Convex hull is degenerate: all points are collinear.");
+        }
+        return new Polygon(hull, false);
+    }
+
+    // Небольшие наборы обрабатываются в текущем потоке
+    private static <T> T run(RecursiveTask<T> task, int n) {
+        return n <= LEAF_SIZE ? task.invoke() : ForkJoinPool.commonPool().invoke(task);
+    }
+
+    // Номера крайних точек в восьми направлениях, перечисленных против часовой стрелки начиная с -x:
+    // min x, min (x + y), min y, max (x - y), max x, max (x + y), max y, min (x - y)
+    @SuppressWarnings("serial")
+    private static final class ExtremesTask extends RecursiveTask<int[]> {
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+
+        ExtremesTask(double[] xs, double[] ys, int from, int to) {
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                int[] result = new int[8];
+                Arrays.fill(result, from);
+                for (int i = from + 1; i < to; i++) {
+                    update(result, i);
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            ExtremesTask left = new ExtremesTask(xs, ys, from, middle);
+            left.fork();
+            int[] result = new ExtremesTask(xs, ys, middle, to).compute();
+            for (int i : left.join()) {
+                update(result, i);
+            }
+            return result;
+        }
+
+        private void update(int[] result, int i) {
+            double x = xs[i];
+            double y = ys[i];
+            if (x < xs[result[0]]) result[0] = i;
+            if (x + y < xs[result[1]] + ys[result[1]]) result[1] = i;
+            if (y < ys[result[2]]) result[2] = i;
+            if (x - y > xs[result[3]] - ys[result[3]]) result[3] = i;
+            if (x > xs[result[4]]) result[4] = i;
+            if (x + y > xs[result[5]] + ys[result[5]]) result[5] = i;
+            if (y > ys[result[6]]) result[6] = i;
+            if (x - y < xs[result[7]] - ys[result[7]]) result[7] = i;
+        }
+    }
+
+    // Вершины восьмиугольника без повторов подряд; пустой массив, если он вырожден и фильтровать нечем
+    private static double[] octagon(double[] xs, double[] ys, int[] extremes) {
+        double[] result = new double[16];
+        int size = 0;
+        for (int index : extremes) {
+            double x = xs[index];
+            double y = ys[index];
+            if (size > 0 && x == result[size - 2] && y == result[size - 1]) {
+                continue;
+            }
+            result[size++] = x;
+            result[size++] = y;
+        }
+        if (size > 2 && result[0] == result[size - 2] && result[1] == result[size - 1]) {
+            size -= 2;
+        }
+        return size >= 6 ? Arrays.copyOf(result, size) : new double[0];
+    }
+
+    /**
+     * Фильтр Акла — Туссена: выпуклый многоугольник из крайних точек, вершины против часовой стрелки.
+     * <p>
+     * Точка отбрасывается, только если она заведомо строго внутри: векторное произведение для каждой
+     * стороны, вычисленное обычной арифметикой, должно превышать margin — оценку его погрешности для
+     * точек внутри ограничивающего прямоугольника. Сомнительные точки остаются и проверяются точно
+     * при построении оболочки, а сам фильтр стоит столько же, сколько прямая формула.
+     * </p>
+     */
+    private record Octagon(double[] vertices, double minX, double minY, double maxX, double maxY, double margin) {
+        private static final Octagon EMPTY = new Octagon(new double[0], 0, 0, 0, 0, 0);
+
+        static Octagon of(double[] vertices) {
+            if (vertices.length == 0) {
+                return EMPTY;
+            }
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < vertices.length; i += 2) {
+                minX = Math.min(minX, vertices[i]);
+                minY = Math.min(minY, vertices[i + 1]);
+                maxX = Math.max(maxX, vertices[i]);
+                maxY = Math.max(maxY, vertices[i + 1]);
+            }
+            // Разности координат внутри прямоугольника не больше size, каждое округление вносит не больше
+            // половины ulp(1) от своего результата; множитель 16 — с большим запасом
+            double size = Math.max(maxX - minX, maxY - minY);
+            return new Octagon(vertices, minX, minY, maxX, maxY, 16 * Math.ulp(1.0) * size * size);
+        }
+
+        boolean strictlyContains(double x, double y) {
+            if (!(x > minX && x < maxX && y > minY && y < maxY)) {
+                return false;
+            }
+            double x1 = vertices[vertices.length - 2];
+            double y1 = vertices[vertices.length - 1];
+            for (int i = 0; i < vertices.length; i += 2) {
+                double x2 = vertices[i];
+                double y2 = vertices[i + 1];
+                if ((x2 - x1) * (y - y1) - (y2 - y1) * (x - x1) <= margin) {
+                    return false;
+                }
+                x1 = x2;
+                y1 = y2;
+            }
+            return true;
+        }
+    }
+
+    // Оболочка части набора: фильтрация, затем алгоритм Эндрю; части объединяются попарно
+    @SuppressWarnings("serial")
+    private static final class HullTask extends RecursiveTask<double[]> {
+        private final double[] xs;
+        private final double[] ys;
+        private final Octagon filter;
+        private final int from;
+        private final int to;
+
+        HullTask(double[] xs, double[] ys, Octagon filter, int from, int to) {
+            this.xs = xs;
+            this.ys = ys;
+            this.filter = filter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                double[] points = new double[2 * (to - from)];
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    if (!filter.strictlyContains(xs[i], ys[i])) {
+                        points[2 * count] = xs[i];
+                        points[2 * count + 1] = ys[i];
+                        count++;
+                    }
+                }
+                return monotoneChain(points, count);
+            }
+            int middle = (from + to) >>> 1;
+            HullTask left = new HullTask(xs, ys, filter, from, middle);
+            left.fork();
+            double[] right = new HullTask(xs, ys, filter, middle, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    // Оболочка объединения двух выпуклых многоугольников — оболочка их вершин
+    private static double[] merge(double[] first, double[] second) {
+        double[] points = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, points, first.length, second.length);
+        return monotoneChain(points, points.length / 2);
+    }
+
+    /**
+     * Алгоритм Эндрю: сортирует первые count точек массива и возвращает вершины оболочки против часовой
+     * стрелки начиная с самой левой и нижней. Для точек на одной прямой возвращаются два конца отрезка.
+     */
+    static double[] monotoneChain(double[] points, int count) {
+        if (count < 2) {
+            return Arrays.copyOf(points, 2 * count);
+        }
+        sort(points, 0, count);
+
+        double[] hull = new double[4 * count];
+        int k = 0;
+        // Нижняя цепочка слева направо
+        for (int i = 0; i < count; i++) {
+            k = push(hull, k, 2, points[2 * i], points[2 * i + 1]);
+        }
+        // Верхняя цепочка справа налево
+        int lower = k + 1;
+        for (int i = count - 2; i >= 0; i--) {
+            k = push(hull, k, lower, points[2 * i], points[2 * i + 1]);
+        }
+        // Последняя вершина совпадает с первой
+        return Arrays.copyOf(hull, 2 * (k - 1));
+    }
+
+    // Добавляет точку в цепочку из k вершин, убирая вершины без левого поворота (но не короче minimum - 1)
+    private static int push(double[] hull, int k, int minimum, double x, double y) {
+        while (k >= minimum) {
+            double ax = hull[2 * k - 4];
+            double ay = hull[2 * k - 3];
+            double bx = hull[2 * k - 2];
+            double by = hull[2 * k - 1];
+            if (Predicates.orient2d(ax, ay, bx, by, x, y) > 0) {
+                break;
+            }
+            k--;
+        }
+        hull[2 * k] = x;
+        hull[2 * k + 1] = y;
+        return k + 1;
+    }
+
+    // Быстрая сортировка точек [from, to) массива x0, y0, x1, y1, ... по x, затем по y
+    private static void sort(double[] points, int from, int to) {
+        while (to - from > 16) {
+            int middle = (from + to) >>> 1;
+            if (less(points, middle, from)) swap(points, middle, from);
+            if (less(points, to - 1, from)) swap(points, to - 1, from);
+            if (less(points, to - 1, middle)) swap(points, to - 1, middle);
+            double pivotX = points[2 * middle];
+            double pivotY = points[2 * middle + 1];
+
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (compare(points[2 * i], points[2 * i + 1], pivotX, pivotY) < 0) i++;
+                while (compare(points[2 * j], points[2 * j + 1], pivotX, pivotY) > 0) j--;
+                if (i <= j) {
+                    swap(points, i++, j--);
+                }
+            }
+            // Рекурсия по меньшей части ограничивает глубину стека логарифмом
+            if (j + 1 - from < to - i) {
+                sort(points, from, j + 1);
+                from = i;
+            } else {
+                sort(points, i, to);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && less(points, j, j - 1); j--) {
+                swap(points, j, j - 1);
+            }
+        }
+    }
+
+    private static int compare(double x1, double y1, double x2, double y2) {
+        return x1 != x2 ? (x1 < x2 ? -1 : 1) : Double.compare(y1, y2);
+    }
+
+    private static boolean less(double[] points, int i, int j) {
+        return compare(points[2 * i], points[2 * i + 1], points[2 * j], points[2 * j + 1]) < 0;
+    }
+
+    private static void swap(double[] points, int i, int j) {
+        double x = points[2 * i];
+        double y = points[2 * i + 1];
+        points[2 * i] = points[2 * j];
+        points[2 * i + 1] = points[2 * j + 1];
+        points[2 * j] = x;
+        points[2 * j + 1] = y;
+    }
+}
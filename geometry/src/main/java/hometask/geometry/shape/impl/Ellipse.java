@@ -0,0 +1,293 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.ShapeSignature;
+
+/**
+ * Класс {@code Ellipse} представляет собой эллипс, определяемый двумя фокусами и суммой расстояний
+ * от любой точки на эллипсе до этих фокусов.
+ */
+public class Ellipse implements Shape {
+    private final Point focusLeft;
+    private final Point focusRight;
+    private final double sumDistance;
+    private final double semiMajorAxis;
+    private final double semiMinorAxis;
+    private final double focalDistance; // Расстояние от центра до фокуса
+    private final Point center;
+    private final Bounds bounds;
+    // Направление большой оси и обратные квадраты полуосей: в повернутых вдоль нее осях
+    // внутренность эллипса задается неравенством u^2 / a^2 + v^2 / b^2 <= 1
+    private final double cos;
+    private final double sin;
+    private final double inverseA2;
+    private final double inverseB2;
+    private final boolean flat; // Эллипс вырожден в отрезок или точку, и форма не определена
+    private volatile Directrices directrices; // Вычисляются лениво при первом обращении
+
+    public Ellipse(Point focusLeft, Point focusRight, double sumDistance) {
+        this.focusLeft = focusLeft;
+        this.focusRight = focusRight;
+        this.sumDistance = sumDistance;
+        this.semiMajorAxis = sumDistance / 2;
+
+        double distance = Math.hypot(focusRight.x() - focusLeft.x(), focusRight.y() - focusLeft.y());
+        double c = distance / 2;
+
+        if (sumDistance < distance) {
+            throw new IllegalArgumentException("Сумма расстояний должна быть больше расстояния между фокусами.");
+        }
+
+        // Разность квадратов через произведение: у вытянутого эллипса a^2 - c^2 теряет почти все знаки
+        this.semiMinorAxis = Math.sqrt((semiMajorAxis - c) * (semiMajorAxis + c));
+        this.focalDistance = c;
+        this.center = new Point((focusLeft.x() + focusRight.x()) / 2, (focusLeft.y() + focusRight.y()) / 2);
+
+        // Полуширина повернутого эллипса равна sqrt(a^2 cos^2 θ + b^2 sin^2 θ), где θ — угол большой оси.
+        // Так как b^2 = a^2 - c^2, а c * sin θ — половина вертикального расстояния между фокусами,
+        // подкоренное выражение равно a^2 - (dy / 2)^2; для полувысоты — симметрично
+        double halfDx = (focusRight.x() - focusLeft.x()) / 2;
+        double halfDy = (focusRight.y() - focusLeft.y()) / 2;
+        double halfWidth = Math.sqrt(Math.max(0, semiMajorAxis * semiMajorAxis - halfDy * halfDy));
+        double halfHeight = Math.sqrt(Math.max(0, semiMajorAxis * semiMajorAxis - halfDx * halfDx));
+        this.bounds = new Bounds(center.x() - halfWidth, center.y() - halfHeight,
+                center.x() + halfWidth, center.y() + halfHeight);
+
+        // Форма не раскрывается в коэффициенты от dx и dy: у вытянутого эллипса слагаемые с 1 / b^2
+        // почти сокращаются, и точки на отрезке между фокусами оказывались снаружи
+        this.cos = c > 0 ? halfDx / c : 1;
+        this.sin = c > 0 ? halfDy / c : 0;
+        this.inverseA2 = 1 / (semiMajorAxis * semiMajorAxis);
+        this.inverseB2 = 1 / (semiMinorAxis * semiMinorAxis);
+        this.flat = !Double.isFinite(inverseB2);
+    }
+
+    /**
+     * Возвращает фокусы эллипса.
+     *
+     * @return Объект {@code Focuses}, содержащий левый и правый фокусы эллипса.
+     */
+    public Focuses focuses() {
+        return new Focuses(focusLeft, focusRight);
+    }
+
+    /**
+     * Вычисляет и возвращает директрисы эллипса.
+     *
+     * @return Объект {@code Directrices}, содержащий две директрисы эллипса.
+     */
+    public Directrices directrices() {
+        Directrices result = directrices;
+        if (result == null) {
+            result = calculateDirectrices();
+            directrices = result;
+        }
+        return result;
+    }
+
+    private Directrices calculateDirectrices() {
+        double a = semiMajorAxis;
+        double c = focalDistance;
+
+        double angle = Math.atan2(focusRight.y() - focusLeft.y(), focusRight.x() - focusLeft.x());
+        double cosAngle = Math.cos(angle);
+        double sinAngle = Math.sin(angle);
+
+        // Директрисы перпендикулярны большой оси и отстоят от центра на a^2 / c
+        double directrixDistance = (a * a) / c;
+        Point left = center.translate(-directrixDistance * cosAngle, -directrixDistance * sinAngle);
+        Point right = center.translate(directrixDistance * cosAngle, directrixDistance * sinAngle);
+        Line directrix1 = new Line(left, left.translate(-sinAngle, cosAngle));
+        Line directrix2 = new Line(right, right.translate(-sinAngle, cosAngle));
+
+        return new Directrices(directrix1, directrix2);
+    }
+
+    /**
+     * Вычисляет и возвращает эксцентриситет эллипса.
+     *
+     * @return Эксцентриситет эллипса, определяемый как отношение расстояния от центра до фокуса
+     *         к полуосевой большой.
+     */
+    public double eccentricity() {
+        return focalDistance / semiMajorAxis;
+    }
+
+    /**
+     * Возвращает центр эллипса.
+     *
+     * @return Объект {@code Point}, представляющий центр эллипса.
+     */
+    public Point center() {
+        return center;
+    }
+
+    @Override
+    public double perimeter() {
+        double a = semiMajorAxis;
+        double b = semiMinorAxis;
+        return Math.PI * (3 * (a + b) - Math.sqrt((3 * a + b) * (a + 3 * b)));
+    }
+
+    @Override
+    public double area() {
+        return Math.PI * semiMajorAxis * semiMinorAxis; // Площадь эллипса
+    }
+
+    @Override
+    public boolean equals(Shape another) {
+        if (this == another) return true;
+        if (!(another instanceof Ellipse)) return false;
+        Ellipse otherEllipse = (Ellipse) another;
+        return focusLeft.equals(otherEllipse.focusLeft) &&
+                focusRight.equals(otherEllipse.focusRight) &&
+                Double.compare(sumDistance, otherEllipse.sumDistance) == 0;
+    }
+
+    @Override
+    public boolean isCongruentTo(Shape another) {
+        if (!(another instanceof Ellipse)) return false;
+        Ellipse other = (Ellipse) another;
+        return semiMajorAxis == other.semiMajorAxis && semiMinorAxis == other.semiMinorAxis;
+    }
+
+    @Override
+    public boolean isSimilarTo(Shape another) {
+        if (!(another instanceof Ellipse)) return false;
+        Ellipse other = (Ellipse) another;
+        return (semiMajorAxis / semiMinorAxis) == (other.semiMajorAxis / other.semiMinorAxis);
+    }
+
+    @Override
+    public ShapeSignature congruenceSignature() {
+        return new ShapeSignature(ShapeSignature.Kind.ELLIPSE,
+                ShapeSignature.quantize(semiMajorAxis), ShapeSignature.quantize(semiMinorAxis));
+    }
+
+    @Override
+    public ShapeSignature similaritySignature() {
+        // Форма эллипса определяется отношением полуосей
+        return new ShapeSignature(ShapeSignature.Kind.ELLIPSE, ShapeSignature.quantize(semiMinorAxis / semiMajorAxis));
+    }
+
+    @Override
+    public Bounds bounds() {
+        return bounds;
+    }
+
+    @Override
+    public boolean containsPoint(Point point) {
+        double x = point.x();
+        double y = point.y();
+        return bounds.contains(x, y) && inside(x, y);
+    }
+
+    @Override
+    public void containsPoints(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        PointBatch.checkRange(xs, ys, from, to, bitsOut);
+        double cx = center.x();
+        double cy = center.y();
+        for (int start = from; start < to; ) {
+            int end = PointBatch.blockEnd(start, to);
+            long bits = 0;
+            if (flat) {
+                for (int i = start; i < end; i++) {
+                    bits |= (bounds.contains(xs[i], ys[i]) && inside(xs[i], ys[i]) ? 1L : 0L) << i;
+                }
+            } else {
+                for (int i = start; i < end; i++) {
+                    // Без короткого замыкания: форма дешевле непредсказуемого перехода
+                    double dx = xs[i] - cx;
+                    double dy = ys[i] - cy;
+                    double u = dx * cos + dy * sin;
+                    double v = dy * cos - dx * sin;
+                    boolean inForm = u * u * inverseA2 + v * v * inverseB2 <= 1;
+                    bits |= (bounds.contains(xs[i], ys[i]) & inForm ? 1L : 0L) << i;
+                }
+            }
+            PointBatch.store(bitsOut, start, end, bits);
+            start = end;
+        }
+    }
+
+    // Принадлежность точки эллипсу по квадратичной форме — несколько умножений и сложений вместо двух
+    // корней. Для вырожденного эллипса форма не определена, и проверяется сумма расстояний до фокусов
+    private boolean inside(double x, double y) {
+        if (flat) {
+            return focalSum(x, y) <= sumDistance;
+        }
+        double dx = x - center.x();
+        double dy = y - center.y();
+        double u = dx * cos + dy * sin;
+        double v = dy * cos - dx * sin;
+        return u * u * inverseA2 + v * v * inverseB2 <= 1;
+    }
+
+    // Сумма расстояний от точки до фокусов. Math.hypot защищает от переполнения, которое здесь
+    // невозможно на практике, но заметно медленнее, поэтому корень считается напрямую
+    private double focalSum(double x, double y) {
+        double leftX = x - focusLeft.x();
+        double leftY = y - focusLeft.y();
+        double rightX = x - focusRight.x();
+        double rightY = y - focusRight.y();
+        return Math.sqrt(leftX * leftX + leftY * leftY) + Math.sqrt(rightX * rightX + rightY * rightY);
+    }
+
+    @Override
+    public Shape rotate(Point center, double angle) {
+        return new Ellipse(focusLeft.rotate(center, angle), focusRight.rotate(center, angle), sumDistance);
+    }
+
+    @Override
+    public Shape reflect(Point center) {
+        return new Ellipse(focusLeft.reflect(center), focusRight.reflect(center), sumDistance);
+    }
+
+    @Override
+    public Shape reflect(Line axis) {
+        return new Ellipse(focusLeft.reflect(axis), focusRight.reflect(axis), sumDistance);
+    }
+
+    @Override
+    public Shape scale(Point center, double coefficient) {
+        // Сумма расстояний до фокусов масштабируется вместе с фокусами
+        return transform(AffineTransform.scaling(center, coefficient));
+    }
+
+    @Override
+    public Ellipse transform(AffineTransform transform) {
+        // Подобие переводит эллипс в эллипс с образами фокусов; все расстояния умножаются на коэффициент
+        return new Ellipse(transform.apply(focusLeft), transform.apply(focusRight),
+                sumDistance * transform.scaleFactor());
+    }
+
+    public record Focuses(Point left, Point right) {
+    }
+
+    public record Directrices(Line first, Line second) {
+    }
+
+    public Point focusLeft() {
+        return focusLeft;
+    }
+
+    public Point focusRight() {
+        return focusRight;
+    }
+
+    public double sumDistance() {
+        return sumDistance;
+    }
+
+    public double semiMajorAxis() {
+        return semiMajorAxis;
+    }
+
+    public double semiMinorAxis() {
+        return semiMinorAxis;
+    }
+}
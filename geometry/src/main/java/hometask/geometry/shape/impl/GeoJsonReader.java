@@ -0,0 +1,271 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Потоковый парсер фигур в формате GeoJSON.
+ * <p>
+ * Вход — коллекция {@code FeatureCollection}, отдельные объекты {@code Feature} или геометрии, а также
+ * их последовательность (например, по одному объекту на строку). Фигуры возвращаются по одной методом
+ * {@link #next()}: массив {@code features} не загружается целиком, а разбирается по мере чтения.
+ * Свойства объектов и прочие неизвестные поля пропускаются без сохранения.
+ * </p>
+ * <p>
+ * Поддерживаются геометрии:
+ * <ul>
+ *     <li>{@code Polygon} без дыр; координаты после второй (высота) отбрасываются;</li>
+ *     <li>{@code Circle} — расширение формата для кругов:
+ *     {@code {"type": "Circle", "coordinates": [x, y], "radius": r}}.</li>
+ * </ul>
+ * Объекты {@code Feature} без геометрии ({@code "geometry": null}) пропускаются. Координаты разбираются
+ * прямо из буфера символов в массив double без создания строк и объектов {@link Point}, поэтому
+ * объем памяти не зависит от размера входа.
+ * </p>
+ */
+public final class GeoJsonReader implements Closeable {
+    private final CharSource source;
+    private final Reader reader;
+    private boolean inFeatures;    // Разбирается массив features коллекции верхнего уровня
+    private boolean firstFeature;  // Следующий элемент массива features — первый
+
+    // Координаты последнего прочитанного поля coordinates
+    private double[] coords = new double[64];
+    private int positionCount;    // Число позиций (вершин)
+    private int positionDepth;    // Глубина вложенности массивов позиций: 1 для точки, 3 для многоугольника
+    private int groupCount;       // Число массивов позиций (колец многоугольника)
+
+    /**
+     * Конструктор для чтения из потока символов.
+     *
+     * @param reader поток символов; закрывается методом {@link #close()}
+     */
+    public GeoJsonReader(Reader reader) {
+        this.source = new CharSource(reader);
+        this.reader = reader;
+    }
+
+    /**
+     * Конструктор для чтения из буфера символов; буфер читается от текущей позиции до конца.
+     *
+     * @param chars буфер символов
+     */
+    public GeoJsonReader(CharBuffer chars) {
+        this.source = new CharSource(chars);
+        this.reader = null;
+    }
+
+    /**
+     * Читает следующую фигуру.
+     *
+     * @return фигура или null, если вход закончился
+     * @throws IOException              при ошибке чтения
+     * @throws IllegalArgumentException если текст не соответствует формату или геометрия не поддерживается
+     */
+    public Shape next() throws IOException {
+        while (true) {
+            int c = source.skipWhitespace();
+            if (inFeatures) {
+                if (c == ']') {
+                    source.read();
+                    inFeatures = false;
+                    finishObject();
+                    continue;
+                }
+                if (!firstFeature) {
+                    source.expect(',');
+                }
+                firstFeature = false;
+                Shape shape = readObject(false);
+                if (shape != null) {
+                    return shape;
+                }
+                continue;
+            }
+            if (c < 0) {
+                return null;
+            }
+            Shape shape = readObject(true);
+            if (shape != null) {
+                return shape;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    /**
+     * Читает объект: геометрию, Feature или коллекцию. Для коллекции верхнего уровня чтение останавливается
+     * на первом элементе массива features и возвращается null; остальные поля дочитывает {@link #finishObject()}.
+     */
+    private Shape readObject(boolean topLevel) throws IOException {
+        source.expect('{');
+        String type = null;
+        boolean hasCoordinates = false;
+        double radius = Double.NaN;
+        Shape geometry = null;
+
+        int c = source.skipWhitespace();
+        if (c == '}') {
+            source.read();
+            return null;
+        }
+        while (true) {
+            String key = source.readString();
+            source.expect(':');
+            switch (key) {
+                case "type" -> type = source.readString();
+                case "coordinates" -> {
+                    readCoordinates();
+                    hasCoordinates = true;
+                }
+                case "radius" -> radius = source.readNumber();
+                case "geometry" -> {
+                    if (source.skipWhitespace() == '{') {
+                        geometry = readObject(false);
+                    } else {
+                        source.skipValue();
+                    }
+                }
+                case "features" -> {
+                    if (topLevel) {
+                        source.expect('[');
+                        if (source.skipWhitespace() != ']') {
+                            inFeatures = true;
+                            firstFeature = true;
+                            return null;
+                        }
+                        source.read();
+                    } else {
+                        source.skipValue();
+                    }
+                }
+                default -> source.skipValue();
+            }
+            c = source.skipWhitespace();
+            source.read();
+            if (c == '}') {
+                break;
+            }
+            if (c != ',') {
+                throw source.error("Expected ',' or '}'", c);
+            }
+            source.skipWhitespace();
+        }
+
+        if (type == null) {
+            throw new IllegalArgumentException("GeoJSON object without type before offset " + source.offset() + ".");
+        }
+        return switch (type) {
+            case "Feature" -> geometry;
+            case "FeatureCollection" -> null;
+            case "Polygon" -> {
+                if (!hasCoordinates || positionDepth != 3 || positionCount < 3) {
+                    throw new IllegalArgumentException("Invalid Polygon coordinates before offset " + source.offset() + ".");
+                }
+                if (groupCount > 1) {
+                    throw new IllegalArgumentException("Polygon holes are not supported (offset " + source.offset() + ").");
+                }
+                yield Polygon.ofRing(coords, positionCount);
+            }
+            case "Circle" -> {
+                if (!hasCoordinates || positionDepth != 1 || positionCount != 1 || Double.isNaN(radius)) {
+                    throw new IllegalArgumentException("Invalid Circle before offset " + source.offset() + ".");
+                }
+                yield new Circle(new Point(coords[0], coords[1]), radius);
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unsupported GeoJSON type '" + type + "' before offset " + source.offset() + ".");
+        };
+    }
+
+    // Дочитывает поля коллекции после массива features
+    private void finishObject() throws IOException {
+        while (true) {
+            int c = source.skipWhitespace();
+            source.read();
+            if (c == '}') {
+                return;
+            }
+            if (c != ',') {
+                throw source.error("Expected ',' or '}'", c);
+            }
+            source.readString();
+            source.expect(':');
+            source.skipValue();
+        }
+    }
+
+    private void readCoordinates() throws IOException {
+        positionCount = 0;
+        positionDepth = 0;
+        groupCount = 0;
+        readArray(1);
+    }
+
+    // Массив либо из чисел (позиция), либо из массивов
+    private void readArray(int depth) throws IOException {
+        source.expect('[');
+        int c = source.skipWhitespace();
+        if (c == ']') {
+            source.read();
+            return;
+        }
+        if (c != '[') {
+            readPosition(depth);
+            return;
+        }
+        while (true) {
+            readArray(depth + 1);
+            c = source.skipWhitespace();
+            source.read();
+            if (c == ']') {
+                break;
+            }
+            if (c != ',') {
+                throw source.error("Expected ',' or ']'", c);
+            }
+        }
+        if (positionDepth == depth + 1) {
+            groupCount++;
+        }
+    }
+
+    // Позиция: x, y и, возможно, высота, которая отбрасывается
+    private void readPosition(int depth) throws IOException {
+        if (positionDepth == 0) {
+            positionDepth = depth;
+        } else if (positionDepth != depth) {
+            throw source.error("Inconsistent coordinate nesting", source.peek());
+        }
+        if (2 * positionCount == coords.length) {
+            coords = Arrays.copyOf(coords, 2 * coords.length);
+        }
+        coords[2 * positionCount] = source.readNumber();
+        source.expect(',');
+        coords[2 * positionCount + 1] = source.readNumber();
+        positionCount++;
+        while (true) {
+            int c = source.skipWhitespace();
+            source.read();
+            if (c == ']') {
+                return;
+            }
+            if (c != ',') {
+                throw source.error("Expected ',' or ']'", c);
+            }
+            source.readNumber();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.shape.Shape;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Запись фигур в формате GeoJSON, который читает {@link GeoJsonReader}: коллекция {@code FeatureCollection},
+ * в которой каждая фигура — объект {@code Feature} без свойств, по одному на строку.
+ * <p>
+ * Многоугольники (в том числе треугольники и прямоугольники) записываются как {@code Polygon} с замкнутым
+ * кольцом вершин, круги — как расширение {@code {"type": "Circle", "coordinates": [x, y], "radius": r}}.
+ * Коллекция закрывается методом {@link #close()}. Текст накапливается в буфере и передается в поток блоками.
+ * </p>
+ */
+public final class GeoJsonWriter implements Closeable, Flushable {
+    private static final int FLUSH_THRESHOLD = 1 << 14;
+
+    private final Writer writer;
+    private final StringBuilder buffer = new StringBuilder(2 * FLUSH_THRESHOLD);
+    private char[] chars = new char[2 * FLUSH_THRESHOLD];
+    private boolean empty = true;
+
+    /**
+     * Конструктор для записи в поток символов; начало коллекции записывается сразу.
+     *
+     * @param writer поток символов; закрывается методом {@link #close()}
+     */
+    public GeoJsonWriter(Writer writer) {
+        this.writer = writer;
+        buffer.append("{\"type\":\"FeatureCollection\",\"features\":[");
+    }
+
+    /**
+     * Записывает фигуру.
+     *
+     * @param shape фигура
+     * @throws IOException              при ошибке записи
+     * @throws IllegalArgumentException если тип фигуры не поддерживается форматом или среди координат есть
+     *                                  NaN или бесконечность
+     */
+    public void write(Shape shape) throws IOException {
+        Shape unwrapped = shape instanceof PreparedPolygon prepared ? prepared.polygon() : shape;
+        if (unwrapped instanceof Circle circle) {
+            checkFinite(circle.center().x(), circle.center().y(), circle.radius());
+        } else if (unwrapped instanceof Polygon polygon) {
+            checkFinite(polygon.coordinates());
+        } else {
+            throw new IllegalArgumentException("Unsupported shape type for GeoJSON: " + shape.getClass());
+        }
+        buffer.append(empty ? "\n" : ",\n").append("{\"type\":\"Feature\",\"geometry\":");
+        empty = false;
+        if (unwrapped instanceof Circle circle) {
+            buffer.append("{\"type\":\"Circle\",\"coordinates\":[").append(circle.center().x()).append(',')
+                    .append(circle.center().y()).append("],\"radius\":").append(circle.radius()).append('}');
+        } else {
+            double[] coords = ((Polygon) unwrapped).coordinates();
+            buffer.append("{\"type\":\"Polygon\",\"coordinates\":[[");
+            for (int i = 0; i < coords.length; i += 2) {
+                buffer.append('[').append(coords[i]).append(',').append(coords[i + 1]).append("],");
+            }
+            buffer.append('[').append(coords[0]).append(',').append(coords[1]).append("]]]}");
+        }
+        buffer.append(",\"properties\":null}");
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            drain();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        writer.flush();
+    }
+
+    /**
+     * Завершает коллекцию и закрывает поток.
+     *
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.append("\n]}\n");
+        drain();
+        writer.close();
+    }
+
+    // В формате нет записи для NaN и бесконечностей; проверка идет до записи, чтобы не оставить часть фигуры
+    private static void checkFinite(double... values) {
+        for (double value : values) {
+            if (!Double.isFinite(value)) {
+                throw new IllegalArgumentException("Non-finite coordinate cannot be written to GeoJSON: " + value);
+            }
+        }
+    }
+
+    // Передает накопленный текст в поток через массив, без промежуточной строки
+    private void drain() throws IOException {
+        int length = buffer.length();
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        buffer.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,81 @@
+package hometask.geometry.shape.impl;
+
+import java.util.Arrays;
+
+/**
+ * Канонический циклический сдвиг последовательности пар чисел (токенов).
+ * <p>
+ * Последовательность хранится в массиве long[] по два числа на токен. Наименьший в лексикографическом
+ * порядке циклический сдвиг находится алгоритмом Бута за O(n); из сдвигов прямой и обращенной
+ * последовательности выбирается меньший, поэтому результат не зависит ни от начала обхода, ни от его направления.
+ * </p>
+ */
+final class LeastRotation {
+
+    private LeastRotation() {
+    }
+
+    /**
+     * Приводит циклическую последовательность токенов к канонической форме.
+     *
+     * @param forward  токены в порядке обхода
+     * @param backward те же токены в порядке обратного обхода
+     * @return новый массив: наименьший циклический сдвиг среди сдвигов обеих последовательностей
+     */
+    static long[] canonical(long[] forward, long[] backward) {
+        int forwardShift = leastRotation(forward);
+        int backwardShift = leastRotation(backward);
+        boolean useBackward = compareRotations(backward, backwardShift, forward, forwardShift) < 0;
+        return rotate(useBackward ? backward : forward, useBackward ? backwardShift : forwardShift);
+    }
+
+    // Алгоритм Бута: номер токена, с которого начинается наименьший циклический сдвиг
+    static int leastRotation(long[] tokens) {
+        int n = tokens.length / 2;
+        int[] failure = new int[2 * n];
+        Arrays.fill(failure, -1);
+        int k = 0;
+        for (int j = 1; j < 2 * n; j++) {
+            int i = failure[j - k - 1];
+            while (i != -1 && compare(tokens, j % n, (k + i + 1) % n) != 0) {
+                if (compare(tokens, j % n, (k + i + 1) % n) < 0) {
+                    k = j - i - 1;
+                }
+                i = failure[i];
+            }
+            if (i == -1 && compare(tokens, j % n, (k + i + 1) % n) != 0) {
+                if (compare(tokens, j % n, (k + i + 1) % n) < 0) {
+                    k = j;
+                }
+                failure[j - k] = -1;
+            } else {
+                failure[j - k] = i + 1;
+            }
+        }
+        return k % Math.max(n, 1);
+    }
+
+    private static int compare(long[] tokens, int first, int second) {
+        int result = Long.compare(tokens[2 * first], tokens[2 * second]);
+        return result != 0 ? result : Long.compare(tokens[2 * first + 1], tokens[2 * second + 1]);
+    }
+
+    private static int compareRotations(long[] first, int firstShift, long[] second, int secondShift) {
+        int length = first.length;
+        for (int i = 0; i < length; i++) {
+            int result = Long.compare(first[(2 * firstShift + i) % length], second[(2 * secondShift + i) % length]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static long[] rotate(long[] tokens, int shift) {
+        long[] result = new long[tokens.length];
+        int offset = 2 * shift;
+        System.arraycopy(tokens, offset, result, 0, tokens.length - offset);
+        System.arraycopy(tokens, 0, result, tokens.length - offset, offset);
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package hometask.geometry.shape.impl;
+
+import java.util.Objects;
+
+/**
+ * Вспомогательные методы для пакетной проверки точек {@code Shape.containsPoints}.
+ * <p>
+ * Реализации обрабатывают диапазон блоками не длиннее 64 точек, совпадающими со словами битовой маски:
+ * результаты блока накапливаются в локальной переменной и записываются в маску одной операцией.
+ * </p>
+ */
+final class PointBatch {
+
+    private PointBatch() {
+    }
+
+    /**
+     * Проверяет границы диапазона точек и размер битовой маски.
+     *
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массивов
+     */
+    static void checkRange(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        Objects.checkFromToIndex(from, to, Math.min(xs.length, ys.length));
+        if (from < to) {
+            Objects.checkIndex((to - 1) >>> 6, bitsOut.length);
+        }
+    }
+
+    /**
+     * Возвращает конец блока, начинающегося с индекса {@code from}: блок не выходит за слово маски.
+     */
+    static int blockEnd(int from, int to) {
+        return (int) Math.min(to, (from | 63) + 1L);
+    }
+
+    /**
+     * Записывает биты блока [from, end) в маску, не затрагивая остальные биты слова.
+     */
+    static void store(long[] bitsOut, int from, int end, long bits) {
+        long mask = (-1L << from) & (-1L >>> (63 - ((end - 1) & 63)));
+        int word = from >>> 6;
+        bitsOut[word] = (bitsOut[word] & ~mask) | (bits & mask);
+    }
+}
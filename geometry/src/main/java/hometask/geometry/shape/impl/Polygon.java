@@ -0,0 +1,743 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+import hometask.geometry.base.SegmentIntersector;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.ShapeSignature;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+public class Polygon implements Shape {
+    // Координаты вершин подряд: x0, y0, x1, y1, ... Объекты Point и Edge создаются только по запросу
+    private final double[] coords;
+
+    // Производные характеристики вычисляются лениво при первом обращении. Многоугольник неизменяем,
+    // поэтому гонка при первом вычислении безопасна: любой поток получит тот же результат
+    private volatile double[] angles; // Углы между гранями
+    private volatile double[] turns; // Углы поворота со знаком: turns[i] — между гранями i - 1 и i
+    private volatile double[] edgeLengths;
+    private volatile double perimeter = Double.NaN;
+    private volatile double area = Double.NaN;
+    private volatile Point centroid;
+    private volatile Bounds bounds;
+    private volatile Boolean convex;
+    private volatile Boolean simple;
+    private volatile Boolean flat; // Кольцо нулевой площади: направление обхода не определено
+    private volatile ShapeSignature congruenceSignature;
+    private volatile ShapeSignature similaritySignature;
+    private volatile ConvexFan fan; // Структура для проверки принадлежности точки выпуклому многоугольнику
+    private volatile int[] triangles; // Разбиение на треугольники: по три индекса вершин на треугольник
+
+    public Polygon(Point... vertices) {
+        this(toCoordinates(vertices));
+    }
+
+    // Создает многоугольник по массиву координат, который становится собственностью объекта
+    Polygon(double[] coords) {
+        this(coords, orientation(coords) == -1);
+    }
+
+    // То же, но направление обхода уже известно (например, образ многоугольника при преобразовании):
+    // reverse == true, если вершины перечислены по часовой стрелке
+    Polygon(double[] coords, boolean reverse) {
+        if (coords.length < 6) {
+            throw new IllegalArgumentException("Polygon must have at least 3 vertices.");
+        }
+
+        // Сортируем точки и приводим их к требуемому виду
+        this.coords = normalize(coords, reverse);
+    }
+
+    // Многоугольник по первым count вершинам кольца из текстовых форматов (WKT, GeoJSON), где последняя
+    // вершина повторяет первую; повтор отбрасывается
+    static Polygon ofRing(double[] coords, int count) {
+        if (count > 1 && coords[0] == coords[2 * count - 2] && coords[1] == coords[2 * count - 1]) {
+            count--;
+        }
+        return new Polygon(Arrays.copyOf(coords, 2 * count));
+    }
+
+    // Раскладывает вершины в плоский массив координат
+    static double[] toCoordinates(Point[] vertices) {
+        double[] coords = new double[vertices.length * 2];
+        for (int i = 0; i < vertices.length; i++) {
+            coords[2 * i] = vertices[i].x();
+            coords[2 * i + 1] = vertices[i].y();
+        }
+        return coords;
+    }
+
+    // Ставит самую левую и нижнюю вершину первой и упорядочивает вершины против часовой стрелки.
+    // Уже упорядоченный массив (например, выпуклая оболочка) используется как есть, без копирования
+    private static double[] normalize(double[] coords, boolean reverse) {
+        int n = coords.length / 2;
+        int minIndex = findLeftmostLowestPoint(coords);
+        if (minIndex == 0 && !reverse) {
+            return coords;
+        }
+
+        double[] normalized = new double[coords.length];
+        for (int j = 0; j < n; j++) {
+            int i = reverse ? (minIndex - j + n) % n : (minIndex + j) % n;
+            normalized[2 * j] = coords[2 * i];
+            normalized[2 * j + 1] = coords[2 * i + 1];
+        }
+        return normalized;
+    }
+
+    // Метод для поиска самой левой и нижней точки
+    private static int findLeftmostLowestPoint(double[] coords) {
+        int minIndex = 0;
+        for (int i = 2; i < coords.length; i += 2) {
+            double x = coords[i];
+            double minX = coords[2 * minIndex];
+            if (x < minX || (x == minX && coords[i + 1] < coords[2 * minIndex + 1])) {
+                minIndex = i / 2;
+            }
+        }
+        return minIndex;
+    }
+
+    // Метод для определения ориентации многоугольника
+    public int orientation(Point[] points) {
+        return orientation(toCoordinates(points));
+    }
+
+    // 1 — против часовой стрелки, -1 — по часовой, 0 — вырожденный многоугольник; знак площади точный
+    static int orientation(double[] coords) {
+        return Predicates.ringOrientation(coords);
+    }
+
+    // Рассчитываем углы между соседними гранями
+    private double[] calculateAngles() {
+        double[] result = angles;
+        if (result == null) {
+            int n = verticeCount();
+            result = new double[n];
+            for (int i = 0; i < n; i++) {
+                result[(i + 1) % n] = calculateAngle(i, (i + 1) % n);
+            }
+            angles = result;
+        }
+        return result;
+    }
+
+    // Рассчитываем углы поворота в вершинах (положительные — налево): один atan2 на вершину
+    private double[] calculateTurns() {
+        double[] result = turns;
+        if (result == null) {
+            int n = verticeCount();
+            result = new double[n];
+            for (int i = 0; i < n; i++) {
+                int previous = (i + n - 1) % n;
+                double x1 = edgeDx(previous);
+                double y1 = edgeDy(previous);
+                double x2 = edgeDx(i);
+                double y2 = edgeDy(i);
+                double cross = x1 * y2 - y1 * x2;
+                double dot = x1 * x2 + y1 * y2;
+
+                // У грани нулевой длины направления нет; atan2(±0, ±0) зависел бы от знаков нулей
+                result[i] = cross == 0 && dot == 0 ? 0 : Math.atan2(cross, dot);
+            }
+            turns = result;
+        }
+        return result;
+    }
+
+    // Рассчитываем длины всех граней
+    private double[] calculateEdgeLengths() {
+        double[] result = edgeLengths;
+        if (result == null) {
+            result = new double[verticeCount()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = Math.hypot(edgeDx(i), edgeDy(i));
+            }
+            edgeLengths = result;
+        }
+        return result;
+    }
+
+    // Метод для вычисления угла между двумя гранями
+    private double calculateAngle(int edge1, int edge2) {
+        double x1 = edgeDx(edge1);
+        double y1 = edgeDy(edge1);
+        double x2 = edgeDx(edge2);
+        double y2 = edgeDy(edge2);
+
+        double dotProduct = x1 * x2 + y1 * y2;
+        double magnitude1 = Math.hypot(x1, y1);
+        double magnitude2 = Math.hypot(x2, y2);
+
+        return Math.acos(dotProduct / (magnitude1 * magnitude2)); // Угол в радианах
+    }
+
+    // Проекции вектора грани i (от вершины i к вершине i + 1) на оси
+    private double edgeDx(int i) {
+        return coords[(2 * i + 2) % coords.length] - coords[2 * i];
+    }
+
+    private double edgeDy(int i) {
+        return coords[(2 * i + 3) % coords.length] - coords[2 * i + 1];
+    }
+
+    public int verticeCount() {
+        return this.coords.length / 2;
+    }
+
+    // Координата x вершины с индексом index (без создания объектов)
+    public double vertexX(int index) {
+        return coords[2 * index];
+    }
+
+    // Координата y вершины с индексом index (без создания объектов)
+    public double vertexY(int index) {
+        return coords[2 * index + 1];
+    }
+
+    public Point vertex(int index) {
+        return new Point(vertexX(index), vertexY(index));
+    }
+
+    // Длина грани, идущей от вершины index к следующей
+    public double edgeLength(int index) {
+        return calculateEdgeLengths()[index];
+    }
+
+    public Edge edge(int index) {
+        return new Edge(vertex(index), vertex((index + 1) % verticeCount()));
+    }
+
+    public double angle(int index) {
+        return calculateAngles()[index];
+    }
+
+    // Обходит вершины по порядку, не создавая объектов
+    public void forEachVertex(VertexVisitor visitor) {
+        for (int i = 0; i < coords.length; i += 2) {
+            visitor.visit(i / 2, coords[i], coords[i + 1]);
+        }
+    }
+
+    // Обходит грани по порядку, не создавая объектов
+    public void forEachEdge(EdgeVisitor visitor) {
+        double x1 = coords[0];
+        double y1 = coords[1];
+        for (int i = 2; i <= coords.length; i += 2) {
+            double x2 = coords[i % coords.length];
+            double y2 = coords[(i + 1) % coords.length];
+            visitor.visit(i / 2 - 1, x1, y1, x2, y2);
+            x1 = x2;
+            y1 = y2;
+        }
+    }
+
+    // Внутренний массив координат для классов пакета; изменять его нельзя
+    double[] coordinates() {
+        return coords;
+    }
+
+    // Неизменяемое представление списка вершин поверх внутреннего массива (без копирования)
+    public List<Point> vertexList() {
+        return new VertexList();
+    }
+
+    public Point[] vertices() {
+        Point[] vertices = new Point[verticeCount()];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = vertex(i);
+        }
+        return vertices;
+    }
+
+    public double[] angles() {
+        return calculateAngles().clone();
+    }
+
+    public Edge[] edges() {
+        Edge[] edges = new Edge[verticeCount()];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = edge(i);
+        }
+        return edges;
+    }
+
+    // Центр масс многоугольника как плоской фигуры
+    public Point centroid() {
+        Point result = centroid;
+        if (result == null) {
+            result = calculateCentroid();
+            centroid = result;
+        }
+        return result;
+    }
+
+    private Point calculateCentroid() {
+        double doubleArea = 0;
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = 0; i < coords.length; i += 2) {
+            int next = (i + 2) % coords.length;
+            double cross = coords[i] * coords[next + 1] - coords[next] * coords[i + 1];
+            doubleArea += cross;
+            sumX += (coords[i] + coords[next]) * cross;
+            sumY += (coords[i + 1] + coords[next + 1]) * cross;
+        }
+        if (doubleArea == 0) {
+            // Вырожденный многоугольник: берем среднее арифметическое вершин
+            for (int i = 0; i < coords.length; i += 2) {
+                sumX += coords[i];
+                sumY += coords[i + 1];
+            }
+            return new Point(sumX / verticeCount(), sumY / verticeCount());
+        }
+        return new Point(sumX / (3 * doubleArea), sumY / (3 * doubleArea));
+    }
+
+    // Ограничивающий прямоугольник многоугольника
+    @Override
+    public Bounds bounds() {
+        Bounds result = bounds;
+        if (result == null) {
+            double minX = coords[0];
+            double minY = coords[1];
+            double maxX = minX;
+            double maxY = minY;
+            for (int i = 2; i < coords.length; i += 2) {
+                minX = Math.min(minX, coords[i]);
+                maxX = Math.max(maxX, coords[i]);
+                minY = Math.min(minY, coords[i + 1]);
+                maxY = Math.max(maxY, coords[i + 1]);
+            }
+            result = new Bounds(minX, minY, maxX, maxY);
+            bounds = result;
+        }
+        return result;
+    }
+
+    // Проверка на выпуклость
+    public boolean isConvex() {
+        Boolean result = convex;
+        if (result == null) {
+            result = calculateConvexity();
+            convex = result;
+        }
+        return result;
+    }
+
+    private boolean calculateConvexity() {
+        // Повторы вершин подряд дают нулевые повороты и скрывали бы поворот в вогнутой вершине между ними
+        double[] ring = new double[coords.length];
+        int n = distinctVertices(ring);
+        if (n < 3) {
+            return true;
+        }
+
+        // Знак всех ненулевых поворотов (ориентаций троек соседних вершин) должен совпадать. Так же
+        // поворачивает и самопересекающаяся звезда, обходящая центр несколько раз, поэтому еще считаем
+        // смены направления граней по x: у выпуклого многоугольника их ровно две
+        int sign = 0;
+        int firstDirection = 0;
+        int direction = 0;
+        int reversals = 0;
+        for (int i = 0; i < n; i++) {
+            int next = (i + 1) % n;
+            int following = (i + 2) % n;
+            int currentSign = Predicates.orientation(ring[2 * i], ring[2 * i + 1],
+                    ring[2 * next], ring[2 * next + 1], ring[2 * following], ring[2 * following + 1]);
+
+            if (currentSign != 0) {
+                if (sign == 0) {
+                    sign = currentSign;
+                } else if (currentSign != sign) {
+                    return false;
+                }
+            }
+
+            int currentDirection = Double.compare(ring[2 * next] + 0.0, ring[2 * i] + 0.0);
+            if (currentDirection != 0) {
+                if (direction == 0) {
+                    firstDirection = currentDirection;
+                } else if (currentDirection != direction) {
+                    reversals++;
+                }
+                direction = currentDirection;
+            }
+        }
+        if (direction != firstDirection) {
+            reversals++;
+        }
+        return reversals <= 2;
+    }
+
+    /**
+     * Проверяет, что многоугольник простой: его грани не пересекаются и не касаются друг друга, кроме
+     * соседних граней в общей вершине. Площадь, принадлежность точки и выпуклость имеют смысл только для
+     * простых многоугольников, но конструктор этого не проверяет. Повторяющиеся подряд вершины
+     * пропускаются. Проверка выполняется заметающей прямой ({@link SegmentIntersector}) за O(n log n)
+     * и останавливается на первом найденном пересечении; результат кешируется.
+     *
+     * @return true, если многоугольник простой
+     */
+    public boolean isSimple() {
+        Boolean result = simple;
+        if (result == null) {
+            result = calculateSimplicity();
+            simple = result;
+        }
+        return result;
+    }
+
+    private boolean calculateSimplicity() {
+        double[] ring = new double[coords.length];
+        int m = distinctVertices(ring);
+        if (m < 3) {
+            return false;
+        }
+
+        // Грань i идет из вершины i в вершину i + 1
+        int edges = m;
+        double[] segments = new double[4 * edges];
+        for (int i = 0; i < edges; i++) {
+            int next = i + 1 < edges ? i + 1 : 0;
+            segments[4 * i] = ring[2 * i];
+            segments[4 * i + 1] = ring[2 * i + 1];
+            segments[4 * i + 2] = ring[2 * next];
+            segments[4 * i + 3] = ring[2 * next + 1];
+        }
+        return SegmentIntersector.forEachIntersection(segments, (first, second, x, y) -> {
+            // Соседние грани имеют общую вершину; недопустимо, только если вторая возвращается по первой
+            if (second - first == 1) {
+                return !foldsBack(ring, first, second, second + 1 < edges ? second + 1 : 0);
+            }
+            if (first == 0 && second == edges - 1) {
+                return !foldsBack(ring, edges - 1, 0, 1);
+            }
+            return false;
+        });
+    }
+
+    // Записывает в ring координаты вершин без повторов подряд (и без повтора первой вершины в конце)
+    // и возвращает их число
+    private int distinctVertices(double[] ring) {
+        int m = 0;
+        for (int i = 0; i < coords.length; i += 2) {
+            if (m == 0 || coords[i] != ring[2 * m - 2] || coords[i + 1] != ring[2 * m - 1]) {
+                ring[2 * m] = coords[i];
+                ring[2 * m + 1] = coords[i + 1];
+                m++;
+            }
+        }
+        if (m > 1 && ring[0] == ring[2 * m - 2] && ring[1] == ring[2 * m - 1]) {
+            m--;
+        }
+        return m;
+    }
+
+    // Лежат ли вершины previous и next на одной прямой с вершиной vertex по одну сторону от нее
+    private static boolean foldsBack(double[] ring, int previous, int vertex, int next) {
+        double x = ring[2 * vertex];
+        double y = ring[2 * vertex + 1];
+        if (Predicates.orientation(ring[2 * previous], ring[2 * previous + 1], x, y,
+                ring[2 * next], ring[2 * next + 1]) != 0) {
+            return false;
+        }
+        int previousSide = Double.compare(ring[2 * previous] + 0.0, x + 0.0);
+        int nextSide = Double.compare(ring[2 * next] + 0.0, x + 0.0);
+        if (previousSide == 0) {
+            previousSide = Double.compare(ring[2 * previous + 1] + 0.0, y + 0.0);
+            nextSide = Double.compare(ring[2 * next + 1] + 0.0, y + 0.0);
+        }
+        return previousSide == nextSide;
+    }
+
+    /**
+     * Разбивает многоугольник на треугольники ({@link Triangulator}) и возвращает их индексами вершин:
+     * треугольник t образуют вершины {@code result[3t]}, {@code result[3t + 1]}, {@code result[3t + 2]},
+     * перечисленные против часовой стрелки. Повторяющиеся подряд вершины пропускаются, поэтому для n
+     * различных вершин получается n - 2 треугольника. Разбиение строится за O(n log n) при первом
+     * вызове и кешируется.
+     *
+     * @return новый массив индексов длиной, кратной трем
+     * @throws IllegalArgumentException если многоугольник не простой
+     */
+    public int[] triangles() {
+        return triangleIndices().clone();
+    }
+
+    // Кешированное разбиение для классов пакета; изменять массив нельзя
+    int[] triangleIndices() {
+        int[] result = triangles;
+        if (result == null) {
+            if (!isSimple()) {
+                throw new IllegalArgumentException("Only simple polygons can be triangulated.");
+            }
+            result = Triangulator.triangulate(coords, isConvex());
+            triangles = result;
+        }
+        return result;
+    }
+
+    // Веер строится один раз при первой проверке точки
+    ConvexFan convexFan() {
+        ConvexFan result = fan;
+        if (result == null) {
+            result = isConvex() ? ConvexFan.build(coords) : ConvexFan.NONE;
+            fan = result;
+        }
+        return result;
+    }
+
+    @Override
+    public double perimeter() {
+        double result = perimeter;
+        if (Double.isNaN(result)) {
+            if (verticeCount() >= PolygonSums.MIN_VERTICES) {
+                // Большие многоугольники: суммирование с компенсацией, параллельно
+                result = PolygonSums.perimeter(coords);
+            } else {
+                result = 0;
+                for (double length : calculateEdgeLengths()) {
+                    result += length;
+                }
+            }
+            perimeter = result;
+        }
+        return result;
+    }
+
+    @Override
+    public double area() {
+        double result = area;
+        if (Double.isNaN(result)) {
+            result = calculateArea();
+            area = result;
+        }
+        return result;
+    }
+
+    private double calculateArea() {
+        if (verticeCount() >= PolygonSums.MIN_VERTICES) {
+            return PolygonSums.area(coords);
+        }
+        double area = 0;
+        double x1 = coords[coords.length - 2];
+        double y1 = coords[coords.length - 1];
+        for (int i = 0; i < coords.length; i += 2) {
+            double x2 = coords[i];
+            double y2 = coords[i + 1];
+            area += (x1 * y2) - (x2 * y1);
+            x1 = x2;
+            y1 = y2;
+        }
+        return Math.abs(area) / 2;
+    }
+
+    @Override
+    public boolean equals(Shape obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Polygon polygon = (Polygon) obj;
+        return Arrays.equals(coords, polygon.coords);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(coords);
+    }
+
+    @Override
+    public boolean isCongruentTo(Shape another) {
+        if (another instanceof PreparedPolygon prepared) {
+            another = prepared.polygon(); // Симметрично PreparedPolygon.isCongruentTo
+        }
+        if (!(another instanceof Polygon otherPolygon)) {
+            return false;
+        }
+
+        // Последовательности (длина грани, угол поворота) должны совпадать с точностью до сдвига
+        // начала обхода или, для зеркального образа, до обращения
+        return PolygonMatcher.matches(calculateEdgeLengths(), calculateTurns(), 1,
+                otherPolygon.calculateEdgeLengths(), otherPolygon.calculateTurns(), 1);
+    }
+
+    @Override
+    public boolean isSimilarTo(Shape another) {
+        if (another instanceof PreparedPolygon prepared) {
+            another = prepared.polygon(); // Симметрично PreparedPolygon.isSimilarTo
+        }
+        if (!(another instanceof Polygon otherPolygon)) {
+            return false;
+        }
+
+        // То же, что и для конгруэнтности, но длины граней нормируются на периметр
+        return PolygonMatcher.matches(calculateEdgeLengths(), calculateTurns(), perimeter(),
+                otherPolygon.calculateEdgeLengths(), otherPolygon.calculateTurns(), otherPolygon.perimeter());
+    }
+
+    @Override
+    public ShapeSignature congruenceSignature() {
+        ShapeSignature result = congruenceSignature;
+        if (result == null) {
+            result = calculateSignature(false);
+            congruenceSignature = result;
+        }
+        return result;
+    }
+
+    @Override
+    public ShapeSignature similaritySignature() {
+        ShapeSignature result = similaritySignature;
+        if (result == null) {
+            result = calculateSignature(true);
+            similaritySignature = result;
+        }
+        return result;
+    }
+
+    // Отпечаток — те же токены (длина грани, поворот в ее конце), что и при сравнении многоугольников,
+    // округленные и приведенные к наименьшему циклическому сдвигу с учетом обратного обхода.
+    // Для подобия длины делятся на среднюю длину грани: отношение к периметру убывало бы с ростом числа
+    // вершин, и у многоугольников с тысячами граней шаг округления стал бы сравним с самими длинами
+    private ShapeSignature calculateSignature(boolean similarity) {
+        int n = verticeCount();
+        double[] lengths = calculateEdgeLengths();
+        double[] turns = calculateTurns();
+        double lengthScale = similarity ? perimeter() / n : 1;
+        long[] forward = new long[2 * n];
+        long[] backward = new long[2 * n];
+        for (int i = 0; i < n; i++) {
+            forward[2 * i] = ShapeSignature.quantize(lengths[i] / lengthScale);
+            forward[2 * i + 1] = quantizeTurn(turns[(i + 1) % n]);
+
+            // При обратном обходе грани идут в обратном порядке, а поворот берется в начале грани
+            int edge = n - 1 - i;
+            backward[2 * i] = ShapeSignature.quantize(lengths[edge] / lengthScale);
+            backward[2 * i + 1] = quantizeTurn(turns[edge]);
+        }
+        return new ShapeSignature(ShapeSignature.Kind.POLYGON, LeastRotation.canonical(forward, backward));
+    }
+
+    // Повороты на π и -π совпадают, поэтому угол приводится к полуинтервалу (-π, π]
+    private static long quantizeTurn(double turn) {
+        long quantized = ShapeSignature.quantize(turn);
+        long halfTurn = ShapeSignature.quantize(Math.PI);
+        return quantized <= -halfTurn ? quantized + 2 * halfTurn : quantized;
+    }
+
+    @Override
+    public boolean containsPoint(Point point) {
+        double x = point.x();
+        double y = point.y();
+        return bounds().contains(x, y) && contains(convexFan(), x, y);
+    }
+
+    @Override
+    public void containsPoints(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        PointBatch.checkRange(xs, ys, from, to, bitsOut);
+        ConvexFan convexFan = convexFan();
+        Bounds box = bounds();
+        for (int start = from; start < to; ) {
+            int end = PointBatch.blockEnd(start, to);
+            long bits = 0;
+            for (int i = start; i < end; i++) {
+                bits |= (box.contains(xs[i], ys[i]) && contains(convexFan, xs[i], ys[i]) ? 1L : 0L) << i;
+            }
+            PointBatch.store(bitsOut, start, end, bits);
+            start = end;
+        }
+    }
+
+    private boolean contains(ConvexFan convexFan, double px, double py) {
+        // Для выпуклого многоугольника — бинарный поиск по вееру за O(log n)
+        if (convexFan != ConvexFan.NONE) {
+            return convexFan.contains(px, py);
+        }
+
+        // В общем случае — подсчет пересечений луча с гранями
+        return Predicates.ringContains(coords, bounds(), px, py);
+    }
+
+    @Override
+    public Polygon rotate(Point center, double angle) {
+        return transform(AffineTransform.rotation(center, angle));
+    }
+
+    @Override
+    public Polygon reflect(Point center) {
+        return transform(AffineTransform.reflection(center));
+    }
+
+    @Override
+    public Polygon reflect(Line axis) {
+        return transform(AffineTransform.reflection(axis));
+    }
+
+    @Override
+    public Polygon scale(Point center, double coefficient) {
+        return transform(AffineTransform.scaling(center, coefficient));
+    }
+
+    @Override
+    public Polygon transform(AffineTransform transform) {
+        double[] mapped = transformCoordinates(transform);
+        return new Polygon(mapped, reverseImage(transform, mapped));
+    }
+
+    // Применяет преобразование ко всем вершинам за один проход и возвращает новый массив координат.
+    // Подклассы передают результат в конструктор вместе с reverseImage(transform, mapped)
+    double[] transformCoordinates(AffineTransform transform) {
+        double[] mapped = new double[coords.length];
+        transform.apply(coords, mapped);
+        return mapped;
+    }
+
+    // Нужно ли развернуть образ mapped, чтобы он обходился против часовой стрелки. Подобие сохраняет
+    // направление обхода или (при отражении) меняет его на обратное, но только у кольца ненулевой площади.
+    // У вырожденного кольца направления нет, а после поворота округление может дать образу любое, поэтому
+    // его направление вычисляется заново, как в конструкторе
+    boolean reverseImage(AffineTransform transform, double[] mapped) {
+        Boolean result = flat;
+        if (result == null) {
+            result = orientation(coords) != 1;
+            flat = result;
+        }
+        return result ? orientation(mapped) == -1 : transform.isReflection();
+    }
+
+    @FunctionalInterface
+    public interface VertexVisitor {
+        void visit(int index, double x, double y);
+    }
+
+    @FunctionalInterface
+    public interface EdgeVisitor {
+        void visit(int index, double startX, double startY, double endX, double endY);
+    }
+
+    private final class VertexList extends AbstractList<Point> implements RandomAccess {
+        @Override
+        public Point get(int index) {
+            return vertex(Objects.checkIndex(index, verticeCount()));
+        }
+
+        @Override
+        public int size() {
+            return verticeCount();
+        }
+    }
+
+    public record Edge(Point start, Point end) {
+        public double length() {
+            return Math.hypot(end.x() - start.x(), end.y() - start.y());
+        }
+    }
+}
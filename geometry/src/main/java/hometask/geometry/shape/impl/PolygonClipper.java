@@ -0,0 +1,247 @@
+package hometask.geometry.shape.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Булевы операции над простыми многоугольниками: пересечение, объединение, разность и площадь пересечения.
+ * <p>
+ * Для двух выпуклых многоугольников с небольшим числом вершин используются быстрые алгоритмы за O(n * m):
+ * отсечение Сазерленда — Ходжмена для пересечения и отсечение граней Кируса — Бека для площади.
+ * В остальных случаях работает общий алгоритм наложения с заметанием (см. {@link PolygonOverlay}).
+ * </p>
+ * <p>
+ * Результат операции — список областей: внешний контур и, возможно, дыры. Контуры, касающиеся друг друга
+ * в вершине, разделяются на отдельные области. Граница общая для обоих многоугольников входит в пересечение,
+ * если многоугольники лежат по одну сторону от нее, и не входит, если по разные (касание снаружи).
+ * </p>
+ */
+public final class PolygonClipper {
+    // Порог произведения чисел вершин, до которого выпуклые многоугольники обрабатываются за O(n * m)
+    private static final long CONVEX_LIMIT = 1 << 12;
+
+    private PolygonClipper() {
+    }
+
+    /**
+     * Область результата булевой операции: внешний контур и дыры в нем.
+     *
+     * @param outline внешний контур
+     * @param holes   дыры, лежащие внутри контура
+     */
+    public record Region(Polygon outline, List<Polygon> holes) {
+
+        /**
+         * Возвращает площадь области: площадь контура за вычетом площадей дыр.
+         *
+         * @return площадь области
+         */
+        public double area() {
+            double result = outline.area();
+            for (Polygon hole : holes) {
+                result -= hole.area();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Вычисляет пересечение многоугольников.
+     *
+     * @param first  первый многоугольник
+     * @param second второй многоугольник
+     * @return области пересечения; пустой список, если многоугольники не перекрываются
+     */
+    public static List<Region> intersection(Polygon first, Polygon second) {
+        if (!first.bounds().intersects(second.bounds())) {
+            return List.of();
+        }
+        if (isSmallConvexPair(first, second)) {
+            Polygon clipped = clipConvex(first, second);
+            return clipped == null ? List.of() : List.of(new Region(clipped, List.of()));
+        }
+        return new PolygonOverlay(first, second).regions(PolygonOverlay.Operation.INTERSECTION);
+    }
+
+    /**
+     * Вычисляет объединение многоугольников.
+     *
+     * @param first  первый многоугольник
+     * @param second второй многоугольник
+     * @return области объединения
+     */
+    public static List<Region> union(Polygon first, Polygon second) {
+        if (!first.bounds().intersects(second.bounds())) {
+            return List.of(new Region(first, List.of()), new Region(second, List.of()));
+        }
+        return new PolygonOverlay(first, second).regions(PolygonOverlay.Operation.UNION);
+    }
+
+    /**
+     * Вычисляет разность многоугольников: часть первого, не покрытую вторым.
+     *
+     * @param first  уменьшаемый многоугольник
+     * @param second вычитаемый многоугольник
+     * @return области разности; пустой список, если второй многоугольник покрывает первый
+     */
+    public static List<Region> difference(Polygon first, Polygon second) {
+        if (!first.bounds().intersects(second.bounds())) {
+            return List.of(new Region(first, List.of()));
+        }
+        return new PolygonOverlay(first, second).regions(PolygonOverlay.Operation.DIFFERENCE);
+    }
+
+    /**
+     * Вычисляет площадь пересечения многоугольников, не строя контуров результата.
+     * Для пары небольших выпуклых многоугольников вычисление не выделяет памяти.
+     *
+     * @param first  первый многоугольник
+     * @param second второй многоугольник
+     * @return площадь пересечения
+     */
+    public static double overlapArea(Polygon first, Polygon second) {
+        if (!first.bounds().intersects(second.bounds())) {
+            return 0;
+        }
+        if (isSmallConvexPair(first, second)) {
+            // Граница пересечения — части границы каждого многоугольника внутри другого; площадь
+            // находится по формуле Грина. Общая граница одного направления учитывается один раз
+            double originX = first.vertexX(0);
+            double originY = first.vertexY(0);
+            double sum = clippedCrossSum(first, second, true, originX, originY)
+                    + clippedCrossSum(second, first, false, originX, originY);
+            return Math.max(0, sum / 2);
+        }
+        return new PolygonOverlay(first, second).area(PolygonOverlay.Operation.INTERSECTION);
+    }
+
+    private static boolean isSmallConvexPair(Polygon first, Polygon second) {
+        return (long) first.verticeCount() * second.verticeCount() <= CONVEX_LIMIT
+                && first.convexFan() != ConvexFan.NONE && second.convexFan() != ConvexFan.NONE;
+    }
+
+    // Сумма векторных произведений концов частей граней subject, лежащих внутри выпуклого clip.
+    // Часть, лежащая на границе clip, учитывается, только если keepShared и направления совпадают
+    private static double clippedCrossSum(Polygon subject, Polygon clip, boolean keepShared,
+                                          double originX, double originY) {
+        int n = subject.verticeCount();
+        int m = clip.verticeCount();
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            int next = i + 1 < n ? i + 1 : 0;
+            double px = subject.vertexX(i) - originX;
+            double py = subject.vertexY(i) - originY;
+            double dx = subject.vertexX(next) - originX - px;
+            double dy = subject.vertexY(next) - originY - py;
+
+            // Отсечение Кируса — Бека: параметры t отрезка p + t * d, при которых точка внутри всех полуплоскостей
+            double low = 0;
+            double high = 1;
+            for (int j = 0; j < m && low < high; j++) {
+                int following = j + 1 < m ? j + 1 : 0;
+                double vx = clip.vertexX(j) - originX;
+                double vy = clip.vertexY(j) - originY;
+                double ex = clip.vertexX(following) - originX - vx;
+                double ey = clip.vertexY(following) - originY - vy;
+                if (ex == 0 && ey == 0) {
+                    continue;
+                }
+                double numerator = ex * (py - vy) - ey * (px - vx);
+                double denominator = ex * dy - ey * dx;
+                if (denominator == 0) {
+                    boolean outside = numerator < 0
+                            || numerator == 0 && !(keepShared && ex * dx + ey * dy > 0);
+                    if (outside) {
+                        high = low;
+                    }
+                } else if (denominator > 0) {
+                    low = Math.max(low, -numerator / denominator);
+                } else {
+                    high = Math.min(high, -numerator / denominator);
+                }
+            }
+            if (low < high) {
+                // Векторное произведение концов части [low, high] равно (high - low) * (p x d)
+                sum += (high - low) * (px * dy - py * dx);
+            }
+        }
+        return sum;
+    }
+
+    // Отсечение Сазерленда — Ходжмена выпуклого subject выпуклым clip; null, если пересечение вырождено
+    private static Polygon clipConvex(Polygon subject, Polygon clip) {
+        int n = subject.verticeCount();
+        int m = clip.verticeCount();
+        double[] input = new double[2 * (n + m)];
+        double[] output = new double[2 * (n + m)];
+        for (int i = 0; i < n; i++) {
+            output[2 * i] = subject.vertexX(i);
+            output[2 * i + 1] = subject.vertexY(i);
+        }
+        int size = n;
+
+        for (int j = 0; j < m && size > 0; j++) {
+            int following = j + 1 < m ? j + 1 : 0;
+            double ax = clip.vertexX(j);
+            double ay = clip.vertexY(j);
+            double ex = clip.vertexX(following) - ax;
+            double ey = clip.vertexY(following) - ay;
+            if (ex == 0 && ey == 0) {
+                continue;
+            }
+            double[] swap = input;
+            input = output;
+            output = swap;
+            int count = size;
+            size = 0;
+            if (output.length < 4 * count) {
+                output = new double[4 * count]; // Из-за погрешностей выпуклость может нарушаться
+            }
+
+            double previousX = input[2 * count - 2];
+            double previousY = input[2 * count - 1];
+            double previousSide = ex * (previousY - ay) - ey * (previousX - ax);
+            for (int i = 0; i < count; i++) {
+                double x = input[2 * i];
+                double y = input[2 * i + 1];
+                double side = ex * (y - ay) - ey * (x - ax);
+                if ((side >= 0) != (previousSide >= 0)) {
+                    // Грань пересекает прямую отсечения: добавляем точку пересечения
+                    double t = previousSide / (previousSide - side);
+                    output[2 * size] = previousX + t * (x - previousX);
+                    output[2 * size + 1] = previousY + t * (y - previousY);
+                    size++;
+                }
+                if (side >= 0) {
+                    output[2 * size] = x;
+                    output[2 * size + 1] = y;
+                    size++;
+                }
+                previousX = x;
+                previousY = y;
+                previousSide = side;
+            }
+        }
+
+        // Убираем повторяющиеся подряд вершины, которые появляются при касании прямой отсечения
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            double x = output[2 * i];
+            double y = output[2 * i + 1];
+            boolean repeat = unique > 0 && x == output[2 * unique - 2] && y == output[2 * unique - 1];
+            if (!repeat) {
+                output[2 * unique] = x;
+                output[2 * unique + 1] = y;
+                unique++;
+            }
+        }
+        while (unique > 1 && output[0] == output[2 * unique - 2] && output[1] == output[2 * unique - 1]) {
+            unique--;
+        }
+        if (unique < 3) {
+            return null;
+        }
+        double[] ring = Arrays.copyOf(output, 2 * unique);
+        return PolygonOverlay.signedDoubleArea(ring) > 0 ? new Polygon(ring, false) : null;
+    }
+}
@@ -0,0 +1,164 @@
+package hometask.geometry.shape.impl;
+
+/**
+ * Сравнение многоугольников с точностью до движения (и, при необходимости, масштаба) за линейное время.
+ * <p>
+ * Многоугольник, обойденный против часовой стрелки, описывается циклической последовательностью токенов
+ * (длина грани i, угол поворота в конце грани i). Два многоугольника конгруэнтны, если последовательность
+ * одного является циклическим сдвигом последовательности другого, либо — для зеркального образа —
+ * сдвигом последовательности, прочитанной в обратном порядке. Сдвиг ищется алгоритмом Кнута — Морриса — Пратта
+ * в удвоенной последовательности, поэтому сравнение занимает O(n) вместо O(n^2) и выделяет один массив.
+ * </p>
+ * <p>
+ * Токены сравниваются с допуском, а такое равенство нетранзитивно. Поэтому каждое найденное вхождение
+ * перепроверяется напрямую, и ложных совпадений не бывает. Пропустить вхождение алгоритм может, только если
+ * какие-то токены отличаются на величину порядка допуска: тогда при неудачном поиске все сдвиги проверяются
+ * напрямую за O(n^2) в худшем случае (обычно проверка сдвига обрывается на первых токенах).
+ * </p>
+ */
+final class PolygonMatcher {
+    private static final double TOLERANCE = 1e-9;
+
+    private final double[] lengths;
+    private final double[] turns;
+    private final double lengthScale;
+    private final double[] otherLengths;
+    private final double[] otherTurns;
+    private final double otherLengthScale;
+    private final int n;
+    private boolean mirrored; // Образец читается в обратном порядке
+    private boolean ambiguous; // Встретились токены, отличающиеся на величину порядка допуска
+
+    private PolygonMatcher(double[] lengths, double[] turns, double lengthScale,
+                           double[] otherLengths, double[] otherTurns, double otherLengthScale) {
+        this.lengths = lengths;
+        this.turns = turns;
+        this.lengthScale = lengthScale;
+        this.otherLengths = otherLengths;
+        this.otherTurns = otherTurns;
+        this.otherLengthScale = otherLengthScale;
+        this.n = lengths.length;
+    }
+
+    /**
+     * Проверяет, совпадают ли два многоугольника с точностью до сдвига начала обхода и зеркального отражения.
+     * Длины граней перед сравнением делятся на соответствующий масштаб: 1 для конгруэнтности,
+     * периметр для подобия.
+     *
+     * @param lengths          длины граней первого многоугольника
+     * @param turns            углы поворота в вершинах первого многоугольника (turns[i] — в начале грани i)
+     * @param lengthScale      масштаб длин первого многоугольника
+     * @param otherLengths     длины граней второго многоугольника
+     * @param otherTurns       углы поворота в вершинах второго многоугольника
+     * @param otherLengthScale масштаб длин второго многоугольника
+     * @return true, если последовательности совпадают
+     */
+    static boolean matches(double[] lengths, double[] turns, double lengthScale,
+                           double[] otherLengths, double[] otherTurns, double otherLengthScale) {
+        if (lengths.length != otherLengths.length) {
+            return false;
+        }
+        PolygonMatcher matcher = new PolygonMatcher(lengths, turns, lengthScale, otherLengths, otherTurns, otherLengthScale);
+        int[] failure = new int[lengths.length];
+        if (matcher.search(failure)) {
+            return true;
+        }
+        matcher.mirrored = true;
+        if (matcher.search(failure)) {
+            return true;
+        }
+        return matcher.ambiguous && matcher.searchDirectly();
+    }
+
+    // Проверка всех сдвигов в обоих направлениях без сокращений алгоритма Кнута — Морриса — Пратта
+    private boolean searchDirectly() {
+        for (int direction = 0; direction < 2; direction++) {
+            mirrored = direction == 1;
+            for (int shift = 0; shift < n; shift++) {
+                if (verify(shift)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Ищет образец (последовательность второго многоугольника) в удвоенной последовательности первого
+    private boolean search(int[] failure) {
+        // Префикс-функция образца
+        failure[0] = 0;
+        for (int i = 1; i < n; i++) {
+            int k = failure[i - 1];
+            while (k > 0 && !patternEquals(i, k)) {
+                k = failure[k - 1];
+            }
+            if (patternEquals(i, k)) {
+                k++;
+            }
+            failure[i] = k;
+        }
+
+        // Проход по тексту длиной 2n - 1: каждый циклический сдвиг встречается в нем ровно один раз
+        int matched = 0;
+        for (int t = 0; t < 2 * n - 1; t++) {
+            int i = t % n;
+            while (matched > 0 && !textEquals(i, matched)) {
+                matched = failure[matched - 1];
+            }
+            if (textEquals(i, matched)) {
+                matched++;
+            }
+            if (matched == n) {
+                if (verify(t - n + 1)) {
+                    return true;
+                }
+                matched = failure[matched - 1];
+            }
+        }
+        return false;
+    }
+
+    // Прямая проверка совпадения при сдвиге shift
+    private boolean verify(int shift) {
+        for (int j = 0; j < n; j++) {
+            if (!textEquals((shift + j) % n, j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Токен j образца: при зеркальном чтении грани идут в обратном порядке, а поворот берется в начале грани
+    private int patternEdge(int j) {
+        return mirrored ? n - 1 - j : j;
+    }
+
+    private int patternVertex(int j) {
+        return mirrored ? n - 1 - j : (j + 1) % n;
+    }
+
+    private boolean patternEquals(int i, int j) {
+        return same(otherLengths[patternEdge(i)] / otherLengthScale, otherLengths[patternEdge(j)] / otherLengthScale,
+                otherTurns[patternVertex(i)], otherTurns[patternVertex(j)]);
+    }
+
+    private boolean textEquals(int i, int j) {
+        return same(lengths[i] / lengthScale, otherLengths[patternEdge(j)] / otherLengthScale,
+                turns[(i + 1) % n], otherTurns[patternVertex(j)]);
+    }
+
+    private boolean same(double length, double otherLength, double turn, double otherTurn) {
+        double lengthDifference = Math.abs(length - otherLength);
+        // Углы сравниваются по окружности: повороты на π и -π совпадают
+        double turnDifference = Math.abs(turn - otherTurn);
+        turnDifference = Math.min(turnDifference, 2 * Math.PI - turnDifference);
+        // Пропуск возможен, только если два токена равны третьему, но не друг другу; тогда хотя бы одна
+        // из сравниваемых разностей лежит между половиной и удвоенным допуском
+        ambiguous |= isNearTolerance(lengthDifference) || isNearTolerance(turnDifference);
+        return lengthDifference <= TOLERANCE && turnDifference <= TOLERANCE;
+    }
+
+    private static boolean isNearTolerance(double difference) {
+        return difference > TOLERANCE / 2 && difference <= 2 * TOLERANCE;
+    }
+}
@@ -0,0 +1,576 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.base.PointLongMap;
+import hometask.geometry.base.Predicates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Наложение двух простых многоугольников — общий алгоритм булевых операций.
+ * <p>
+ * Грани обоих многоугольников разрезаются в точках взаимного пересечения. Пары пересекающихся граней
+ * ищутся заметанием: грани упорядочиваются по левому краю, а проверяются только с активными гранями
+ * другого многоугольника, x-интервалы которых перекрываются с текущей. Каждая точка пересечения вычисляется
+ * один раз и вставляется в обе грани, поэтому концы кусков граней совпадают побитово.
+ * </p>
+ * <p>
+ * Затем каждый кусок классифицируется относительно другого многоугольника: внутри, снаружи или на его
+ * границе (совпадает с куском другого многоугольника того же или противоположного направления).
+ * Проверка принадлежности точки выполняется только для первого куска контура и после точек касания:
+ * в точке собственного пересечения граней класс просто меняется на противоположный.
+ * Граница результата операции состоит из кусков, выбранных по классу, и уже ориентирована:
+ * внешние контуры против часовой стрелки, дыры — по часовой. Для площади куски просто суммируются
+ * по формуле Грина, для контуров — сцепляются по общим концам.
+ * </p>
+ * <p>
+ * Самопересекающиеся многоугольники не поддерживаются.
+ * </p>
+ */
+final class PolygonOverlay {
+
+    enum Operation {
+        INTERSECTION,
+        UNION,
+        DIFFERENCE
+    }
+
+    // Класс куска грани относительно другого многоугольника
+    private static final byte OUTSIDE = 0;
+    private static final byte INSIDE = 1;
+    private static final byte SAME = 2;     // Совпадает с куском другого многоугольника того же направления
+    private static final byte OPPOSITE = 3; // Совпадает с куском противоположного направления
+
+    private final Polygon first;
+    private final Polygon second;
+    private final double[] coords; // Вершины первого многоугольника, затем второго
+    private final int firstCount;
+    private final int edgeCount;
+    private final boolean[] touched; // Вершина лежит на границе другого многоугольника
+
+    // Точки разреза граней
+    private int[] splitEdges = new int[16];
+    private double[] splitPoints = new double[32];
+    private boolean[] splitCrossings = new boolean[16]; // Собственное пересечение, а не касание
+    private int splitCount;
+    private boolean hasOverlaps; // Найдены совпадающие на отрезке грани
+
+    // Куски граней: x1, y1, x2, y2; сначала куски первого многоугольника, затем второго
+    private double[] pieces;
+    private int pieceCount;
+    private int firstPieceCount;
+    private int[] pieceCrossings;  // Число собственных пересечений в начале куска
+    private boolean[] pieceTests;  // Класс куска нужно определить проверкой принадлежности точки
+    private byte[] states;
+    private int pendingCrossings;
+    private boolean pendingTest;
+
+    PolygonOverlay(Polygon first, Polygon second) {
+        this.first = first;
+        this.second = second;
+        // Повторяющиеся подряд вершины дают грани нулевой длины, у которых нет направления; они отбрасываются
+        double[] vertices = new double[2 * (first.verticeCount() + second.verticeCount())];
+        this.firstCount = appendVertices(first, vertices, 0);
+        this.edgeCount = appendVertices(second, vertices, firstCount);
+        this.coords = vertices.length == 2 * edgeCount ? vertices : Arrays.copyOf(vertices, 2 * edgeCount);
+        this.touched = new boolean[edgeCount];
+
+        findIntersections();
+        splitEdges();
+        classifyPieces();
+    }
+
+    // Дописывает вершины многоугольника без повторов подряд после count вершин; возвращает новое число вершин
+    private static int appendVertices(Polygon polygon, double[] vertices, int count) {
+        int start = count;
+        for (int i = 0; i < polygon.verticeCount(); i++) {
+            double x = polygon.vertexX(i);
+            double y = polygon.vertexY(i);
+            if (count > start && x == vertices[2 * count - 2] && y == vertices[2 * count - 1]) {
+                continue;
+            }
+            vertices[2 * count] = x;
+            vertices[2 * count + 1] = y;
+            count++;
+        }
+        while (count - start > 1 && vertices[2 * start] == vertices[2 * count - 2]
+                && vertices[2 * start + 1] == vertices[2 * count - 1]) {
+            count--;
+        }
+        return count;
+    }
+
+    // Номер конечной вершины грани
+    private int edgeEnd(int edge) {
+        if (edge < firstCount) {
+            return edge + 1 < firstCount ? edge + 1 : 0;
+        }
+        return edge + 1 < edgeCount ? edge + 1 : firstCount;
+    }
+
+    // Заметание: грани в порядке левого края; активные грани каждого многоугольника хранятся отдельно
+    private void findIntersections() {
+        int[] order = new int[edgeCount];
+        double[] left = new double[edgeCount];
+        double[] right = new double[edgeCount];
+        double[] bottom = new double[edgeCount];
+        double[] top = new double[edgeCount];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            int end = edgeEnd(edge);
+            order[edge] = edge;
+            left[edge] = Math.min(coords[2 * edge], coords[2 * end]);
+            right[edge] = Math.max(coords[2 * edge], coords[2 * end]);
+            bottom[edge] = Math.min(coords[2 * edge + 1], coords[2 * end + 1]);
+            top[edge] = Math.max(coords[2 * edge + 1], coords[2 * end + 1]);
+        }
+        sortByKey(order, left, 0, edgeCount);
+
+        int[][] active = {new int[16], new int[16]};
+        int[] activeSize = new int[2];
+        for (int edge : order) {
+            double x = left[edge];
+            for (int side = 0; side < 2; side++) {
+                int[] list = active[side];
+                int size = activeSize[side];
+                for (int k = size - 1; k >= 0; k--) {
+                    if (right[list[k]] < x) {
+                        list[k] = list[--size];
+                    }
+                }
+                activeSize[side] = size;
+            }
+
+            int own = edge < firstCount ? 0 : 1;
+            int[] others = active[1 - own];
+            for (int k = 0; k < activeSize[1 - own]; k++) {
+                int other = others[k];
+                if (bottom[other] <= top[edge] && bottom[edge] <= top[other]) {
+                    intersect(edge, other);
+                }
+            }
+            if (activeSize[own] == active[own].length) {
+                active[own] = Arrays.copyOf(active[own], 2 * activeSize[own]);
+            }
+            active[own][activeSize[own]++] = edge;
+        }
+    }
+
+    // Находит общие точки граней и добавляет их в списки разрезов
+    private void intersect(int edge, int other) {
+        int edgeEnd = edgeEnd(edge);
+        int otherEnd = edgeEnd(other);
+        double px1 = coords[2 * edge];
+        double py1 = coords[2 * edge + 1];
+        double px2 = coords[2 * edgeEnd];
+        double py2 = coords[2 * edgeEnd + 1];
+        double qx1 = coords[2 * other];
+        double qy1 = coords[2 * other + 1];
+        double qx2 = coords[2 * otherEnd];
+        double qy2 = coords[2 * otherEnd + 1];
+
+        // Знаки точные, поэтому касания и наложения (нулевые значения) распознаются надежно
+        double d1 = Predicates.orient2d(qx1, qy1, qx2, qy2, px1, py1);
+        double d2 = Predicates.orient2d(qx1, qy1, qx2, qy2, px2, py2);
+        double d3 = Predicates.orient2d(px1, py1, px2, py2, qx1, qy1);
+        double d4 = Predicates.orient2d(px1, py1, px2, py2, qx2, qy2);
+
+        if (opposite(d1, d2) && opposite(d3, d4)) {
+            // Собственное пересечение: точка вычисляется один раз для обеих граней
+            double t = d1 / (d1 - d2);
+            double x = px1 + t * (px2 - px1);
+            double y = py1 + t * (py2 - py1);
+            addSplit(edge, x, y, true);
+            addSplit(other, x, y, true);
+            return;
+        }
+        if (d1 == 0 && d2 == 0) {
+            hasOverlaps = true;
+        }
+        // Касание: конец одной грани лежит на другой (в том числе при наложении на одной прямой)
+        if (d1 == 0) touch(edge, other, px1, py1, qx1, qy1, qx2, qy2);
+        if (d2 == 0) touch(edgeEnd, other, px2, py2, qx1, qy1, qx2, qy2);
+        if (d3 == 0) touch(other, edge, qx1, qy1, px1, py1, px2, py2);
+        if (d4 == 0) touch(otherEnd, edge, qx2, qy2, px1, py1, px2, py2);
+    }
+
+    // Вершина (x, y), лежащая на прямой грани edge: если она принадлежит отрезку, вершина отмечается,
+    // а грань разрезается в ней, когда вершина лежит строго между концами грани
+    private void touch(int vertex, int edge, double x, double y, double x1, double y1, double x2, double y2) {
+        boolean within = x1 != x2
+                ? Math.min(x1, x2) <= x && x <= Math.max(x1, x2)
+                : Math.min(y1, y2) <= y && y <= Math.max(y1, y2);
+        if (!within) {
+            return;
+        }
+        touched[vertex] = true;
+        if ((x != x1 || y != y1) && (x != x2 || y != y2)) {
+            addSplit(edge, x, y, false);
+        }
+    }
+
+    // Строго ли по разные стороны (произведение могло бы обратиться в ноль при исчезновении порядка)
+    private static boolean opposite(double first, double second) {
+        return first > 0 ? second < 0 : first < 0 && second > 0;
+    }
+
+    private void addSplit(int edge, double x, double y, boolean crossing) {
+        if (splitCount == splitEdges.length) {
+            splitEdges = Arrays.copyOf(splitEdges, 2 * splitCount);
+            splitPoints = Arrays.copyOf(splitPoints, 4 * splitCount);
+            splitCrossings = Arrays.copyOf(splitCrossings, 2 * splitCount);
+        }
+        splitEdges[splitCount] = edge;
+        splitPoints[2 * splitCount] = x;
+        splitPoints[2 * splitCount + 1] = y;
+        splitCrossings[splitCount] = crossing;
+        splitCount++;
+    }
+
+    // Разрезает грани в найденных точках; точки каждой грани упорядочиваются вдоль нее
+    private void splitEdges() {
+        int[] start = new int[edgeCount + 1];
+        for (int i = 0; i < splitCount; i++) {
+            start[splitEdges[i] + 1]++;
+        }
+        for (int edge = 0; edge < edgeCount; edge++) {
+            start[edge + 1] += start[edge];
+        }
+        int[] order = new int[splitCount];
+        int[] fill = Arrays.copyOf(start, edgeCount);
+        for (int i = 0; i < splitCount; i++) {
+            order[fill[splitEdges[i]]++] = i;
+        }
+
+        double[] position = new double[splitCount];
+        pieces = new double[4 * (edgeCount + splitCount)];
+        pieceCrossings = new int[edgeCount + splitCount];
+        pieceTests = new boolean[edgeCount + splitCount];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            if (edge == firstCount) {
+                // Начало контура второго многоугольника: класс первого куска проверяется в любом случае
+                firstPieceCount = pieceCount;
+                pendingCrossings = 0;
+            }
+            pendingTest |= touched[edge];
+            int end = edgeEnd(edge);
+            double x1 = coords[2 * edge];
+            double y1 = coords[2 * edge + 1];
+            double dx = coords[2 * end] - x1;
+            double dy = coords[2 * end + 1] - y1;
+            for (int k = start[edge]; k < start[edge + 1]; k++) {
+                int split = order[k];
+                position[split] = (splitPoints[2 * split] - x1) * dx + (splitPoints[2 * split + 1] - y1) * dy;
+            }
+            sortByKey(order, position, start[edge], start[edge + 1]);
+
+            double x = x1;
+            double y = y1;
+            for (int k = start[edge]; k < start[edge + 1]; k++) {
+                int split = order[k];
+                addPiece(x, y, splitPoints[2 * split], splitPoints[2 * split + 1]);
+                x = splitPoints[2 * split];
+                y = splitPoints[2 * split + 1];
+                if (splitCrossings[split]) {
+                    pendingCrossings++;
+                } else {
+                    pendingTest = true;
+                }
+            }
+            addPiece(x, y, coords[2 * end], coords[2 * end + 1]);
+        }
+    }
+
+    // Добавляет кусок, если он ненулевой длины; отметки его начала накоплены в pending-полях.
+    // У пропущенного куска нулевой длины отметки переходят к следующему
+    private void addPiece(double x1, double y1, double x2, double y2) {
+        if (x1 != x2 || y1 != y2) {
+            pieces[4 * pieceCount] = x1;
+            pieces[4 * pieceCount + 1] = y1;
+            pieces[4 * pieceCount + 2] = x2;
+            pieces[4 * pieceCount + 3] = y2;
+            pieceCrossings[pieceCount] = pendingCrossings;
+            pieceTests[pieceCount] = pendingTest;
+            pieceCount++;
+            pendingCrossings = 0;
+            pendingTest = false;
+        }
+    }
+
+    private void classifyPieces() {
+        states = new byte[pieceCount];
+
+        // Совпадающие куски сначала сопоставляются по концам
+        if (hasOverlaps) {
+            Map<Segment, Integer> secondPieces = new HashMap<>();
+            for (int piece = firstPieceCount; piece < pieceCount; piece++) {
+                secondPieces.put(segment(piece, false), piece);
+            }
+            for (int piece = 0; piece < firstPieceCount; piece++) {
+                Integer same = secondPieces.get(segment(piece, false));
+                Integer opposite = same == null ? secondPieces.get(segment(piece, true)) : null;
+                if (same != null) {
+                    states[piece] = SAME;
+                    states[same] = SAME;
+                } else if (opposite != null) {
+                    states[piece] = OPPOSITE;
+                    states[opposite] = OPPOSITE;
+                }
+            }
+        }
+
+        // Остальные — обходом контура: в точке собственного пересечения класс меняется, а после касаний,
+        // общих кусков и в начале контура определяется по положению середины куска
+        classifyContour(0, firstPieceCount, second);
+        classifyContour(firstPieceCount, pieceCount, first);
+    }
+
+    private void classifyContour(int from, int to, Polygon other) {
+        byte previous = -1;
+        for (int piece = from; piece < to; piece++) {
+            if (states[piece] == SAME || states[piece] == OPPOSITE) {
+                previous = -1;
+                continue;
+            }
+            byte state;
+            if (previous < 0 || pieceTests[piece]) {
+                Point middle = new Point((pieces[4 * piece] + pieces[4 * piece + 2]) / 2,
+                        (pieces[4 * piece + 1] + pieces[4 * piece + 3]) / 2);
+                state = other.containsPoint(middle) ? INSIDE : OUTSIDE;
+            } else {
+                state = (byte) (previous ^ (pieceCrossings[piece] & 1));
+            }
+            states[piece] = state;
+            previous = state;
+        }
+    }
+
+    private Segment segment(int piece, boolean reversed) {
+        int offset = 4 * piece;
+        return reversed
+                ? new Segment(pieces[offset + 2], pieces[offset + 3], pieces[offset], pieces[offset + 1])
+                : new Segment(pieces[offset], pieces[offset + 1], pieces[offset + 2], pieces[offset + 3]);
+    }
+
+    private record Segment(double x1, double y1, double x2, double y2) {
+    }
+
+    // Входит ли кусок в границу результата: 1 — в своем направлении, -1 — в обратном, 0 — не входит
+    private int select(Operation operation, int piece) {
+        byte state = states[piece];
+        boolean ofFirst = piece < firstPieceCount;
+        return switch (operation) {
+            case INTERSECTION -> ofFirst
+                    ? (state == INSIDE || state == SAME ? 1 : 0)
+                    : (state == INSIDE ? 1 : 0);
+            case UNION -> ofFirst
+                    ? (state == OUTSIDE || state == SAME ? 1 : 0)
+                    : (state == OUTSIDE ? 1 : 0);
+            case DIFFERENCE -> ofFirst
+                    ? (state == OUTSIDE || state == OPPOSITE ? 1 : 0)
+                    : (state == INSIDE ? -1 : 0);
+        };
+    }
+
+    /**
+     * Площадь результата операции по формуле Грина, без построения контуров.
+     */
+    double area(Operation operation) {
+        // Координаты берутся относительно первой вершины, чтобы уменьшить потерю точности
+        double originX = coords[0];
+        double originY = coords[1];
+        double sum = 0;
+        for (int piece = 0; piece < pieceCount; piece++) {
+            int direction = select(operation, piece);
+            if (direction != 0) {
+                double x1 = pieces[4 * piece] - originX;
+                double y1 = pieces[4 * piece + 1] - originY;
+                double x2 = pieces[4 * piece + 2] - originX;
+                double y2 = pieces[4 * piece + 3] - originY;
+                sum += direction * (x1 * y2 - x2 * y1);
+            }
+        }
+        return Math.max(0, sum / 2);
+    }
+
+    /**
+     * Контуры результата операции, сгруппированные в области с дырами.
+     */
+    List<PolygonClipper.Region> regions(Operation operation) {
+        // Выбранные куски в направлении обхода результата
+        int count = 0;
+        double[] segments = new double[4 * pieceCount];
+        for (int piece = 0; piece < pieceCount; piece++) {
+            int direction = select(operation, piece);
+            if (direction != 0) {
+                int from = 4 * piece;
+                int to = 4 * count++;
+                boolean forward = direction > 0;
+                segments[to] = pieces[from + (forward ? 0 : 2)];
+                segments[to + 1] = pieces[from + (forward ? 1 : 3)];
+                segments[to + 2] = pieces[from + (forward ? 2 : 0)];
+                segments[to + 3] = pieces[from + (forward ? 3 : 1)];
+            }
+        }
+
+        // Исходящие куски каждой точки: голова списка в таблице, продолжение — в массиве next
+        PointLongMap heads = new PointLongMap(count, -1);
+        int[] next = new int[count];
+        for (int i = 0; i < count; i++) {
+            next[i] = (int) heads.put(segments[4 * i], segments[4 * i + 1], i);
+        }
+
+        List<double[]> rings = new ArrayList<>();
+        boolean[] used = new boolean[count];
+        for (int first = 0; first < count; first++) {
+            if (used[first]) {
+                continue;
+            }
+            double[] ring = traceRing(segments, heads, next, used, first);
+            if (ring != null) {
+                rings.add(ring);
+            }
+        }
+        return assemble(rings);
+    }
+
+    // Обходит контур начиная с куска first; в точках ветвления выбирает самый левый поворот,
+    // чтобы касающиеся в вершине контуры разделялись. Возвращает координаты вершин или null
+    private static double[] traceRing(double[] segments, PointLongMap heads, int[] next,
+                                      boolean[] used, int first) {
+        double startX = segments[4 * first];
+        double startY = segments[4 * first + 1];
+        double[] ring = new double[16];
+        int size = 0;
+        int current = first;
+        while (true) {
+            used[current] = true;
+            if (size == ring.length) {
+                ring = Arrays.copyOf(ring, 2 * size);
+            }
+            ring[size++] = segments[4 * current];
+            ring[size++] = segments[4 * current + 1];
+
+            double x = segments[4 * current + 2];
+            double y = segments[4 * current + 3];
+            if (x == startX && y == startY) {
+                return Arrays.copyOf(ring, size);
+            }
+            double inX = x - segments[4 * current];
+            double inY = y - segments[4 * current + 1];
+            int best = -1;
+            double bestTurn = Double.NEGATIVE_INFINITY;
+            for (int candidate = (int) heads.get(x, y); candidate != -1; candidate = next[candidate]) {
+                if (used[candidate]) {
+                    continue;
+                }
+                double outX = segments[4 * candidate + 2] - x;
+                double outY = segments[4 * candidate + 3] - y;
+                double turn = Math.atan2(inX * outY - inY * outX, inX * outX + inY * outY);
+                if (turn > bestTurn) {
+                    bestTurn = turn;
+                    best = candidate;
+                }
+            }
+            if (best == -1) {
+                return null; // Контур не замкнулся из-за вырожденного случая
+            }
+            current = best;
+        }
+    }
+
+    // Контуры против часовой стрелки становятся внешними, по часовой — дырами в наименьшем содержащем их контуре
+    private static List<PolygonClipper.Region> assemble(List<double[]> rings) {
+        List<Polygon> outlines = new ArrayList<>();
+        List<double[]> holes = new ArrayList<>();
+        for (double[] ring : rings) {
+            double area = signedDoubleArea(ring);
+            if (ring.length < 6 || area == 0) {
+                continue;
+            }
+            if (area > 0) {
+                outlines.add(new Polygon(ring, false));
+            } else {
+                holes.add(ring);
+            }
+        }
+        outlines.sort((a, b) -> Double.compare(a.area(), b.area()));
+
+        List<List<Polygon>> holesByOutline = new ArrayList<>();
+        for (int i = 0; i < outlines.size(); i++) {
+            holesByOutline.add(new ArrayList<>());
+        }
+        for (double[] hole : holes) {
+            Point probe = new Point((hole[0] + hole[2]) / 2, (hole[1] + hole[3]) / 2);
+            for (int i = 0; i < outlines.size(); i++) {
+                if (outlines.get(i).containsPoint(probe)) {
+                    holesByOutline.get(i).add(new Polygon(hole, true));
+                    break;
+                }
+            }
+        }
+
+        List<PolygonClipper.Region> result = new ArrayList<>(outlines.size());
+        for (int i = 0; i < outlines.size(); i++) {
+            result.add(new PolygonClipper.Region(outlines.get(i), List.copyOf(holesByOutline.get(i))));
+        }
+        return result;
+    }
+
+    static double signedDoubleArea(double[] ring) {
+        double originX = ring[0];
+        double originY = ring[1];
+        double sum = 0;
+        for (int i = 2; i + 2 < ring.length; i += 2) {
+            sum += (ring[i] - originX) * (ring[i + 3] - originY) - (ring[i + 2] - originX) * (ring[i + 1] - originY);
+        }
+        return sum;
+    }
+
+    // Быстрая сортировка номеров order[from, to) по ключам keys[order[i]]
+    private static void sortByKey(int[] order, double[] keys, int from, int to) {
+        while (to - from > 16) {
+            int middle = (from + to) >>> 1;
+            if (keys[order[middle]] < keys[order[from]]) swap(order, middle, from);
+            if (keys[order[to - 1]] < keys[order[from]]) swap(order, to - 1, from);
+            if (keys[order[to - 1]] < keys[order[middle]]) swap(order, to - 1, middle);
+            double pivot = keys[order[middle]];
+
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (keys[order[i]] < pivot) i++;
+                while (keys[order[j]] > pivot) j--;
+                if (i <= j) {
+                    swap(order, i++, j--);
+                }
+            }
+            if (j + 1 - from < to - i) {
+                sortByKey(order, keys, from, j + 1);
+                from = i;
+            } else {
+                sortByKey(order, keys, i, to);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            int value = order[i];
+            double key = keys[value];
+            int j = i - 1;
+            while (j >= from && keys[order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = value;
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+}
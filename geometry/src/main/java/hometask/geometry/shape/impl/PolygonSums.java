@@ -0,0 +1,105 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.CompensatedSum;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Площадь и периметр больших многоугольников.
+ * <p>
+ * При обычном суммировании {@code +=} погрешность растет с числом граней, а слагаемые формулы площади
+ * Гаусса разных знаков взаимно уничтожаются. Поэтому здесь слагаемые суммируются с компенсацией
+ * ({@link CompensatedSum}), а для площади координаты берутся относительно первой вершины: слагаемые
+ * становятся меньше, и в них теряется меньше разрядов. Грани делятся на части, которые суммируются
+ * параллельно в общем пуле fork/join; частичные суммы объединяются вместе с поправками.
+ * </p>
+ */
+final class PolygonSums {
+    /**
+     * Число вершин, начиная с которого {@link Polygon} считает площадь и периметр здесь.
+     */
+    static final int MIN_VERTICES = 1 << 10;
+
+    // Число граней, которые суммируются одним потоком без дальнейшего деления
+    private static final int LEAF_SIZE = 1 << 14;
+
+    private PolygonSums() {
+    }
+
+    static double area(double[] coords) {
+        return Math.abs(sum(coords, false)) / 2;
+    }
+
+    static double perimeter(double[] coords) {
+        return sum(coords, true);
+    }
+
+    private static double sum(double[] coords, boolean lengths) {
+        int n = coords.length / 2;
+        EdgeSumTask task = new EdgeSumTask(coords, lengths, 0, n);
+        return (n <= LEAF_SIZE ? task.invoke() : ForkJoinPool.commonPool().invoke(task)).sum();
+    }
+
+    // Сумма по граням с номерами [from, to): грань i идет из вершины i - 1 в вершину i.
+    // lengths == true — длины граней, иначе удвоенные ориентированные площади треугольников
+    // (первая вершина, начало грани, конец грани)
+    @SuppressWarnings("serial")
+    private static final class EdgeSumTask extends RecursiveTask<CompensatedSum> {
+        private final double[] coords;
+        private final boolean lengths;
+        private final int from;
+        private final int to;
+
+        EdgeSumTask(double[] coords, boolean lengths, int from, int to) {
+            this.coords = coords;
+            this.lengths = lengths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CompensatedSum compute() {
+            if (to - from <= LEAF_SIZE) {
+                return lengths ? sumLengths() : sumCrossProducts();
+            }
+            int middle = (from + to) >>> 1;
+            EdgeSumTask left = new EdgeSumTask(coords, lengths, from, middle);
+            left.fork();
+            CompensatedSum result = new EdgeSumTask(coords, lengths, middle, to).compute();
+            return result.add(left.join());
+        }
+
+        private CompensatedSum sumLengths() {
+            CompensatedSum result = new CompensatedSum();
+            int previous = from == 0 ? coords.length - 2 : 2 * from - 2;
+            double x1 = coords[previous];
+            double y1 = coords[previous + 1];
+            for (int i = 2 * from; i < 2 * to; i += 2) {
+                double x2 = coords[i];
+                double y2 = coords[i + 1];
+                result.add(Math.hypot(x2 - x1, y2 - y1));
+                x1 = x2;
+                y1 = y2;
+            }
+            return result;
+        }
+
+        private CompensatedSum sumCrossProducts() {
+            CompensatedSum result = new CompensatedSum();
+            double x0 = coords[0];
+            double y0 = coords[1];
+            int previous = from == 0 ? coords.length - 2 : 2 * from - 2;
+            double x1 = coords[previous] - x0;
+            double y1 = coords[previous + 1] - y0;
+            for (int i = 2 * from; i < 2 * to; i += 2) {
+                double x2 = coords[i] - x0;
+                double y2 = coords[i + 1] - y0;
+                result.add(x1 * y2 - x2 * y1);
+                x1 = x2;
+                y1 = y2;
+            }
+            return result;
+        }
+    }
+}
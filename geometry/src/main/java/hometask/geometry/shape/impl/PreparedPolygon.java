@@ -0,0 +1,406 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.ShapeSignature;
+
+import java.util.Arrays;
+
+/**
+ * Класс {@code PreparedPolygon} — обертка над многоугольником, подготовленная для массовых проверок
+ * принадлежности точек.
+ * <p>
+ * Ограничивающий прямоугольник многоугольника делится на равномерную сетку примерно из n ячеек,
+ * для каждой ячейки запоминаются пересекающие ее грани и то, лежит ли внутри многоугольника ее центр.
+ * Принадлежность точки определяется по центру ее ячейки: лучи из точки и из центра пересекают одни и те же
+ * удаленные грани, поэтому достаточно сравнить пересечения с гранями своей ячейки и учесть концы цепочек
+ * граней, проходящих правее нее. На реальных контурах время запроса почти не зависит от числа вершин,
+ * а результат совпадает с {@link Polygon#containsPoint(Point)}, так как используется та же формула.
+ * </p>
+ * <p>
+ * Выпуклые многоугольники и так проверяются за O(log n), поэтому для них сетка не строится и запросы
+ * передаются исходному многоугольнику. Остальные операции также делегируются ему; преобразования
+ * возвращают обычный {@link Polygon}.
+ * </p>
+ */
+public final class PreparedPolygon implements Shape {
+    private static final double CELL_MARGIN = 1e-6; // Доля ячейки, на которую расширяются границы граней
+
+    private final Polygon polygon;
+    private final double[] coords;
+    private final boolean convex;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final int columns;
+    private final int rows;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final double marginX; // Запас на ошибки округления при раскладке граней по ячейкам
+    private final double marginY;
+    private final int[] cellStart; // Начало списка граней ячейки в cellEdges (формат CSR)
+    private final int[] cellEdges; // Номера граней: грань i идет от вершины i к вершине i + 1
+    private final long[] centerInside; // Битовая маска: центр ячейки лежит внутри многоугольника
+    private final int[] chainStart; // Начало списка концов цепочек ячейки в chainEndY
+    private final double[] chainEndY; // Ординаты вершин правее ячейки, где грань ячейки смыкается с чужой
+
+    /**
+     * Конструктор строит индекс граней для заданного многоугольника.
+     *
+     * @param polygon многоугольник, для которого выполняется подготовка
+     */
+    public PreparedPolygon(Polygon polygon) {
+        this.polygon = polygon;
+        this.coords = polygon.coordinates();
+
+        Bounds bounds = polygon.bounds();
+        this.minX = bounds.minX();
+        this.minY = bounds.minY();
+        this.maxX = bounds.maxX();
+        this.maxY = bounds.maxY();
+
+        // Выпуклому многоугольнику сетка не нужна
+        this.convex = polygon.convexFan() != ConvexFan.NONE;
+        int n = polygon.verticeCount();
+        if (convex) {
+            this.columns = 1;
+            this.rows = 1;
+            this.cellWidth = 1;
+            this.cellHeight = 1;
+            this.marginX = 0;
+            this.marginY = 0;
+            this.cellStart = new int[2];
+            this.cellEdges = new int[0];
+            this.centerInside = new long[1];
+            this.chainStart = new int[2];
+            this.chainEndY = new double[0];
+            return;
+        }
+
+        // Сетка примерно из n ячеек с пропорциями ограничивающего прямоугольника
+        double width = bounds.width();
+        double height = bounds.height();
+        int columnCount = 1;
+        if (width > 0 && height > 0) {
+            columnCount = (int) Math.max(1, Math.min(n, Math.round(Math.sqrt(n * width / height))));
+        }
+        this.columns = columnCount;
+        this.rows = Math.max(1, Math.min(n, (n + columnCount - 1) / columnCount));
+        this.cellWidth = width > 0 ? width / columns : 1;
+        this.cellHeight = height > 0 ? height / rows : 1;
+        double magnitude = Math.max(Math.max(Math.abs(minX), Math.abs(maxX)), Math.max(Math.abs(minY), Math.abs(maxY)));
+        this.marginX = cellWidth * CELL_MARGIN + 16 * Math.ulp(magnitude);
+        this.marginY = cellHeight * CELL_MARGIN + 16 * Math.ulp(magnitude);
+
+        // Раскладываем грани по ячейкам в два прохода: подсчет и заполнение
+        int cells = columns * rows;
+        this.cellStart = new int[cells + 1];
+        for (int edge = 0; edge < n; edge++) {
+            registerEdge(edge, null);
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        this.cellEdges = new int[cellStart[cells]];
+        int[] fill = Arrays.copyOf(cellStart, cells);
+        for (int edge = 0; edge < n; edge++) {
+            registerEdge(edge, fill);
+        }
+
+        this.centerInside = new long[(cells + 63) >>> 6];
+        classifyCenters();
+
+        // Концы цепочек граней, проходящих правее ячейки: там, где грань ячейки переходит в чужую
+        this.chainStart = new int[cells + 1];
+        int[] stamp = new int[n];
+        Arrays.fill(stamp, -1);
+        double[] ends = new double[16];
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                stamp[cellEdges[k]] = cell;
+            }
+            double cx = minX + (cell % columns + 0.5) * cellWidth;
+            double low = minY + (cell / columns) * cellHeight - marginY;
+            double high = minY + (cell / columns + 1) * cellHeight + marginY;
+            for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                int edge = cellEdges[k];
+                for (int vertex = edge; vertex <= edge + 1; vertex++) {
+                    int neighbour = vertex == edge ? (edge + n - 1) % n : (edge + 1) % n;
+                    double vx = coords[2 * (vertex % n)];
+                    double vy = coords[2 * (vertex % n) + 1];
+                    if (stamp[neighbour] != cell && vx > cx && vy >= low && vy <= high) {
+                        if (count == ends.length) {
+                            ends = Arrays.copyOf(ends, count * 2);
+                        }
+                        ends[count++] = vy;
+                    }
+                }
+            }
+            chainStart[cell + 1] = count;
+        }
+        this.chainEndY = Arrays.copyOf(ends, count);
+    }
+
+    /**
+     * Возвращает исходный многоугольник.
+     *
+     * @return многоугольник, для которого построен индекс
+     */
+    public Polygon polygon() {
+        return polygon;
+    }
+
+    // Добавляет грань во все ячейки, которые она пересекает (с небольшим запасом).
+    // Если fill == null, только увеличивает счетчики ячеек в cellStart
+    private void registerEdge(int edge, int[] fill) {
+        int next = (2 * edge + 2) % coords.length;
+        double x1 = coords[2 * edge];
+        double y1 = coords[2 * edge + 1];
+        double x2 = coords[next];
+        double y2 = coords[next + 1];
+
+        double lowY = Math.min(y1, y2);
+        double highY = Math.max(y1, y2);
+        int firstRow = row(lowY - marginY);
+        int lastRow = row(highY + marginY);
+        for (int r = firstRow; r <= lastRow; r++) {
+            // Часть грани внутри горизонтальной полосы строки
+            double left = Math.min(x1, x2);
+            double right = Math.max(x1, x2);
+            if (y1 != y2) {
+                double bandLow = Math.max(lowY, minY + r * cellHeight);
+                double bandHigh = Math.min(highY, minY + (r + 1) * cellHeight);
+                double xLow = x1 + (bandLow - y1) * (x2 - x1) / (y2 - y1);
+                double xHigh = x1 + (bandHigh - y1) * (x2 - x1) / (y2 - y1);
+                left = Math.max(left, Math.min(xLow, xHigh));
+                right = Math.min(right, Math.max(xLow, xHigh));
+            }
+            int firstColumn = column(left - marginX);
+            int lastColumn = column(right + marginX);
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = r * columns + c;
+                if (fill == null) {
+                    cellStart[cell + 1]++;
+                } else {
+                    cellEdges[fill[cell]++] = edge;
+                }
+            }
+        }
+    }
+
+    // Определяет положение центров ячеек построчно: пересечения граней с горизонталью центров
+    // сортируются, после чего четность для каждого центра находится одним проходом. Абсциссы пересечений
+    // приближенные, поэтому центр, рядом с которым лежит пересечение, проверяется точно — тем же правилом,
+    // что и точки в contains, иначе результаты для точек ячейки разошлись бы с Polygon.containsPoint
+    private void classifyCenters() {
+        int[] stamp = new int[coords.length / 2];
+        Arrays.fill(stamp, -1);
+        double[] crossings = new double[16];
+        int[] crossingEdges = new int[16];
+        double tolerance = 64 * Math.ulp(Math.max(Math.abs(minX), Math.abs(maxX)));
+        for (int r = 0; r < rows; r++) {
+            double cy = minY + (r + 0.5) * cellHeight;
+            int count = 0;
+            for (int cell = r * columns; cell < (r + 1) * columns; cell++) {
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int edge = cellEdges[k];
+                    if (stamp[edge] == r) {
+                        continue;
+                    }
+                    stamp[edge] = r;
+                    int next = (2 * edge + 2) % coords.length;
+                    double x1 = coords[2 * edge];
+                    double y1 = coords[2 * edge + 1];
+                    double x2 = coords[next];
+                    double y2 = coords[next + 1];
+                    if ((y1 > cy) != (y2 > cy)) {
+                        if (count == crossings.length) {
+                            crossings = Arrays.copyOf(crossings, count * 2);
+                            crossingEdges = Arrays.copyOf(crossingEdges, count * 2);
+                        }
+                        crossingEdges[count] = edge;
+                        crossings[count++] = (x2 - x1) * (cy - y1) / (y2 - y1) + x1;
+                    }
+                }
+            }
+            Arrays.sort(crossings, 0, count);
+
+            // Центр внутри, если правее него нечетное число пересечений
+            int notRight = 0;
+            for (int c = 0; c < columns; c++) {
+                double cx = minX + (c + 0.5) * cellWidth;
+                while (notRight < count && crossings[notRight] <= cx) {
+                    notRight++;
+                }
+                boolean inside = ((count - notRight) & 1) == 1;
+                boolean nearCrossing = notRight > 0 && cx - crossings[notRight - 1] <= tolerance
+                        || notRight < count && crossings[notRight] - cx <= tolerance;
+                if (nearCrossing) {
+                    inside = false;
+                    for (int k = 0; k < count; k++) {
+                        int edge = crossingEdges[k];
+                        int next = (2 * edge + 2) % coords.length;
+                        if (crosses(coords[2 * edge], coords[2 * edge + 1], coords[next], coords[next + 1], cx, cy)) {
+                            inside = !inside;
+                        }
+                    }
+                }
+                if (inside) {
+                    int cell = r * columns + c;
+                    centerInside[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+    }
+
+    private int column(double x) {
+        int column = (int) ((x - minX) / cellWidth);
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    private int row(double y) {
+        int row = (int) ((y - minY) / cellHeight);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    @Override
+    public boolean containsPoint(Point point) {
+        if (convex) {
+            return polygon.containsPoint(point);
+        }
+        return contains(point.x(), point.y());
+    }
+
+    @Override
+    public void containsPoints(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        if (convex) {
+            polygon.containsPoints(xs, ys, from, to, bitsOut);
+            return;
+        }
+        PointBatch.checkRange(xs, ys, from, to, bitsOut);
+        for (int start = from; start < to; ) {
+            int end = PointBatch.blockEnd(start, to);
+            long bits = 0;
+            for (int i = start; i < end; i++) {
+                bits |= (contains(xs[i], ys[i]) ? 1L : 0L) << i;
+            }
+            PointBatch.store(bitsOut, start, end, bits);
+            start = end;
+        }
+    }
+
+    private boolean contains(double x, double y) {
+        if (!(x >= minX && x <= maxX && y >= minY && y <= maxY)) {
+            return false;
+        }
+
+        int c = column(x);
+        int r = row(y);
+        int cell = r * columns + c;
+        double cx = minX + (c + 0.5) * cellWidth;
+        double cy = minY + (r + 0.5) * cellHeight;
+
+        // Грани ячейки: сравниваем их вклад в подсчет пересечений для точки и для центра ячейки
+        boolean inside = (centerInside[cell >>> 6] & (1L << cell)) != 0;
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            int edge = cellEdges[k];
+            int next = (2 * edge + 2) % coords.length;
+            if (crosses(coords[2 * edge], coords[2 * edge + 1], coords[next], coords[next + 1], x, y)
+                    != crosses(coords[2 * edge], coords[2 * edge + 1], coords[next], coords[next + 1], cx, cy)) {
+                inside = !inside;
+            }
+        }
+
+        // Грани правее ячейки пересекаются лучами обеих точек, если только между ними по высоте
+        // не лежит конец цепочки таких граней
+        for (int k = chainStart[cell]; k < chainStart[cell + 1]; k++) {
+            double endY = chainEndY[k];
+            if ((endY > y) != (endY > cy)) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    // Пересекает ли грань луч, выпущенный из точки (px, py) вправо; то же правило, что и в Polygon.containsPoint
+    private static boolean crosses(double x1, double y1, double x2, double y2, double px, double py) {
+        return Predicates.crossesRay(x1, y1, x2, y2, px, py);
+    }
+
+    @Override
+    public Bounds bounds() {
+        return polygon.bounds();
+    }
+
+    @Override
+    public double perimeter() {
+        return polygon.perimeter();
+    }
+
+    @Override
+    public double area() {
+        return polygon.area();
+    }
+
+    // Как и Polygon.equals, сравнивает фигуры одного класса: подготовленный многоугольник равен только
+    // подготовленному, иначе polygon.equals(prepared) и prepared.equals(polygon) различались бы
+    @Override
+    public boolean equals(Shape another) {
+        return another instanceof PreparedPolygon prepared && polygon.equals(prepared.polygon);
+    }
+
+    @Override
+    public boolean isCongruentTo(Shape another) {
+        return polygon.isCongruentTo(unwrap(another));
+    }
+
+    @Override
+    public boolean isSimilarTo(Shape another) {
+        return polygon.isSimilarTo(unwrap(another));
+    }
+
+    @Override
+    public ShapeSignature congruenceSignature() {
+        return polygon.congruenceSignature();
+    }
+
+    @Override
+    public ShapeSignature similaritySignature() {
+        return polygon.similaritySignature();
+    }
+
+    @Override
+    public Polygon rotate(Point center, double angle) {
+        return polygon.rotate(center, angle);
+    }
+
+    @Override
+    public Polygon reflect(Point center) {
+        return polygon.reflect(center);
+    }
+
+    @Override
+    public Polygon reflect(Line axis) {
+        return polygon.reflect(axis);
+    }
+
+    @Override
+    public Polygon scale(Point center, double coefficient) {
+        return polygon.scale(center, coefficient);
+    }
+
+    @Override
+    public Polygon transform(AffineTransform transform) {
+        return polygon.transform(transform);
+    }
+
+    private static Shape unwrap(Shape shape) {
+        return shape instanceof PreparedPolygon prepared ? prepared.polygon : shape;
+    }
+}
@@ -0,0 +1,209 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+
+/**
+ * Класс, представляющий прямоугольник, наследуемый от класса Polygon.
+ * Прямоугольник определяется двумя противоположными углами и соотношением его сторон.
+ */
+public class Rectangle extends Polygon {
+    private static final double SHAPE_TOLERANCE = 1e-9; // Относительная точность проверки вершин в ofVertices
+
+    /**
+     * Вложенный класс, представляющий диагонали прямоугольника.
+     * Содержит две линии, представляющие диагонали.
+     */
+    public record Diagonals(Line first, Line second) {
+    }
+
+    /**
+     * Конструктор, создающий прямоугольник по двум противоположным углам и соотношению сторон.
+     *
+     * @param p1    Первая точка (угол) прямоугольника.
+     * @param p2    Вторая точка (угол) прямоугольника.
+     * @param ratio Соотношение сторон прямоугольника.
+     */
+    public Rectangle(Point p1, Point p2, double ratio) {
+        super(calculateVertices(p1, p2, ratio)); // Вычисляем вершины и передаем их в конструктор родителя.
+    }
+
+    // Прямоугольник по готовым координатам вершин (образ другого прямоугольника при подобии)
+    Rectangle(double[] coords, boolean reverse) {
+        super(coords, reverse);
+    }
+
+    /**
+     * Создает прямоугольник по уже вычисленным вершинам другого прямоугольника, например прочитанным
+     * из хранилища. Вершины не пересчитываются по углам и соотношению сторон, поэтому прямоугольник
+     * совпадает с исходным до последнего бита.
+     *
+     * @param vertices Четыре вершины прямоугольника в порядке обхода.
+     * @return Прямоугольник с заданными вершинами.
+     * @throws IllegalArgumentException если вершин не четыре или они не образуют прямоугольник
+     *                                  (с относительной точностью 1e-9).
+     */
+    public static Rectangle ofVertices(Point... vertices) {
+        double[] coords = checkedCoordinates(vertices, false);
+        return new Rectangle(coords, orientation(coords) == -1);
+    }
+
+    // Координаты четырех вершин, проверенные на прямоугольник (и на квадрат, если square): стороны
+    // из вершины 0 ненулевые и перпендикулярны, а вершина 2 замыкает параллелограмм
+    static double[] checkedCoordinates(Point[] vertices, boolean square) {
+        String kind = square ? "Square" : "Rectangle";
+        if (vertices.length != 4) {
+            throw new IllegalArgumentException(kind + " must have 4 vertices.");
+        }
+        double[] coords = toCoordinates(vertices);
+        double widthX = coords[2] - coords[0];
+        double widthY = coords[3] - coords[1];
+        double heightX = coords[6] - coords[0];
+        double heightY = coords[7] - coords[1];
+        double width = Math.hypot(widthX, widthY);
+        double height = Math.hypot(heightX, heightY);
+        double tolerance = SHAPE_TOLERANCE * Math.max(width, height);
+        boolean valid = width > 0 && height > 0
+                && Math.abs(widthX * heightX + widthY * heightY) <= tolerance * Math.min(width, height)
+                && Math.hypot(coords[2] + heightX - coords[4], coords[3] + heightY - coords[5]) <= tolerance
+                && (!square || Math.abs(width - height) <= tolerance);
+        if (!valid) {
+            throw new IllegalArgumentException("Vertices do not form a " + kind.toLowerCase() + ".");
+        }
+        return coords;
+    }
+
+    /**
+     * Вычисляет вершины прямоугольника на основе двух заданных углов и соотношения сторон.
+     *
+     * @param p1    Первая точка (угол) прямоугольника.
+     * @param p2    Вторая точка (угол) прямоугольника.
+     * @param ratio Соотношение сторон прямоугольника.
+     * @return Массив точек, представляющих вершины прямоугольника.
+     */
+    private static Point[] calculateVertices(Point p1, Point p2, double ratio) {
+        double dx = p2.x() - p1.x();
+        double dy = p2.y() - p1.y();
+
+        // Сторона ширины отклонена от диагонали по часовой стрелке на угол, тангенс которого равен ratio,
+        // а ее длина равна длине диагонали, деленной на sqrt(1 + ratio^2). Поворот и сжатие диагонали
+        // выражаются без тригонометрии, поэтому, например, у квадрата с целыми вершинами они остаются целыми
+        double denominator = 1 + ratio * ratio;
+        double sideX = (dx + ratio * dy) / denominator;
+        double sideY = (dy - ratio * dx) / denominator;
+
+        // Вычисляем остальные вершины прямоугольника
+        Point p3 = new Point(p1.x() + sideX, p1.y() + sideY);
+        Point p4 = new Point(p2.x() - sideX, p2.y() - sideY);
+
+        return new Point[]{p1, p3, p2, p4}; // Возвращаем массив вершин
+    }
+
+    /**
+     * Возвращает центр прямоугольника.
+     *
+     * @return Точка, представляющая центр прямоугольника.
+     */
+    public Point center() {
+        double centerX = (vertexX(0) + vertexX(2)) / 2; // Вычисляем координату X центра
+        double centerY = (vertexY(0) + vertexY(2)) / 2; // Вычисляем координату Y центра
+        return new Point(centerX, centerY);
+    }
+
+    /**
+     * Возвращает диагонали прямоугольника.
+     *
+     * @return Объект Diagonals, содержащий две диагонали прямоугольника.
+     */
+    public Diagonals diagonals() {
+        Line diagonal1 = new Line(vertex(0), vertex(2)); // Первая диагональ
+        Line diagonal2 = new Line(vertex(1), vertex(3)); // Вторая диагональ
+        return new Diagonals(diagonal1, diagonal2); // Возвращаем диагонали
+    }
+
+    @Override
+    public double area() {
+        double width = edgeLength(0);
+        double height = edgeLength(1);
+        return width * height;
+    }
+
+    @Override
+    public boolean containsPoint(Point point) {
+        if (!bounds().contains(point.x(), point.y())) {
+            return false;
+        }
+        double x0 = vertexX(0);
+        double y0 = vertexY(0);
+        double widthX = vertexX(1) - x0;
+        double widthY = vertexY(1) - y0;
+        double heightX = vertexX(3) - x0;
+        double heightY = vertexY(3) - y0;
+        return contains(point.x() - x0, point.y() - y0, widthX, widthY, heightX, heightY,
+                widthX * widthX + widthY * widthY, heightX * heightX + heightY * heightY);
+    }
+
+    @Override
+    public void containsPoints(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        PointBatch.checkRange(xs, ys, from, to, bitsOut);
+        double x0 = vertexX(0);
+        double y0 = vertexY(0);
+        double widthX = vertexX(1) - x0;
+        double widthY = vertexY(1) - y0;
+        double heightX = vertexX(3) - x0;
+        double heightY = vertexY(3) - y0;
+        double squaredWidth = widthX * widthX + widthY * widthY;
+        double squaredHeight = heightX * heightX + heightY * heightY;
+        Bounds box = bounds();
+
+        for (int start = from; start < to; ) {
+            int end = PointBatch.blockEnd(start, to);
+            long bits = 0;
+            for (int i = start; i < end; i++) {
+                boolean inside = box.contains(xs[i], ys[i]) & contains(xs[i] - x0, ys[i] - y0, widthX, widthY, heightX, heightY,
+                        squaredWidth, squaredHeight);
+                bits |= (inside ? 1L : 0L) << i;
+            }
+            PointBatch.store(bitsOut, start, end, bits);
+            start = end;
+        }
+    }
+
+    // Точка (dx, dy), заданная относительно вершины 0, лежит в прямоугольнике, если ее проекции
+    // на обе стороны, выходящие из этой вершины, не выходят за их длину
+    private static boolean contains(double dx, double dy, double widthX, double widthY,
+                                    double heightX, double heightY, double squaredWidth, double squaredHeight) {
+        double u = dx * widthX + dy * widthY;
+        double v = dx * heightX + dy * heightY;
+        return u >= 0 & u <= squaredWidth & v >= 0 & v <= squaredHeight;
+    }
+
+    @Override
+    public Rectangle rotate(Point center, double angle) {
+        return transform(AffineTransform.rotation(center, angle));
+    }
+
+    @Override
+    public Rectangle reflect(Point center) {
+        return transform(AffineTransform.reflection(center));
+    }
+
+    @Override
+    public Rectangle reflect(Line axis) {
+        return transform(AffineTransform.reflection(axis));
+    }
+
+    @Override
+    public Rectangle scale(Point center, double coefficient) {
+        return transform(AffineTransform.scaling(center, coefficient));
+    }
+
+    @Override
+    public Rectangle transform(AffineTransform transform) {
+        // Подобие переводит прямоугольник в прямоугольник, поэтому достаточно преобразовать вершины
+        double[] mapped = transformCoordinates(transform);
+        return new Rectangle(mapped, reverseImage(transform, mapped));
+    }
+}
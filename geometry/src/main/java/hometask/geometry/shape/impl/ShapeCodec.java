@@ -0,0 +1,333 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+
+/**
+ * Компактный двоичный формат фигур.
+ * <p>
+ * Поток начинается с заголовка: сигнатура {@code "SHPC"} и номер версии формата (два числа int).
+ * Далее идут записи фигур: байт типа и координаты в виде чисел double в порядке little-endian.
+ * <ul>
+ *     <li>{@link Circle}: x и y центра, радиус;</li>
+ *     <li>{@link Ellipse}: координаты левого и правого фокусов, сумма расстояний до фокусов;</li>
+ *     <li>{@link Polygon}: число вершин (int), затем координаты вершин;</li>
+ *     <li>{@link Triangle}, {@link Rectangle}, {@link Square}: координаты 3, 4 и 4 вершин.</li>
+ * </ul>
+ * Вершины многоугольников записываются в том порядке, к которому их приводит {@link Polygon}
+ * (против часовой стрелки, начиная с самой левой и нижней), поэтому при чтении такой записи массив
+ * координат передается многоугольнику без копирования. Запись, вершины которой перечислены по часовой
+ * стрелке (например, созданная другой программой), при чтении обращается.
+ * </p>
+ * <p>
+ * Методы для {@link ByteBuffer} работают с текущей позицией буфера и не создают промежуточных объектов;
+ * буфер должен иметь порядок байтов {@link ByteOrder#LITTLE_ENDIAN}. Методы для каналов читают и пишут
+ * поток через собственный буфер, поэтому подходят и для {@link java.nio.channels.FileChannel}.
+ * </p>
+ */
+public final class ShapeCodec {
+
+    /**
+     * Версия формата, записываемая в заголовок.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Размер заголовка в байтах.
+     */
+    public static final int HEADER_SIZE = 8;
+
+    private static final int MAGIC = 'S' | 'H' << 8 | 'P' << 16 | 'C' << 24;
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+    // Наибольшее число вершин, при котором запись многоугольника помещается в буфер
+    private static final int MAX_VERTEX_COUNT = (Integer.MAX_VALUE - 1 - Integer.BYTES) / (2 * Double.BYTES);
+
+    // Байты типа
+    private static final byte CIRCLE = 1;
+    private static final byte ELLIPSE = 2;
+    private static final byte POLYGON = 3;
+    private static final byte RECTANGLE = 4;
+    private static final byte SQUARE = 5;
+    private static final byte TRIANGLE = 6;
+
+    private ShapeCodec() {
+    }
+
+    /**
+     * Записывает заголовок потока.
+     *
+     * @param buffer буфер с порядком байтов little-endian
+     * @throws IllegalArgumentException если порядок байтов буфера другой
+     */
+    public static void writeHeader(ByteBuffer buffer) {
+        checkOrder(buffer);
+        buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    /**
+     * Читает и проверяет заголовок потока.
+     *
+     * @param buffer буфер с порядком байтов little-endian
+     * @return версия формата потока
+     * @throws IllegalArgumentException если сигнатура неверна или версия не поддерживается
+     */
+    public static int readHeader(ByteBuffer buffer) {
+        checkOrder(buffer);
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a shape stream: wrong signature.");
+        }
+        int version = buffer.getInt();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Unsupported shape format version: " + version);
+        }
+        return version;
+    }
+
+    /**
+     * Возвращает размер записи фигуры в байтах.
+     *
+     * @param shape фигура
+     * @return размер записи
+     * @throws IllegalArgumentException если тип фигуры не поддерживается
+     */
+    public static int encodedSize(Shape shape) {
+        return switch (tag(shape)) {
+            case CIRCLE -> 1 + 3 * Double.BYTES;
+            case ELLIPSE -> 1 + 5 * Double.BYTES;
+            case POLYGON -> 1 + Integer.BYTES + 2 * ((Polygon) shape).verticeCount() * Double.BYTES;
+            case TRIANGLE -> 1 + 6 * Double.BYTES;
+            default -> 1 + 8 * Double.BYTES;
+        };
+    }
+
+    /**
+     * Записывает фигуру в буфер.
+     *
+     * @param shape  фигура
+     * @param buffer буфер с порядком байтов little-endian
+     * @throws IllegalArgumentException         если тип фигуры не поддерживается или порядок байтов другой
+     * @throws java.nio.BufferOverflowException если в буфере не хватает места
+     */
+    public static void encode(Shape shape, ByteBuffer buffer) {
+        checkOrder(buffer);
+        byte tag = tag(shape);
+        buffer.put(tag);
+        switch (tag) {
+            case CIRCLE -> {
+                Circle circle = (Circle) shape;
+                buffer.putDouble(circle.center().x()).putDouble(circle.center().y()).putDouble(circle.radius());
+            }
+            case ELLIPSE -> {
+                Ellipse ellipse = (Ellipse) shape;
+                buffer.putDouble(ellipse.focusLeft().x()).putDouble(ellipse.focusLeft().y())
+                        .putDouble(ellipse.focusRight().x()).putDouble(ellipse.focusRight().y())
+                        .putDouble(ellipse.sumDistance());
+            }
+            default -> {
+                double[] coords = ((Polygon) shape).coordinates();
+                if (tag == POLYGON) {
+                    buffer.putInt(coords.length / 2);
+                }
+                for (double coordinate : coords) {
+                    buffer.putDouble(coordinate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Читает фигуру из буфера.
+     *
+     * @param buffer буфер с порядком байтов little-endian
+     * @return прочитанная фигура
+     * @throws IllegalArgumentException          если запись повреждена или порядок байтов другой
+     * @throws java.nio.BufferUnderflowException если запись обрывается на конце буфера
+     */
+    public static Shape decode(ByteBuffer buffer) {
+        checkOrder(buffer);
+        byte tag = buffer.get();
+        return switch (tag) {
+            case CIRCLE -> new Circle(new Point(buffer.getDouble(), buffer.getDouble()), buffer.getDouble());
+            case ELLIPSE -> new Ellipse(new Point(buffer.getDouble(), buffer.getDouble()),
+                    new Point(buffer.getDouble(), buffer.getDouble()), buffer.getDouble());
+            case POLYGON -> {
+                int count = buffer.getInt();
+                if (count < 3 || count > buffer.remaining() / (2 * Double.BYTES)) {
+                    throw new IllegalArgumentException("Corrupted polygon record: " + count + " vertices.");
+                }
+                yield new Polygon(readCoordinates(buffer, count));
+            }
+            case TRIANGLE -> {
+                double[] coords = readCoordinates(buffer, 3);
+                yield new Triangle(coords, isClockwise(coords));
+            }
+            case RECTANGLE -> {
+                double[] coords = readCoordinates(buffer, 4);
+                yield new Rectangle(coords, isClockwise(coords));
+            }
+            case SQUARE -> {
+                double[] coords = readCoordinates(buffer, 4);
+                yield new Square(coords, isClockwise(coords));
+            }
+            default -> throw new IllegalArgumentException("Unknown shape tag: " + tag);
+        };
+    }
+
+    /**
+     * Записывает в канал заголовок и все фигуры.
+     *
+     * @param shapes  фигуры
+     * @param channel канал, например, {@link java.nio.channels.FileChannel}
+     * @throws IOException              при ошибке записи
+     * @throws IllegalArgumentException если тип какой-нибудь фигуры не поддерживается
+     */
+    public static void write(Iterable<? extends Shape> shapes, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        writeHeader(buffer);
+        for (Shape shape : shapes) {
+            int size = encodedSize(shape);
+            if (buffer.remaining() < size) {
+                flush(buffer, channel);
+                if (buffer.capacity() < size) {
+                    // Многоугольник с очень большим числом вершин не помещается в буфер целиком
+                    buffer = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+            encode(shape, buffer);
+        }
+        flush(buffer, channel);
+    }
+
+    /**
+     * Читает из канала поток, записанный методом {@link #write(Iterable, WritableByteChannel)},
+     * и передает фигуры обработчику по мере чтения.
+     *
+     * @param channel канал, например, {@link java.nio.channels.FileChannel}
+     * @param action  обработчик фигур
+     * @throws IOException              при ошибке чтения
+     * @throws IllegalArgumentException если поток поврежден или обрывается посреди записи
+     */
+    public static void read(ReadableByteChannel channel, Consumer<? super Shape> action) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN).flip();
+        boolean end = fill(buffer, channel, HEADER_SIZE);
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a shape stream: header is truncated.");
+        }
+        readHeader(buffer);
+        while (true) {
+            int size = recordSize(buffer);
+            if (size < 0 || buffer.remaining() < size) {
+                if (end) {
+                    if (buffer.hasRemaining()) {
+                        throw new IllegalArgumentException("Shape stream is truncated.");
+                    }
+                    return;
+                }
+                int required = Math.max(size, Integer.BYTES + 1);
+                if (buffer.capacity() < required) {
+                    buffer = ByteBuffer.allocateDirect(required).order(ByteOrder.LITTLE_ENDIAN).put(buffer).flip();
+                }
+                end = fill(buffer, channel, required);
+                continue;
+            }
+            action.accept(decode(buffer));
+        }
+    }
+
+    private static void checkOrder(ByteBuffer buffer) {
+        if (buffer.order() != ByteOrder.LITTLE_ENDIAN) {
+            throw new IllegalArgumentException("Shape codec requires a little-endian buffer.");
+        }
+    }
+
+    // Проверка типов идет от наследников к предкам
+    private static byte tag(Shape shape) {
+        if (shape instanceof Circle) {
+            return CIRCLE;
+        }
+        if (shape instanceof Ellipse) {
+            return ELLIPSE;
+        }
+        if (shape instanceof Square) {
+            return SQUARE;
+        }
+        if (shape instanceof Rectangle) {
+            return RECTANGLE;
+        }
+        if (shape instanceof Triangle) {
+            return TRIANGLE;
+        }
+        if (shape instanceof Polygon) {
+            return POLYGON;
+        }
+        throw new IllegalArgumentException("Unsupported shape type: " + shape.getClass());
+    }
+
+    private static double[] readCoordinates(ByteBuffer buffer, int count) {
+        double[] coords = new double[2 * count];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = buffer.getDouble();
+        }
+        return coords;
+    }
+
+    // Многоугольник хранит вершины против часовой стрелки; чужая запись может перечислять их наоборот
+    private static boolean isClockwise(double[] coords) {
+        return Polygon.orientation(coords) == -1;
+    }
+
+    // Размер записи, начинающейся с текущей позиции; -1, если для этого прочитано слишком мало байтов
+    private static int recordSize(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int position = buffer.position();
+        return switch (buffer.get(position)) {
+            case CIRCLE -> 1 + 3 * Double.BYTES;
+            case ELLIPSE -> 1 + 5 * Double.BYTES;
+            case POLYGON -> {
+                if (buffer.remaining() < 1 + Integer.BYTES) {
+                    yield -1;
+                }
+                int count = buffer.getInt(position + 1);
+                if (count < 3 || count > MAX_VERTEX_COUNT) {
+                    throw new IllegalArgumentException("Corrupted polygon record: " + count + " vertices.");
+                }
+                yield 1 + Integer.BYTES + 2 * count * Double.BYTES;
+            }
+            case TRIANGLE -> 1 + 6 * Double.BYTES;
+            case RECTANGLE, SQUARE -> 1 + 8 * Double.BYTES;
+            default -> throw new IllegalArgumentException("Unknown shape tag: " + buffer.get(position));
+        };
+    }
+
+    private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Дочитывает канал, пока в буфере меньше required непрочитанных байтов; true, если канал закончился
+    private static boolean fill(ByteBuffer buffer, ReadableByteChannel channel, int required) throws IOException {
+        buffer.compact();
+        try {
+            while (buffer.position() < required && buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            buffer.flip();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package hometask.geometry.shape.impl;
 
+import hometask.geometry.base.AffineTransform;
 import hometask.geometry.base.Point;
 
 /**
@@ -19,6 +20,24 @@ public class Square extends Rectangle {
         super(p1, p2, 1.0);
     }
 
+    // Квадрат по готовым координатам вершин (образ другого квадрата при подобии)
+    Square(double[] coords, boolean reverse) {
+        super(coords, reverse);
+    }
+
+    /**
+     * Создает квадрат по уже вычисленным вершинам другого квадрата, например прочитанным из хранилища.
+     *
+     * @param vertices Четыре вершины квадрата в порядке обхода.
+     * @return Квадрат с заданными вершинами.
+     * @throws IllegalArgumentException если вершин не четыре или они не образуют квадрат
+     *                                  (с относительной точностью 1e-9).
+     */
+    public static Square ofVertices(Point... vertices) {
+        double[] coords = checkedCoordinates(vertices, true);
+        return new Square(coords, orientation(coords) == -1);
+    }
+
     /**
      * Возвращает описанную окружность квадрата.
      *
@@ -26,7 +45,7 @@ public class Square extends Rectangle {
      */
     public Circle circumscribedCircle() {
         Point center = center();
-        double radius = edges()[0].length() / Math.sqrt(2);
+        double radius = edgeLength(0) / Math.sqrt(2);
         return new Circle(center, radius);
     }
 
@@ -37,19 +56,26 @@ public class Square extends Rectangle {
      */
     public Circle inscribedCircle() {
         Point center = center();
-        double radius = edges()[0].length() / 2;
+        double radius = edgeLength(0) / 2;
         return new Circle(center, radius);
     }
 
     @Override
     public double perimeter() {
         // Вычисляем длину стороны и умножаем на 4
-        return 4 * edges()[0].length();
+        return 4 * edgeLength(0);
     }
 
     @Override
     public double area() {
         // Площадь квадрата - сторона в квадрате
-        return Math.pow(edges()[0].length(), 2);
+        double side = edgeLength(0);
+        return side * side;
+    }
+
+    @Override
+    public Square transform(AffineTransform transform) {
+        double[] mapped = transformCoordinates(transform);
+        return new Square(mapped, reverseImage(transform, mapped));
     }
 }
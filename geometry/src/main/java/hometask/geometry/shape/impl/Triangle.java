@@ -0,0 +1,177 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+
+/**
+ * Класс, представляющий треугольник, наследуемый от класса Polygon.
+ * Треугольник определяется тремя вершинами.
+ */
+public class Triangle extends Polygon {
+    // Окружности вычисляются лениво при первом обращении
+    private volatile Circle circumscribedCircle;
+    private volatile Circle inscribedCircle;
+
+    public Triangle(Point p1, Point p2, Point p3) {
+        super(p1, p2, p3);
+    }
+
+    // Треугольник по готовым координатам вершин (образ другого треугольника при преобразовании)
+    Triangle(double[] coords, boolean reverse) {
+        super(coords, reverse);
+    }
+
+    @Override
+    public boolean containsPoint(Point point) {
+        if (isDegenerate()) {
+            return super.containsPoint(point);
+        }
+        double x = point.x();
+        double y = point.y();
+        return bounds().contains(x, y) && contains(x, y);
+    }
+
+    @Override
+    public void containsPoints(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        if (isDegenerate()) {
+            super.containsPoints(xs, ys, from, to, bitsOut);
+            return;
+        }
+        PointBatch.checkRange(xs, ys, from, to, bitsOut);
+        Bounds box = bounds();
+        for (int start = from; start < to; ) {
+            int end = PointBatch.blockEnd(start, to);
+            long bits = 0;
+            for (int i = start; i < end; i++) {
+                bits |= (box.contains(xs[i], ys[i]) & contains(xs[i], ys[i]) ? 1L : 0L) << i;
+            }
+            PointBatch.store(bitsOut, start, end, bits);
+            start = end;
+        }
+    }
+
+    // Вершины упорядочены против часовой стрелки, поэтому точка внутри, если она не лежит правее
+    // ни одной из сторон; на стороне — как в Predicates.ringContains, только если сторона идет вниз
+    // или горизонтально вправо (левая или нижняя граница). Точка уже проверена на попадание в ограничивающий
+    // прямоугольник, поэтому знаки определителей, которые больше общей границы погрешности, верны;
+    // остальные уточняются точным предикатом
+    private boolean contains(double px, double py) {
+        double x0 = vertexX(0);
+        double y0 = vertexY(0);
+        double x1 = vertexX(1);
+        double y1 = vertexY(1);
+        double x2 = vertexX(2);
+        double y2 = vertexY(2);
+        double d0 = (x0 - px) * (y1 - py) - (y0 - py) * (x1 - px);
+        double d1 = (x1 - px) * (y2 - py) - (y1 - py) * (x2 - px);
+        double d2 = (x2 - px) * (y0 - py) - (y2 - py) * (x0 - px);
+        double errorBound = Predicates.orient2dErrorBound(bounds());
+        if (Math.abs(d0) <= errorBound | Math.abs(d1) <= errorBound | Math.abs(d2) <= errorBound) {
+            d0 = Predicates.orient2d(x0, y0, x1, y1, px, py);
+            d1 = Predicates.orient2d(x1, y1, x2, y2, px, py);
+            d2 = Predicates.orient2d(x2, y2, x0, y0, px, py);
+        }
+        return covers(d0, x0, y0, x1, y1) & covers(d1, x1, y1, x2, y2) & covers(d2, x2, y2, x0, y0);
+    }
+
+    private static boolean covers(double side, double x1, double y1, double x2, double y2) {
+        return side > 0 || side == 0 && (y2 < y1 || y2 == y1 && x2 > x1);
+    }
+
+    // Вырожденный треугольник (вершины на одной прямой) проверяется общим алгоритмом многоугольника
+    private boolean isDegenerate() {
+        return Predicates.orient2d(vertexX(0), vertexY(0), vertexX(1), vertexY(1), vertexX(2), vertexY(2)) == 0;
+    }
+
+    @Override
+    public Triangle transform(AffineTransform transform) {
+        double[] mapped = transformCoordinates(transform);
+        return new Triangle(mapped, reverseImage(transform, mapped));
+    }
+
+    @Override
+    public double area() {
+        double x1 = vertexX(0);
+        double y1 = vertexY(0);
+        double x2 = vertexX(1);
+        double y2 = vertexY(1);
+        double x3 = vertexX(2);
+        double y3 = vertexY(2);
+
+        return Math.abs((x1 * (y2 - y3) + x2 * (y3 - y1) + x3 * (y1 - y2)) / 2);
+    }
+
+    /**
+     * Возвращает описанную окружность треугольника.
+     *
+     * @return Окружность, описанная вокруг треугольника.
+     */
+    public Circle circumscribedCircle() {
+        Circle result = circumscribedCircle;
+        if (result == null) {
+            result = calculateCircumscribedCircle();
+            circumscribedCircle = result;
+        }
+        return result;
+    }
+
+    private Circle calculateCircumscribedCircle() {
+        // Извлекаем координаты вершин
+        double ax = vertexX(0);
+        double ay = vertexY(0);
+        double bx = vertexX(1);
+        double by = vertexY(1);
+        double cx = vertexX(2);
+        double cy = vertexY(2);
+
+        // Вычисляем детерминант, необходимый для нахождения центра окружности
+        double d = 2 * (ax * (by - cy) + bx * (cy - ay) + cx * (ay - by));
+
+        // Вычисляем координаты центра описанной окружности (ux, uy)
+        double ux = ((ax * ax + ay * ay) * (by - cy) + (bx * bx + by * by) * (cy - ay) + (cx * cx + cy * cy) * (ay - by)) / d;
+        double uy = ((ax * ax + ay * ay) * (cx - bx) + (bx * bx + by * by) * (ax - cx) + (cx * cx + cy * cy) * (bx - ax)) / d;
+
+        // Создаем точку центра окружности
+        Point center = new Point(ux, uy);
+
+        // Радиус описанной окружности равен расстоянию от центра до одной из вершин
+        double radius = Math.hypot(center.x() - ax, center.y() - ay);
+
+        return new Circle(center, radius); // Возвращаем окружность
+    }
+
+    /**
+     * Возвращает вписанную окружность треугольника.
+     *
+     * @return Окружность, вписанная в треугольник.
+     */
+    public Circle inscribedCircle() {
+        Circle result = inscribedCircle;
+        if (result == null) {
+            result = calculateInscribedCircle();
+            inscribedCircle = result;
+        }
+        return result;
+    }
+
+    private Circle calculateInscribedCircle() {
+        // Длины сторон, противолежащих вершинам 0, 1 и 2
+        double a = edgeLength(1);
+        double b = edgeLength(2);
+        double c = edgeLength(0);
+
+        // Полупериметр треугольника
+        double s = (a + b + c) / 2;
+
+        // Радиус вписанной окружности равен площади, деленной на полупериметр
+        double radius = area() / s;
+
+        // Центр вписанной окружности — среднее вершин, взвешенное длинами противолежащих сторон
+        double ux = (a * vertexX(0) + b * vertexX(1) + c * vertexX(2)) / (2 * s);
+        double uy = (a * vertexY(0) + b * vertexY(1) + c * vertexY(2)) / (2 * s);
+
+        return new Circle(new Point(ux, uy), radius); // Возвращаем окружность
+    }
+}
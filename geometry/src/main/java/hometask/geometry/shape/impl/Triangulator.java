@@ -0,0 +1,653 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Predicates;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Разбиение простых многоугольников на треугольники за O(n log n).
+ * <p>
+ * Результат — буфер индексов: по три номера вершин многоугольника (в порядке {@link Polygon#vertexX})
+ * на треугольник, каждый треугольник обходится против часовой стрелки. Объекты {@link Triangle}
+ * не создаются. Повторяющиеся подряд вершины пропускаются, поэтому для n различных вершин получается
+ * n - 2 треугольника; у вершин, лежащих на одной прямой с соседями, треугольники могут быть вырожденными.
+ * </p>
+ * <p>
+ * Алгоритм выбирается по размеру и форме многоугольника:
+ * <ol>
+ *     <li>выпуклый многоугольник разбивается веером из первой вершины за O(n);</li>
+ *     <li>небольшой многоугольник — отсечением ушей, которое на нескольких вершинах быстрее подготовки
+ *     заметания;</li>
+ *     <li>остальные многоугольники горизонтальная прямая, движущаяся сверху вниз, делит диагоналями
+ *     на y-монотонные части (классический алгоритм с помощниками граней), и каждая часть
+ *     разбивается за линейное время обходом стеком.</li>
+ * </ol>
+ * Все решения о взаимном расположении точек принимаются точным предикатом {@link Predicates#orientation}.
+ * Разбиения многоугольников кешируются ({@link Polygon#triangles()}); {@link #triangulateAll}
+ * строит их для набора многоугольников параллельно в общем пуле fork/join.
+ * </p>
+ */
+public final class Triangulator {
+    // Наибольшее число вершин, при котором многоугольник разбивается отсечением ушей
+    static final int EAR_CLIPPING_LIMIT = 32;
+    // Число многоугольников, которые обрабатываются одним потоком без дальнейшего деления
+    private static final int LEAF_SIZE = 1 << 6;
+
+    // Типы вершин при заметании
+    private static final byte START = 0;
+    private static final byte END = 1;
+    private static final byte SPLIT = 2;
+    private static final byte MERGE = 3;
+    private static final byte REGULAR = 4;
+
+    private final double[] ring; // Координаты вершин без повторов подряд
+    private final int[] source;  // Номер вершины кольца в исходном многоугольнике
+    private final int m;         // Число вершин кольца
+    private final int[] result;
+    private int resultSize;
+
+    private Triangulator(double[] coords) {
+        int n = coords.length / 2;
+        ring = new double[coords.length];
+        source = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (count == 0 || coords[2 * i] != ring[2 * count - 2] || coords[2 * i + 1] != ring[2 * count - 1]) {
+                ring[2 * count] = coords[2 * i];
+                ring[2 * count + 1] = coords[2 * i + 1];
+                source[count++] = i;
+            }
+        }
+        if (count > 1 && ring[0] == ring[2 * count - 2] && ring[1] == ring[2 * count - 1]) {
+            count--;
+        }
+        m = count;
+        result = new int[3 * Math.max(0, m - 2)];
+    }
+
+    /**
+     * Разбивает на треугольники каждый многоугольник набора; большие наборы обрабатываются параллельно.
+     * Разбиения кешируются в многоугольниках.
+     *
+     * @param polygons простые многоугольники
+     * @return буферы индексов в порядке многоугольников (см. {@link Polygon#triangles()})
+     * @throws IllegalArgumentException если какой-либо многоугольник не простой
+     */
+    public static int[][] triangulateAll(List<? extends Polygon> polygons) {
+        Polygon[] array = polygons.toArray(new Polygon[0]);
+        int[][] buffers = new int[array.length][];
+        BulkTask task = new BulkTask(array, buffers, 0, array.length);
+        if (array.length <= LEAF_SIZE) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return buffers;
+    }
+
+    // Разбиение кольца простого многоугольника, вершины которого перечислены против часовой стрелки
+    static int[] triangulate(double[] coords, boolean convex) {
+        Triangulator triangulator = new Triangulator(coords);
+        if (triangulator.m >= 3) {
+            if (convex) {
+                triangulator.fan();
+            } else if (triangulator.m <= EAR_CLIPPING_LIMIT) {
+                triangulator.clipEars();
+            } else {
+                new MonotonePartition(triangulator).run();
+            }
+        }
+        return triangulator.result;
+    }
+
+    private void fan() {
+        for (int i = 1; i + 1 < m; i++) {
+            emit(0, i, i + 1);
+        }
+    }
+
+    // Отсечение ушей за O(m^2) для небольших многоугольников
+    private void clipEars() {
+        int[] next = new int[m];
+        int[] prev = new int[m];
+        for (int i = 0; i < m; i++) {
+            next[i] = i + 1 < m ? i + 1 : 0;
+            prev[i] = i > 0 ? i - 1 : m - 1;
+        }
+
+        int remaining = m;
+        int vertex = 0;
+        int attempts = 0;
+        while (remaining > 3) {
+            int p = prev[vertex];
+            int n = next[vertex];
+            boolean ear = isEar(next, p, vertex, n);
+            if (!ear && ++attempts > remaining) {
+                // Ушей нет только у вырожденного остатка: отсекаем вершину, лежащую на одной прямой
+                // с соседями (треугольник нулевой площади), а если таких нет — любую невогнутую
+                vertex = degenerateEar(next, prev, vertex, remaining);
+                p = prev[vertex];
+                n = next[vertex];
+                ear = true;
+            }
+            if (ear) {
+                emit(p, vertex, n);
+                next[p] = n;
+                prev[n] = p;
+                remaining--;
+                attempts = 0;
+            }
+            vertex = n;
+        }
+        emit(prev[vertex], vertex, next[vertex]);
+    }
+
+    // Ухо: выпуклая вершина, в треугольнике которой (включая границу) нет других вершин остатка
+    private boolean isEar(int[] next, int p, int vertex, int n) {
+        if (orientation(p, vertex, n) <= 0) {
+            return false;
+        }
+        for (int w = next[n]; w != p; w = next[w]) {
+            if (orientation(p, vertex, w) >= 0 && orientation(vertex, n, w) >= 0 && orientation(n, p, w) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int degenerateEar(int[] next, int[] prev, int vertex, int remaining) {
+        int convex = vertex;
+        for (int i = 0; i < remaining; i++, vertex = next[vertex]) {
+            int turn = orientation(prev[vertex], vertex, next[vertex]);
+            if (turn == 0) {
+                return vertex;
+            }
+            if (turn > 0) {
+                convex = vertex;
+            }
+        }
+        return convex;
+    }
+
+    // Добавляет треугольник кольца, обходя его против часовой стрелки
+    private void emit(int a, int b, int c) {
+        if (orientation(a, b, c) < 0) {
+            int tmp = b;
+            b = c;
+            c = tmp;
+        }
+        result[resultSize++] = source[a];
+        result[resultSize++] = source[b];
+        result[resultSize++] = source[c];
+    }
+
+    private int orientation(int a, int b, int c) {
+        return Predicates.orientation(ring[2 * a], ring[2 * a + 1], ring[2 * b], ring[2 * b + 1],
+                ring[2 * c], ring[2 * c + 1]);
+    }
+
+    // Порядок заметания: выше, а при равной высоте левее
+    private boolean above(int a, int b) {
+        double ya = ring[2 * a + 1];
+        double yb = ring[2 * b + 1];
+        return ya > yb || ya == yb && ring[2 * a] < ring[2 * b];
+    }
+
+    /**
+     * Разбиение на y-монотонные части и их триангуляция. Кольцо хранится списком полуребер: полуребро 2k
+     * идет по грани k из вершины k в k + 1 внутри многоугольника, 2k + 1 — обратное ему снаружи,
+     * диагонали добавляются парами следом. Грани, пересекающие заметающую прямую и имеющие внутренность
+     * справа, хранятся в декартовом дереве слева направо вместе со своими помощниками — самыми нижними
+     * вершинами над прямой, видимыми из грани.
+     */
+    private static final class MonotonePartition {
+        private final Triangulator owner;
+        private final int m;
+        private final int[] order; // Вершины в порядке заметания
+        private final byte[] types;
+        private final int[] helper;
+
+        // Полуребра
+        private final int[] origin;
+        private final int[] next;
+        private final int[] prev;
+        private int halfEdges;
+
+        // Декартово дерево граней: узел — номер грани (из вершины k в k + 1)
+        private final int[] left;
+        private final int[] right;
+        private final int[] parent;
+        private final int[] priority;
+        private int root = -1;
+
+        MonotonePartition(Triangulator owner) {
+            this.owner = owner;
+            m = owner.m;
+            order = new int[m];
+            double[] sortY = new double[m];
+            double[] sortX = new double[m];
+            for (int i = 0; i < m; i++) {
+                order[i] = i;
+                sortY[i] = owner.ring[2 * i + 1];
+                sortX[i] = owner.ring[2 * i];
+            }
+            sort(sortY, sortX, 0, m);
+
+            types = new byte[m];
+            for (int v = 0; v < m; v++) {
+                int p = v > 0 ? v - 1 : m - 1;
+                int n = v + 1 < m ? v + 1 : 0;
+                boolean pBelow = owner.above(v, p);
+                boolean nBelow = owner.above(v, n);
+                boolean convex = owner.orientation(p, v, n) > 0;
+                if (pBelow && nBelow) {
+                    types[v] = convex ? START : SPLIT;
+                } else if (!pBelow && !nBelow) {
+                    types[v] = convex ? END : MERGE;
+                } else {
+                    types[v] = REGULAR;
+                }
+            }
+            helper = new int[m];
+
+            // Диагоналей не больше m - 3
+            origin = new int[4 * m];
+            next = new int[4 * m];
+            prev = new int[4 * m];
+            for (int k = 0; k < m; k++) {
+                int following = k + 1 < m ? k + 1 : 0;
+                int preceding = k > 0 ? k - 1 : m - 1;
+                origin[2 * k] = k;
+                next[2 * k] = 2 * following;
+                prev[2 * k] = 2 * preceding;
+                origin[2 * k + 1] = following;
+                next[2 * k + 1] = 2 * preceding + 1;
+                prev[2 * k + 1] = 2 * following + 1;
+            }
+            halfEdges = 2 * m;
+
+            left = new int[m];
+            right = new int[m];
+            parent = new int[m];
+            priority = new int[m];
+            SplittableRandom random = new SplittableRandom(m);
+            for (int i = 0; i < m; i++) {
+                priority[i] = random.nextInt();
+            }
+        }
+
+        void run() {
+            for (int v : order) {
+                int previousEdge = v > 0 ? v - 1 : m - 1; // Грань из предыдущей вершины в v
+                switch (types[v]) {
+                    case START -> insert(v, v);
+                    case END -> finishEdge(previousEdge, v);
+                    case SPLIT -> {
+                        int edge = edgeLeftOf(v);
+                        addDiagonal(v, helper[edge]);
+                        helper[edge] = v;
+                        insert(v, v);
+                    }
+                    case MERGE -> {
+                        finishEdge(previousEdge, v);
+                        passLeftEdge(v);
+                    }
+                    default -> {
+                        // Внутренность справа от вершины, если кольцо идет через нее вниз (номер грани
+                        // совпадает с номером ее начала)
+                        if (owner.above(previousEdge, v)) {
+                            finishEdge(previousEdge, v);
+                            insert(v, v);
+                        } else {
+                            passLeftEdge(v);
+                        }
+                    }
+                }
+            }
+            triangulatePieces();
+        }
+
+        // Грань заканчивается в вершине v; помощник-слияние соединяется с v
+        private void finishEdge(int edge, int v) {
+            if (types[helper[edge]] == MERGE) {
+                addDiagonal(v, helper[edge]);
+            }
+            delete(edge);
+        }
+
+        // Вершина v становится помощником грани слева от нее
+        private void passLeftEdge(int v) {
+            int edge = edgeLeftOf(v);
+            if (types[helper[edge]] == MERGE) {
+                addDiagonal(v, helper[edge]);
+            }
+            helper[edge] = v;
+        }
+
+        // Ближайшая грань дерева слева от вершины v
+        private int edgeLeftOf(int v) {
+            int best = -1;
+            for (int node = root; node >= 0; ) {
+                if (side(node, v) > 0) {
+                    best = node;
+                    node = right[node];
+                } else {
+                    node = left[node];
+                }
+            }
+            return best;
+        }
+
+        // Сторона точки относительно грани, идущей вниз: 1 — справа, -1 — слева
+        private int side(int edge, int v) {
+            return owner.orientation(edge, edge + 1 < m ? edge + 1 : 0, v);
+        }
+
+        private void insert(int edge, int v) {
+            int lower = edge + 1 < m ? edge + 1 : 0;
+            int after = -1;
+            for (int node = root; node >= 0; ) {
+                int s = side(node, v);
+                if (s == 0) {
+                    s = side(node, lower);
+                }
+                if (s > 0) {
+                    after = node;
+                    node = right[node];
+                } else {
+                    node = left[node];
+                }
+            }
+            insertAfter(after, edge);
+            helper[edge] = v;
+        }
+
+        private void addDiagonal(int a, int b) {
+            int fromA = outgoingToward(a, b);
+            int fromB = outgoingToward(b, a);
+            int intoA = prev[fromA];
+            int intoB = prev[fromB];
+            int ab = halfEdges++;
+            int ba = halfEdges++;
+            origin[ab] = a;
+            origin[ba] = b;
+            next[intoA] = ab;
+            prev[ab] = intoA;
+            next[ab] = fromB;
+            prev[fromB] = ab;
+            next[intoB] = ba;
+            prev[ba] = intoB;
+            next[ba] = fromA;
+            prev[fromA] = ba;
+        }
+
+        // Полуребро из вершины a, в угле части слева от которого лежит направление на b
+        private int outgoingToward(int a, int b) {
+            int start = 2 * a;
+            if (prev[start] == 2 * (a > 0 ? a - 1 : m - 1)) {
+                // Диагоналей у вершины еще нет: внутри многоугольника только один угол
+                return start;
+            }
+            int edge = start;
+            do {
+                int to = origin[edge ^ 1];
+                int from = origin[prev[edge]];
+                int toSide = owner.orientation(a, to, b);
+                int fromSide = owner.orientation(a, from, b);
+                boolean inside = owner.orientation(a, to, from) > 0
+                        ? toSide > 0 && fromSide < 0
+                        : toSide > 0 || fromSide < 0;
+                if (inside) {
+                    return edge;
+                }
+                edge = prev[edge] ^ 1;
+            } while (edge != start);
+            throw new IllegalStateException("Diagonal does not lie inside the polygon.");
+        }
+
+        // Обходит части, ограниченные внутренними полуребрами, и разбивает каждую на треугольники
+        private void triangulatePieces() {
+            boolean[] visited = new boolean[halfEdges];
+            int[] piece = new int[m];
+            int[] sorted = new int[m];
+            boolean[] onLeft = new boolean[m];
+            int[] stack = new int[m];
+            for (int start = 0; start < halfEdges; start++) {
+                // Внешние полуребра кольца — нечетные среди первых 2m
+                if (visited[start] || start < 2 * m && (start & 1) == 1) {
+                    continue;
+                }
+                int size = 0;
+                int edge = start;
+                do {
+                    visited[edge] = true;
+                    piece[size++] = origin[edge];
+                    edge = next[edge];
+                } while (edge != start);
+                triangulateMonotone(piece, size, sorted, onLeft, stack);
+            }
+        }
+
+        // Разбиение y-монотонной части (вершины против часовой стрелки) обходом стеком за линейное время
+        private void triangulateMonotone(int[] piece, int size, int[] sorted, boolean[] onLeft, int[] stack) {
+            int top = 0;
+            int bottom = 0;
+            for (int i = 1; i < size; i++) {
+                if (owner.above(piece[i], piece[top])) {
+                    top = i;
+                }
+                if (owner.above(piece[bottom], piece[i])) {
+                    bottom = i;
+                }
+            }
+
+            // Против часовой стрелки от верхней вершины кольцо спускается по левой цепочке, а по часовой —
+            // по правой; слияние цепочек дает вершины в порядке заметания
+            int l = top;
+            int r = top > 0 ? top - 1 : size - 1;
+            for (int k = 0; k < size; k++) {
+                boolean takeLeft = l != bottom && (r == bottom || owner.above(piece[l], piece[r]))
+                        || l == bottom && r == bottom;
+                if (takeLeft) {
+                    sorted[k] = piece[l];
+                    onLeft[k] = true;
+                    l = l + 1 < size ? l + 1 : 0;
+                } else {
+                    sorted[k] = piece[r];
+                    onLeft[k] = false;
+                    r = r > 0 ? r - 1 : size - 1;
+                }
+            }
+
+            int depth = 0;
+            stack[depth++] = 0;
+            stack[depth++] = 1;
+            for (int k = 2; k < size - 1; k++) {
+                int u = sorted[k];
+                if (onLeft[k] != onLeft[stack[depth - 1]]) {
+                    // Другая цепочка: вершина видит весь стек
+                    for (int i = 0; i + 1 < depth; i++) {
+                        owner.emit(u, sorted[stack[i]], sorted[stack[i + 1]]);
+                    }
+                    int last = stack[depth - 1];
+                    depth = 0;
+                    stack[depth++] = last;
+                    stack[depth++] = k;
+                } else {
+                    // Та же цепочка: отсекаем треугольники, пока угол у последней вершины выпуклый
+                    int last = stack[--depth];
+                    while (depth > 0 && (onLeft[k]
+                            ? owner.orientation(sorted[stack[depth - 1]], sorted[last], u) > 0
+                            : owner.orientation(u, sorted[last], sorted[stack[depth - 1]]) > 0)) {
+                        owner.emit(u, sorted[last], sorted[stack[depth - 1]]);
+                        last = stack[--depth];
+                    }
+                    stack[depth++] = last;
+                    stack[depth++] = k;
+                }
+            }
+            int u = sorted[size - 1];
+            for (int i = 0; i + 1 < depth; i++) {
+                owner.emit(u, sorted[stack[i]], sorted[stack[i + 1]]);
+            }
+        }
+
+        // Быстрая сортировка вершин order[from, to) в порядке заметания. Координаты переставляются вместе
+        // с номерами (sortY, sortX), чтобы сравнения читали память подряд, а не вразброс по кольцу
+        private void sort(double[] sortY, double[] sortX, int from, int to) {
+            while (to - from > 16) {
+                int middle = (from + to) >>> 1;
+                if (less(sortY, sortX, middle, from)) swap(sortY, sortX, middle, from);
+                if (less(sortY, sortX, to - 1, from)) swap(sortY, sortX, to - 1, from);
+                if (less(sortY, sortX, to - 1, middle)) swap(sortY, sortX, to - 1, middle);
+                double pivotY = sortY[middle];
+                double pivotX = sortX[middle];
+
+                int i = from;
+                int j = to - 1;
+                while (i <= j) {
+                    while (sortY[i] > pivotY || sortY[i] == pivotY && sortX[i] < pivotX) i++;
+                    while (pivotY > sortY[j] || pivotY == sortY[j] && pivotX < sortX[j]) j--;
+                    if (i <= j) {
+                        swap(sortY, sortX, i++, j--);
+                    }
+                }
+                // Рекурсия по меньшей части ограничивает глубину стека логарифмом
+                if (j + 1 - from < to - i) {
+                    sort(sortY, sortX, from, j + 1);
+                    from = i;
+                } else {
+                    sort(sortY, sortX, i, to);
+                    to = j + 1;
+                }
+            }
+            for (int i = from + 1; i < to; i++) {
+                for (int j = i; j > from && less(sortY, sortX, j, j - 1); j--) {
+                    swap(sortY, sortX, j, j - 1);
+                }
+            }
+        }
+
+        private static boolean less(double[] sortY, double[] sortX, int i, int j) {
+            return sortY[i] > sortY[j] || sortY[i] == sortY[j] && sortX[i] < sortX[j];
+        }
+
+        private void swap(double[] sortY, double[] sortX, int i, int j) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+            double y = sortY[i];
+            sortY[i] = sortY[j];
+            sortY[j] = y;
+            double x = sortX[i];
+            sortX[i] = sortX[j];
+            sortX[j] = x;
+        }
+
+        // Вставляет узел сразу после узла after (в начало, если after < 0)
+        private void insertAfter(int after, int node) {
+            left[node] = -1;
+            right[node] = -1;
+            if (root < 0) {
+                root = node;
+                parent[node] = -1;
+                return;
+            }
+            int place;
+            if (after < 0) {
+                place = leftmost(root);
+                left[place] = node;
+            } else if (right[after] < 0) {
+                place = after;
+                right[place] = node;
+            } else {
+                place = leftmost(right[after]);
+                left[place] = node;
+            }
+            parent[node] = place;
+            while (parent[node] >= 0 && priority[node] > priority[parent[node]]) {
+                rotateUp(node);
+            }
+        }
+
+        private void delete(int node) {
+            while (left[node] >= 0 || right[node] >= 0) {
+                boolean leftUp = right[node] < 0 || left[node] >= 0 && priority[left[node]] > priority[right[node]];
+                rotateUp(leftUp ? left[node] : right[node]);
+            }
+            int up = parent[node];
+            if (up < 0) {
+                root = -1;
+            } else if (left[up] == node) {
+                left[up] = -1;
+            } else {
+                right[up] = -1;
+            }
+        }
+
+        // Поворот, поднимающий узел на место родителя
+        private void rotateUp(int node) {
+            int up = parent[node];
+            int grand = parent[up];
+            if (left[up] == node) {
+                left[up] = right[node];
+                if (right[node] >= 0) {
+                    parent[right[node]] = up;
+                }
+                right[node] = up;
+            } else {
+                right[up] = left[node];
+                if (left[node] >= 0) {
+                    parent[left[node]] = up;
+                }
+                left[node] = up;
+            }
+            parent[up] = node;
+            parent[node] = grand;
+            if (grand < 0) {
+                root = node;
+            } else if (left[grand] == up) {
+                left[grand] = node;
+            } else {
+                right[grand] = node;
+            }
+        }
+
+        private int leftmost(int node) {
+            while (left[node] >= 0) {
+                node = left[node];
+            }
+            return node;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class BulkTask extends RecursiveAction {
+        private final Polygon[] polygons;
+        private final int[][] buffers;
+        private final int from;
+        private final int to;
+
+        BulkTask(Polygon[] polygons, int[][] buffers, int from, int to) {
+            this.polygons = polygons;
+            this.buffers = buffers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    buffers[i] = polygons[i].triangles();
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BulkTask(polygons, buffers, from, middle), new BulkTask(polygons, buffers, middle, to));
+        }
+    }
+}
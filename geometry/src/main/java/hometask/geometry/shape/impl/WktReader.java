@@ -0,0 +1,135 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Потоковый парсер фигур в формате WKT (Well-Known Text).
+ * <p>
+ * Фигуры читаются по одной методом {@link #next()} и разделяются пробельными символами (обычно по одной
+ * на строку). Поддерживаются:
+ * <ul>
+ *     <li>{@code POLYGON ((x1 y1, x2 y2, ..., x1 y1))} — многоугольник без дыр; координаты z и m
+ *     ({@code POLYGON Z}, {@code POLYGON ZM}) читаются и отбрасываются;</li>
+ *     <li>{@code CIRCLE (x y r)} — расширение формата для кругов: центр и радиус.</li>
+ * </ul>
+ * Координаты разбираются прямо из буфера символов в массив double без создания строк и объектов
+ * {@link Point}; на каждый многоугольник выделяется только массив его координат. Объем памяти не зависит
+ * от размера входа.
+ * </p>
+ */
+public final class WktReader implements Closeable {
+    private final CharSource source;
+    private final Reader reader;
+    private double[] coords = new double[64]; // Координаты текущего кольца
+
+    /**
+     * Конструктор для чтения из потока символов.
+     *
+     * @param reader поток символов; закрывается методом {@link #close()}
+     */
+    public WktReader(Reader reader) {
+        this.source = new CharSource(reader);
+        this.reader = reader;
+    }
+
+    /**
+     * Конструктор для чтения из буфера символов; буфер читается от текущей позиции до конца.
+     *
+     * @param chars буфер символов
+     */
+    public WktReader(CharBuffer chars) {
+        this.source = new CharSource(chars);
+        this.reader = null;
+    }
+
+    /**
+     * Читает следующую фигуру.
+     *
+     * @return фигура или null, если вход закончился
+     * @throws IOException              при ошибке чтения
+     * @throws IllegalArgumentException если текст не соответствует формату или фигура не поддерживается
+     */
+    public Shape next() throws IOException {
+        if (source.skipWhitespace() < 0) {
+            return null;
+        }
+        String type = source.readWord();
+        int dimensions = readDimensions();
+        switch (type) {
+            case "POLYGON" -> {
+                return readPolygon(dimensions);
+            }
+            case "CIRCLE" -> {
+                source.expect('(');
+                double x = source.readNumber();
+                double y = source.readNumber();
+                double radius = source.readNumber();
+                source.expect(')');
+                return new Circle(new Point(x, y), radius);
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unsupported WKT geometry '" + type + "' at offset " + source.offset() + ".");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    // Необязательное указание измерений после типа: Z, M или ZM; возвращает число координат вершины
+    private int readDimensions() throws IOException {
+        int c = source.skipWhitespace();
+        if (c != '(' && c >= 0) {
+            String word = source.readWord();
+            switch (word) {
+                case "Z", "M" -> {
+                    return 3;
+                }
+                case "ZM" -> {
+                    return 4;
+                }
+                case "EMPTY" -> throw new IllegalArgumentException("Empty geometries are not supported.");
+                default -> throw source.error("Expected '('", source.peek());
+            }
+        }
+        return 2;
+    }
+
+    private Polygon readPolygon(int dimensions) throws IOException {
+        source.expect('(');
+        source.expect('(');
+        int count = 0;
+        while (true) {
+            if (2 * count == coords.length) {
+                coords = Arrays.copyOf(coords, 2 * coords.length);
+            }
+            coords[2 * count] = source.readNumber();
+            coords[2 * count + 1] = source.readNumber();
+            for (int i = 2; i < dimensions; i++) {
+                source.readNumber();
+            }
+            count++;
+            int c = source.skipWhitespace();
+            if (c == ')') {
+                source.read();
+                break;
+            }
+            source.expect(',');
+        }
+        if (source.skipWhitespace() == ',') {
+            throw new IllegalArgumentException("Polygon holes are not supported (offset " + source.offset() + ").");
+        }
+        source.expect(')');
+        return Polygon.ofRing(coords, count);
+    }
+}
@@ -0,0 +1,95 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.shape.Shape;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Запись фигур в формате WKT, который читает {@link WktReader}: по одной фигуре на строку.
+ * <p>
+ * Многоугольники (в том числе треугольники и прямоугольники) записываются как {@code POLYGON} с замкнутым
+ * кольцом вершин, круги — как {@code CIRCLE (x y r)}. Числа записываются в кратчайшем виде, который
+ * читается обратно в то же значение double. Текст накапливается в буфере и передается в поток блоками.
+ * </p>
+ */
+public final class WktWriter implements Closeable, Flushable {
+    private static final int FLUSH_THRESHOLD = 1 << 14;
+
+    private final Writer writer;
+    private final StringBuilder buffer = new StringBuilder(2 * FLUSH_THRESHOLD);
+    private char[] chars = new char[2 * FLUSH_THRESHOLD];
+
+    /**
+     * Конструктор для записи в поток символов.
+     *
+     * @param writer поток символов; закрывается методом {@link #close()}
+     */
+    public WktWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Записывает фигуру.
+     *
+     * @param shape фигура
+     * @throws IOException              при ошибке записи
+     * @throws IllegalArgumentException если тип фигуры не поддерживается форматом или среди координат есть
+     *                                  NaN или бесконечность
+     */
+    public void write(Shape shape) throws IOException {
+        Shape unwrapped = shape instanceof PreparedPolygon prepared ? prepared.polygon() : shape;
+        if (unwrapped instanceof Circle circle) {
+            checkFinite(circle.center().x(), circle.center().y(), circle.radius());
+            buffer.append("CIRCLE (").append(circle.center().x()).append(' ').append(circle.center().y())
+                    .append(' ').append(circle.radius()).append(")\n");
+        } else if (unwrapped instanceof Polygon polygon) {
+            double[] coords = polygon.coordinates();
+            checkFinite(coords);
+            buffer.append("POLYGON ((");
+            for (int i = 0; i < coords.length; i += 2) {
+                buffer.append(coords[i]).append(' ').append(coords[i + 1]).append(", ");
+            }
+            buffer.append(coords[0]).append(' ').append(coords[1]).append("))\n");
+        } else {
+            throw new IllegalArgumentException("Unsupported shape type for WKT: " + shape.getClass());
+        }
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            drain();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+        writer.close();
+    }
+
+    // В формате нет записи для NaN и бесконечностей; проверка идет до записи, чтобы не оставить часть фигуры
+    private static void checkFinite(double... values) {
+        for (double value : values) {
+            if (!Double.isFinite(value)) {
+                throw new IllegalArgumentException("Non-finite coordinate cannot be written to WKT: " + value);
+            }
+        }
+    }
+
+    // Передает накопленный текст в поток через массив, без промежуточной строки
+    private void drain() throws IOException {
+        int length = buffer.length();
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        buffer.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,387 @@
+package hometask.geometry.shape.index;
+
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Класс {@code ShapeIndex} — неизменяемый пространственный индекс фигур (R-дерево), построенный один раз
+ * по всему набору фигур методом Sort-Tile-Recursive.
+ * <p>
+ * Записи каждого уровня сортируются по центрам ограничивающих прямоугольников: сначала по x, затем внутри
+ * вертикальных полос — по y, и подряд идущие записи объединяются в узлы по {@code nodeSize} штук.
+ * Дерево упаковано в примитивные массивы: прямоугольники всех записей (сначала фигуры, затем узлы
+ * уровень за уровнем) лежат в одном массиве {@code double[]}, а дочерние записи узла занимают в нем
+ * непрерывный диапазон. Поэтому обход не создает объектов и идет по памяти почти последовательно.
+ * </p>
+ * <p>
+ * Запрос по точке отбирает кандидатов по ограничивающим прямоугольникам и уточняет их методом
+ * {@link Shape#containsPoint(Point)}; запросы по прямоугольнику и ближайшим соседям работают
+ * на уровне ограничивающих прямоугольников.
+ * </p>
+ */
+public final class ShapeIndex {
+
+    /**
+     * Число дочерних записей узла по умолчанию.
+     */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    private final Shape[] shapes;
+    private final int nodeSize;
+    private final int itemCount;
+    private final double[] boxes;   // minX, minY, maxX, maxY для каждой записи
+    private final int[] indices;    // Для фигуры — ее номер в исходном списке, для узла — позиция первого потомка
+    private final int[] childEnds;  // Для узла — позиция за последним потомком
+    private final int height;       // Число уровней дерева
+
+    /**
+     * Конструктор строит индекс с числом потомков узла по умолчанию.
+     *
+     * @param shapes индексируемые фигуры
+     */
+    public ShapeIndex(List<? extends Shape> shapes) {
+        this(shapes, DEFAULT_NODE_SIZE);
+    }
+
+    /**
+     * Конструктор строит индекс по набору фигур.
+     *
+     * @param shapes   индексируемые фигуры
+     * @param nodeSize число дочерних записей узла, не меньше 2
+     * @throws IllegalArgumentException если nodeSize меньше 2
+     */
+    public ShapeIndex(List<? extends Shape> shapes, int nodeSize) {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("Node size must be at least 2.");
+        }
+        this.shapes = shapes.toArray(new Shape[0]);
+        this.nodeSize = nodeSize;
+        this.itemCount = this.shapes.length;
+
+        int total = itemCount;
+        int levels = itemCount > 0 ? 1 : 0;
+        for (int count = itemCount; count > 1; count = (count + nodeSize - 1) / nodeSize) {
+            total += (count + nodeSize - 1) / nodeSize;
+            levels++;
+        }
+        this.height = levels;
+        this.boxes = new double[4 * total];
+        this.indices = new int[total];
+        this.childEnds = new int[total];
+
+        for (int i = 0; i < itemCount; i++) {
+            Bounds bounds = this.shapes[i].bounds();
+            boxes[4 * i] = bounds.minX();
+            boxes[4 * i + 1] = bounds.minY();
+            boxes[4 * i + 2] = bounds.maxX();
+            boxes[4 * i + 3] = bounds.maxY();
+            indices[i] = i;
+        }
+        build();
+    }
+
+    // Строит уровни дерева снизу вверх: упорядочивает записи уровня и объединяет их в узлы
+    private void build() {
+        int start = 0;
+        int end = itemCount;
+        while (end - start > 1) {
+            sortTiles(start, end);
+            int parent = end;
+            for (int child = start; child < end; child += nodeSize) {
+                int childEnd = Math.min(child + nodeSize, end);
+                double minX = Double.POSITIVE_INFINITY;
+                double minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY;
+                double maxY = Double.NEGATIVE_INFINITY;
+                for (int i = child; i < childEnd; i++) {
+                    minX = Math.min(minX, boxes[4 * i]);
+                    minY = Math.min(minY, boxes[4 * i + 1]);
+                    maxX = Math.max(maxX, boxes[4 * i + 2]);
+                    maxY = Math.max(maxY, boxes[4 * i + 3]);
+                }
+                boxes[4 * parent] = minX;
+                boxes[4 * parent + 1] = minY;
+                boxes[4 * parent + 2] = maxX;
+                boxes[4 * parent + 3] = maxY;
+                indices[parent] = child;
+                childEnds[parent] = childEnd;
+                parent++;
+            }
+            start = end;
+            end = parent;
+        }
+    }
+
+    // Упорядочивает записи [start, end) по схеме Sort-Tile-Recursive
+    private void sortTiles(int start, int end) {
+        int count = end - start;
+        int parents = (count + nodeSize - 1) / nodeSize;
+        int slices = (int) Math.ceil(Math.sqrt(parents));
+        int sliceSize = slices * nodeSize;
+
+        int[] order = new int[count];
+        double[] centerX = new double[count];
+        double[] centerY = new double[count];
+        for (int i = 0; i < count; i++) {
+            int position = start + i;
+            order[i] = i;
+            centerX[i] = boxes[4 * position] + boxes[4 * position + 2];
+            centerY[i] = boxes[4 * position + 1] + boxes[4 * position + 3];
+        }
+        sort(order, centerX, 0, count);
+        for (int slice = 0; slice < count; slice += sliceSize) {
+            sort(order, centerY, slice, Math.min(slice + sliceSize, count));
+        }
+
+        double[] sortedBoxes = new double[4 * count];
+        int[] sortedIndices = new int[count];
+        int[] sortedChildEnds = new int[count];
+        for (int i = 0; i < count; i++) {
+            int position = start + order[i];
+            System.arraycopy(boxes, 4 * position, sortedBoxes, 4 * i, 4);
+            sortedIndices[i] = indices[position];
+            sortedChildEnds[i] = childEnds[position];
+        }
+        System.arraycopy(sortedBoxes, 0, boxes, 4 * start, 4 * count);
+        System.arraycopy(sortedIndices, 0, indices, start, count);
+        System.arraycopy(sortedChildEnds, 0, childEnds, start, count);
+    }
+
+    // Быстрая сортировка номеров order[from, to) по ключам keys[order[i]]
+    private static void sort(int[] order, double[] keys, int from, int to) {
+        while (to - from > 16) {
+            int middle = (from + to) >>> 1;
+            if (keys[order[middle]] < keys[order[from]]) swap(order, middle, from);
+            if (keys[order[to - 1]] < keys[order[from]]) swap(order, to - 1, from);
+            if (keys[order[to - 1]] < keys[order[middle]]) swap(order, to - 1, middle);
+            double pivot = keys[order[middle]];
+
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (keys[order[i]] < pivot) i++;
+                while (keys[order[j]] > pivot) j--;
+                if (i <= j) {
+                    swap(order, i++, j--);
+                }
+            }
+            // Рекурсия по меньшей части ограничивает глубину стека логарифмом
+            if (j + 1 - from < to - i) {
+                sort(order, keys, from, j + 1);
+                from = i;
+            } else {
+                sort(order, keys, i, to);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            int value = order[i];
+            double key = keys[value];
+            int j = i - 1;
+            while (j >= from && keys[order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = value;
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    /**
+     * Возвращает число фигур в индексе.
+     *
+     * @return число фигур
+     */
+    public int size() {
+        return itemCount;
+    }
+
+    /**
+     * Находит все фигуры, содержащие точку.
+     *
+     * @param point проверяемая точка
+     * @return фигуры, для которых {@code containsPoint(point)} истинно, в порядке обхода дерева
+     */
+    public List<Shape> containing(Point point) {
+        List<Shape> result = new ArrayList<>();
+        forEachContaining(point, result::add);
+        return result;
+    }
+
+    /**
+     * Передает обработчику каждую фигуру, содержащую точку, не создавая промежуточного списка.
+     *
+     * @param point  проверяемая точка
+     * @param action обработчик найденных фигур
+     */
+    public void forEachContaining(Point point, Consumer<? super Shape> action) {
+        if (itemCount == 0) {
+            return;
+        }
+        double x = point.x();
+        double y = point.y();
+        int[] stack = new int[height * nodeSize];
+        int top = 0;
+        stack[top++] = indices.length - 1;
+        while (top > 0) {
+            int position = stack[--top];
+            if (x < boxes[4 * position] || y < boxes[4 * position + 1]
+                    || x > boxes[4 * position + 2] || y > boxes[4 * position + 3]) {
+                continue;
+            }
+            if (position < itemCount) {
+                Shape shape = shapes[indices[position]];
+                if (shape.containsPoint(point)) {
+                    action.accept(shape);
+                }
+            } else {
+                for (int child = childEnds[position] - 1; child >= indices[position]; child--) {
+                    stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    /**
+     * Находит фигуры, ограничивающие прямоугольники которых пересекают заданный прямоугольник.
+     * Точная проверка пересечения самих фигур не выполняется.
+     *
+     * @param area прямоугольник запроса
+     * @return фигуры-кандидаты в порядке обхода дерева
+     */
+    public List<Shape> intersecting(Bounds area) {
+        List<Shape> result = new ArrayList<>();
+        if (itemCount == 0) {
+            return result;
+        }
+        int[] stack = new int[height * nodeSize];
+        int top = 0;
+        stack[top++] = indices.length - 1;
+        while (top > 0) {
+            int position = stack[--top];
+            if (area.maxX() < boxes[4 * position] || area.maxY() < boxes[4 * position + 1]
+                    || area.minX() > boxes[4 * position + 2] || area.minY() > boxes[4 * position + 3]) {
+                continue;
+            }
+            if (position < itemCount) {
+                result.add(shapes[indices[position]]);
+            } else {
+                for (int child = childEnds[position] - 1; child >= indices[position]; child--) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Находит k фигур, ближайших к точке по расстоянию до ограничивающего прямоугольника
+     * (для точек внутри прямоугольника расстояние равно нулю). Узлы обходятся в порядке возрастания
+     * расстояния, поэтому просматривается лишь небольшая часть дерева.
+     *
+     * @param point точка запроса
+     * @param k     число искомых фигур, неотрицательное
+     * @return не более k фигур в порядке возрастания расстояния
+     * @throws IllegalArgumentException если k отрицательно
+     */
+    public List<Shape> nearest(Point point, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative.");
+        }
+        List<Shape> result = new ArrayList<>(Math.min(k, itemCount));
+        if (itemCount == 0 || k == 0) {
+            return result;
+        }
+        double x = point.x();
+        double y = point.y();
+
+        // Двоичная куча записей, упорядоченная по квадрату расстояния до прямоугольника
+        double[] distances = new double[64];
+        int[] positions = new int[64];
+        int size = 0;
+        int root = indices.length - 1;
+        distances[0] = distanceSquared(root, x, y);
+        positions[0] = root;
+        size++;
+
+        while (size > 0 && result.size() < k) {
+            int position = positions[0];
+            size--;
+            double lastDistance = distances[size];
+            int lastPosition = positions[size];
+            siftDown(distances, positions, size, lastDistance, lastPosition);
+
+            if (position < itemCount) {
+                result.add(shapes[indices[position]]);
+                continue;
+            }
+            for (int child = indices[position]; child < childEnds[position]; child++) {
+                if (size == distances.length) {
+                    distances = Arrays.copyOf(distances, 2 * size);
+                    positions = Arrays.copyOf(positions, 2 * size);
+                }
+                siftUp(distances, positions, size, distanceSquared(child, x, y), child);
+                size++;
+            }
+        }
+        return result;
+    }
+
+    private double distanceSquared(int position, double x, double y) {
+        double dx = Math.max(0, Math.max(boxes[4 * position] - x, x - boxes[4 * position + 2]));
+        double dy = Math.max(0, Math.max(boxes[4 * position + 1] - y, y - boxes[4 * position + 3]));
+        return dx * dx + dy * dy;
+    }
+
+    // Вставляет запись в кучу из size элементов
+    private static void siftUp(double[] distances, int[] positions, int size, double distance, int position) {
+        int i = size;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (distances[parent] <= distance) {
+                break;
+            }
+            distances[i] = distances[parent];
+            positions[i] = positions[parent];
+            i = parent;
+        }
+        distances[i] = distance;
+        positions[i] = position;
+    }
+
+    // Ставит запись на место вершины кучи из size элементов
+    private static void siftDown(double[] distances, int[] positions, int size, double distance, int position) {
+        if (size == 0) {
+            return;
+        }
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && distances[child + 1] < distances[child]) {
+                child++;
+            }
+            if (distance <= distances[child]) {
+                break;
+            }
+            distances[i] = distances[child];
+            positions[i] = positions[child];
+            i = child;
+        }
+        distances[i] = distance;
+        positions[i] = position;
+    }
+}
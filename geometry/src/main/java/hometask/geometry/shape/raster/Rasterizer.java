@@ -0,0 +1,345 @@
+package hometask.geometry.shape.raster;
+
+import hometask.geometry.base.Bounds;
+import hometask.geometry.shape.Shape;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Построчная растеризация фигур в растр, заданный вызывающим кодом: маску покрытия ({@code byte[]})
+ * или карту числа покрывающих фигур ({@code int[]}).
+ * <p>
+ * Растр из width × height пикселей покрывает прямоугольник area; пиксель (row, col) хранится в элементе
+ * {@code row * width + col}, строка 0 примыкает к area.minY(), столбец 0 — к area.minX(). Пиксель покрыт,
+ * если фигуре принадлежит его центр (в смысле {@link Shape#containsPoint}). При сглаживании пиксель
+ * делится на samples × samples ячеек, и покрытие равно доле ячеек, центры которых принадлежат фигуре.
+ * </p>
+ * <p>
+ * Вместо проверки каждого пикселя каждой фигурой ({@code O(пиксели × фигуры)}) фигура пересекается
+ * со строкой выборки целиком: многоугольник — через список активных ребер, круг, эллипс и прямоугольник —
+ * по хорде в явном виде; в растр записываются готовые отрезки. Концы отрезков уточняются теми же
+ * предикатами, что и в containsPoint, поэтому центры, лежащие на границе фигуры, классифицируются
+ * так же, как при проверке по одной точке. Растр делится на горизонтальные полосы,
+ * фигуры раскладываются по полосам своих ограничивающих прямоугольников, и полосы обрабатываются
+ * параллельно в общем пуле fork/join. Полосы занимают всю ширину растра: четность пересечений
+ * многоугольника зависит от ребер левее любого вертикального разреза.
+ * </p>
+ */
+public final class Rasterizer {
+    /**
+     * Наибольшее число ячеек сглаживания по каждой оси.
+     */
+    public static final int MAX_SAMPLES = 16;
+
+    private static final int BAND_ROWS = 16; // Высота полосы в пикселях
+    private static final int PREPARE_LEAF_SIZE = 1 << 8;
+
+    private final int width;
+    private final int height;
+    private final int samples;
+    private final SampleGrid grid;
+
+    /**
+     * Создает растеризатор без сглаживания.
+     *
+     * @param area   прямоугольник плоскости, покрываемый растром
+     * @param width  ширина растра в пикселях
+     * @param height высота растра в пикселях
+     * @throws IllegalArgumentException если размеры не положительны
+     */
+    public Rasterizer(Bounds area, int width, int height) {
+        this(area, width, height, 1);
+    }
+
+    /**
+     * Создает растеризатор со сглаживанием.
+     *
+     * @param area    прямоугольник плоскости, покрываемый растром
+     * @param width   ширина растра в пикселях
+     * @param height  высота растра в пикселях
+     * @param samples число ячеек сглаживания по каждой оси, от 1 (без сглаживания) до {@link #MAX_SAMPLES}
+     * @throws IllegalArgumentException если размеры не положительны или samples вне допустимых значений
+     */
+    public Rasterizer(Bounds area, int width, int height, int samples) {
+        if (!(area.width() > 0 && area.height() > 0) || !Double.isFinite(area.width() + area.height())) {
+            throw new IllegalArgumentException("Raster area must have finite positive width and height.");
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Raster width and height must be positive.");
+        }
+        if (samples < 1 || samples > MAX_SAMPLES) {
+            throw new IllegalArgumentException("Samples per axis must be between 1 and " + MAX_SAMPLES + ".");
+        }
+        if ((long) width * height > Integer.MAX_VALUE || (long) width * samples > Integer.MAX_VALUE - 2
+                || (long) height * samples > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Raster is too large.");
+        }
+        this.width = width;
+        this.height = height;
+        this.samples = samples;
+        this.grid = new SampleGrid(area.minX(), area.minY(), area.width() / ((double) width * samples),
+                area.height() / ((double) height * samples), width * samples, height * samples);
+    }
+
+    /**
+     * Возвращает ширину растра в пикселях.
+     *
+     * @return ширина растра
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Возвращает высоту растра в пикселях.
+     *
+     * @return высота растра
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Возвращает число ячеек сглаживания по каждой оси.
+     *
+     * @return число ячеек по оси, 1 — без сглаживания
+     */
+    public int samples() {
+        return samples;
+    }
+
+    /**
+     * Заполняет маску покрытия объединением фигур; прежнее содержимое маски заменяется.
+     * <p>
+     * Значение пикселя — беззнаковое число от 0 до 255 ({@code bitmap[i] & 0xFF}): доля ячеек сглаживания,
+     * покрытых хотя бы одной фигурой. Без сглаживания значения только 0 и 255.
+     * </p>
+     *
+     * @param shapes фигуры
+     * @param bitmap маска длиной width × height
+     * @throws IllegalArgumentException если длина маски не равна width × height
+     */
+    public void fill(List<? extends Shape> shapes, byte[] bitmap) {
+        checkLength(bitmap.length);
+        render(shapes, bitmap, null);
+    }
+
+    /**
+     * Прибавляет к счетчикам покрытие каждой фигуры по отдельности: тепловая карта числа фигур.
+     * <p>
+     * Каждая фигура добавляет к пикселю число его ячеек сглаживания, центры которых ей принадлежат
+     * (от 0 до samples²); без сглаживания — 1 за каждую фигуру, покрывающую пиксель.
+     * </p>
+     *
+     * @param shapes фигуры
+     * @param counts счетчики длиной width × height
+     * @throws IllegalArgumentException если длина массива не равна width × height
+     */
+    public void accumulate(List<? extends Shape> shapes, int[] counts) {
+        checkLength(counts.length);
+        render(shapes, null, counts);
+    }
+
+    private void checkLength(int length) {
+        if (length != width * height) {
+            throw new IllegalArgumentException("Raster length must be width * height.");
+        }
+    }
+
+    private void render(List<? extends Shape> shapes, byte[] bitmap, int[] counts) {
+        Shape[] array = shapes.toArray(new Shape[0]);
+        ShapeSpans[] spans = new ShapeSpans[array.length];
+        PrepareTask prepare = new PrepareTask(array, spans, 0, array.length);
+        if (array.length <= PREPARE_LEAF_SIZE) {
+            prepare.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(prepare);
+        }
+
+        // Раскладка фигур по полосам подсчетом: сначала размеры списков, затем сами списки
+        int bandCount = (height + BAND_ROWS - 1) / BAND_ROWS;
+        int bandSampleRows = BAND_ROWS * samples;
+        int[] firstBand = new int[spans.length];
+        int[] lastBand = new int[spans.length];
+        int[] bandStart = new int[bandCount + 1];
+        for (int i = 0; i < spans.length; i++) {
+            Bounds box = spans[i].bounds;
+            int firstRow = grid.firstRow(box.minY());
+            int rowAfter = grid.rowAfter(box.maxY());
+            if (firstRow >= rowAfter || grid.firstColumn(box.minX()) >= grid.columnAfter(box.maxX())) {
+                firstBand[i] = 0;
+                lastBand[i] = -1; // Ни одна точка выборки не попадает в прямоугольник фигуры
+                continue;
+            }
+            firstBand[i] = firstRow / bandSampleRows;
+            lastBand[i] = (rowAfter - 1) / bandSampleRows;
+            for (int band = firstBand[i]; band <= lastBand[i]; band++) {
+                bandStart[band + 1]++;
+            }
+        }
+        for (int band = 0; band < bandCount; band++) {
+            bandStart[band + 1] += bandStart[band];
+        }
+        int[] bandShapes = new int[bandStart[bandCount]];
+        int[] position = Arrays.copyOf(bandStart, bandCount);
+        for (int i = 0; i < spans.length; i++) {
+            for (int band = firstBand[i]; band <= lastBand[i]; band++) {
+                bandShapes[position[band]++] = i;
+            }
+        }
+
+        BandTask task = new BandTask(spans, bandStart, bandShapes, bitmap, counts, 0, bandCount);
+        if (bandCount == 1) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    // Отрисовка полосы band фигурами shapeIndices[from..to)
+    private void renderBand(int band, ShapeSpans[] spans, int[] shapeIndices, int from, int to,
+                            byte[] bitmap, int[] counts) {
+        int rowFrom = band * BAND_ROWS;
+        int rowTo = Math.min(height, rowFrom + BAND_ROWS);
+        if (from == to) {
+            if (bitmap != null) {
+                Arrays.fill(bitmap, rowFrom * width, rowTo * width, (byte) 0);
+            }
+            return;
+        }
+
+        ShapeSpans.Scanner[] scanners = new ShapeSpans.Scanner[to - from];
+        Bounds[] boxes = new Bounds[to - from];
+        for (int i = from; i < to; i++) {
+            ShapeSpans shape = spans[shapeIndices[i]];
+            scanners[i - from] = shape.scanner(grid);
+            boxes[i - from] = shape.bounds;
+        }
+
+        int[] out = new int[grid.columns + 2];
+        byte[] marks = bitmap != null ? new byte[grid.columns] : null;
+        int[] rowCounts = bitmap != null ? new int[width] : null;
+        int area = samples * samples;
+        for (int row = rowFrom; row < rowTo; row++) {
+            int offset = row * width;
+            for (int k = 0; k < samples; k++) {
+                double y = grid.y(row * samples + k);
+                int low = grid.columns;
+                int high = 0;
+                for (int s = 0; s < scanners.length; s++) {
+                    if (y < boxes[s].minY() || y > boxes[s].maxY()) {
+                        continue; // Как и containsPoint, строки вне прямоугольника фигуры не проверяются
+                    }
+                    int written = scanners[s].scan(y, out);
+                    for (int i = 0; i < written; i += 2) {
+                        if (bitmap == null) {
+                            // Каждая фигура считается отдельно: отрезки сразу прибавляются к счетчикам
+                            addColumns(counts, offset, out[i], out[i + 1]);
+                        } else {
+                            // Объединение: ячейки отмечаются в строке выборки и считаются один раз
+                            Arrays.fill(marks, out[i], out[i + 1], (byte) 1);
+                            low = Math.min(low, out[i]);
+                            high = Math.max(high, out[i + 1]);
+                        }
+                    }
+                }
+                if (low < high) {
+                    for (int column = low; column < high; column++) {
+                        rowCounts[column / samples] += marks[column];
+                    }
+                    Arrays.fill(marks, low, high, (byte) 0);
+                }
+            }
+            if (bitmap != null) {
+                for (int col = 0; col < width; col++) {
+                    bitmap[offset + col] = (byte) ((rowCounts[col] * 255 + area / 2) / area);
+                }
+                Arrays.fill(rowCounts, 0);
+            }
+        }
+    }
+
+    // Прибавляет к пикселям строки число ячеек отрезка [from, to) столбцов выборки, попавших в каждый пиксель
+    private void addColumns(int[] counts, int offset, int from, int to) {
+        if (samples == 1) {
+            for (int col = from; col < to; col++) {
+                counts[offset + col]++;
+            }
+            return;
+        }
+        int first = from / samples;
+        int last = (to - 1) / samples;
+        if (first == last) {
+            counts[offset + first] += to - from;
+            return;
+        }
+        counts[offset + first] += (first + 1) * samples - from;
+        for (int col = first + 1; col < last; col++) {
+            counts[offset + col] += samples;
+        }
+        counts[offset + last] += to - last * samples;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class PrepareTask extends RecursiveAction {
+        private final Shape[] shapes;
+        private final ShapeSpans[] spans;
+        private final int from;
+        private final int to;
+
+        PrepareTask(Shape[] shapes, ShapeSpans[] spans, int from, int to) {
+            this.shapes = shapes;
+            this.spans = spans;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PREPARE_LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    spans[i] = ShapeSpans.of(shapes[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PrepareTask(shapes, spans, from, middle), new PrepareTask(shapes, spans, middle, to));
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class BandTask extends RecursiveAction {
+        private final ShapeSpans[] spans;
+        private final int[] bandStart;
+        private final int[] bandShapes;
+        private final byte[] bitmap;
+        private final int[] counts;
+        private final int from;
+        private final int to;
+
+        BandTask(ShapeSpans[] spans, int[] bandStart, int[] bandShapes, byte[] bitmap, int[] counts,
+                 int from, int to) {
+            this.spans = spans;
+            this.bandStart = bandStart;
+            this.bandShapes = bandShapes;
+            this.bitmap = bitmap;
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                renderBand(from, spans, bandShapes, bandStart[from], bandStart[from + 1], bitmap, counts);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BandTask(spans, bandStart, bandShapes, bitmap, counts, from, middle),
+                    new BandTask(spans, bandStart, bandShapes, bitmap, counts, middle, to));
+        }
+    }
+}
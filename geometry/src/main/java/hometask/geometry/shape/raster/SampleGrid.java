@@ -0,0 +1,86 @@
+package hometask.geometry.shape.raster;
+
+/**
+ * Сетка точек выборки растра: при сглаживании каждый пиксель делится на samples × samples ячеек,
+ * и фигура проверяется в их центрах. Столбцы и строки выборки нумеруются от левого нижнего угла области.
+ */
+final class SampleGrid {
+    final double minX;
+    final double minY;
+    final double stepX;
+    final double stepY;
+    final int columns;
+    final int rows;
+
+    SampleGrid(double minX, double minY, double stepX, double stepY, int columns, int rows) {
+        this.minX = minX;
+        this.minY = minY;
+        this.stepX = stepX;
+        this.stepY = stepY;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    // Координата x центра столбца
+    double x(int column) {
+        return minX + (column + 0.5) * stepX;
+    }
+
+    // Координата y центра строки
+    double y(int row) {
+        return minY + (row + 0.5) * stepY;
+    }
+
+    // Первый столбец с центром не левее x. Деление на шаг округляется, поэтому оценка по формуле
+    // уточняется сравнением с самими центрами: у границы, лежащей точно на центре, она ошибается на столбец
+    int firstColumn(double x) {
+        int column = clamp(Math.ceil((x - minX) / stepX - 0.5), columns);
+        while (column > 0 && x(column - 1) >= x) {
+            column--;
+        }
+        while (column < columns && x(column) < x) {
+            column++;
+        }
+        return column;
+    }
+
+    // Первый столбец с центром правее x
+    int columnAfter(double x) {
+        int column = clamp(Math.floor((x - minX) / stepX - 0.5) + 1, columns);
+        while (column > 0 && x(column - 1) > x) {
+            column--;
+        }
+        while (column < columns && x(column) <= x) {
+            column++;
+        }
+        return column;
+    }
+
+    // Первая строка с центром не ниже y
+    int firstRow(double y) {
+        int row = clamp(Math.ceil((y - minY) / stepY - 0.5), rows);
+        while (row > 0 && y(row - 1) >= y) {
+            row--;
+        }
+        while (row < rows && y(row) < y) {
+            row++;
+        }
+        return row;
+    }
+
+    // Первая строка с центром выше y
+    int rowAfter(double y) {
+        int row = clamp(Math.floor((y - minY) / stepY - 0.5) + 1, rows);
+        while (row > 0 && y(row - 1) > y) {
+            row--;
+        }
+        while (row < rows && y(row) <= y) {
+            row++;
+        }
+        return row;
+    }
+
+    private static int clamp(double index, int limit) {
+        return index >= limit ? limit : index > 0 ? (int) index : 0;
+    }
+}
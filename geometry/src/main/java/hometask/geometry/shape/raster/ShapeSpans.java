@@ -0,0 +1,450 @@
+package hometask.geometry.shape.raster;
+
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * Подготовленная к растеризации фигура: для строки выборки выдает отрезки столбцов, центры которых
+ * принадлежат фигуре в смысле {@link Shape#containsPoint}.
+ * <p>
+ * Круг, эллипс и прямоугольник пересекаются со строкой по одному отрезку с концами в явном виде; концы
+ * уточняются проверкой соседних центров через containsPoint, поэтому погрешность формулы не меняет
+ * результат на границе. Многоугольник обходится таблицей ребер, отсортированной по нижнему концу,
+ * и списком активных ребер текущей строки (правило четности, как в {@code Predicates.ringContains});
+ * столбец пересечения каждого ребра уточняется точным {@link Predicates#crossesRay}. Остальные фигуры
+ * проверяются пакетно через {@link Shape#containsPoints} по центрам столбцов внутри ограничивающего
+ * прямоугольника.
+ * </p>
+ */
+abstract class ShapeSpans {
+    final Bounds bounds;
+
+    ShapeSpans(Bounds bounds) {
+        this.bounds = bounds;
+    }
+
+    static ShapeSpans of(Shape shape) {
+        if (shape instanceof Circle circle) {
+            return new CircleSpans(circle);
+        }
+        if (shape instanceof Ellipse ellipse && ellipse.semiMinorAxis() > 0) {
+            return new EllipseSpans(ellipse);
+        }
+        if (shape instanceof Rectangle rectangle) {
+            return new RectangleSpans(rectangle); // В отличие от многоугольника содержит всю свою границу
+        }
+        if (shape instanceof Polygon polygon) {
+            return new PolygonSpans(polygon);
+        }
+        // Вырожденный эллипс не задается квадратичной формой и проверяется по сумме расстояний до фокусов
+        return new GenericSpans(shape);
+    }
+
+    /**
+     * Создает сканер для одной полосы растра; сканер используется одним потоком.
+     */
+    abstract Scanner scanner(SampleGrid grid);
+
+    /**
+     * Сканер строк выборки. Строки одной полосы передаются в порядке возрастания y.
+     */
+    interface Scanner {
+        /**
+         * Записывает в out пары [from, to) столбцов, центры которых принадлежат фигуре на строке y.
+         * Пары не пересекаются и не пусты; out вмещает не менее columns + 2 чисел.
+         *
+         * @return число записанных чисел (удвоенное число пар)
+         */
+        int scan(double y, int[] out);
+    }
+
+    // Отрезок столбцов выпуклой фигуры на строке y по приближенной хорде [from, to]. Погрешность хорды
+    // сдвигает концы не больше чем на столбец, поэтому каждый конец уточняется через containsPoint
+    // независимо: отрезок расширяется, если соседний снаружи центр принадлежит фигуре, иначе сужается,
+    // пока крайний центр ей не принадлежит
+    static int convexSpan(Shape shape, SampleGrid grid, double y, double from, double to, int[] out) {
+        int first = grid.firstColumn(from);
+        int after = Math.max(first, grid.columnAfter(to));
+        if (first > 0 && contains(shape, grid, first - 1, y)) {
+            do {
+                first--;
+            } while (first > 0 && contains(shape, grid, first - 1, y));
+        } else {
+            while (first < after && !contains(shape, grid, first, y)) {
+                first++;
+            }
+        }
+        if (after < grid.columns && contains(shape, grid, after, y)) {
+            do {
+                after++;
+            } while (after < grid.columns && contains(shape, grid, after, y));
+        } else {
+            while (after > first && !contains(shape, grid, after - 1, y)) {
+                after--;
+            }
+        }
+        if (first >= after) {
+            return 0;
+        }
+        out[0] = first;
+        out[1] = after;
+        return 2;
+    }
+
+    private static boolean contains(Shape shape, SampleGrid grid, int column, double y) {
+        return shape.containsPoint(new Point(grid.x(column), y));
+    }
+
+    private static final class CircleSpans extends ShapeSpans {
+        private final Circle circle;
+        private final double cx;
+        private final double cy;
+        private final double squaredRadius;
+
+        CircleSpans(Circle circle) {
+            super(circle.bounds());
+            this.circle = circle;
+            this.cx = circle.center().x();
+            this.cy = circle.center().y();
+            this.squaredRadius = circle.radius() * circle.radius();
+        }
+
+        @Override
+        Scanner scanner(SampleGrid grid) {
+            return (y, out) -> {
+                double dy = y - cy;
+                double half = Math.sqrt(Math.max(0, squaredRadius - dy * dy));
+                return convexSpan(circle, grid, y, cx - half, cx + half, out);
+            };
+        }
+    }
+
+    private static final class EllipseSpans extends ShapeSpans {
+        private final Ellipse ellipse;
+        private final double cx;
+        private final double cy;
+        // Эллипс в центре — образ круга: x = M^(1/2) w, |w| <= 1, где M = R diag(a^2, b^2) R^T.
+        // Хорда на высоте dy имеет середину dy * mxy / myy и полудлину a b sqrt(myy - dy^2) / myy.
+        // Все величины складываются из положительных слагаемых, поэтому в отличие от коэффициентов
+        // при 1 / b^2 не теряют точность у вытянутых эллипсов
+        private final double mxy;
+        private final double myy;
+        private final double ab;
+
+        EllipseSpans(Ellipse ellipse) {
+            super(ellipse.bounds());
+            this.ellipse = ellipse;
+            this.cx = ellipse.center().x();
+            this.cy = ellipse.center().y();
+
+            // Половина смещения между фокусами — это (c cos θ, c sin θ)
+            double halfDx = (ellipse.focusRight().x() - ellipse.focusLeft().x()) / 2;
+            double halfDy = (ellipse.focusRight().y() - ellipse.focusLeft().y()) / 2;
+            double c = Math.hypot(halfDx, halfDy);
+            double cos = c > 0 ? halfDx / c : 1;
+            double sin = c > 0 ? halfDy / c : 0;
+            double a = ellipse.semiMajorAxis();
+            double b = ellipse.semiMinorAxis();
+            this.mxy = halfDx * halfDy; // (a^2 - b^2) cos θ sin θ = c^2 cos θ sin θ
+            this.myy = a * a * sin * sin + b * b * cos * cos;
+            this.ab = a * b;
+        }
+
+        @Override
+        Scanner scanner(SampleGrid grid) {
+            return (y, out) -> {
+                double dy = y - cy;
+                double middle = cx + dy * mxy / myy;
+                double half = ab * Math.sqrt(Math.max(0, myy - dy * dy)) / myy;
+                return convexSpan(ellipse, grid, y, middle - half, middle + half, out);
+            };
+        }
+    }
+
+    private static final class RectangleSpans extends ShapeSpans {
+        private final Rectangle rectangle;
+        private final double[] xs = new double[5]; // Вершины с повтором первой в конце
+        private final double[] ys = new double[5];
+
+        RectangleSpans(Rectangle rectangle) {
+            super(rectangle.bounds());
+            this.rectangle = rectangle;
+            for (int i = 0; i < 5; i++) {
+                xs[i] = rectangle.vertexX(i % 4);
+                ys[i] = rectangle.vertexY(i % 4);
+            }
+        }
+
+        @Override
+        Scanner scanner(SampleGrid grid) {
+            return (y, out) -> {
+                // Хорда — от крайнего левого до крайнего правого пересечения строки со сторонами,
+                // горизонтальная сторона на строке входит целиком
+                double from = Double.POSITIVE_INFINITY;
+                double to = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < 4; i++) {
+                    double y1 = ys[i];
+                    double y2 = ys[i + 1];
+                    if (y < Math.min(y1, y2) || y > Math.max(y1, y2)) {
+                        continue;
+                    }
+                    double x1 = xs[i];
+                    double x2 = xs[i + 1];
+                    if (y1 == y2) {
+                        from = Math.min(from, Math.min(x1, x2));
+                        to = Math.max(to, Math.max(x1, x2));
+                    } else {
+                        double x = x1 + (y - y1) * (x2 - x1) / (y2 - y1);
+                        from = Math.min(from, x);
+                        to = Math.max(to, x);
+                    }
+                }
+                return convexSpan(rectangle, grid, y, from, to, out);
+            };
+        }
+    }
+
+    private static final class PolygonSpans extends ShapeSpans {
+        // Ребра без горизонтальных, отсортированные по нижнему концу
+        private final double[] yLow;
+        private final double[] yHigh;
+        private final double[] xLow;
+        private final double[] xHigh;
+        private final double[] slope; // Приращение x на единицу y
+
+        PolygonSpans(Polygon polygon) {
+            super(polygon.bounds());
+            int n = polygon.verticeCount();
+            double[] lows = new double[n];
+            double[] highs = new double[n];
+            double[] xs = new double[n];
+            double[] highXs = new double[n];
+            double[] slopes = new double[n];
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                int next = i + 1 == n ? 0 : i + 1;
+                double x1 = polygon.vertexX(i);
+                double y1 = polygon.vertexY(i);
+                double x2 = polygon.vertexX(next);
+                double y2 = polygon.vertexY(next);
+                if (y1 == y2) {
+                    continue; // Горизонтальное ребро не пересекает ни одну строку по правилу четности
+                }
+                if (y1 > y2) {
+                    double t = x1;
+                    x1 = x2;
+                    x2 = t;
+                    t = y1;
+                    y1 = y2;
+                    y2 = t;
+                }
+                lows[count] = y1;
+                highs[count] = y2;
+                xs[count] = x1;
+                highXs[count] = x2;
+                slopes[count] = (x2 - x1) / (y2 - y1);
+                count++;
+            }
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            quickSort(order, lows, 0, count - 1);
+            this.yLow = new double[count];
+            this.yHigh = new double[count];
+            this.xLow = new double[count];
+            this.xHigh = new double[count];
+            this.slope = new double[count];
+            for (int i = 0; i < count; i++) {
+                yLow[i] = lows[order[i]];
+                yHigh[i] = highs[order[i]];
+                xLow[i] = xs[order[i]];
+                xHigh[i] = highXs[order[i]];
+                slope[i] = slopes[order[i]];
+            }
+        }
+
+        @Override
+        Scanner scanner(SampleGrid grid) {
+            return new Scanner() {
+                private int next; // Первое ребро, еще не попавшее в активный список
+                private int[] active = new int[16];
+                private int[] crossings = new int[16]; // Первый столбец не левее ребра
+                private int size;
+
+                @Override
+                public int scan(double y, int[] out) {
+                    // Ребро активно, если yLow <= y < yHigh, как в подсчете пересечений луча
+                    while (next < yLow.length && yLow[next] <= y) {
+                        if (yHigh[next] > y) {
+                            if (size == active.length) {
+                                active = Arrays.copyOf(active, 2 * size);
+                                crossings = Arrays.copyOf(crossings, 2 * size);
+                            }
+                            active[size++] = next;
+                        }
+                        next++;
+                    }
+                    int kept = 0;
+                    for (int i = 0; i < size; i++) {
+                        int edge = active[i];
+                        if (yHigh[edge] > y) {
+                            active[kept] = edge;
+                            crossings[kept] = crossing(edge, y);
+                            kept++;
+                        }
+                    }
+                    size = kept;
+
+                    // Порядок ребер между соседними строками почти не меняется, поэтому сортировка вставками
+                    for (int i = 1; i < size; i++) {
+                        int edge = active[i];
+                        int x = crossings[i];
+                        int j = i - 1;
+                        while (j >= 0 && crossings[j] > x) {
+                            active[j + 1] = active[j];
+                            crossings[j + 1] = crossings[j];
+                            j--;
+                        }
+                        active[j + 1] = edge;
+                        crossings[j + 1] = x;
+                    }
+
+                    // Точка внутри, если правее нее нечетное число пересечений: отрезки [c0, c1), [c2, c3), ...
+                    int written = 0;
+                    for (int i = 0; i + 1 < size; i += 2) {
+                        int first = crossings[i];
+                        int after = crossings[i + 1];
+                        if (first < after) {
+                            if (written > 0 && out[written - 1] == first) {
+                                out[written - 1] = after; // Смежные отрезки сливаются
+                            } else {
+                                out[written++] = first;
+                                out[written++] = after;
+                            }
+                        }
+                    }
+                    return written;
+                }
+
+                // Столбец, с которого центры перестают лежать левее ребра: оценка по наклону уточняется
+                // тем же точным предикатом, которым считает пересечения Predicates.ringContains
+                private int crossing(int edge, double y) {
+                    int column = grid.firstColumn(xLow[edge] + (y - yLow[edge]) * slope[edge]);
+                    while (column > 0 && !crossesRay(edge, grid.x(column - 1), y)) {
+                        column--;
+                    }
+                    while (column < grid.columns && crossesRay(edge, grid.x(column), y)) {
+                        column++;
+                    }
+                    return column;
+                }
+
+                private boolean crossesRay(int edge, double x, double y) {
+                    return Predicates.crossesRay(xLow[edge], yLow[edge], xHigh[edge], yHigh[edge], x, y);
+                }
+            };
+        }
+
+        // Быстрая сортировка индексов ребер по нижнему концу
+        private static void quickSort(int[] order, double[] keys, int low, int high) {
+            while (low < high) {
+                double pivot = keys[order[(low + high) >>> 1]];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (keys[order[i]] < pivot) {
+                        i++;
+                    }
+                    while (keys[order[j]] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int t = order[i];
+                        order[i] = order[j];
+                        order[j] = t;
+                        i++;
+                        j--;
+                    }
+                }
+                // Рекурсия по меньшей части ограничивает глубину стека
+                if (j - low < high - i) {
+                    quickSort(order, keys, low, j);
+                    low = i;
+                } else {
+                    quickSort(order, keys, i, high);
+                    high = j;
+                }
+            }
+        }
+    }
+
+    private static final class GenericSpans extends ShapeSpans {
+        private final Shape shape;
+
+        GenericSpans(Shape shape) {
+            super(shape.bounds());
+            this.shape = shape;
+        }
+
+        @Override
+        Scanner scanner(SampleGrid grid) {
+            int first = grid.firstColumn(bounds.minX());
+            int after = grid.columnAfter(bounds.maxX());
+            double[] xs = new double[after];
+            for (int j = first; j < after; j++) {
+                xs[j] = grid.x(j);
+            }
+            double[] ys = new double[after];
+            long[] bits = new long[(after + 63) >>> 6];
+            return (y, out) -> {
+                if (first >= after) {
+                    return 0;
+                }
+                Arrays.fill(ys, first, after, y);
+                shape.containsPoints(xs, ys, first, after, bits);
+
+                // Серии установленных битов превращаются в отрезки столбцов
+                int written = 0;
+                int j = first;
+                while (j < after) {
+                    int word = j >>> 6;
+                    long run = bits[word] & (-1L << j);
+                    if (run == 0) {
+                        j = (word + 1) << 6;
+                        continue;
+                    }
+                    int start = (word << 6) + Long.numberOfTrailingZeros(run);
+                    if (start >= after) {
+                        break;
+                    }
+                    int end = start;
+                    while (true) {
+                        long rest = ~bits[end >>> 6] & (-1L << end);
+                        if (rest != 0) {
+                            end = ((end >>> 6) << 6) + Long.numberOfTrailingZeros(rest);
+                            break;
+                        }
+                        end = ((end >>> 6) + 1) << 6;
+                        if (end >= after) {
+                            break;
+                        }
+                    }
+                    end = Math.min(end, after);
+                    out[written++] = start;
+                    out[written++] = end;
+                    j = end;
+                }
+                return written;
+            };
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package hometask.geometry.shape.store;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Файл, отображенный в память только для чтения, с доступом по 64-битному смещению.
+ * <p>
+ * Один {@link java.nio.MappedByteBuffer} адресует не больше 2 ГБ, поэтому файл отображается частями
+ * по 2^30 байт. Числа в файле выровнены по своему размеру, а граница части кратна 8, поэтому ни одно
+ * число не попадает на две части и чтение сводится к выбору части сдвигом и маской. Координаты одной
+ * фигуры {@link ShapeStoreWriter} тоже не разрывает границей части, поэтому циклы по вершинам
+ * выбирают часть один раз ({@link #chunk(long)}) и читают ее по смещению {@link #position(long)}.
+ * </p>
+ * <p>
+ * {@link #close()} освобождает отображение сразу через {@code sun.misc.Unsafe.invokeCleaner}; без него
+ * (модуль jdk.unsupported недоступен) части остаются до сборки мусора, как обычные MappedByteBuffer.
+ * </p>
+ */
+final class MappedFile {
+    static final int CHUNK_SHIFT = 30;
+    static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final MethodHandle CLEANER = cleaner();
+
+    private final ByteBuffer[] chunks;
+    private final long size;
+    private boolean closed;
+
+    MappedFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            int count = (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+            chunks = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                long length = Math.min(size - start, CHUNK_SIZE);
+                // Отображение остается действительным и после закрытия канала
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+    }
+
+    // Освобождает отображение. Ссылки на части обнуляются: обращение после закрытия бросит
+    // NullPointerException вместо чтения освобожденной памяти
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < chunks.length; i++) {
+            ByteBuffer chunk = chunks[i];
+            chunks[i] = null;
+            if (CLEANER != null) {
+                try {
+                    CLEANER.invokeExact(chunk);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Cannot unmap shape store.", e);
+                }
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    long size() {
+        return size;
+    }
+
+    double getDouble(long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getDouble((int) (offset & CHUNK_MASK));
+    }
+
+    long getLong(long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & CHUNK_MASK));
+    }
+
+    // Часть, содержащая байт с данным смещением
+    ByteBuffer chunk(long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)];
+    }
+
+    // Смещение байта внутри его части
+    static int position(long offset) {
+        return (int) (offset & CHUNK_MASK);
+    }
+
+    int getInt(long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+    }
+
+    // Unsafe.invokeCleaner(ByteBuffer), привязанный к экземпляру Unsafe, или null, если он недоступен
+    private static MethodHandle cleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
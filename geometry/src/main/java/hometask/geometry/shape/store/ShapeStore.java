@@ -0,0 +1,355 @@
+package hometask.geometry.shape.store;
+
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.Rectangle;
+import hometask.geometry.shape.impl.Square;
+import hometask.geometry.shape.impl.Triangle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Класс {@code ShapeStore} — хранилище фигур вне кучи Java в файле, отображенном в память.
+ * <p>
+ * Файл записывает {@link ShapeStoreWriter}. Он состоит из трех частей:
+ * <ul>
+ *     <li>заголовок: сигнатура {@code "SHPS"}, версия, число фигур и смещение таблицы;</li>
+ *     <li>область вершин: координаты всех фигур подряд (числа double, little-endian) — вершины
+ *     многоугольников, центр и радиус кругов, фокусы и сумма расстояний эллипсов; координаты одной
+ *     фигуры не пересекают границу 2^30 байт;</li>
+ *     <li>таблица: для каждой фигуры смещение ее координат, тип, число вершин и ограничивающий
+ *     прямоугольник (48 байт). Треугольники, прямоугольники и квадраты хранятся как многоугольники,
+ *     но со своим типом: от него зависят проверка точек границы и класс копии в куче.</li>
+ * </ul>
+ * Открытие хранилища — только отображение файла в память, без чтения и разбора фигур. Методы
+ * {@link #area(int)}, {@link #perimeter(int)} и {@link #containsPoint(int, double, double)} работают
+ * прямо с отображенной памятью и не создают объектов; {@link #get(int)} возвращает легковесное
+ * представление фигуры поверх той же памяти. Отображение освобождается методом {@link #close()}.
+ * </p>
+ */
+public final class ShapeStore implements Closeable {
+    static final int MAGIC = 'S' | 'H' << 8 | 'P' << 16 | 'S' << 24;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int ENTRY_SIZE = 48;
+
+    // Типы фигур в таблице
+    static final int CIRCLE = 1;
+    static final int ELLIPSE = 2;
+    static final int POLYGON = 3;
+    static final int RECTANGLE = 4;
+    static final int SQUARE = 5;
+    static final int TRIANGLE = 6;
+
+    private final MappedFile file;
+    private final int size;
+    private final long tableOffset;
+
+    /**
+     * Конструктор открывает хранилище, отображая файл в память.
+     *
+     * @param path путь к файлу, записанному {@link ShapeStoreWriter}
+     * @throws IOException              при ошибке открытия файла
+     * @throws IllegalArgumentException если файл не является хранилищем фигур или поврежден
+     */
+    public ShapeStore(Path path) throws IOException {
+        this.file = new MappedFile(path);
+        if (file.size() < HEADER_SIZE || file.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a shape store: " + path);
+        }
+        int version = file.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported shape store version: " + version);
+        }
+        long count = file.getLong(8);
+        this.tableOffset = file.getLong(16);
+        if (count < 0 || count > Integer.MAX_VALUE || tableOffset < HEADER_SIZE
+                || tableOffset + count * ENTRY_SIZE != file.size()) {
+            throw new IllegalArgumentException("Shape store is corrupted: " + path);
+        }
+        this.size = (int) count;
+    }
+
+    /**
+     * Возвращает число фигур.
+     *
+     * @return число фигур
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает легковесное представление фигуры: площадь, периметр, ограничивающий прямоугольник
+     * и проверка точки вычисляются по отображенной памяти, остальные методы работают с копией фигуры в куче.
+     *
+     * @param index номер фигуры
+     * @return представление фигуры
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public Shape get(int index) {
+        return new StoredShape(this, Objects.checkIndex(index, size));
+    }
+
+    /**
+     * Возвращает копию фигуры в куче того же класса, что и сохраненная фигура.
+     *
+     * @param index номер фигуры
+     * @return фигура
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public Shape load(int index) {
+        long offset = coordinatesOffset(index);
+        return switch (type(index)) {
+            case CIRCLE -> new Circle(new Point(file.getDouble(offset), file.getDouble(offset + 8)),
+                    file.getDouble(offset + 16));
+            case ELLIPSE -> new Ellipse(new Point(file.getDouble(offset), file.getDouble(offset + 8)),
+                    new Point(file.getDouble(offset + 16), file.getDouble(offset + 24)), file.getDouble(offset + 32));
+            default -> {
+                Point[] vertices = new Point[vertexCount(index)];
+                for (int i = 0; i < vertices.length; i++) {
+                    vertices[i] = new Point(file.getDouble(offset + 16L * i), file.getDouble(offset + 16L * i + 8));
+                }
+                // Вершины уже нормализованы, поэтому конструкторы сохраняют их без изменений
+                yield switch (type(index)) {
+                    case RECTANGLE -> Rectangle.ofVertices(vertices);
+                    case SQUARE -> Square.ofVertices(vertices);
+                    case TRIANGLE -> new Triangle(vertices[0], vertices[1], vertices[2]);
+                    default -> new Polygon(vertices);
+                };
+            }
+        };
+    }
+
+    /**
+     * Вычисляет площадь фигуры по отображенной памяти.
+     *
+     * @param index номер фигуры
+     * @return площадь
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public double area(int index) {
+        long offset = coordinatesOffset(index);
+        switch (type(index)) {
+            case CIRCLE -> {
+                double radius = file.getDouble(offset + 16);
+                return Math.PI * radius * radius;
+            }
+            case ELLIPSE -> {
+                return Math.PI * semiMajorAxis(offset) * semiMinorAxis(offset);
+            }
+            default -> {
+                // Формула площади Гаусса
+                int n = vertexCount(index);
+                ByteBuffer chunk = file.chunk(offset);
+                int base = MappedFile.position(offset);
+                double x1 = chunk.getDouble(base + 16 * (n - 1));
+                double y1 = chunk.getDouble(base + 16 * (n - 1) + 8);
+                double sum = 0;
+                for (int i = 0; i < n; i++) {
+                    double x2 = chunk.getDouble(base + 16 * i);
+                    double y2 = chunk.getDouble(base + 16 * i + 8);
+                    sum += x1 * y2 - x2 * y1;
+                    x1 = x2;
+                    y1 = y2;
+                }
+                return Math.abs(sum) / 2;
+            }
+        }
+    }
+
+    /**
+     * Вычисляет периметр фигуры по отображенной памяти.
+     *
+     * @param index номер фигуры
+     * @return периметр
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public double perimeter(int index) {
+        long offset = coordinatesOffset(index);
+        switch (type(index)) {
+            case CIRCLE -> {
+                return 2 * Math.PI * file.getDouble(offset + 16);
+            }
+            case ELLIPSE -> {
+                // Приближение Рамануджана, как в Ellipse
+                double a = semiMajorAxis(offset);
+                double b = semiMinorAxis(offset);
+                return Math.PI * (3 * (a + b) - Math.sqrt((3 * a + b) * (a + 3 * b)));
+            }
+            default -> {
+                int n = vertexCount(index);
+                ByteBuffer chunk = file.chunk(offset);
+                int base = MappedFile.position(offset);
+                double x1 = chunk.getDouble(base + 16 * (n - 1));
+                double y1 = chunk.getDouble(base + 16 * (n - 1) + 8);
+                double sum = 0;
+                for (int i = 0; i < n; i++) {
+                    double x2 = chunk.getDouble(base + 16 * i);
+                    double y2 = chunk.getDouble(base + 16 * i + 8);
+                    sum += Math.hypot(x2 - x1, y2 - y1);
+                    x1 = x2;
+                    y1 = y2;
+                }
+                return sum;
+            }
+        }
+    }
+
+    /**
+     * Проверяет, содержит ли фигура точку (x, y). Точка сначала сравнивается с ограничивающим
+     * прямоугольником из таблицы, координаты фигуры читаются только для точек внутри него.
+     * Для многоугольников и треугольников используется правило четности числа пересечений луча с гранями,
+     * прямоугольник и квадрат, как и {@link Rectangle}, содержат всю свою границу.
+     *
+     * @param index номер фигуры
+     * @param x     координата x точки
+     * @param y     координата y точки
+     * @return true, если точка принадлежит фигуре
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public boolean containsPoint(int index, double x, double y) {
+        long entry = entryOffset(index);
+        if (x < file.getDouble(entry + 16) || y < file.getDouble(entry + 24)
+                || x > file.getDouble(entry + 32) || y > file.getDouble(entry + 40)) {
+            return false;
+        }
+        long offset = file.getLong(entry);
+        switch (file.getInt(entry + 8)) {
+            case CIRCLE -> {
+                double dx = x - file.getDouble(offset);
+                double dy = y - file.getDouble(offset + 8);
+                double radius = file.getDouble(offset + 16);
+                return dx * dx + dy * dy <= radius * radius;
+            }
+            case ELLIPSE -> {
+                return ellipseContains(offset, x, y);
+            }
+            case RECTANGLE, SQUARE -> {
+                // Проекции на стороны из вершины 0, как в Rectangle.containsPoint
+                ByteBuffer chunk = file.chunk(offset);
+                int base = MappedFile.position(offset);
+                double x0 = chunk.getDouble(base);
+                double y0 = chunk.getDouble(base + 8);
+                double widthX = chunk.getDouble(base + 16) - x0;
+                double widthY = chunk.getDouble(base + 24) - y0;
+                double heightX = chunk.getDouble(base + 48) - x0;
+                double heightY = chunk.getDouble(base + 56) - y0;
+                double u = (x - x0) * widthX + (y - y0) * widthY;
+                double v = (x - x0) * heightX + (y - y0) * heightY;
+                return u >= 0 && u <= widthX * widthX + widthY * widthY
+                        && v >= 0 && v <= heightX * heightX + heightY * heightY;
+            }
+            default -> {
+                int n = file.getInt(entry + 12);
+                ByteBuffer chunk = file.chunk(offset);
+                int base = MappedFile.position(offset);
+                double x1 = chunk.getDouble(base + 16 * (n - 1));
+                double y1 = chunk.getDouble(base + 16 * (n - 1) + 8);
+                boolean result = false;
+                for (int i = 0; i < n; i++) {
+                    double x2 = chunk.getDouble(base + 16 * i);
+                    double y2 = chunk.getDouble(base + 16 * i + 8);
+                    if (Predicates.crossesRay(x1, y1, x2, y2, x, y)) {
+                        result = !result;
+                    }
+                    x1 = x2;
+                    y1 = y2;
+                }
+                return result;
+            }
+        }
+    }
+
+    // Те же выражения и в том же порядке, что в конструкторе Ellipse и Ellipse.inside, поэтому ответ
+    // совпадает с копией в куче до бита: квадратичная форма в осях, повернутых вдоль большой оси,
+    // а для вырожденного эллипса — сумма расстояний до фокусов
+    private boolean ellipseContains(long offset, double x, double y) {
+        double leftX = file.getDouble(offset);
+        double leftY = file.getDouble(offset + 8);
+        double rightX = file.getDouble(offset + 16);
+        double rightY = file.getDouble(offset + 24);
+        double sumDistance = file.getDouble(offset + 32);
+        double a = sumDistance / 2;
+        double c = Math.hypot(rightX - leftX, rightY - leftY) / 2;
+        double b = Math.sqrt((a - c) * (a + c));
+        double inverseB2 = 1 / (b * b);
+        if (!Double.isFinite(inverseB2)) {
+            double toLeftX = x - leftX;
+            double toLeftY = y - leftY;
+            double toRightX = x - rightX;
+            double toRightY = y - rightY;
+            return Math.sqrt(toLeftX * toLeftX + toLeftY * toLeftY)
+                    + Math.sqrt(toRightX * toRightX + toRightY * toRightY) <= sumDistance;
+        }
+        double cos = c > 0 ? (rightX - leftX) / 2 / c : 1;
+        double sin = c > 0 ? (rightY - leftY) / 2 / c : 0;
+        double dx = x - (leftX + rightX) / 2;
+        double dy = y - (leftY + rightY) / 2;
+        double u = dx * cos + dy * sin;
+        double v = dy * cos - dx * sin;
+        return u * u * (1 / (a * a)) + v * v * inverseB2 <= 1;
+    }
+
+    /**
+     * Освобождает отображение файла, не дожидаясь сборки мусора. Закрытие не должно выполняться
+     * одновременно с другими методами хранилища и его фигур; после него они бросают
+     * {@link IllegalStateException}. Повторное закрытие ничего не делает.
+     */
+    @Override
+    public void close() {
+        file.close();
+    }
+
+    /**
+     * Возвращает ограничивающий прямоугольник фигуры из таблицы.
+     *
+     * @param index номер фигуры
+     * @return ограничивающий прямоугольник
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public Bounds bounds(int index) {
+        long entry = entryOffset(index);
+        return new Bounds(file.getDouble(entry + 16), file.getDouble(entry + 24),
+                file.getDouble(entry + 32), file.getDouble(entry + 40));
+    }
+
+    private long entryOffset(int index) {
+        if (file.isClosed()) {
+            throw new IllegalStateException("Shape store is closed.");
+        }
+        return tableOffset + (long) Objects.checkIndex(index, size) * ENTRY_SIZE;
+    }
+
+    private long coordinatesOffset(int index) {
+        return file.getLong(entryOffset(index));
+    }
+
+    private int type(int index) {
+        return file.getInt(entryOffset(index) + 8);
+    }
+
+    private int vertexCount(int index) {
+        return file.getInt(entryOffset(index) + 12);
+    }
+
+    private double semiMajorAxis(long offset) {
+        return file.getDouble(offset + 32) / 2;
+    }
+
+    private double semiMinorAxis(long offset) {
+        double a = semiMajorAxis(offset);
+        double c = Math.hypot(file.getDouble(offset + 16) - file.getDouble(offset),
+                file.getDouble(offset + 24) - file.getDouble(offset + 8)) / 2;
+        return Math.sqrt((a - c) * (a + c)); // Как в Ellipse
+    }
+}
@@ -0,0 +1,199 @@
+package hometask.geometry.shape.store;
+
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.PreparedPolygon;
+import hometask.geometry.shape.impl.Rectangle;
+import hometask.geometry.shape.impl.Square;
+import hometask.geometry.shape.impl.Triangle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Запись файла хранилища фигур, который затем открывает {@link ShapeStore}.
+ * <p>
+ * Фигуры добавляются по одной и сразу уходят на диск: координаты — в область вершин основного файла,
+ * записи таблицы — во временный файл рядом, который при закрытии дописывается в конец основного.
+ * Поэтому объем памяти не зависит от числа фигур.
+ * </p>
+ */
+public final class ShapeStoreWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel file;
+    private final FileChannel table;
+    private final Path tablePath;
+    private final ByteBuffer arenaBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer tableBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long arenaPosition = ShapeStore.HEADER_SIZE; // Смещение в файле следующего числа области вершин
+    private int count;
+    private boolean closed;
+
+    /**
+     * Конструктор создает (или перезаписывает) файл хранилища.
+     *
+     * @param path путь к файлу
+     * @throws IOException при ошибке создания файла
+     */
+    public ShapeStoreWriter(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        Path createdTable = null;
+        FileChannel openedTable = null;
+        try {
+            createdTable = Files.createTempFile(directory, path.getFileName().toString(), ".table");
+            openedTable = FileChannel.open(createdTable, StandardOpenOption.WRITE, StandardOpenOption.READ,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            // Заголовок заполняется при закрытии
+            file.position(ShapeStore.HEADER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            // Писатель не создан, и закрыть открытые файлы больше некому
+            try (file) {
+                if (openedTable != null) {
+                    openedTable.close();
+                }
+                if (createdTable != null) {
+                    Files.deleteIfExists(createdTable);
+                }
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        this.tablePath = createdTable;
+        this.table = openedTable;
+    }
+
+    /**
+     * Добавляет фигуру. Треугольники, прямоугольники и квадраты сохраняются как многоугольники
+     * с отдельным типом в таблице.
+     *
+     * @param shape фигура
+     * @return номер фигуры в хранилище
+     * @throws IOException              при ошибке записи
+     * @throws IllegalArgumentException если тип фигуры не поддерживается
+     */
+    public int add(Shape shape) throws IOException {
+        if (count == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Shape store is full.");
+        }
+        Shape unwrapped = shape instanceof PreparedPolygon prepared ? prepared.polygon() : shape;
+        long recordSize = unwrapped instanceof Polygon polygon ? 16L * polygon.verticeCount() : 5 * Double.BYTES;
+        if (recordSize > MappedFile.CHUNK_SIZE) {
+            throw new IllegalArgumentException("Polygon is too large for the shape store: " + recordSize + " bytes.");
+        }
+        // Координаты фигуры не должны пересекать границу отображаемой части файла
+        long chunkEnd = (arenaPosition | (MappedFile.CHUNK_SIZE - 1)) + 1;
+        while (arenaPosition + recordSize > chunkEnd) {
+            putDouble(0);
+        }
+        long start = arenaPosition;
+        int type;
+        int vertexCount = 0;
+        if (unwrapped instanceof Circle circle) {
+            type = ShapeStore.CIRCLE;
+            putDouble(circle.center().x());
+            putDouble(circle.center().y());
+            putDouble(circle.radius());
+        } else if (unwrapped instanceof Ellipse ellipse) {
+            type = ShapeStore.ELLIPSE;
+            Point left = ellipse.focusLeft();
+            Point right = ellipse.focusRight();
+            putDouble(left.x());
+            putDouble(left.y());
+            putDouble(right.x());
+            putDouble(right.y());
+            putDouble(ellipse.sumDistance());
+        } else if (unwrapped instanceof Polygon polygon) {
+            type = storedType(polygon);
+            vertexCount = polygon.verticeCount();
+            for (int i = 0; i < vertexCount; i++) {
+                putDouble(polygon.vertexX(i));
+                putDouble(polygon.vertexY(i));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported shape type: " + shape.getClass());
+        }
+
+        if (tableBuffer.remaining() < ShapeStore.ENTRY_SIZE) {
+            drain(tableBuffer, table);
+        }
+        Bounds bounds = shape.bounds();
+        tableBuffer.putLong(start).putInt(type).putInt(vertexCount)
+                .putDouble(bounds.minX()).putDouble(bounds.minY())
+                .putDouble(bounds.maxX()).putDouble(bounds.maxY());
+        return count++;
+    }
+
+    /**
+     * Дописывает таблицу и заголовок и закрывает файл.
+     *
+     * @throws IOException при ошибке записи
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (file; table) {
+            drain(arenaBuffer, file);
+            drain(tableBuffer, table);
+            long tableOffset = arenaPosition;
+            long tableSize = table.position();
+            long copied = 0;
+            while (copied < tableSize) {
+                copied += table.transferTo(copied, tableSize - copied, file);
+            }
+            ByteBuffer header = ByteBuffer.allocate(ShapeStore.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(ShapeStore.MAGIC).putInt(ShapeStore.VERSION).putLong(count).putLong(tableOffset).flip();
+            while (header.hasRemaining()) {
+                file.write(header, header.position());
+            }
+        } finally {
+            Files.deleteIfExists(tablePath);
+        }
+    }
+
+    // Проверка типов идет от наследников к предкам, как в ShapeCodec
+    private static int storedType(Polygon polygon) {
+        if (polygon instanceof Square) {
+            return ShapeStore.SQUARE;
+        }
+        if (polygon instanceof Rectangle) {
+            return ShapeStore.RECTANGLE;
+        }
+        if (polygon instanceof Triangle) {
+            return ShapeStore.TRIANGLE;
+        }
+        return ShapeStore.POLYGON;
+    }
+
+    private void putDouble(double value) throws IOException {
+        if (!arenaBuffer.hasRemaining()) {
+            drain(arenaBuffer, file);
+        }
+        arenaBuffer.putDouble(value);
+        arenaPosition += Double.BYTES;
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
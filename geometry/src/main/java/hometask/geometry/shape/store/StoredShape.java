@@ -0,0 +1,117 @@
+package hometask.geometry.shape.store;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.ShapeSignature;
+
+import java.util.Objects;
+
+/**
+ * Легковесное представление фигуры из {@link ShapeStore}: хранит только ссылку на хранилище и номер.
+ * <p>
+ * Площадь, периметр, ограничивающий прямоугольник и проверка точки вычисляются по отображенной памяти.
+ * Сравнения, отпечатки и преобразования выполняются над копией фигуры в куче ({@link ShapeStore#load(int)}).
+ * </p>
+ */
+final class StoredShape implements Shape {
+    private final ShapeStore store;
+    private final int index;
+
+    StoredShape(ShapeStore store, int index) {
+        this.store = store;
+        this.index = index;
+    }
+
+    // Копия фигуры в куче; представление из хранилища заменяется своей копией
+    private static Shape load(Shape shape) {
+        return shape instanceof StoredShape stored ? stored.store.load(stored.index) : shape;
+    }
+
+    @Override
+    public double perimeter() {
+        return store.perimeter(index);
+    }
+
+    @Override
+    public double area() {
+        return store.area(index);
+    }
+
+    @Override
+    public boolean equals(Shape another) {
+        return load(this).equals(load(another));
+    }
+
+    @Override
+    public boolean isCongruentTo(Shape another) {
+        return load(this).isCongruentTo(load(another));
+    }
+
+    @Override
+    public boolean isSimilarTo(Shape another) {
+        return load(this).isSimilarTo(load(another));
+    }
+
+    @Override
+    public ShapeSignature congruenceSignature() {
+        return load(this).congruenceSignature();
+    }
+
+    @Override
+    public ShapeSignature similaritySignature() {
+        return load(this).similaritySignature();
+    }
+
+    @Override
+    public Bounds bounds() {
+        return store.bounds(index);
+    }
+
+    @Override
+    public boolean containsPoint(Point point) {
+        return store.containsPoint(index, point.x(), point.y());
+    }
+
+    @Override
+    public void containsPoints(double[] xs, double[] ys, int from, int to, long[] bitsOut) {
+        Objects.checkFromToIndex(from, to, Math.min(xs.length, ys.length));
+        if (from < to) {
+            Objects.checkIndex((to - 1) >>> 6, bitsOut.length);
+        }
+        for (int i = from; i < to; i++) {
+            if (store.containsPoint(index, xs[i], ys[i])) {
+                bitsOut[i >>> 6] |= 1L << i;
+            } else {
+                bitsOut[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    @Override
+    public Shape rotate(Point center, double angle) {
+        return load(this).rotate(center, angle);
+    }
+
+    @Override
+    public Shape reflect(Point center) {
+        return load(this).reflect(center);
+    }
+
+    @Override
+    public Shape reflect(Line axis) {
+        return load(this).reflect(axis);
+    }
+
+    @Override
+    public Shape scale(Point center, double coefficient) {
+        return load(this).scale(center, coefficient);
+    }
+
+    @Override
+    public Shape transform(AffineTransform transform) {
+        return load(this).transform(transform);
+    }
+}
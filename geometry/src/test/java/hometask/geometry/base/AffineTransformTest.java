@@ -0,0 +1,133 @@
+package hometask.geometry.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Преобразования {@link AffineTransform} совпадают с соответствующими методами {@link Point}, композиция
+ * равна последовательному применению, а коэффициент подобия и признак отражения соответствуют матрице.
+ */
+class AffineTransformTest {
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void matchesPointMethods() {
+        SplittableRandom random = new SplittableRandom(8);
+        for (int iteration = 0; iteration < 10_000; iteration++) {
+            Point point = randomPoint(random);
+            Point center = randomPoint(random);
+            double angle = random.nextDouble(-720, 720);
+            double coefficient = random.nextDouble(-10, 10);
+            Line axis = random.nextInt(4) == 0
+                    ? new Line(center, new Point(center.x(), center.y() + 1))
+                    : new Line(center, random.nextDouble(-10, 10));
+
+            assertClose(point.rotate(center, angle), AffineTransform.rotation(center, angle).apply(point));
+            assertClose(point.reflect(center), AffineTransform.reflection(center).apply(point));
+            assertClose(point.reflect(axis), AffineTransform.reflection(axis).apply(point));
+            assertClose(point.scale(center, coefficient), AffineTransform.scaling(center, coefficient).apply(point));
+            assertClose(new Point(point.x() + angle, point.y() - coefficient),
+                    AffineTransform.translation(angle, -coefficient).apply(point));
+        }
+    }
+
+    @Test
+    void quarterTurnsAreExact() {
+        Point center = new Point(3, -2);
+        Point point = new Point(7, 5);
+        assertEquals(new Point(-4, 2), AffineTransform.rotation(center, 90).apply(point));
+        assertEquals(new Point(-1, -9), AffineTransform.rotation(center, 180).apply(point));
+        assertEquals(new Point(10, -6), AffineTransform.rotation(center, -90).apply(point));
+        assertEquals(new Point(10, -6), AffineTransform.rotation(center, 630).apply(point));
+        assertEquals(point, AffineTransform.rotation(center, 360).apply(point));
+        assertEquals(AffineTransform.reflection(center).apply(point), AffineTransform.rotation(center, -180).apply(point));
+    }
+
+    @Test
+    void compositionEqualsSequentialApplication() {
+        SplittableRandom random = new SplittableRandom(8);
+        for (int iteration = 0; iteration < 10_000; iteration++) {
+            Point center = randomPoint(random);
+            Line axis = new Line(randomPoint(random), random.nextDouble(-3, 3));
+            double angle = random.nextDouble(-360, 360);
+            double coefficient = random.nextDouble(0.1, 4) * (random.nextBoolean() ? 1 : -1);
+            AffineTransform chain = AffineTransform.IDENTITY
+                    .rotate(center, angle)
+                    .reflect(axis)
+                    .scale(center, coefficient)
+                    .translate(1.5, -2)
+                    .reflect(center);
+
+            Point point = randomPoint(random);
+            Point scaled = point.rotate(center, angle).reflect(axis).scale(center, coefficient);
+            Point sequential = new Point(scaled.x() + 1.5, scaled.y() - 2).reflect(center);
+            assertClose(sequential, chain.apply(point));
+            assertClose(sequential, AffineTransform.rotation(center, angle)
+                    .then(AffineTransform.reflection(axis))
+                    .then(AffineTransform.scaling(center, coefficient))
+                    .then(AffineTransform.translation(1.5, -2))
+                    .then(AffineTransform.reflection(center))
+                    .apply(point));
+
+            // Зеркальность: одно осевое отражение; коэффициент подобия — модуль коэффициента масштабирования
+            assertTrue(chain.isReflection());
+            assertEquals(Math.abs(coefficient), chain.scaleFactor(), TOLERANCE);
+        }
+    }
+
+    @Test
+    void reflectionAndScaleFactor() {
+        Point center = new Point(1, 2);
+        assertFalse(AffineTransform.IDENTITY.isReflection());
+        assertFalse(AffineTransform.rotation(center, 37).isReflection());
+        assertFalse(AffineTransform.reflection(center).isReflection());
+        assertFalse(AffineTransform.scaling(center, -3).isReflection());
+        assertTrue(AffineTransform.reflection(new Line(0.5, 1)).isReflection());
+        assertTrue(AffineTransform.reflection(new Line(center, new Point(1, 5))).isReflection());
+        assertFalse(AffineTransform.reflection(new Line(0.5, 1)).reflect(new Line(-2, 0)).isReflection());
+
+        assertEquals(1, AffineTransform.rotation(center, 37).scaleFactor(), TOLERANCE);
+        assertEquals(3, AffineTransform.scaling(center, -3).scaleFactor());
+        assertEquals(6, AffineTransform.scaling(center, -3).rotate(center, 11).scale(center, 2).scaleFactor(), TOLERANCE);
+    }
+
+    @Test
+    void appliesToCoordinateArrays() {
+        SplittableRandom random = new SplittableRandom(8);
+        AffineTransform transform = AffineTransform.rotation(new Point(1, 1), 30).scale(new Point(0, 0), 2);
+        double[] coords = new double[20];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = random.nextDouble(-100, 100);
+        }
+        double[] mapped = new double[coords.length + 1];
+        transform.apply(coords, mapped);
+        for (int i = 0; i < coords.length; i += 2) {
+            Point image = transform.apply(new Point(coords[i], coords[i + 1]));
+            assertEquals(image.x(), mapped[i]);
+            assertEquals(image.y(), mapped[i + 1]);
+        }
+        assertEquals(0, mapped[coords.length]);
+
+        // Преобразование на месте дает тот же результат
+        transform.apply(coords, coords);
+        for (int i = 0; i < coords.length; i++) {
+            assertEquals(mapped[i], coords[i]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> transform.apply(new double[4], new double[3]));
+    }
+
+    private static Point randomPoint(SplittableRandom random) {
+        return new Point(random.nextDouble(-100, 100), random.nextDouble(-100, 100));
+    }
+
+    private static void assertClose(Point expected, Point actual) {
+        assertEquals(expected.x(), actual.x(), TOLERANCE * (1 + Math.abs(expected.x())), expected + " vs " + actual);
+        assertEquals(expected.y(), actual.y(), TOLERANCE * (1 + Math.abs(expected.y())), expected + " vs " + actual);
+    }
+}
@@ -0,0 +1,141 @@
+package hometask.geometry.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Заметающая прямая должна находить ровно те пары отрезков, что и полный перебор с точной проверкой
+ * пересечения замкнутых отрезков в целых числах.
+ */
+class SegmentIntersectorTest {
+
+    @Test
+    void matchesBruteForceOnSmallIntegerGrids() {
+        SplittableRandom random = new SplittableRandom(21);
+        for (int scene = 0; scene < 3000; scene++) {
+            // На маленькой сетке много общих концов, перекрытий, вертикальных и вырожденных отрезков
+            int size = 2 + random.nextInt(6);
+            int count = 1 + random.nextInt(25);
+            double[] segments = new double[4 * count];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = random.nextInt(size);
+            }
+            assertMatchesBruteForce(segments);
+        }
+    }
+
+    @Test
+    void handlesSharedEndpointsOverlapsAndVerticalSegments() {
+        assertMatchesBruteForce(new double[]{
+                0, 0, 4, 4,   // Диагональ
+                4, 4, 8, 0,   // Общий конец с диагональю
+                2, 2, 6, 6,   // Перекрывает диагональ
+                2, 0, 2, 8,   // Вертикальный, пересекает диагональ в (2, 2)
+                2, 3, 2, 5,   // Вертикальный, лежит внутри предыдущего
+                3, 3, 3, 3,   // Точка на диагонали
+                7, 7, 7, 7,   // Точка вне остальных отрезков
+                0, 4, 8, 4,   // Горизонтальный через общий конец
+                8, 0, 0, 0});
+        // Много отрезков через одну точку
+        List<Double> star = new ArrayList<>();
+        for (int i = -3; i <= 3; i++) {
+            for (double value : new double[]{-4, i, 4, -i, i, -4, -i, 4}) {
+                star.add(value);
+            }
+        }
+        assertMatchesBruteForce(star.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    @Test
+    void reportsEachPairOnceAndStopsOnRequest() {
+        double[] segments = {0, 0, 4, 4, 0, 4, 4, 0, 2, 0, 2, 4};
+        int[] calls = new int[1];
+        assertFalse(SegmentIntersector.forEachIntersection(segments, (first, second, x, y) -> {
+            calls[0]++;
+            return false;
+        }));
+        assertEquals(1, calls[0]);
+        assertTrue(SegmentIntersector.forEachIntersection(new double[]{0, 0, 1, 0, 0, 1, 1, 1},
+                (first, second, x, y) -> {
+                    throw new AssertionError("Parallel segments do not intersect.");
+                }));
+        assertThrows(IllegalArgumentException.class,
+                () -> SegmentIntersector.forEachIntersection(new double[5], (first, second, x, y) -> true));
+    }
+
+    private static void assertMatchesBruteForce(double[] segments) {
+        int count = segments.length / 4;
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (intersects(segments, i, j)) {
+                    expected.add((long) i * count + j);
+                }
+            }
+        }
+        TreeSet<Long> reported = new TreeSet<>();
+        assertTrue(SegmentIntersector.forEachIntersection(segments, (first, second, x, y) -> {
+            assertTrue(first < second);
+            assertTrue(reported.add((long) first * count + second), "pair reported twice");
+            // Точка пересечения лежит на обоих отрезках
+            assertTrue(near(segments, first, x, y) && near(segments, second, x, y),
+                    "point (" + x + ", " + y + ") is off segments " + first + ", " + second);
+            return true;
+        }));
+        assertEquals(expected, reported, Arrays.toString(segments));
+    }
+
+    // Точная проверка пересечения замкнутых отрезков с целыми концами
+    private static boolean intersects(double[] s, int i, int j) {
+        long ax = (long) s[4 * i];
+        long ay = (long) s[4 * i + 1];
+        long bx = (long) s[4 * i + 2];
+        long by = (long) s[4 * i + 3];
+        long cx = (long) s[4 * j];
+        long cy = (long) s[4 * j + 1];
+        long dx = (long) s[4 * j + 2];
+        long dy = (long) s[4 * j + 3];
+        long o1 = orientation(ax, ay, bx, by, cx, cy);
+        long o2 = orientation(ax, ay, bx, by, dx, dy);
+        long o3 = orientation(cx, cy, dx, dy, ax, ay);
+        long o4 = orientation(cx, cy, dx, dy, bx, by);
+        if (o1 * o2 < 0 && o3 * o4 < 0) {
+            return true;
+        }
+        return o1 == 0 && within(ax, ay, bx, by, cx, cy)
+                || o2 == 0 && within(ax, ay, bx, by, dx, dy)
+                || o3 == 0 && within(cx, cy, dx, dy, ax, ay)
+                || o4 == 0 && within(cx, cy, dx, dy, bx, by);
+    }
+
+    private static long orientation(long ax, long ay, long bx, long by, long cx, long cy) {
+        return Long.signum((bx - ax) * (cy - ay) - (by - ay) * (cx - ax));
+    }
+
+    // Точка (px, py), лежащая на прямой отрезка, попадает в его ограничивающий прямоугольник
+    private static boolean within(long ax, long ay, long bx, long by, long px, long py) {
+        return Math.min(ax, bx) <= px && px <= Math.max(ax, bx) && Math.min(ay, by) <= py && py <= Math.max(ay, by);
+    }
+
+    private static boolean near(double[] s, int i, double x, double y) {
+        double ax = s[4 * i];
+        double ay = s[4 * i + 1];
+        double bx = s[4 * i + 2];
+        double by = s[4 * i + 3];
+        double tolerance = 1e-9;
+        double cross = (bx - ax) * (y - ay) - (by - ay) * (x - ax);
+        return Math.abs(cross) <= tolerance * (1 + Math.hypot(bx - ax, by - ay))
+                && Math.min(ax, bx) - tolerance <= x && x <= Math.max(ax, bx) + tolerance
+                && Math.min(ay, by) - tolerance <= y && y <= Math.max(ay, by) + tolerance;
+    }
+}
@@ -0,0 +1,164 @@
+package hometask.geometry.shape.collision;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.PreparedPolygon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Касание только границами считается столкновением, пересечение невыпуклых многоугольников совпадает
+ * с прямым перебором пар граней, а номер удаленной фигуры можно безопасно выдать повторно.
+ */
+class CollisionDetectorTest {
+
+    @Test
+    void edgeOnlyContactIsCollision() {
+        // Две буквы L, вложенные друг в друга: внутренности не пересекаются, общие только отрезки границы
+        Polygon first = polygon(0, 0, 3, 0, 3, 1, 1, 1, 1, 3, 0, 3);
+        Polygon second = polygon(1, 1, 3, 1, 3, 3, 1, 3);
+        Polygon cornerOnly = polygon(3, 3, 5, 3, 5, 4, 4, 4, 4, 5, 3, 5);
+        Polygon apart = polygon(3.5, 1.5, 5, 1.5, 5, 2, 4, 2, 4, 2.9, 3.5, 2.9);
+        Circle tangent = new Circle(new Point(-1, 1), 1);
+        Circle near = new Circle(new Point(-1, 1), 1 - 1e-12);
+
+        assertTrue(Intersections.intersects(first, second));
+        assertTrue(Intersections.intersects(second, new PreparedPolygon(first)));
+        assertTrue(Intersections.intersects(second, cornerOnly));
+        assertFalse(Intersections.intersects(first, cornerOnly));
+        assertFalse(Intersections.intersects(first, apart));
+        assertFalse(Intersections.intersects(second, apart));
+        assertTrue(Intersections.intersects(tangent, first));
+        assertFalse(Intersections.intersects(first, near));
+
+        CollisionDetector detector = new CollisionDetector();
+        for (Shape shape : new Shape[]{first, second, cornerOnly, apart, tangent, near}) {
+            detector.add(shape);
+        }
+        assertEquals(List.of(new CollisionDetector.Collision(0, 1), new CollisionDetector.Collision(0, 4),
+                new CollisionDetector.Collision(1, 2), new CollisionDetector.Collision(4, 5)), detector.collisions());
+    }
+
+    @Test
+    void nonConvexPolygonsMatchBruteForce() {
+        SplittableRandom random = new SplittableRandom(15);
+        int hits = 0;
+        for (int iteration = 0; iteration < 3000; iteration++) {
+            Polygon first = comb(random);
+            Polygon second = comb(random);
+            boolean expected = bruteForce(first, second);
+            assertEquals(expected, Intersections.intersects(first, second), "iteration " + iteration);
+            assertEquals(expected, Intersections.intersects(second, first), "iteration " + iteration);
+            hits += expected ? 1 : 0;
+        }
+        // Выборка содержит оба исхода
+        assertTrue(hits > 300 && hits < 2700, "hits " + hits);
+    }
+
+    @Test
+    void removedIdIsReused() {
+        CollisionDetector detector = new CollisionDetector();
+        int a = detector.add(polygon(0, 0, 2, 0, 2, 2, 0, 2));
+        int b = detector.add(polygon(1, 1, 3, 1, 3, 3, 1, 3));
+        int c = detector.add(polygon(10, 10, 12, 10, 12, 12, 10, 12));
+        assertEquals(List.of(new CollisionDetector.Collision(a, b)), detector.collisions());
+
+        detector.remove(b);
+        assertEquals(2, detector.size());
+        assertThrows(IllegalArgumentException.class, () -> detector.remove(b));
+        assertThrows(IllegalArgumentException.class, () -> detector.update(b, new Circle(new Point(0, 0), 1)));
+
+        // Номер удаленной фигуры выдается новой; прежние пары с ним не возвращаются, новые — по одному разу
+        int reused = detector.add(new Circle(new Point(11, 11), 0.5));
+        assertEquals(b, reused);
+        assertEquals(3, detector.size());
+        assertEquals(List.of(new CollisionDetector.Collision(b, c)), detector.collisions());
+
+        // Удаление и повторная выдача между двумя поисками
+        detector.remove(reused);
+        assertEquals(reused, detector.add(new Circle(new Point(1, 1), 0.5)));
+        detector.update(c, new Circle(new Point(1.3, 1.3), 0.1));
+        assertEquals(List.of(new CollisionDetector.Collision(a, b), new CollisionDetector.Collision(a, c),
+                new CollisionDetector.Collision(b, c)), detector.collisions());
+        assertThrows(IllegalArgumentException.class, () -> detector.remove(3));
+        assertThrows(IllegalArgumentException.class, () -> detector.remove(-1));
+    }
+
+    // Гребенка на целочисленной сетке: зубцы случайной высоты вверх или вниз от основания
+    private static Polygon comb(SplittableRandom random) {
+        int teeth = 1 + random.nextInt(6);
+        int x0 = random.nextInt(-12, 8);
+        int y0 = random.nextInt(-12, 8);
+        int direction = random.nextBoolean() ? 1 : -1;
+        List<Double> coords = new ArrayList<>();
+        coords.add((double) x0);
+        coords.add((double) y0);
+        coords.add((double) x0 + 2 * teeth - 1);
+        coords.add((double) y0);
+        for (int i = teeth - 1; i >= 0; i--) {
+            int top = y0 + direction * (1 + random.nextInt(1, 5));
+            int base = y0 + direction;
+            coords.addAll(List.of((double) x0 + 2 * i + 1, (double) top, (double) x0 + 2 * i, (double) top));
+            if (i > 0) {
+                coords.addAll(List.of((double) x0 + 2 * i, (double) base, (double) x0 + 2 * i - 1, (double) base));
+            }
+        }
+        double[] values = new double[coords.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = coords.get(i);
+        }
+        return polygon(values);
+    }
+
+    // Прямой перебор всех пар граней в целых числах и проверка вложенности
+    private static boolean bruteForce(Polygon first, Polygon second) {
+        for (int i = 0; i < first.verticeCount(); i++) {
+            Polygon.Edge edge = first.edge(i);
+            for (int j = 0; j < second.verticeCount(); j++) {
+                if (segmentsMeet(edge, second.edge(j))) {
+                    return true;
+                }
+            }
+        }
+        return first.containsPoint(second.vertex(0)) || second.containsPoint(first.vertex(0));
+    }
+
+    private static boolean segmentsMeet(Polygon.Edge first, Polygon.Edge second) {
+        long d1 = orientation(second.start(), second.end(), first.start());
+        long d2 = orientation(second.start(), second.end(), first.end());
+        long d3 = orientation(first.start(), first.end(), second.start());
+        long d4 = orientation(first.start(), first.end(), second.end());
+        if (d1 == 0 && d2 == 0) {
+            // Коллинеарные отрезки: перекрытие проекций на обе оси
+            return overlap(first.start().x(), first.end().x(), second.start().x(), second.end().x())
+                    && overlap(first.start().y(), first.end().y(), second.start().y(), second.end().y());
+        }
+        return d1 * d2 <= 0 && d3 * d4 <= 0;
+    }
+
+    private static long orientation(Point a, Point b, Point c) {
+        return Long.signum((long) ((b.x() - a.x()) * (c.y() - a.y()) - (b.y() - a.y()) * (c.x() - a.x())));
+    }
+
+    private static boolean overlap(double a1, double a2, double b1, double b2) {
+        return Math.max(a1, a2) >= Math.min(b1, b2) && Math.max(b1, b2) >= Math.min(a1, a2);
+    }
+
+    private static Polygon polygon(double... coords) {
+        Point[] vertices = new Point[coords.length / 2];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new Point(coords[2 * i], coords[2 * i + 1]);
+        }
+        return new Polygon(vertices);
+    }
+}
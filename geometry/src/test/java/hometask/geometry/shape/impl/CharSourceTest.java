@@ -0,0 +1,127 @@
+package hometask.geometry.shape.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Числа, разобранные {@link CharSource}, побитово совпадают с {@link Double#parseDouble(String)} — и на быстром
+ * пути Клингера, и на медленном, и когда число разрезано границей буфера.
+ */
+class CharSourceTest {
+
+    @Test
+    void numbersMatchParseDouble() throws IOException {
+        SplittableRandom random = new SplittableRandom(17);
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            numbers.add(randomNumber(random));
+        }
+        numbers.addAll(List.of("0", "-0", "0.0", "-0.0", "1e22", "1e23", "9007199254740993", "123456789012345",
+                "1234567890123456", "0.000000000000000000001", "4.9e-324", "1.7976931348623157e308", "1e400",
+                "-1e-400", "+5", "2.", ".5", "100000000000000000000000000000"));
+        String text = String.join(" ", numbers);
+
+        for (CharSource source : sources(text, random)) {
+            for (String number : numbers) {
+                double expected = Double.parseDouble(number);
+                assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(source.readNumber()),
+                        number);
+            }
+            assertEquals(-1, source.skipWhitespace());
+        }
+    }
+
+    @Test
+    void malformedNumbersAreRejected() {
+        for (String text : new String[]{"", "-", ".", "1e", "1e+", "1.2.3", "1-2", "e5", "x"}) {
+            assertThrows(IllegalArgumentException.class, () -> new CharSource(new StringReader(text)).readNumber(),
+                    text);
+        }
+    }
+
+    @Test
+    void wordsAndStringsSpanBufferBoundaries() throws IOException {
+        String text = " polygon \"Feat\\u0075re\\n\" {\"a\": [1, {\"b\": \"]}\"}], \"c\": null} true 7";
+        SplittableRandom random = new SplittableRandom(17);
+        for (int iteration = 0; iteration < 100; iteration++) {
+            for (CharSource source : sources(text, random)) {
+                assertEquals("POLYGON", source.readWord());
+                assertEquals("Feature\n", source.readString());
+                source.skipValue();
+                source.skipValue();
+                assertEquals(7, source.readNumber());
+            }
+        }
+    }
+
+    // Источники над одним текстом: поток, отдающий по нескольку символов, массив со смещением и буфер без массива
+    private static List<CharSource> sources(String text, SplittableRandom random) {
+        char[] padded = ("###" + text + "###").toCharArray();
+        CharBuffer slice = CharBuffer.wrap(padded, 3, text.length()).slice();
+        return List.of(
+                new CharSource(trickle(text, random)),
+                new CharSource(new StringReader(text)),
+                new CharSource(slice),
+                new CharSource(CharBuffer.wrap(text)));
+    }
+
+    // Поток, читающий текст кусками случайной длины от 1 до 7 символов
+    static Reader trickle(String text, SplittableRandom random) {
+        return new Reader() {
+            private int position;
+
+            @Override
+            public int read(char[] target, int offset, int length) {
+                if (position == text.length()) {
+                    return -1;
+                }
+                int count = Math.min(Math.min(length, 1 + random.nextInt(7)), text.length() - position);
+                text.getChars(position, position + count, target, offset);
+                position += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    // Число со случайными знаком, числом цифр до и после точки и порядком
+    private static String randomNumber(SplittableRandom random) {
+        if (random.nextInt(4) == 0) {
+            // Кратчайшая запись произвольного конечного double
+            double value = Double.longBitsToDouble(random.nextLong());
+            return Double.toString(Double.isFinite(value) ? value : random.nextDouble());
+        }
+        StringBuilder builder = new StringBuilder();
+        if (random.nextBoolean()) {
+            builder.append('-');
+        }
+        int integerDigits = random.nextInt(12);
+        int fractionDigits = integerDigits == 0 ? 1 + random.nextInt(12) : random.nextInt(12);
+        for (int i = 0; i < integerDigits; i++) {
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+        if (fractionDigits > 0) {
+            builder.append('.');
+            for (int i = 0; i < fractionDigits; i++) {
+                builder.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        if (random.nextBoolean()) {
+            builder.append(random.nextBoolean() ? 'e' : 'E').append(random.nextInt(-40, 41));
+        }
+        return builder.toString();
+    }
+}
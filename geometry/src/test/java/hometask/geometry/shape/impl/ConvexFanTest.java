@@ -0,0 +1,142 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.base.Predicates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Веер выпуклого многоугольника должен классифицировать точки границы так же, как подсчет пересечений
+ * луча ({@link Predicates#ringContains}), которым проверяются невыпуклые многоугольники.
+ */
+class ConvexFanTest {
+
+    @Test
+    void unitSquareIncludesLeftAndBottomEdgesOnly() {
+        Polygon square = new Polygon(new Point(0, 0), new Point(1, 0), new Point(1, 1), new Point(0, 1));
+        assertNotSame(ConvexFan.NONE, square.convexFan());
+        assertTrue(square.containsPoint(new Point(0, 0.5)));
+        assertTrue(square.containsPoint(new Point(0.5, 0)));
+        assertTrue(square.containsPoint(new Point(0, 0)));
+        assertFalse(square.containsPoint(new Point(1, 0.5)));
+        assertFalse(square.containsPoint(new Point(0.5, 1)));
+        assertFalse(square.containsPoint(new Point(1, 0)));
+        assertFalse(square.containsPoint(new Point(0, 1)));
+    }
+
+    @Test
+    void convexAndNonConvexPolygonsAgreeOnSharedEdges() {
+        // Те же левая и правая грани, но второй многоугольник невыпуклый
+        Polygon convex = new Polygon(new Point(0, 0), new Point(2, 0), new Point(2, 2), new Point(0, 2));
+        Polygon notched = new Polygon(new Point(0, 0), new Point(2, 0), new Point(2, 2), new Point(1, 1),
+                new Point(0, 2));
+        for (double y = 0; y <= 1; y += 0.25) {
+            assertEquals(notched.containsPoint(new Point(0, y)), convex.containsPoint(new Point(0, y)));
+            assertEquals(notched.containsPoint(new Point(2, y)), convex.containsPoint(new Point(2, y)));
+        }
+    }
+
+    @Test
+    void pointOnExtensionOfCollinearEdgesIsOutside() {
+        // Вершины (3, 4) и (4, 6) лежат на одной прямой с корнем (2, 2); точка (4.5, 7) — на ее продолжении
+        Polygon polygon = new Polygon(new Point(2, 2), new Point(6, 3), new Point(11, 5), new Point(11, 6),
+                new Point(5, 7), new Point(4, 6), new Point(3, 4));
+        assertFalse(polygon.containsPoint(new Point(4.5, 7)));
+    }
+
+    @Test
+    void fanMatchesRingContainsOnIntegerGrid() {
+        SplittableRandom random = new SplittableRandom(42);
+        int checked = 0;
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            Polygon polygon = randomConvexPolygon(random);
+            if (polygon == null || polygon.convexFan() == ConvexFan.NONE) {
+                continue;
+            }
+            checked++;
+            double[] coords = polygon.coordinates();
+            long[] bits = new long[1];
+            // Шаг 0.5 по целочисленным вершинам: много точек попадает на грани и в вершины
+            for (double x = -1; x <= 13; x += 0.5) {
+                for (double y = -1; y <= 13; y += 0.5) {
+                    boolean expected = Predicates.ringContains(coords, polygon.bounds(), x, y);
+                    String message = Arrays.toString(coords) + " at (" + x + ", " + y + ")";
+                    assertEquals(expected, polygon.containsPoint(new Point(x, y)), message);
+                    polygon.containsPoints(new double[]{x}, new double[]{y}, 0, 1, bits);
+                    assertEquals(expected, bits[0] == 1, message);
+                }
+            }
+        }
+        assertTrue(checked > 1000);
+    }
+
+    // Выпуклая оболочка случайных целых точек; иногда с вершинами в серединах сторон и с обратным обходом
+    private static Polygon randomConvexPolygon(SplittableRandom random) {
+        if (random.nextInt(4) == 0) {
+            return new Triangle(randomPoint(random), randomPoint(random), randomPoint(random));
+        }
+        List<Point> points = new ArrayList<>();
+        int count = 3 + random.nextInt(10);
+        for (int i = 0; i < count; i++) {
+            points.add(randomPoint(random));
+        }
+        List<Point> hull = hull(points);
+        if (hull.size() < 3) {
+            return null;
+        }
+        if (random.nextBoolean()) {
+            List<Point> withMiddles = new ArrayList<>();
+            for (int i = 0; i < hull.size(); i++) {
+                Point p = hull.get(i);
+                Point q = hull.get((i + 1) % hull.size());
+                withMiddles.add(p);
+                if ((p.x() + q.x()) % 2 == 0 && (p.y() + q.y()) % 2 == 0) {
+                    withMiddles.add(new Point((p.x() + q.x()) / 2, (p.y() + q.y()) / 2));
+                }
+            }
+            hull = withMiddles;
+        }
+        if (random.nextBoolean()) {
+            Collections.reverse(hull);
+        }
+        Collections.rotate(hull, random.nextInt(hull.size()));
+        return new Polygon(hull.toArray(new Point[0]));
+    }
+
+    private static Point randomPoint(SplittableRandom random) {
+        return new Point(random.nextInt(12), random.nextInt(12));
+    }
+
+    // Монотонная цепочка Эндрю
+    private static List<Point> hull(List<Point> points) {
+        points.sort((a, b) -> a.x() != b.x() ? Double.compare(a.x(), b.x()) : Double.compare(a.y(), b.y()));
+        List<Point> hull = new ArrayList<>();
+        for (int pass = 0; pass < 2; pass++) {
+            int start = hull.size();
+            for (Point point : points) {
+                while (hull.size() >= start + 2
+                        && cross(hull.get(hull.size() - 2), hull.get(hull.size() - 1), point) <= 0) {
+                    hull.remove(hull.size() - 1);
+                }
+                hull.add(point);
+            }
+            hull.remove(hull.size() - 1);
+            Collections.reverse(points);
+        }
+        return hull;
+    }
+
+    private static double cross(Point o, Point a, Point b) {
+        return (a.x() - o.x()) * (b.y() - o.y()) - (a.y() - o.y()) * (b.x() - o.x());
+    }
+}
@@ -0,0 +1,106 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Коллекция {@link GeoJsonWriter} читается {@link GeoJsonReader} обратно в те же фигуры; свойства и неизвестные
+ * поля любой вложенности пропускаются.
+ */
+class GeoJsonReaderTest {
+
+    @Test
+    void writtenShapesAreReadBack() throws IOException {
+        SplittableRandom random = new SplittableRandom(17);
+        List<Shape> shapes = WktReaderTest.randomShapes(random, 2000);
+        StringWriter text = new StringWriter();
+        try (GeoJsonWriter writer = new GeoJsonWriter(text)) {
+            for (Shape shape : shapes) {
+                writer.write(shape);
+            }
+        }
+        WktReaderTest.assertShapes(shapes, read(new GeoJsonReader(CharSourceTest.trickle(text.toString(), random))));
+        WktReaderTest.assertShapes(shapes, read(new GeoJsonReader(new StringReader(text.toString()))));
+        WktReaderTest.assertShapes(shapes, read(new GeoJsonReader(CharBuffer.wrap(text.toString()))));
+        assertEquals(List.of(), read(new GeoJsonReader(new StringReader("{\"type\":\"FeatureCollection\",\"features\":[]}"))));
+    }
+
+    @Test
+    void skipsPropertiesAndUnknownFields() throws IOException {
+        String text = """
+                {"name": "collection", "meta": {"a": [1, {"b": "]}\\"[{"}], "c": -1.5e3},
+                 "type": "FeatureCollection",
+                 "features": [
+                  {"properties": {"nested": {"deep": [[[{"x": null}]]], "flag": true}, "s": "}"},
+                   "type": "Feature", "id": 7,
+                   "geometry": {"type": "Polygon", "bbox": [0, 0, 4, 4],
+                                "coordinates": [[[0, 0, 10], [4, 0, 10], [4, 4, 10], [0, 4, 10], [0, 0, 10]]]}},
+                  {"type": "Feature", "geometry": null, "properties": {}},
+                  {"type": "Feature", "properties": [false, "x"],
+                   "geometry": {"radius": 2.5, "coordinates": [1, -1], "type": "Circle"}}
+                 ],
+                 "bbox": [0, 0, 4, 4]}
+                {"type": "Polygon", "coordinates": [[[0, 0], [2, 0], [0, 2]]]}
+                """;
+        List<Shape> shapes = read(new GeoJsonReader(CharSourceTest.trickle(text, new SplittableRandom(17))));
+        assertEquals(3, shapes.size());
+        assertArrayEquals(new Point[]{new Point(0, 0), new Point(4, 0), new Point(4, 4), new Point(0, 4)},
+                ((Polygon) shapes.get(0)).vertices());
+        assertEquals(new Point(1, -1), ((Circle) shapes.get(1)).center());
+        assertEquals(2.5, ((Circle) shapes.get(1)).radius());
+        assertEquals(2, ((Polygon) shapes.get(2)).area());
+    }
+
+    @Test
+    void rejectsUnsupportedGeometries() {
+        for (String text : new String[]{
+                "{\"type\": \"Polygon\", \"coordinates\": [[[0, 0], [4, 0], [4, 4], [0, 0]], [[1, 1], [2, 1], [2, 2], [1, 1]]]}",
+                "{\"type\": \"Polygon\", \"coordinates\": []}",
+                "{\"type\": \"Polygon\", \"coordinates\": [[[0, 0], [4, 0]]]}",
+                "{\"type\": \"Polygon\", \"coordinates\": [[[0, 0], [4, 0], [[4, 4]]]]}",
+                "{\"type\": \"Point\", \"coordinates\": [1, 2]}",
+                "{\"type\": \"Circle\", \"coordinates\": [1, 2]}",
+                "{\"coordinates\": [1, 2], \"radius\": 1}",
+                "{\"type\": \"Feature\", \"geometry\": {\"type\": \"Circle\", \"coordinates\": [1, 2], \"radius\": 1}"}) {
+            assertThrows(IllegalArgumentException.class, () -> read(new GeoJsonReader(new StringReader(text))), text);
+        }
+    }
+
+    @Test
+    void writerRejectsNonFiniteCoordinates() throws IOException {
+        StringWriter text = new StringWriter();
+        try (GeoJsonWriter writer = new GeoJsonWriter(text)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.write(new Circle(new Point(0, Double.POSITIVE_INFINITY), 1)));
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new Circle(new Point(0, 0), Double.NaN)));
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new Polygon(new Point(0, 0),
+                    new Point(1, 0), new Point(0, Double.NaN))));
+        }
+        assertEquals(List.of(), read(new GeoJsonReader(new StringReader(text.toString()))));
+    }
+
+    private static List<Shape> read(GeoJsonReader reader) throws IOException {
+        List<Shape> shapes = new ArrayList<>();
+        try (reader) {
+            for (Shape shape = reader.next(); shape != null; shape = reader.next()) {
+                shapes.add(shape);
+            }
+            assertNull(reader.next());
+        }
+        return shapes;
+    }
+}
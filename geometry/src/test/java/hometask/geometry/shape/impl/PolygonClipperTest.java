@@ -0,0 +1,205 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Булевы операции {@link PolygonClipper} проверяются тождествами площадей и, для многоугольников со сторонами
+ * по линиям единичной сетки, подсчетом клеток: каждая клетка результата должна принадлежать ровно одной
+ * области (внутри внешнего контура и вне его дыр), а клетка вне результата — ни одной.
+ */
+class PolygonClipperTest {
+
+    @Test
+    void convexPairsSatisfyAreaIdentities() {
+        SplittableRandom random = new SplittableRandom(14);
+        for (int iteration = 0; iteration < 3000; iteration++) {
+            // На маленькой сетке у оболочек часто есть общие стороны и вершины
+            int size = 3 + random.nextInt(6);
+            Polygon first = hull(random, size);
+            Polygon second = hull(random, size);
+            double a = first.area();
+            double b = second.area();
+            double tolerance = 1e-9 * (a + b);
+
+            double intersection = area(PolygonClipper.intersection(first, second));
+            double union = area(PolygonClipper.union(first, second));
+            double difference = area(PolygonClipper.difference(first, second));
+            String where = first + " / " + second;
+            assertEquals(a + b, intersection + union, tolerance, where);
+            assertEquals(a - intersection, difference, tolerance, where);
+            assertEquals(intersection, PolygonClipper.overlapArea(first, second), tolerance, where);
+            assertEquals(intersection, PolygonClipper.overlapArea(second, first), tolerance, where);
+            // Быстрый путь для выпуклых многоугольников совпадает с общим наложением
+            assertEquals(new PolygonOverlay(first, second).area(PolygonOverlay.Operation.INTERSECTION),
+                    intersection, tolerance, where);
+            assertTrue(PolygonClipper.intersection(first, second).size() <= 1);
+        }
+    }
+
+    @Test
+    void gridPolygonsMatchCellCounts() {
+        SplittableRandom random = new SplittableRandom(14);
+        int withHoles = 0;
+        int split = 0;
+        for (int iteration = 0; iteration < 1500; iteration++) {
+            int top = 3 + random.nextInt(5);
+            Polygon first = bars(random, 0, 2 + random.nextInt(10), top, true);
+            Polygon second = bars(random, random.nextInt(-2, 3), 2 + random.nextInt(10), top, false);
+            if (random.nextBoolean()) {
+                first = transposed(first);
+                second = transposed(second);
+            }
+
+            List<PolygonClipper.Region> intersection = PolygonClipper.intersection(first, second);
+            List<PolygonClipper.Region> union = PolygonClipper.union(first, second);
+            List<PolygonClipper.Region> difference = PolygonClipper.difference(first, second);
+            String where = first + " / " + second;
+            int intersectionCells = assertCells(intersection, first, second, 0, where);
+            int unionCells = assertCells(union, first, second, 1, where);
+            int differenceCells = assertCells(difference, first, second, 2, where);
+
+            assertEquals(first.area() + second.area(), intersectionCells + unionCells, where);
+            assertEquals(first.area() - intersectionCells, differenceCells, where);
+            assertEquals(intersectionCells, PolygonClipper.overlapArea(first, second), where);
+            assertEquals(intersectionCells, PolygonClipper.overlapArea(second, first), where);
+            withHoles += union.stream().anyMatch(region -> !region.holes().isEmpty()) ? 1 : 0;
+            split += intersection.size() > 1 ? 1 : 0;
+        }
+        assertTrue(withHoles > 100 && split > 100, withHoles + " / " + split);
+    }
+
+    @Test
+    void holesBelongToEnclosingOutlines() {
+        // Две буквы C, закрывающие прорези друг друга: одна область с одной дырой
+        Polygon left = polygon(0, 0, 6, 0, 6, 2, 2, 2, 2, 6, 6, 6, 6, 8, 0, 8);
+        Polygon right = polygon(4, 0, 10, 0, 10, 8, 4, 8, 4, 6, 8, 6, 8, 2, 4, 2);
+        List<PolygonClipper.Region> union = PolygonClipper.union(left, right);
+        assertEquals(1, union.size());
+        assertEquals(1, union.get(0).holes().size());
+        assertEquals(24, union.get(0).holes().get(0).area());
+        assertCells(union, left, right, 1, "letters");
+
+        // Вычитаемый многоугольник внутри уменьшаемого становится дырой
+        Polygon square = polygon(0, 0, 10, 0, 10, 10, 0, 10);
+        Polygon notch = polygon(2, 2, 8, 2, 8, 8, 5, 4, 2, 8);
+        List<PolygonClipper.Region> difference = PolygonClipper.difference(square, notch);
+        assertEquals(1, difference.size());
+        assertEquals(List.of(notch.area()), difference.get(0).holes().stream().map(Polygon::area).toList());
+        assertEquals(100 - notch.area(), difference.get(0).area());
+
+        // Гребенка, закрытая планкой: по дыре между каждой парой зубцов
+        Polygon comb = polygon(0, 0, 9, 0, 9, 5, 8, 5, 8, 1, 7, 1, 7, 5, 6, 5, 6, 1, 5, 1, 5, 5, 4, 5, 4, 1,
+                3, 1, 3, 5, 2, 5, 2, 1, 1, 1, 1, 5, 0, 5);
+        Polygon bar = polygon(-1, 4, 10, 4, 10, 6, -1, 6);
+        List<PolygonClipper.Region> closed = PolygonClipper.union(comb, bar);
+        assertEquals(1, closed.size());
+        assertEquals(4, closed.get(0).holes().size());
+        assertCells(closed, comb, bar, 1, "comb");
+    }
+
+    // Проверяет области по клеткам единичной сетки и возвращает число клеток результата
+    private static int assertCells(List<PolygonClipper.Region> regions, Polygon first, Polygon second,
+                                   int operation, String where) {
+        int cells = 0;
+        for (int x = -5; x < 20; x++) {
+            for (int y = -5; y < 20; y++) {
+                Point center = new Point(x + 0.5, y + 0.5);
+                boolean inFirst = first.containsPoint(center);
+                boolean inSecond = second.containsPoint(center);
+                boolean expected = switch (operation) {
+                    case 0 -> inFirst && inSecond;
+                    case 1 -> inFirst || inSecond;
+                    default -> inFirst && !inSecond;
+                };
+                int owners = 0;
+                for (PolygonClipper.Region region : regions) {
+                    owners += contains(region, center) ? 1 : 0;
+                }
+                assertEquals(expected ? 1 : 0, owners, where + " cell " + center);
+                cells += expected ? 1 : 0;
+            }
+        }
+        assertEquals(cells, area(regions), 1e-9, where);
+        return cells;
+    }
+
+    private static boolean contains(PolygonClipper.Region region, Point point) {
+        if (!region.outline().containsPoint(point)) {
+            return false;
+        }
+        for (Polygon hole : region.holes()) {
+            if (hole.containsPoint(point)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double area(List<PolygonClipper.Region> regions) {
+        double sum = 0;
+        for (PolygonClipper.Region region : regions) {
+            sum += region.area();
+        }
+        return sum;
+    }
+
+    private static Polygon hull(SplittableRandom random, int size) {
+        while (true) {
+            Point[] points = new Point[3 + random.nextInt(5)];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = new Point(random.nextInt(size), random.nextInt(size));
+            }
+            try {
+                return ConvexHull.of(points);
+            } catch (IllegalArgumentException e) {
+                // Все точки на одной прямой — выбираем другие
+            }
+        }
+    }
+
+    // Столбики единичной ширины, растущие от y = 0 вверх или от y = top вниз; у соседних столбиков
+    // равной высоты вершины между ними лежат на одной прямой
+    private static Polygon bars(SplittableRandom random, int left, int count, int top, boolean up) {
+        List<Point> points = new ArrayList<>();
+        int base = up ? 0 : top;
+        points.add(new Point(left, base));
+        for (int i = 0; i < count; i++) {
+            int height = 1 + random.nextInt(top - 1);
+            int y = up ? height : top - height;
+            points.add(new Point(left + i, y));
+            points.add(new Point(left + i + 1, y));
+        }
+        points.add(new Point(left + count, base));
+        List<Point> distinct = new ArrayList<>();
+        for (Point point : points) {
+            if (distinct.isEmpty() || !distinct.get(distinct.size() - 1).equals(point)) {
+                distinct.add(point);
+            }
+        }
+        return new Polygon(distinct.toArray(new Point[0]));
+    }
+
+    private static Polygon transposed(Polygon polygon) {
+        Point[] points = new Point[polygon.verticeCount()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(polygon.vertexY(i), polygon.vertexX(i));
+        }
+        return new Polygon(points);
+    }
+
+    private static Polygon polygon(double... coords) {
+        Point[] points = new Point[coords.length / 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(coords[2 * i], coords[2 * i + 1]);
+        }
+        return new Polygon(points);
+    }
+}
@@ -0,0 +1,79 @@
+package hometask.geometry.shape.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link PolygonMatcher} должен находить совпадение всегда, когда его находит прямая проверка всех сдвигов,
+ * в том числе для токенов, отличающихся на величину порядка допуска 1e-9.
+ */
+class PolygonMatcherTest {
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void findsShiftsThatPrefixFunctionSkips() {
+        // Длины граней 1 + k * 0.6e-9: соседние значения равны с допуском, а через одно — уже нет
+        double[] lengths = {1.0, 1.0000000006, 1.0000000006, 1.0000000018, 1.0000000012, 1.0000000012};
+        double[] otherLengths = {1.0000000012, 1.0000000012, 1.0, 1.0000000012, 1.0000000006, 1.0000000006};
+        double[] turns = {1, 1, 1, 1, 1, 1};
+        assertTrue(bruteForce(lengths, turns, otherLengths, turns));
+        assertTrue(PolygonMatcher.matches(lengths, turns, 1, otherLengths, turns, 1));
+        assertTrue(PolygonMatcher.matches(otherLengths, turns, 1, lengths, turns, 1));
+    }
+
+    @Test
+    void matchesBruteForceNearTolerance() {
+        SplittableRandom random = new SplittableRandom(9);
+        for (double step : new double[]{0.3e-9, 0.45e-9, 0.6e-9, 0.7e-9, 1e-9}) {
+            for (int iteration = 0; iteration < 100_000; iteration++) {
+                int n = 2 + random.nextInt(7);
+                double[] lengths = new double[n];
+                double[] turns = new double[n];
+                double[] otherLengths = new double[n];
+                double[] otherTurns = new double[n];
+                for (int i = 0; i < n; i++) {
+                    lengths[i] = 1 + random.nextInt(5) * step;
+                    otherLengths[i] = 1 + random.nextInt(5) * step;
+                    turns[i] = Math.PI / 2 + random.nextInt(3) * step;
+                    otherTurns[i] = Math.PI / 2 + random.nextInt(3) * step;
+                }
+                assertEquals(bruteForce(lengths, turns, otherLengths, otherTurns),
+                        PolygonMatcher.matches(lengths, turns, 1, otherLengths, otherTurns, 1));
+            }
+        }
+    }
+
+    @Test
+    void comparesTurnsAcrossPi() {
+        double[] lengths = {1, 2, 1, 2};
+        double[] turns = {Math.PI, -Math.PI, Math.PI, -Math.PI + 0.5e-9};
+        double[] otherTurns = {-Math.PI, -Math.PI, Math.PI, Math.PI};
+        assertTrue(PolygonMatcher.matches(lengths, turns, 1, lengths, otherTurns, 1));
+    }
+
+    // Прямая проверка всех сдвигов в обоих направлениях, как описано в PolygonMatcher
+    private static boolean bruteForce(double[] lengths, double[] turns, double[] otherLengths, double[] otherTurns) {
+        int n = lengths.length;
+        for (int mirrored = 0; mirrored < 2; mirrored++) {
+            for (int shift = 0; shift < n; shift++) {
+                boolean equal = true;
+                for (int j = 0; j < n && equal; j++) {
+                    int i = (shift + j) % n;
+                    int edge = mirrored == 1 ? n - 1 - j : j;
+                    int vertex = mirrored == 1 ? n - 1 - j : (j + 1) % n;
+                    double turn = Math.abs(turns[(i + 1) % n] - otherTurns[vertex]);
+                    equal = Math.abs(lengths[i] - otherLengths[edge]) <= TOLERANCE
+                            && Math.min(turn, 2 * Math.PI - turn) <= TOLERANCE;
+                }
+                if (equal) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Отпечаток подобия многоугольника с тысячами граней различает длины, отличающиеся на малую долю
+ * типичной грани, и совпадает у подобных копий.
+ */
+class PolygonSignatureTest {
+
+    @Test
+    void similaritySignatureKeepsResolutionForManyEdges() {
+        // Гребенка из 2000 зубцов: периметр в тысячи раз больше грани
+        Polygon comb = comb(2000, -1, 1, 1);
+        Polygon copy = comb(2000, -1, 1, 3);
+        Polygon longerTooth = comb(2000, 700, 1 + 1e-4, 1);
+
+        assertEquals(comb.similaritySignature(), copy.similaritySignature());
+        assertTrue(comb.isSimilarTo(copy));
+        assertNotEquals(comb.similaritySignature(), longerTooth.similaritySignature());
+        assertFalse(comb.isSimilarTo(longerTooth));
+    }
+
+    @Test
+    void similaritySignatureIgnoresPositionAndScale() {
+        Polygon polygon = new Polygon(new Point(0, 0), new Point(4, 0), new Point(5, 2), new Point(2, 5),
+                new Point(1, 1.5));
+        Polygon image = polygon.rotate(new Point(3, -1), 1.1).scale(new Point(0, 0), 2.5).reflect(new Point(7, 7));
+        assertEquals(polygon.similaritySignature(), image.similaritySignature());
+        assertNotEquals(polygon.congruenceSignature(), image.congruenceSignature());
+    }
+
+    // Гребенка с зубцами единичной ширины и высоты; у зубца longTooth высота height; все координаты умножаются
+    // на scale, а оси меняются местами, если scale != 1
+    private static Polygon comb(int teeth, int longTooth, double height, double scale) {
+        List<double[]> points = new ArrayList<>();
+        points.add(new double[]{0, 0});
+        points.add(new double[]{2 * teeth - 1, 0});
+        for (int i = teeth - 1; i >= 0; i--) {
+            double top = 1 + (i == longTooth ? height : 1);
+            points.add(new double[]{2 * i + 1, top});
+            points.add(new double[]{2 * i, top});
+            if (i > 0) {
+                points.add(new double[]{2 * i, 1});
+                points.add(new double[]{2 * i - 1, 1});
+            }
+        }
+        Point[] vertices = new Point[points.size()];
+        for (int i = 0; i < vertices.length; i++) {
+            double[] p = points.get(i);
+            vertices[i] = scale == 1 ? new Point(p[0], p[1]) : new Point(scale * p[1], scale * p[0]);
+        }
+        return new Polygon(vertices);
+    }
+}
@@ -0,0 +1,124 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Polygon#isSimple()} должен совпадать с полным перебором пар граней.
+ */
+class PolygonSimplicityTest {
+
+    @Test
+    void recognizesSimpleAndSelfIntersectingOutlines() {
+        assertTrue(polygon(0, 0, 4, 0, 4, 4, 0, 4).isSimple());
+        assertTrue(polygon(0, 0, 2, 0, 4, 0, 4, 4, 0, 4).isSimple()); // Вершина на стороне
+        assertTrue(polygon(0, 0, 4, 0, 4, 0, 4, 4, 0, 4, 0, 0).isSimple()); // Повторы подряд и в конце
+        assertFalse(polygon(0, 0, 4, 4, 4, 0, 0, 4).isSimple()); // Бантик
+        assertFalse(polygon(0, 0, 4, 0, 2, 0, 2, 3).isSimple()); // Грань возвращается по предыдущей
+        assertFalse(polygon(0, 0, 4, 0, 4, 4, 0, 0, -4, 0, -4, -4).isSimple()); // Касание в вершине
+        assertFalse(polygon(0, 0, 4, 0, 4, 4, 2, 0, 0, 4).isSimple()); // Вершина на чужой грани
+        assertFalse(polygon(0, 0, 2, 0, 4, 0).isSimple()); // Все вершины на одной прямой
+        assertFalse(polygon(0, 0, 4, 0, 4, 0, 0, 0).isSimple()); // Меньше трех различных вершин
+    }
+
+    @Test
+    void matchesBruteForceOnSmallIntegerGrids() {
+        SplittableRandom random = new SplittableRandom(21);
+        int simple = 0;
+        for (int iteration = 0; iteration < 20000; iteration++) {
+            int size = 3 + random.nextInt(4);
+            int n = 3 + random.nextInt(7);
+            double[] coords = new double[2 * n];
+            for (int i = 0; i < coords.length; i++) {
+                coords[i] = random.nextInt(size);
+            }
+            boolean expected = bruteForceSimple(coords);
+            assertEquals(expected, polygon(coords).isSimple(), Arrays.toString(coords));
+            simple += expected ? 1 : 0;
+        }
+        assertTrue(simple > 1000);
+    }
+
+    private static Polygon polygon(double... coords) {
+        Point[] points = new Point[coords.length / 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(coords[2 * i], coords[2 * i + 1]);
+        }
+        return new Polygon(points);
+    }
+
+    // Простой многоугольник: несоседние грани не имеют общих точек, соседние — только общую вершину
+    private static boolean bruteForceSimple(double[] coords) {
+        long[] ring = new long[coords.length];
+        int m = 0;
+        for (int i = 0; i < coords.length; i += 2) {
+            if (m == 0 || ring[2 * m - 2] != coords[i] || ring[2 * m - 1] != coords[i + 1]) {
+                ring[2 * m] = (long) coords[i];
+                ring[2 * m + 1] = (long) coords[i + 1];
+                m++;
+            }
+        }
+        if (m > 1 && ring[0] == ring[2 * m - 2] && ring[1] == ring[2 * m - 1]) {
+            m--;
+        }
+        if (m < 3) {
+            return false;
+        }
+        for (int i = 0; i < m; i++) {
+            for (int j = i + 1; j < m; j++) {
+                boolean adjacent = j == i + 1 || i == 0 && j == m - 1;
+                if (!adjacent && intersects(ring, m, i, j)) {
+                    return false;
+                }
+            }
+            // Соседние грани i и i + 1 перекрываются, если вершины i и i + 2 лежат на одном луче из i + 1
+            int b = (i + 1) % m;
+            int c = (i + 2) % m;
+            long ux = ring[2 * i] - ring[2 * b];
+            long uy = ring[2 * i + 1] - ring[2 * b + 1];
+            long vx = ring[2 * c] - ring[2 * b];
+            long vy = ring[2 * c + 1] - ring[2 * b + 1];
+            if (ux * vy - uy * vx == 0 && ux * vx + uy * vy > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean intersects(long[] ring, int m, int i, int j) {
+        long ax = ring[2 * i];
+        long ay = ring[2 * i + 1];
+        long bx = ring[2 * ((i + 1) % m)];
+        long by = ring[2 * ((i + 1) % m) + 1];
+        long cx = ring[2 * j];
+        long cy = ring[2 * j + 1];
+        long dx = ring[2 * ((j + 1) % m)];
+        long dy = ring[2 * ((j + 1) % m) + 1];
+        long o1 = orientation(ax, ay, bx, by, cx, cy);
+        long o2 = orientation(ax, ay, bx, by, dx, dy);
+        long o3 = orientation(cx, cy, dx, dy, ax, ay);
+        long o4 = orientation(cx, cy, dx, dy, bx, by);
+        if (o1 * o2 < 0 && o3 * o4 < 0) {
+            return true;
+        }
+        return o1 == 0 && within(ax, ay, bx, by, cx, cy)
+                || o2 == 0 && within(ax, ay, bx, by, dx, dy)
+                || o3 == 0 && within(cx, cy, dx, dy, ax, ay)
+                || o4 == 0 && within(cx, cy, dx, dy, bx, by);
+    }
+
+    private static long orientation(long ax, long ay, long bx, long by, long cx, long cy) {
+        return Long.signum((bx - ax) * (cy - ay) - (by - ay) * (cx - ax));
+    }
+
+    private static boolean within(long ax, long ay, long bx, long by, long px, long py) {
+        return Math.min(ax, bx) <= px && px <= Math.max(ax, bx) && Math.min(ay, by) <= py && py <= Math.max(ay, by);
+    }
+}
@@ -0,0 +1,48 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Фабрики {@link Rectangle#ofVertices} и {@link Square#ofVertices} сохраняют вершины как есть,
+ * но принимают только настоящие прямоугольники и квадраты.
+ */
+class RectangleTest {
+
+    @Test
+    void ofVerticesKeepsVerticesOfRotatedRectangle() {
+        Rectangle rectangle = new Rectangle(new Point(0.1, 0.3), new Point(7.7, 5.9), 0.37);
+        Rectangle copy = Rectangle.ofVertices(rectangle.vertices());
+        assertSame(Rectangle.class, copy.getClass());
+        assertArrayEquals(rectangle.vertices(), copy.vertices());
+        assertEquals(rectangle.area(), copy.area());
+    }
+
+    @Test
+    void ofVerticesKeepsVerticesOfSquareInAnyOrder() {
+        Square square = new Square(new Point(1, 2), new Point(4, 9));
+        Point[] vertices = square.vertices();
+        Square copy = Square.ofVertices(vertices[2], vertices[1], vertices[0], vertices[3]);
+        assertSame(Square.class, copy.getClass());
+        assertArrayEquals(vertices, copy.vertices());
+    }
+
+    @Test
+    void ofVerticesRejectsOtherQuadrilaterals() {
+        Point[] parallelogram = {new Point(0, 0), new Point(4, 0), new Point(5, 2), new Point(1, 2)};
+        Point[] kite = {new Point(0, 0), new Point(2, -1), new Point(4, 0), new Point(2, 3)};
+        Point[] oblong = {new Point(0, 0), new Point(4, 0), new Point(4, 2), new Point(0, 2)};
+        Point[] degenerate = {new Point(0, 0), new Point(0, 0), new Point(0, 2), new Point(0, 2)};
+        assertThrows(IllegalArgumentException.class, () -> Rectangle.ofVertices(parallelogram));
+        assertThrows(IllegalArgumentException.class, () -> Rectangle.ofVertices(kite));
+        assertThrows(IllegalArgumentException.class, () -> Rectangle.ofVertices(degenerate));
+        assertThrows(IllegalArgumentException.class, () -> Rectangle.ofVertices(oblong[0], oblong[1], oblong[2]));
+        assertThrows(IllegalArgumentException.class, () -> Square.ofVertices(oblong));
+        assertEquals(8, Rectangle.ofVertices(oblong).area());
+    }
+}
@@ -0,0 +1,281 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Фигуры, записанные {@link ShapeCodec} в буфер или файл, читаются обратно с тем же классом и теми же
+ * координатами; поврежденные потоки отвергаются исключением {@link IllegalArgumentException}.
+ */
+class ShapeCodecTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void bufferRoundTripKeepsClassOfEveryTag() {
+        List<Shape> shapes = sampleShapes();
+        int size = ShapeCodec.HEADER_SIZE;
+        for (Shape shape : shapes) {
+            size += ShapeCodec.encodedSize(shape);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        ShapeCodec.writeHeader(buffer);
+        for (Shape shape : shapes) {
+            ShapeCodec.encode(shape, buffer);
+        }
+        assertEquals(size, buffer.position());
+
+        buffer.flip();
+        assertEquals(ShapeCodec.VERSION, ShapeCodec.readHeader(buffer));
+        List<Shape> decoded = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            decoded.add(ShapeCodec.decode(buffer));
+        }
+        assertSameShapes(shapes, decoded);
+    }
+
+    @Test
+    void fileChannelRoundTripKeepsShapes() throws IOException {
+        // Многоугольник больше буфера канала и много мелких фигур, записи которых пересекают границы буфера
+        SplittableRandom random = new SplittableRandom(16);
+        List<Shape> shapes = new ArrayList<>(sampleShapes());
+        shapes.add(regularPolygon(10_000, 100));
+        for (int i = 0; i < 5000; i++) {
+            shapes.add(sampleShapes().get(random.nextInt(sampleShapes().size())));
+        }
+        Path path = directory.resolve("shapes.bin");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ShapeCodec.write(shapes, channel);
+        }
+        List<Shape> decoded = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ShapeCodec.read(channel, decoded::add);
+        }
+        assertSameShapes(shapes, decoded);
+
+        // Канал, отдающий поток по нескольку байтов за вызов
+        decoded.clear();
+        ShapeCodec.read(trickle(bytes(shapes), random), decoded::add);
+        assertSameShapes(shapes, decoded);
+    }
+
+    @Test
+    void truncatedStreamIsRejected() throws IOException {
+        List<Shape> shapes = sampleShapes();
+        byte[] bytes = bytes(shapes);
+        Set<Integer> boundaries = new HashSet<>();
+        int offset = ShapeCodec.HEADER_SIZE;
+        boundaries.add(offset);
+        for (Shape shape : shapes) {
+            offset += ShapeCodec.encodedSize(shape);
+            boundaries.add(offset);
+        }
+        for (int length = 0; length < bytes.length; length++) {
+            ReadableByteChannel channel = trickle(Arrays.copyOf(bytes, length), new SplittableRandom(length));
+            List<Shape> decoded = new ArrayList<>();
+            if (boundaries.contains(length)) {
+                ShapeCodec.read(channel, decoded::add);
+                assertSameShapes(shapes.subList(0, decoded.size()), decoded);
+            } else {
+                assertThrows(IllegalArgumentException.class, () -> ShapeCodec.read(channel, decoded::add),
+                        "length " + length);
+            }
+        }
+    }
+
+    @Test
+    void corruptedRecordsAreRejected() {
+        // Неизвестный тип
+        assertRejected(buffer -> buffer.put((byte) 9));
+        assertRejected(buffer -> buffer.put((byte) 0));
+        // Неверное число вершин многоугольника
+        for (int count : new int[]{-1, 0, 2, Integer.MAX_VALUE, 1000}) {
+            assertRejected(buffer -> {
+                buffer.put((byte) 3).putInt(count);
+                for (int i = 0; i < 6; i++) {
+                    buffer.putDouble(i);
+                }
+            });
+        }
+        // Неверная сигнатура и версия
+        ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0x43504853 + 1).putInt(1).flip();
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.readHeader(header));
+        header.clear();
+        ShapeCodec.writeHeader(header);
+        header.putInt(4, ShapeCodec.VERSION + 1).flip();
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.readHeader(header));
+    }
+
+    @Test
+    void wrongByteOrderIsRejected() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        Shape circle = new Circle(new Point(1, 2), 3);
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.writeHeader(buffer));
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.readHeader(buffer));
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.encode(circle, buffer));
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.decode(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void clockwiseRecordsAreNormalized() {
+        double[][] rings = {
+                {0, 0, 0, 4, 2, 1, 4, 4, 4, 0},
+                {0, 0, 0, 3, 4, 0},
+                {1, 1, 1, 3, 5, 3, 5, 1},
+                {1, 1, 1, 3, 3, 3, 3, 1}};
+        byte[] tags = {3, 6, 4, 5};
+        for (int k = 0; k < rings.length; k++) {
+            double[] ring = rings[k];
+            ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(tags[k]);
+            if (tags[k] == 3) {
+                buffer.putInt(ring.length / 2);
+            }
+            for (double coordinate : ring) {
+                buffer.putDouble(coordinate);
+            }
+            Polygon polygon = (Polygon) ShapeCodec.decode(buffer.flip());
+            Point[] points = points(ring);
+            Polygon expected = switch (tags[k]) {
+                case 3 -> new Polygon(points);
+                case 6 -> new Triangle(points[0], points[1], points[2]);
+                case 4 -> Rectangle.ofVertices(points);
+                default -> Square.ofVertices(points);
+            };
+            assertSame(expected.getClass(), polygon.getClass());
+            assertEquals(1, Polygon.orientation(polygon.coordinates()));
+            assertArrayEquals(expected.vertices(), polygon.vertices());
+            assertEquals(expected.area(), polygon.area());
+            for (double x = -0.5; x <= 5.5; x += 0.5) {
+                for (double y = -0.5; y <= 5.5; y += 0.5) {
+                    Point point = new Point(x, y);
+                    assertEquals(expected.containsPoint(point), polygon.containsPoint(point), point.toString());
+                }
+            }
+        }
+    }
+
+    private static void assertRejected(Consumer<ByteBuffer> record) {
+        ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        ShapeCodec.writeHeader(buffer);
+        record.accept(buffer);
+        buffer.flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        ByteBuffer body = ByteBuffer.wrap(bytes, ShapeCodec.HEADER_SIZE, bytes.length - ShapeCodec.HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        assertThrows(IllegalArgumentException.class, () -> ShapeCodec.decode(body));
+        assertThrows(IllegalArgumentException.class,
+                () -> ShapeCodec.read(Channels.newChannel(new ByteArrayInputStream(bytes)), shape -> {
+                }));
+    }
+
+    private static void assertSameShapes(List<Shape> expected, List<Shape> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Shape original = expected.get(i);
+            Shape decoded = actual.get(i);
+            assertSame(original.getClass(), decoded.getClass(), "shape " + i);
+            if (original instanceof Polygon polygon) {
+                assertArrayEquals(polygon.vertices(), ((Polygon) decoded).vertices(), "shape " + i);
+            } else if (original instanceof Circle circle) {
+                assertEquals(circle.center(), ((Circle) decoded).center());
+                assertEquals(circle.radius(), ((Circle) decoded).radius());
+            } else {
+                Ellipse ellipse = (Ellipse) original;
+                assertEquals(ellipse.focusLeft(), ((Ellipse) decoded).focusLeft());
+                assertEquals(ellipse.focusRight(), ((Ellipse) decoded).focusRight());
+                assertEquals(ellipse.sumDistance(), ((Ellipse) decoded).sumDistance());
+            }
+        }
+    }
+
+    private static byte[] bytes(List<Shape> shapes) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ShapeCodec.write(shapes, Channels.newChannel(stream));
+        return stream.toByteArray();
+    }
+
+    // Канал, читающий массив кусками случайной длины от 1 до 16 байтов
+    private static ReadableByteChannel trickle(byte[] bytes, SplittableRandom random) {
+        return new ReadableByteChannel() {
+            private int position;
+
+            @Override
+            public int read(ByteBuffer target) {
+                if (position == bytes.length) {
+                    return -1;
+                }
+                int length = Math.min(Math.min(target.remaining(), 1 + random.nextInt(16)), bytes.length - position);
+                target.put(bytes, position, length);
+                position += length;
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static List<Shape> sampleShapes() {
+        return List.of(
+                new Circle(new Point(0.5, -1.25), 3),
+                new Ellipse(new Point(-1, 2), new Point(3, 4), 7.5),
+                new Polygon(new Point(0, 0), new Point(8, 0), new Point(8, 8), new Point(4, 3), new Point(0, 8)),
+                new Triangle(new Point(1, 1), new Point(9, 3), new Point(4, 8)),
+                new Rectangle(new Point(1, 1), new Point(9, 7), 1.0 / 3),
+                new Square(new Point(5, 1), new Point(5, 9)),
+                ConvexHull.of(new Point(0, 0), new Point(3, 1), new Point(1, 4), new Point(-2, 2)));
+    }
+
+    private static Polygon regularPolygon(int n, double radius) {
+        Point[] points = new Point[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = new Point(radius * Math.cos(2 * Math.PI * i / n), radius * Math.sin(2 * Math.PI * i / n));
+        }
+        return new Polygon(points);
+    }
+
+    private static Point[] points(double[] coords) {
+        Point[] points = new Point[coords.length / 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(coords[2 * i], coords[2 * i + 1]);
+        }
+        return points;
+    }
+}
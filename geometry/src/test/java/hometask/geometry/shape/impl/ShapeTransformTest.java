@@ -0,0 +1,107 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.AffineTransform;
+import hometask.geometry.base.Line;
+import hometask.geometry.base.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Образ фигуры при {@link AffineTransform} совпадает с фигурой, построенной заново по образам вершин, в том
+ * числе для вырожденных колец, у которых направление обхода определяется только после преобразования.
+ */
+class ShapeTransformTest {
+
+    @Test
+    void imageMatchesPolygonBuiltFromMappedVertices() {
+        SplittableRandom random = new SplittableRandom(8);
+        for (int iteration = 0; iteration < 20_000; iteration++) {
+            Polygon polygon = iteration % 2 == 0 ? randomStar(random) : collinear(random);
+            AffineTransform transform = randomTransform(random);
+            Polygon image = polygon.transform(transform);
+            assertSame(Polygon.class, image.getClass());
+            assertArrayEquals(new Polygon(map(transform, polygon.vertices())).vertices(), image.vertices());
+        }
+    }
+
+    @Test
+    void subclassesKeepTheirClass() {
+        SplittableRandom random = new SplittableRandom(8);
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            AffineTransform transform = randomTransform(random);
+            Triangle triangle = new Triangle(randomPoint(random), randomPoint(random), randomPoint(random));
+            Triangle flat = new Triangle(new Point(0, 0), new Point(iteration + 1, 3), new Point(2 * iteration + 2, 6));
+            Rectangle rectangle = new Rectangle(randomPoint(random), randomPoint(random), random.nextDouble(0.5, 5));
+            for (Polygon polygon : new Polygon[]{triangle, flat, rectangle}) {
+                Polygon image = polygon.transform(transform);
+                assertSame(polygon.getClass(), image.getClass());
+                assertArrayEquals(new Polygon(map(transform, polygon.vertices())).vertices(), image.vertices());
+            }
+            assertSame(Square.class, Square.ofVertices(new Point(0, 0), new Point(2, 0), new Point(2, 2),
+                    new Point(0, 2)).transform(transform).getClass());
+        }
+    }
+
+    @Test
+    void circleMovesThroughTransform() {
+        Circle circle = new Circle(new Point(2, 1), 3);
+        Point center = new Point(-1, 4);
+        assertEquals(new Point(2, 7), circle.rotate(center, 90).center());
+        assertEquals(new Point(-4, 7), circle.reflect(center).center());
+        assertEquals(new Point(1, 2), circle.reflect(new Line(1, 0)).center());
+
+        // Отрицательный коэффициент отражает центр, а радиус умножается на модуль коэффициента
+        Circle scaled = circle.scale(center, -2);
+        assertEquals(new Point(-7, 10), scaled.center());
+        assertEquals(6, scaled.radius());
+        assertEquals(3, circle.rotate(center, 33).radius(), 1e-12);
+    }
+
+    // Звездчатый многоугольник ненулевой площади
+    private static Polygon randomStar(SplittableRandom random) {
+        int n = 3 + random.nextInt(10);
+        Point[] vertices = new Point[n];
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * (i + random.nextDouble(0.1, 0.9)) / n;
+            double radius = random.nextDouble(1, 10);
+            vertices[i] = new Point(radius * Math.cos(angle), radius * Math.sin(angle));
+        }
+        return new Polygon(vertices);
+    }
+
+    // Кольцо нулевой площади: вершины на одной прямой, с возвратами
+    private static Polygon collinear(SplittableRandom random) {
+        int n = 3 + random.nextInt(6);
+        double dx = random.nextInt(1, 7);
+        double dy = random.nextInt(-7, 7);
+        Point[] vertices = new Point[n];
+        for (int i = 0; i < n; i++) {
+            int t = random.nextInt(-20, 20);
+            vertices[i] = new Point(3 + t * dx, -5 + t * dy);
+        }
+        return new Polygon(vertices);
+    }
+
+    private static AffineTransform randomTransform(SplittableRandom random) {
+        AffineTransform transform = AffineTransform.rotation(randomPoint(random), random.nextDouble(-180, 180))
+                .scale(randomPoint(random), random.nextDouble(0.2, 5));
+        return random.nextBoolean() ? transform : transform.reflect(new Line(randomPoint(random), randomPoint(random)));
+    }
+
+    private static Point[] map(AffineTransform transform, Point[] vertices) {
+        Point[] mapped = new Point[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            mapped[i] = transform.apply(vertices[i]);
+        }
+        return mapped;
+    }
+
+    private static Point randomPoint(SplittableRandom random) {
+        return new Point(random.nextDouble(-100, 100), random.nextDouble(-100, 100));
+    }
+}
@@ -0,0 +1,254 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Разбиение {@link Polygon#triangles()} проверяется точно в целых числах: n - 2 треугольника на n различных
+ * вершин, каждый обходится против часовой стрелки, удвоенные площади в сумме дают удвоенную площадь
+ * многоугольника, внутренности треугольников не пересекаются и лежат внутри многоугольника.
+ */
+class TriangulatorTest {
+
+    @Test
+    void triangulatesStarsCombsAndSpirals() {
+        SplittableRandom random = new SplittableRandom(24);
+        int small = 0;
+        int large = 0;
+        for (int iteration = 0; iteration < 600; iteration++) {
+            long[] coords = switch (iteration % 3) {
+                case 0 -> star(random, 4 + random.nextInt(iteration % 2 == 0 ? 28 : 150));
+                case 1 -> comb(random, 2 + random.nextInt(iteration % 2 == 0 ? 6 : 40));
+                default -> spiral(random, iteration % 2 == 0 ? 0.2 : 1 + random.nextDouble(3));
+            };
+            // Вершины на сторонах, повторы подряд, поворот на 90° и сдвиг начальной вершины
+            coords = withRepeats(random, withCollinearVertices(random, coords));
+            for (int turn = random.nextInt(4); turn > 0; turn--) {
+                coords = rotated(coords);
+            }
+            coords = shifted(coords, random.nextInt(coords.length / 2));
+
+            Polygon polygon = polygon(coords);
+            assertTrue(polygon.isSimple());
+            if (!polygon.isConvex()) {
+                if (distinctCount(coords) <= Triangulator.EAR_CLIPPING_LIMIT) {
+                    small++;
+                } else {
+                    large++;
+                }
+            }
+            assertValidTriangulation(polygon);
+        }
+        // Покрыты и отсечение ушей, и разбиение на монотонные части
+        assertTrue(small > 50 && large > 50, small + " / " + large);
+    }
+
+    @Test
+    void triangulatesConvexAndClockwiseInput() {
+        assertValidTriangulation(polygon(new long[]{0, 0, 4, 0, 6, 3, 4, 6, 0, 6, -2, 3}));
+        assertValidTriangulation(polygon(new long[]{0, 0, 2, 0, 4, 0, 4, 4, 4, 4, 0, 4}));
+        assertValidTriangulation(polygon(new long[]{0, 0, 0, 4, 2, 1, 4, 4, 4, 0}));
+    }
+
+    @Test
+    void returnsIndependentCopies() {
+        Polygon polygon = polygon(new long[]{0, 0, 4, 0, 4, 4, 2, 1, 0, 4});
+        int[] triangles = polygon.triangles();
+        triangles[0] = -1;
+        assertFalse(polygon.triangles()[0] < 0);
+    }
+
+    @Test
+    void rejectsNonSimplePolygons() {
+        assertThrows(IllegalArgumentException.class, () -> polygon(new long[]{0, 0, 4, 4, 4, 0, 0, 4}).triangles());
+        assertThrows(IllegalArgumentException.class, () -> polygon(new long[]{0, 0, 4, 0, 2, 0, 2, 3}).triangles());
+        List<Polygon> polygons = List.of(polygon(new long[]{0, 0, 1, 0, 0, 1}), polygon(new long[]{0, 0, 4, 4, 4, 0, 0, 4}));
+        assertThrows(IllegalArgumentException.class, () -> Triangulator.triangulateAll(polygons));
+    }
+
+    private static void assertValidTriangulation(Polygon polygon) {
+        int n = polygon.verticeCount();
+        long[] coords = new long[2 * n];
+        for (int i = 0; i < n; i++) {
+            coords[2 * i] = (long) polygon.vertexX(i);
+            coords[2 * i + 1] = (long) polygon.vertexY(i);
+        }
+        int[] triangles = polygon.triangles();
+        assertEquals(3 * (distinctCount(coords) - 2), triangles.length);
+
+        long area = 0;
+        List<long[]> solid = new ArrayList<>();
+        for (int t = 0; t < triangles.length; t += 3) {
+            long[] triangle = new long[6];
+            for (int k = 0; k < 3; k++) {
+                int index = triangles[t + k];
+                assertTrue(index >= 0 && index < n);
+                triangle[2 * k] = coords[2 * index];
+                triangle[2 * k + 1] = coords[2 * index + 1];
+            }
+            long doubled = cross(triangle[0], triangle[1], triangle[2], triangle[3], triangle[4], triangle[5]);
+            assertTrue(doubled >= 0, "clockwise triangle");
+            area += doubled;
+            if (doubled > 0) {
+                solid.add(triangle);
+                Point centroid = new Point((triangle[0] + triangle[2] + triangle[4]) / 3.0,
+                        (triangle[1] + triangle[3] + triangle[5]) / 3.0);
+                assertTrue(polygon.containsPoint(centroid), "triangle outside polygon");
+            }
+        }
+        assertEquals(doubledArea(coords), area);
+        for (int i = 0; i < solid.size(); i++) {
+            for (int j = i + 1; j < solid.size(); j++) {
+                assertFalse(interiorsOverlap(solid.get(i), solid.get(j)), "overlapping triangles");
+            }
+        }
+    }
+
+    // Внутренности двух выпуклых треугольников не пересекаются, если их разделяет прямая одной из сторон
+    private static boolean interiorsOverlap(long[] a, long[] b) {
+        return !separatedBySide(a, b) && !separatedBySide(b, a);
+    }
+
+    private static boolean separatedBySide(long[] a, long[] b) {
+        for (int k = 0; k < 3; k++) {
+            int next = (k + 1) % 3;
+            boolean outside = true;
+            for (int j = 0; j < 3 && outside; j++) {
+                outside = cross(a[2 * k], a[2 * k + 1], a[2 * next], a[2 * next + 1], b[2 * j], b[2 * j + 1]) <= 0;
+            }
+            if (outside) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long cross(long ax, long ay, long bx, long by, long cx, long cy) {
+        return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+    }
+
+    private static long doubledArea(long[] coords) {
+        long sum = 0;
+        int n = coords.length / 2;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            sum += coords[2 * i] * coords[2 * j + 1] - coords[2 * j] * coords[2 * i + 1];
+        }
+        return Math.abs(sum);
+    }
+
+    private static int distinctCount(long[] coords) {
+        int n = coords.length / 2;
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            if (coords[2 * i] != coords[2 * j] || coords[2 * i + 1] != coords[2 * j + 1]) {
+                count++;
+            }
+        }
+        return Math.max(count, 1);
+    }
+
+    // Звезда: вершины с возрастающими углами и случайными радиусами вокруг начала координат
+    private static long[] star(SplittableRandom random, int n) {
+        long[] coords = new long[2 * n];
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * (i + random.nextDouble(0.1, 0.9)) / n;
+            double radius = random.nextInt(100, 10000);
+            coords[2 * i] = Math.round(radius * Math.cos(angle));
+            coords[2 * i + 1] = Math.round(radius * Math.sin(angle));
+        }
+        return coords;
+    }
+
+    // Гребенка: основание и зубцы случайной высоты, между зубцами — впадины
+    private static long[] comb(SplittableRandom random, int teeth) {
+        List<Long> coords = new ArrayList<>(List.of(0L, 0L, 2L * teeth - 1, 0L));
+        for (int i = teeth - 1; i >= 0; i--) {
+            long height = 2 + random.nextInt(20);
+            coords.addAll(List.of(2L * i + 1, height, 2L * i, height));
+            if (i > 0) {
+                coords.addAll(List.of(2L * i, 1L, 2L * i - 1, 1L));
+            }
+        }
+        return coords.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Спираль из turns витков: внешняя граница вперед, внутренняя — обратно
+    private static long[] spiral(SplittableRandom random, double turns) {
+        int steps = 3 + (int) (turns * (24 + random.nextInt(16)));
+        long[] coords = new long[4 * steps];
+        for (int i = 0; i < steps; i++) {
+            double t = turns * 2 * Math.PI * i / (steps - 1);
+            double outer = 1000 + 1000 * t;
+            double inner = outer - 3000;
+            int back = 2 * steps - 1 - i;
+            coords[2 * i] = Math.round(outer * Math.cos(t));
+            coords[2 * i + 1] = Math.round(outer * Math.sin(t));
+            coords[2 * back] = Math.round(Math.max(inner, 300 + 100 * t) * Math.cos(t));
+            coords[2 * back + 1] = Math.round(Math.max(inner, 300 + 100 * t) * Math.sin(t));
+        }
+        return coords;
+    }
+
+    // Удваивает координаты и вставляет середины некоторых сторон
+    private static long[] withCollinearVertices(SplittableRandom random, long[] coords) {
+        int n = coords.length / 2;
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            result.add(2 * coords[2 * i]);
+            result.add(2 * coords[2 * i + 1]);
+            if (random.nextInt(4) == 0) {
+                result.add(coords[2 * i] + coords[2 * j]);
+                result.add(coords[2 * i + 1] + coords[2 * j + 1]);
+            }
+        }
+        return result.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long[] withRepeats(SplittableRandom random, long[] coords) {
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < coords.length; i += 2) {
+            for (int k = random.nextInt(8) == 0 ? 2 : 1; k > 0; k--) {
+                result.add(coords[i]);
+                result.add(coords[i + 1]);
+            }
+        }
+        return result.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long[] rotated(long[] coords) {
+        long[] result = new long[coords.length];
+        for (int i = 0; i < coords.length; i += 2) {
+            result[i] = -coords[i + 1];
+            result[i + 1] = coords[i];
+        }
+        return result;
+    }
+
+    private static long[] shifted(long[] coords, int start) {
+        long[] result = new long[coords.length];
+        for (int i = 0; i < coords.length; i++) {
+            result[i] = coords[(i + 2 * start) % coords.length];
+        }
+        return result;
+    }
+
+    private static Polygon polygon(long[] coords) {
+        Point[] points = new Point[coords.length / 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(coords[2 * i], coords[2 * i + 1]);
+        }
+        return new Polygon(points);
+    }
+}
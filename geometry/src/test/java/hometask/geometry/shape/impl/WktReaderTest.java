@@ -0,0 +1,129 @@
+package hometask.geometry.shape.impl;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Текст {@link WktWriter} читается {@link WktReader} обратно в те же фигуры при любом разбиении входа на блоки.
+ */
+class WktReaderTest {
+
+    @Test
+    void writtenShapesAreReadBack() throws IOException {
+        SplittableRandom random = new SplittableRandom(17);
+        List<Shape> shapes = randomShapes(random, 2000);
+        StringWriter text = new StringWriter();
+        try (WktWriter writer = new WktWriter(text)) {
+            for (Shape shape : shapes) {
+                writer.write(shape);
+            }
+        }
+        assertShapes(shapes, read(new WktReader(CharSourceTest.trickle(text.toString(), random))));
+        assertShapes(shapes, read(new WktReader(new StringReader(text.toString()))));
+        assertShapes(shapes, read(new WktReader(CharBuffer.wrap(text.toString()))));
+    }
+
+    @Test
+    void readsExtraDimensionsAndKeywordsInAnyCase() throws IOException {
+        String text = """
+                POLYGON Z ((0 0 5, 4 0 5, 4 4 5, 0 0 5))
+                polygon zm((0 0 1 2,4 0 1 2,4 4 1 2,0 4 1 2,0 0 1 2))
+                Polygon M ((0 0 1, 4 0 1, 4 4 1))
+                CIRCLE (1.5 -2 3e0)
+                """;
+        List<Shape> shapes = read(new WktReader(new StringReader(text)));
+        assertEquals(4, shapes.size());
+        assertArrayEquals(new Point[]{new Point(0, 0), new Point(4, 0), new Point(4, 4)},
+                ((Polygon) shapes.get(0)).vertices());
+        assertEquals(16, ((Polygon) shapes.get(1)).area());
+        assertEquals(8, ((Polygon) shapes.get(2)).area());
+        assertEquals(new Point(1.5, -2), ((Circle) shapes.get(3)).center());
+        assertEquals(3, ((Circle) shapes.get(3)).radius());
+    }
+
+    @Test
+    void rejectsUnsupportedGeometries() {
+        for (String text : new String[]{
+                "POLYGON EMPTY",
+                "POLYGON ((0 0, 4 0, 4 4, 0 0), (1 1, 2 1, 2 2, 1 1))",
+                "POINT (1 2)",
+                "POLYGON ((0 0, 4 0, 4 4, 0 0)",
+                "POLYGON ((0 0, 4 0, 4, 0 0))",
+                "POLYGON Q ((0 0, 4 0, 4 4, 0 0))",
+                "CIRCLE (1 2)"}) {
+            assertThrows(IllegalArgumentException.class, () -> read(new WktReader(new StringReader(text))), text);
+        }
+    }
+
+    @Test
+    void writerRejectsNonFiniteCoordinates() throws IOException {
+        StringWriter text = new StringWriter();
+        try (WktWriter writer = new WktWriter(text)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.write(new Circle(new Point(Double.NaN, 0), 1)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.write(new Circle(new Point(0, 0), Double.POSITIVE_INFINITY)));
+            assertThrows(IllegalArgumentException.class, () -> writer.write(new Polygon(new Point(0, 0),
+                    new Point(Double.NEGATIVE_INFINITY, 1), new Point(0, 1))));
+            writer.write(new Circle(new Point(0, 0), 1));
+        }
+        assertEquals("CIRCLE (0.0 0.0 1.0)\n", text.toString());
+    }
+
+    static List<Shape> randomShapes(SplittableRandom random, int count) {
+        List<Shape> shapes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Point p = new Point(random.nextDouble(-1e3, 1e3), random.nextDouble(-1e-3, 1e-3));
+            Point q = new Point(random.nextDouble(-1e3, 1e3), random.nextDouble(-1e3, 1e3));
+            shapes.add(switch (random.nextInt(4)) {
+                case 0 -> new Circle(p, random.nextDouble(1e-9, 1e9));
+                case 1 -> new Triangle(p, q, new Point(random.nextInt(100), random.nextInt(100)));
+                case 2 -> new Rectangle(p, q, random.nextDouble(0.1, 10));
+                default -> new PreparedPolygon(ConvexHull.of(p, q, new Point(0.1, 0.2), new Point(-7, 3e5)));
+            });
+        }
+        return shapes;
+    }
+
+    // Многоугольники читаются как Polygon с теми же вершинами, круги — с тем же центром и радиусом
+    static void assertShapes(List<Shape> expected, List<Shape> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Shape shape = expected.get(i) instanceof PreparedPolygon prepared ? prepared.polygon() : expected.get(i);
+            if (shape instanceof Circle circle) {
+                assertSame(Circle.class, actual.get(i).getClass());
+                assertEquals(circle.center(), ((Circle) actual.get(i)).center());
+                assertEquals(circle.radius(), ((Circle) actual.get(i)).radius());
+            } else {
+                assertSame(Polygon.class, actual.get(i).getClass());
+                assertArrayEquals(((Polygon) shape).vertices(), ((Polygon) actual.get(i)).vertices(), "shape " + i);
+            }
+        }
+    }
+
+    private static List<Shape> read(WktReader reader) throws IOException {
+        List<Shape> shapes = new ArrayList<>();
+        try (reader) {
+            for (Shape shape = reader.next(); shape != null; shape = reader.next()) {
+                shapes.add(shape);
+            }
+            assertNull(reader.next());
+        }
+        return shapes;
+    }
+}
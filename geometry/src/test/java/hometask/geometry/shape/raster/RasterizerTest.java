@@ -0,0 +1,157 @@
+package hometask.geometry.shape.raster;
+
+import hometask.geometry.base.Bounds;
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.ConvexHull;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.PreparedPolygon;
+import hometask.geometry.shape.impl.Rectangle;
+import hometask.geometry.shape.impl.Square;
+import hometask.geometry.shape.impl.Triangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Растр должен совпадать с проверкой {@link Shape#containsPoint} в каждом центре ячейки выборки, в том числе
+ * когда границы фигур проходят точно через центры, а шаг сетки не является степенью двойки.
+ */
+class RasterizerTest {
+
+    @Test
+    void boundsOnFirstColumnCenterAreRasterized() {
+        Bounds area = new Bounds(-0.09816484532027162, 0, 2.8929495457493513, 1);
+        int width = 47;
+        int height = 50;
+        double left = area.minX() + 0.5 * area.width() / width;
+        double right = area.minX() + 20.5 * area.width() / width;
+        Polygon notched = new Polygon(new Point(left, 0.1), new Point(right, 0.1), new Point(right, 0.9),
+                new Point((left + right) / 2, 0.5), new Point(left, 0.9));
+        assertMatchesContainsPoint(area, width, height, 1, List.of(notched));
+        assertMatchesContainsPoint(area, width, height, 1, List.of(new PreparedPolygon(notched)));
+    }
+
+    @Test
+    void everySampleMatchesContainsPoint() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (int scene = 0; scene < 200; scene++) {
+            double minX = random.nextDouble(-1, 1);
+            double minY = random.nextDouble(-1, 1);
+            Bounds area = new Bounds(minX, minY, minX + random.nextDouble(1, 10), minY + random.nextDouble(1, 10));
+            int width = 5 + random.nextInt(40);
+            int height = 5 + random.nextInt(40);
+            int samples = 1 + random.nextInt(3);
+            double stepX = area.width() / (width * samples);
+            double stepY = area.height() / (height * samples);
+            List<Shape> shapes = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                shapes.add(randomShape(random, area, stepX, stepY, width * samples, height * samples));
+            }
+            assertMatchesContainsPoint(area, width, height, samples, shapes);
+        }
+    }
+
+    @Test
+    void rejectsBitmapOfWrongLength() {
+        Rasterizer rasterizer = new Rasterizer(new Bounds(0, 0, 1, 1), 2, 2);
+        assertThrows(IllegalArgumentException.class, () -> rasterizer.fill(List.of(), new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> rasterizer.accumulate(List.of(), new int[5]));
+    }
+
+    // Фигура с вершинами, центром или фокусами в центрах ячеек выборки
+    private static Shape randomShape(SplittableRandom random, Bounds area, double stepX, double stepY,
+                                     int columns, int rows) {
+        Point p = center(random, area, stepX, stepY, columns, rows);
+        Point q = center(random, area, stepX, stepY, columns, rows);
+        while (q.equals(p)) {
+            q = center(random, area, stepX, stepY, columns, rows);
+        }
+        Point w = center(random, area, stepX, stepY, columns, rows);
+        Point z = center(random, area, stepX, stepY, columns, rows);
+        double cross = (q.x() - p.x()) * (w.y() - p.y()) - (q.y() - p.y()) * (w.x() - p.x());
+        return switch (random.nextInt(9)) {
+            case 0 -> new Square(p, q);
+            case 1 -> new Rectangle(p, q, 0.5);
+            case 2 -> cross != 0 ? new Triangle(p, q, w) : new Circle(p, 3 * stepX);
+            case 3 -> new Circle(p, stepX * (1 + random.nextInt(columns)));
+            case 4 -> new Ellipse(p, q, Math.hypot(q.x() - p.x(), q.y() - p.y()) + stepY * (1 + random.nextInt(rows)));
+            case 5 -> hullOrCircle(p, q, w, z, stepX);
+            case 6 -> notched(p, q);
+            case 7 -> new PreparedPolygon(notched(p, q));
+            default -> new PreparedPolygon(hullOrCircle(p, q, w, z, stepX) instanceof Polygon polygon
+                    ? polygon : new Polygon(p, new Point(q.x(), p.y()), q));
+        };
+    }
+
+    private static Shape hullOrCircle(Point p, Point q, Point w, Point z, double radius) {
+        try {
+            return ConvexHull.of(p, q, w, z);
+        } catch (IllegalArgumentException e) {
+            return new Circle(p, radius); // Все точки на одной прямой
+        }
+    }
+
+    // Невыпуклый пятиугольник: квадрат на диагонали pq с вершиной, вдавленной в середину
+    private static Polygon notched(Point p, Point q) {
+        double minX = Math.min(p.x(), q.x());
+        double maxX = Math.max(p.x(), q.x());
+        double minY = Math.min(p.y(), q.y());
+        double maxY = Math.max(p.y(), q.y());
+        if (minX == maxX || minY == maxY) {
+            return new Polygon(p, q, new Point(p.x() + q.y() - p.y(), p.y() - q.x() + p.x()));
+        }
+        return new Polygon(new Point(minX, minY), new Point(maxX, minY), new Point(maxX, maxY),
+                new Point((minX + maxX) / 2, (minY + maxY) / 2), new Point(minX, maxY));
+    }
+
+    private static Point center(SplittableRandom random, Bounds area, double stepX, double stepY,
+                                int columns, int rows) {
+        return new Point(area.minX() + (random.nextInt(columns) + 0.5) * stepX,
+                area.minY() + (random.nextInt(rows) + 0.5) * stepY);
+    }
+
+    private static void assertMatchesContainsPoint(Bounds area, int width, int height, int samples,
+                                                   List<Shape> shapes) {
+        Rasterizer rasterizer = new Rasterizer(area, width, height, samples);
+        int[] counts = new int[width * height];
+        byte[] bitmap = new byte[width * height];
+        rasterizer.accumulate(shapes, counts);
+        rasterizer.fill(shapes, bitmap);
+
+        // Центры ячеек считаются так же, как в растеризаторе
+        double stepX = area.width() / ((double) width * samples);
+        double stepY = area.height() / ((double) height * samples);
+        int cells = samples * samples;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int covered = 0;
+                int union = 0;
+                for (int k = 0; k < samples; k++) {
+                    for (int j = 0; j < samples; j++) {
+                        Point point = new Point(area.minX() + (col * samples + j + 0.5) * stepX,
+                                area.minY() + (row * samples + k + 0.5) * stepY);
+                        boolean any = false;
+                        for (Shape shape : shapes) {
+                            if (shape.containsPoint(point)) {
+                                covered++;
+                                any = true;
+                            }
+                        }
+                        union += any ? 1 : 0;
+                    }
+                }
+                String where = shapes + " pixel (" + row + ", " + col + ")";
+                assertEquals(covered, counts[row * width + col], where);
+                assertEquals((union * 255 + cells / 2) / cells, bitmap[row * width + col] & 0xFF, where);
+            }
+        }
+    }
+}
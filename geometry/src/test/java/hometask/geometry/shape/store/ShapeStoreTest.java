@@ -0,0 +1,160 @@
+package hometask.geometry.shape.store;
+
+import hometask.geometry.base.Point;
+import hometask.geometry.shape.Shape;
+import hometask.geometry.shape.impl.Circle;
+import hometask.geometry.shape.impl.Ellipse;
+import hometask.geometry.shape.impl.Polygon;
+import hometask.geometry.shape.impl.PreparedPolygon;
+import hometask.geometry.shape.impl.Rectangle;
+import hometask.geometry.shape.impl.Square;
+import hometask.geometry.shape.impl.Triangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Хранилище, записанное и открытое заново, должно отвечать так же, как исходные фигуры и их копии в куче.
+ */
+class ShapeStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenedStoreMatchesOriginalShapes() throws IOException {
+        List<Shape> shapes = sampleShapes();
+        Path path = write(shapes);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList()); // Временный файл таблицы удален
+        }
+
+        try (ShapeStore store = new ShapeStore(path)) {
+            assertEquals(shapes.size(), store.size());
+            for (int i = 0; i < shapes.size(); i++) {
+                Shape original = shapes.get(i);
+                Shape stored = store.get(i);
+                Shape loaded = store.load(i);
+                Class<?> expectedClass = original instanceof PreparedPolygon ? Polygon.class : original.getClass();
+                assertSame(expectedClass, loaded.getClass(), "shape " + i);
+                if (loaded instanceof Polygon polygon) {
+                    Polygon source = original instanceof PreparedPolygon prepared ? prepared.polygon() : (Polygon) original;
+                    assertArrayEquals(source.vertices(), polygon.vertices(), "shape " + i);
+                }
+                assertEquals(original.bounds(), stored.bounds());
+                assertEquals(original.area(), stored.area(), 1e-12 * original.area());
+                assertEquals(original.perimeter(), stored.perimeter(), 1e-12 * original.perimeter());
+                assertTrue(stored.isCongruentTo(original));
+
+                // Сетка с шагом 0.25 попадает на вершины и стороны фигур с целыми координатами
+                for (double x = -1; x <= 11; x += 0.25) {
+                    for (double y = -1; y <= 11; y += 0.25) {
+                        Point point = new Point(x, y);
+                        boolean expected = original.containsPoint(point);
+                        assertEquals(expected, stored.containsPoint(point), "shape " + i + " at " + point);
+                        assertEquals(expected, loaded.containsPoint(point), "shape " + i + " at " + point);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void ellipsesAgreeWithHeapCopiesNearBoundary() throws IOException {
+        SplittableRandom random = new SplittableRandom(18);
+        List<Shape> ellipses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Point left = new Point(random.nextDouble(-10, 10), random.nextDouble(-10, 10));
+            Point right = i % 10 == 0 ? left : new Point(random.nextDouble(-10, 10), random.nextDouble(-10, 10));
+            double distance = Math.hypot(right.x() - left.x(), right.y() - left.y());
+            // Среди эллипсов есть вытянутые и вырожденные в отрезок
+            double sum = switch (i % 4) {
+                case 0 -> distance + 1;
+                case 1 -> distance * (1 + 1e-12);
+                case 2 -> distance;
+                default -> distance * 3 + 0.5;
+            };
+            ellipses.add(new Ellipse(left, right, sum == 0 ? 1 : sum));
+        }
+        try (ShapeStore store = new ShapeStore(write(ellipses))) {
+            for (int i = 0; i < ellipses.size(); i++) {
+                Ellipse ellipse = (Ellipse) ellipses.get(i);
+                Shape stored = store.get(i);
+                double a = ellipse.semiMajorAxis();
+                double b = ellipse.semiMinorAxis();
+                double angle = Math.atan2(ellipse.focusRight().y() - ellipse.focusLeft().y(),
+                        ellipse.focusRight().x() - ellipse.focusLeft().x());
+                for (int k = 0; k < 500; k++) {
+                    // Точки у самой границы: параметр эллипса с множителем 1 ± 1e-15
+                    double t = random.nextDouble(2 * Math.PI);
+                    double scale = 1 + random.nextInt(-4, 5) * 1e-15;
+                    double u = a * Math.cos(t) * scale;
+                    double v = b * Math.sin(t) * scale;
+                    Point point = new Point(ellipse.center().x() + u * Math.cos(angle) - v * Math.sin(angle),
+                            ellipse.center().y() + u * Math.sin(angle) + v * Math.cos(angle));
+                    assertEquals(ellipse.containsPoint(point), stored.containsPoint(point), ellipse + " at " + point);
+                }
+            }
+        }
+    }
+
+    @Test
+    void closedStoreRejectsQueries() throws IOException {
+        ShapeStore store = new ShapeStore(write(List.of(new Circle(new Point(0, 0), 1))));
+        Shape stored = store.get(0);
+        assertEquals(Math.PI, stored.area(), 1e-15);
+        store.close();
+        store.close();
+        assertThrows(IllegalStateException.class, stored::area);
+        assertThrows(IllegalStateException.class, () -> store.containsPoint(0, 0, 0));
+        assertThrows(IllegalStateException.class, () -> store.load(0));
+    }
+
+    @Test
+    void rejectsFileThatIsNotAStore() throws IOException {
+        Path path = directory.resolve("garbage.shapes");
+        Files.write(path, new byte[100]);
+        assertThrows(IllegalArgumentException.class, () -> new ShapeStore(path));
+    }
+
+    private Path write(List<Shape> shapes) throws IOException {
+        Path path = Files.createTempFile(directory, "store", ".shapes");
+        try (ShapeStoreWriter writer = new ShapeStoreWriter(path)) {
+            for (int i = 0; i < shapes.size(); i++) {
+                assertEquals(i, writer.add(shapes.get(i)));
+            }
+        }
+        return path;
+    }
+
+    // Фигуры всех типов с целыми вершинами, в том числе повернутые прямоугольники и квадраты
+    private static List<Shape> sampleShapes() {
+        Polygon notched = new Polygon(new Point(0, 0), new Point(8, 0), new Point(8, 8), new Point(4, 3),
+                new Point(0, 8));
+        return List.of(
+                new Circle(new Point(5, 5), 3),
+                new Ellipse(new Point(2, 2), new Point(8, 6), 10),
+                new Ellipse(new Point(1, 1), new Point(9, 1), 8),
+                notched,
+                new PreparedPolygon(notched),
+                new Polygon(new Point(1, 1), new Point(9, 2), new Point(7, 9), new Point(2, 7)),
+                new Rectangle(new Point(1, 1), new Point(9, 5), 0.5),
+                new Rectangle(new Point(1, 1), new Point(9, 7), 1.0 / 3),
+                new Square(new Point(2, 2), new Point(8, 8)),
+                new Square(new Point(5, 1), new Point(5, 9)),
+                new Triangle(new Point(1, 1), new Point(9, 3), new Point(4, 8)));
+    }
+}